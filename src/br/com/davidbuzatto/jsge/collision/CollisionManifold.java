@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2025 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.collision;
+
+import br.com.davidbuzatto.jsge.math.Vector2;
+
+/**
+ * Variedade de contato (contact manifold) resultante de um teste de colisão
+ * entre duas formas A e B.
+ *
+ * Contém a profundidade de penetração, a normal de colisão (apontando de A
+ * para B) e até dois pontos de contato. Instâncias podem ser reutilizadas
+ * entre testes para evitar alocações a cada quadro.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class CollisionManifold {
+
+    /**
+     * Quantidade máxima de pontos de contato.
+     */
+    public static final int MAX_CONTACTS = 2;
+
+    /**
+     * Indica se as formas estão colidindo.
+     */
+    public boolean colliding;
+
+    /**
+     * Profundidade de penetração ao longo da normal. Pode ser negativa
+     * quando o teste usa uma margem especulativa.
+     */
+    public double depth;
+
+    /**
+     * Normal de colisão unitária, apontando de A para B.
+     */
+    public final Vector2 normal;
+
+    /**
+     * Pontos de contato. Apenas os primeiros contactCount são válidos.
+     */
+    public final Vector2[] contacts;
+
+    /**
+     * Profundidade de cada ponto de contato ao longo da normal.
+     */
+    public final double[] depths;
+
+    /**
+     * Quantidade de pontos de contato válidos.
+     */
+    public int contactCount;
+
+    /**
+     * Cria uma nova variedade de contato vazia.
+     */
+    public CollisionManifold() {
+        normal = new Vector2();
+        contacts = new Vector2[MAX_CONTACTS];
+        depths = new double[MAX_CONTACTS];
+        for ( int i = 0; i < MAX_CONTACTS; i++ ) {
+            contacts[i] = new Vector2();
+        }
+    }
+
+    /**
+     * Reseta a variedade para o estado sem colisão.
+     */
+    public void reset() {
+        colliding = false;
+        depth = 0;
+        normal.x = 0;
+        normal.y = 0;
+        contactCount = 0;
+    }
+
+    /**
+     * Adiciona um ponto de contato, caso ainda haja espaço. A profundidade
+     * do ponto será a profundidade atual da variedade.
+     *
+     * @param x Coordenada x do ponto.
+     * @param y Coordenada y do ponto.
+     */
+    public void addContact( double x, double y ) {
+        addContact( x, y, depth );
+    }
+
+    /**
+     * Adiciona um ponto de contato com a sua própria profundidade, caso
+     * ainda haja espaço.
+     *
+     * @param x Coordenada x do ponto.
+     * @param y Coordenada y do ponto.
+     * @param depth Profundidade do ponto ao longo da normal.
+     */
+    public void addContact( double x, double y, double depth ) {
+        if ( contactCount < MAX_CONTACTS ) {
+            contacts[contactCount].x = x;
+            contacts[contactCount].y = y;
+            depths[contactCount] = depth;
+            contactCount++;
+        }
+    }
+
+    /**
+     * Inverte a variedade, ou seja, troca os papéis de A e B.
+     */
+    public void flip() {
+        normal.x = -normal.x;
+        normal.y = -normal.y;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append( String.format( "CollisionManifold[%b, %.4f, %s", colliding, depth, normal ) );
+        for ( int i = 0; i < contactCount; i++ ) {
+            sb.append( ", " ).append( contacts[i] );
+        }
+        return sb.append( "]" ).toString();
+    }
+
+}
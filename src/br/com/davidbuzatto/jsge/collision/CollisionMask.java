@@ -0,0 +1,353 @@
+/*
+ * Copyright (C) 2025 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.collision;
+
+import br.com.davidbuzatto.jsge.image.Image;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Máscara de colisão de um bit por pixel, usada para colisões precisas
+ * entre sprites irregulares.
+ *
+ * Cada linha da máscara é armazenada como uma sequência de longs, em que o
+ * bit menos significativo da primeira palavra corresponde à coluna 0. Os
+ * testes entre máscaras comparam 64 pixels por operação AND.
+ *
+ * As máscaras são imutáveis depois de criadas a partir de uma imagem e
+ * podem ser obtidas de um cache indexado pela região da imagem, o que faz
+ * com que quadros de animação repetidos compartilhem a mesma máscara. As
+ * máscaras em cache de uma imagem são recriadas quando ela é alterada pelos
+ * seus métodos de desenho, por um ImagePipeline ou pelo modo de textura da
+ * engine. Alterações feitas diretamente na buffered image devem ser
+ * informadas com Image.markModified().
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public final class CollisionMask {
+
+    /**
+     * Limiar de alfa padrão: pixels com alfa maior ou igual a ele são
+     * considerados sólidos.
+     */
+    public static final int DEFAULT_ALPHA_THRESHOLD = 128;
+
+    /**
+     * Cache das máscaras por imagem. As imagens são referenciadas
+     * fracamente, então as máscaras são descartadas junto com elas.
+     */
+    private static final Map<Image, CachedMasks> CACHE = new WeakHashMap<>();
+
+    private final int width;
+    private final int height;
+    private final int wordsPerRow;
+    private final long[] bits;
+
+    /**
+     * Cria uma máscara vazia, preenchida apenas pelos métodos de criação.
+     */
+    private CollisionMask( int width, int height ) {
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = ( width + 63 ) >>> 6;
+        this.bits = new long[wordsPerRow * height];
+    }
+
+    /**
+     * Cria uma máscara a partir de uma imagem inteira, com o limiar de alfa
+     * padrão.
+     *
+     * @param image A imagem.
+     * @return A máscara.
+     */
+    public static CollisionMask fromImage( Image image ) {
+        return fromImage( image, 0, 0, image.getWidth(), image.getHeight(), DEFAULT_ALPHA_THRESHOLD );
+    }
+
+    /**
+     * Cria uma máscara a partir de uma região de uma imagem, por exemplo um
+     * quadro de uma folha de sprites.
+     *
+     * @param image A imagem.
+     * @param x Coordenada x do canto superior esquerdo da região.
+     * @param y Coordenada y do canto superior esquerdo da região.
+     * @param width Largura da região.
+     * @param height Altura da região.
+     * @param alphaThreshold Alfa mínimo, de 0 a 255, para um pixel ser sólido.
+     * @return A máscara.
+     */
+    public static CollisionMask fromImage( Image image, int x, int y, int width, int height, int alphaThreshold ) {
+
+        CollisionMask mask = new CollisionMask( width, height );
+        BufferedImage buffImage = image.buffImage;
+        int[] row = new int[width];
+
+        // uma leitura em lote por linha em vez de uma chamada por pixel
+        for ( int j = 0; j < height; j++ ) {
+            buffImage.getRGB( x, y + j, width, 1, row, 0, width );
+            int base = j * mask.wordsPerRow;
+            for ( int i = 0; i < width; i++ ) {
+                if ( ( row[i] >>> 24 ) >= alphaThreshold ) {
+                    mask.bits[base + ( i >>> 6 )] |= 1L << ( i & 63 );
+                }
+            }
+        }
+
+        return mask;
+
+    }
+
+    /**
+     * Obtém do cache a máscara de uma região de uma imagem, criando-a caso
+     * ainda não exista.
+     *
+     * @param image A imagem.
+     * @param x Coordenada x do canto superior esquerdo da região.
+     * @param y Coordenada y do canto superior esquerdo da região.
+     * @param width Largura da região.
+     * @param height Altura da região.
+     * @param alphaThreshold Alfa mínimo, de 0 a 255, para um pixel ser sólido.
+     * @return A máscara compartilhada.
+     */
+    public static CollisionMask getCachedMask( Image image, int x, int y, int width, int height, int alphaThreshold ) {
+
+        RegionKey key = new RegionKey( x, y, width, height, alphaThreshold );
+
+        synchronized ( CACHE ) {
+
+            CachedMasks cached = CACHE.get( image );
+
+            // a imagem foi alterada ou teve a buffered image trocada
+            if ( cached == null || cached.buffImage != image.buffImage || cached.version != image.getVersion() ) {
+                cached = new CachedMasks( image.buffImage, image.getVersion() );
+                CACHE.put( image, cached );
+            }
+
+            CollisionMask mask = cached.masks.get( key );
+            if ( mask == null ) {
+                mask = fromImage( image, x, y, width, height, alphaThreshold );
+                cached.masks.put( key, mask );
+            }
+            return mask;
+
+        }
+
+    }
+
+    /**
+     * Obtém do cache a máscara de uma imagem inteira, com o limiar de alfa
+     * padrão.
+     *
+     * @param image A imagem.
+     * @return A máscara compartilhada.
+     */
+    public static CollisionMask getCachedMask( Image image ) {
+        return getCachedMask( image, 0, 0, image.getWidth(), image.getHeight(), DEFAULT_ALPHA_THRESHOLD );
+    }
+
+    /**
+     * Esvazia o cache de máscaras.
+     */
+    public static void clearCache() {
+        synchronized ( CACHE ) {
+            CACHE.clear();
+        }
+    }
+
+    /**
+     * Verifica se um pixel da máscara é sólido. Pixels fora da máscara
+     * não são sólidos.
+     *
+     * @param x Coordenada x local.
+     * @param y Coordenada y local.
+     * @return Verdadeiro caso o pixel seja sólido.
+     */
+    public boolean get( int x, int y ) {
+        if ( x < 0 || y < 0 || x >= width || y >= height ) {
+            return false;
+        }
+        return ( bits[y * wordsPerRow + ( x >>> 6 )] & ( 1L << ( x & 63 ) ) ) != 0;
+    }
+
+    /**
+     * Verifica se esta máscara se sobrepõe a outra, posicionada com o canto
+     * superior esquerdo em (offsetX, offsetY) relativo ao canto superior
+     * esquerdo desta.
+     *
+     * @param other A outra máscara.
+     * @param offsetX Deslocamento x da outra máscara.
+     * @param offsetY Deslocamento y da outra máscara.
+     * @return Verdadeiro caso algum pixel sólido seja compartilhado.
+     */
+    public boolean overlaps( CollisionMask other, int offsetX, int offsetY ) {
+
+        int startY = Math.max( 0, offsetY );
+        int endY = Math.min( height, offsetY + other.height );
+        int startX = Math.max( 0, offsetX );
+        int endX = Math.min( width, offsetX + other.width );
+
+        if ( startY >= endY || startX >= endX ) {
+            return false;
+        }
+
+        int firstWord = startX >>> 6;
+        int lastWord = ( endX - 1 ) >>> 6;
+
+        for ( int j = startY; j < endY; j++ ) {
+
+            int base = j * wordsPerRow;
+            int otherBase = ( j - offsetY ) * other.wordsPerRow;
+
+            for ( int w = firstWord; w <= lastWord; w++ ) {
+                long word = bits[base + w];
+                if ( word != 0 && ( word & other.extractWord( otherBase, ( w << 6 ) - offsetX ) ) != 0 ) {
+                    return true;
+                }
+            }
+
+        }
+
+        return false;
+
+    }
+
+    /**
+     * Extrai 64 bits de uma linha começando em uma coluna qualquer, que
+     * pode ser negativa ou ultrapassar a largura (bits ausentes são zero).
+     */
+    private long extractWord( int rowBase, int column ) {
+
+        int word = Math.floorDiv( column, 64 );
+        int shift = Math.floorMod( column, 64 );
+
+        long low = word >= 0 && word < wordsPerRow ? bits[rowBase + word] : 0;
+        if ( shift == 0 ) {
+            return low;
+        }
+
+        long high = word + 1 >= 0 && word + 1 < wordsPerRow ? bits[rowBase + word + 1] : 0;
+        return ( low >>> shift ) | ( high << ( 64 - shift ) );
+
+    }
+
+    /**
+     * Verifica se algum pixel sólido está dentro de um retângulo em
+     * coordenadas locais.
+     *
+     * @param x1 Coordenada x inicial (inclusiva).
+     * @param y1 Coordenada y inicial (inclusiva).
+     * @param x2 Coordenada x final (exclusiva).
+     * @param y2 Coordenada y final (exclusiva).
+     * @return Verdadeiro caso algum pixel sólido esteja no retângulo.
+     */
+    public boolean overlapsRectangle( int x1, int y1, int x2, int y2 ) {
+
+        int startX = Math.max( 0, x1 );
+        int startY = Math.max( 0, y1 );
+        int endX = Math.min( width, x2 );
+        int endY = Math.min( height, y2 );
+
+        if ( startX >= endX || startY >= endY ) {
+            return false;
+        }
+
+        int firstWord = startX >>> 6;
+        int lastWord = ( endX - 1 ) >>> 6;
+        long firstMask = -1L << ( startX & 63 );
+        long lastMask = -1L >>> ( 63 - ( ( endX - 1 ) & 63 ) );
+
+        for ( int j = startY; j < endY; j++ ) {
+            int base = j * wordsPerRow;
+            for ( int w = firstWord; w <= lastWord; w++ ) {
+                long m = -1L;
+                if ( w == firstWord ) {
+                    m &= firstMask;
+                }
+                if ( w == lastWord ) {
+                    m &= lastMask;
+                }
+                if ( ( bits[base + w] & m ) != 0 ) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+
+    }
+
+    /**
+     * Obtém a largura da máscara.
+     *
+     * @return A largura em pixels.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Obtém a altura da máscara.
+     *
+     * @return A altura em pixels.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Conta a quantidade de pixels sólidos.
+     *
+     * @return A quantidade de pixels sólidos.
+     */
+    public int countSolidPixels() {
+        int count = 0;
+        for ( long word : bits ) {
+            count += Long.bitCount( word );
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format( "CollisionMask[%d, %d, %d]", width, height, countSolidPixels() );
+    }
+
+    /**
+     * Chave do cache: região da imagem e limiar de alfa.
+     */
+    private static record RegionKey( int x, int y, int width, int height, int alphaThreshold ) {
+    }
+
+    /**
+     * Máscaras de uma imagem, válidas para uma buffered image e uma versão.
+     */
+    private static final class CachedMasks {
+
+        private final BufferedImage buffImage;
+        private final int version;
+        private final Map<RegionKey, CollisionMask> masks = new HashMap<>();
+
+        CachedMasks( BufferedImage buffImage, int version ) {
+            this.buffImage = buffImage;
+            this.version = version;
+        }
+
+    }
+
+}
@@ -18,10 +18,13 @@ package br.com.davidbuzatto.jsge.collision;
 
 import br.com.davidbuzatto.jsge.collision.aabb.AABB;
 import br.com.davidbuzatto.jsge.geom.Circle;
+import br.com.davidbuzatto.jsge.geom.ConvexShape;
 import br.com.davidbuzatto.jsge.geom.Line;
 import br.com.davidbuzatto.jsge.geom.Polygon;
 import br.com.davidbuzatto.jsge.geom.Rectangle;
+import br.com.davidbuzatto.jsge.geom.Star;
 import br.com.davidbuzatto.jsge.geom.Triangle;
+import br.com.davidbuzatto.jsge.math.MathUtils;
 import br.com.davidbuzatto.jsge.math.Vector2;
 
 /**
@@ -424,19 +427,16 @@ public interface CollisionUtils {
 
         if ( polygon.sides > 2 ) {
 
-            Vector2[] points = new Vector2[polygon.sides];
-            double angle = 360.0 / polygon.sides;
-
-            for ( int i = 0; i < polygon.sides; i++ ) {
-                points[i] = new Vector2(
-                    polygon.x + Math.cos( Math.toRadians( polygon.rotation + angle * i ) ) * polygon.radius,
-                    polygon.y + Math.sin( Math.toRadians( polygon.rotation + angle * i ) ) * polygon.radius
-                );
-            }
+            // vértices em cache no polígono, recalculados apenas quando ele muda
+            double[] points = polygon.getVertices();
 
             for ( int i = 0, j = polygon.sides - 1; i < polygon.sides; j = i++ ) {
-                if ( ( points[i].y > point.y ) != ( points[j].y > point.y ) &&
-                     ( point.x < ( points[j].x - points[i].x ) * ( point.y - points[i].y ) / ( points[j].y - points[i].y ) + points[i].x ) ) {
+                double xi = points[i*2];
+                double yi = points[i*2+1];
+                double xj = points[j*2];
+                double yj = points[j*2+1];
+                if ( ( yi > point.y ) != ( yj > point.y ) &&
+                     ( point.x < ( xj - xi ) * ( point.y - yi ) / ( yj - yi ) + xi ) ) {
                     inside = !inside;
                 }
             }
@@ -637,4 +637,966 @@ public interface CollisionUtils {
 
     }
 
+
+    /**
+     * Verifica a colisão entre dois polígonos convexos usando o teorema dos
+     * eixos separadores (SAT), gerando a variedade de contato.
+     * 
+     * A aresta de referência é a de menor penetração e os pontos de contato
+     * são obtidos recortando a aresta incidente do outro polígono contra as
+     * laterais da aresta de referência.
+     * 
+     * @param verticesA Vértices empacotados (x, y) do polígono A.
+     * @param normalsA Normais das arestas do polígono A.
+     * @param verticesB Vértices empacotados (x, y) do polígono B.
+     * @param normalsB Normais das arestas do polígono B.
+     * @param manifold A variedade que será preenchida, com a normal de A para B.
+     * @return Verdadeiro caso os polígonos tenham colidido, falso caso contrário.
+     */
+    public static boolean checkCollisionConvexPolygons( double[] verticesA, double[] normalsA, double[] verticesB, double[] normalsB, CollisionManifold manifold ) {
+        return checkCollisionConvexPolygons( verticesA, normalsA, verticesB, normalsB, 0, manifold );
+    }
+    
+    /**
+     * Verifica a colisão entre dois polígonos convexos usando o teorema dos
+     * eixos separadores (SAT), gerando a variedade de contato e aceitando
+     * uma margem especulativa.
+     * 
+     * Pontos separados por uma distância menor ou igual à margem também são
+     * reportados e, nesse caso, a profundidade pode ser negativa. Isso mantém
+     * os dois pontos de contato de corpos em repouso estáveis entre quadros.
+     * 
+     * @param verticesA Vértices empacotados (x, y) do polígono A.
+     * @param normalsA Normais das arestas do polígono A.
+     * @param verticesB Vértices empacotados (x, y) do polígono B.
+     * @param normalsB Normais das arestas do polígono B.
+     * @param margin A margem especulativa, maior ou igual a zero.
+     * @param manifold A variedade que será preenchida, com a normal de A para B.
+     * @return Verdadeiro caso os polígonos estejam colidindo ou dentro da
+     * margem, falso caso contrário.
+     */
+    public static boolean checkCollisionConvexPolygons( double[] verticesA, double[] normalsA, double[] verticesB, double[] normalsB, double margin, CollisionManifold manifold ) {
+        
+        manifold.reset();
+        
+        if ( verticesA.length < 6 || verticesB.length < 6 ) {
+            return false;
+        }
+        
+        int edgeA = findMaxSeparationEdge( verticesA, normalsA, verticesB );
+        double separationA = edgeSeparation( verticesA, normalsA, edgeA, verticesB );
+        if ( separationA > margin ) {
+            return false;
+        }
+        
+        int edgeB = findMaxSeparationEdge( verticesB, normalsB, verticesA );
+        double separationB = edgeSeparation( verticesB, normalsB, edgeB, verticesA );
+        if ( separationB > margin ) {
+            return false;
+        }
+        
+        // tolerância para manter a referência estável entre quadros
+        double[] refVertices;
+        double[] refNormals;
+        double[] incVertices;
+        double[] incNormals;
+        int refEdge;
+        boolean flip;
+        
+        if ( separationB > 0.98 * separationA + 0.001 ) {
+            refVertices = verticesB;
+            refNormals = normalsB;
+            incVertices = verticesA;
+            incNormals = normalsA;
+            refEdge = edgeB;
+            flip = true;
+        } else {
+            refVertices = verticesA;
+            refNormals = normalsA;
+            incVertices = verticesB;
+            incNormals = normalsB;
+            refEdge = edgeA;
+            flip = false;
+        }
+        
+        double nx = refNormals[refEdge*2];
+        double ny = refNormals[refEdge*2+1];
+        
+        // aresta incidente: a mais antiparalela à normal de referência
+        int incCount = incVertices.length / 2;
+        int incEdge = 0;
+        double minDot = Double.POSITIVE_INFINITY;
+        for ( int i = 0; i < incCount; i++ ) {
+            double dot = nx * incNormals[i*2] + ny * incNormals[i*2+1];
+            if ( dot < minDot ) {
+                minDot = dot;
+                incEdge = i;
+            }
+        }
+        
+        int incNext = ( incEdge + 1 ) % incCount;
+        double ix1 = incVertices[incEdge*2];
+        double iy1 = incVertices[incEdge*2+1];
+        double ix2 = incVertices[incNext*2];
+        double iy2 = incVertices[incNext*2+1];
+        
+        int refNext = ( refEdge + 1 ) % ( refVertices.length / 2 );
+        double rx1 = refVertices[refEdge*2];
+        double ry1 = refVertices[refEdge*2+1];
+        double rx2 = refVertices[refNext*2];
+        double ry2 = refVertices[refNext*2+1];
+        
+        double tx = rx2 - rx1;
+        double ty = ry2 - ry1;
+        double length = Math.sqrt( tx * tx + ty * ty );
+        if ( length <= FLT_EPSILON ) {
+            return false;
+        }
+        tx /= length;
+        ty /= length;
+        
+        // recorte contra a lateral inicial da aresta de referência
+        double d1 = -( tx * ( ix1 - rx1 ) + ty * ( iy1 - ry1 ) );
+        double d2 = -( tx * ( ix2 - rx1 ) + ty * ( iy2 - ry1 ) );
+        if ( d1 > 0 && d2 > 0 ) {
+            return false;
+        }
+        if ( d1 > 0 ) {
+            double t = d1 / ( d1 - d2 );
+            ix1 = ix1 + ( ix2 - ix1 ) * t;
+            iy1 = iy1 + ( iy2 - iy1 ) * t;
+        } else if ( d2 > 0 ) {
+            double t = d1 / ( d1 - d2 );
+            ix2 = ix1 + ( ix2 - ix1 ) * t;
+            iy2 = iy1 + ( iy2 - iy1 ) * t;
+        }
+        
+        // recorte contra a lateral final da aresta de referência
+        d1 = tx * ( ix1 - rx2 ) + ty * ( iy1 - ry2 );
+        d2 = tx * ( ix2 - rx2 ) + ty * ( iy2 - ry2 );
+        if ( d1 > 0 && d2 > 0 ) {
+            return false;
+        }
+        if ( d1 > 0 ) {
+            double t = d1 / ( d1 - d2 );
+            ix1 = ix1 + ( ix2 - ix1 ) * t;
+            iy1 = iy1 + ( iy2 - iy1 ) * t;
+        } else if ( d2 > 0 ) {
+            double t = d1 / ( d1 - d2 );
+            ix2 = ix1 + ( ix2 - ix1 ) * t;
+            iy2 = iy1 + ( iy2 - iy1 ) * t;
+        }
+        
+        // mantém apenas os pontos abaixo da face de referência
+        double s1 = nx * ( ix1 - rx1 ) + ny * ( iy1 - ry1 );
+        double s2 = nx * ( ix2 - rx1 ) + ny * ( iy2 - ry1 );
+        double depth = Double.NEGATIVE_INFINITY;
+        
+        if ( s1 <= margin ) {
+            manifold.addContact( ix1, iy1, -s1 );
+            depth = -s1;
+        }
+        if ( s2 <= margin ) {
+            manifold.addContact( ix2, iy2, -s2 );
+            depth = Math.max( depth, -s2 );
+        }
+        
+        if ( manifold.contactCount == 0 ) {
+            return false;
+        }
+        
+        manifold.colliding = true;
+        manifold.depth = depth;
+        manifold.normal.x = flip ? -nx : nx;
+        manifold.normal.y = flip ? -ny : ny;
+        
+        return true;
+        
+    }
+    
+    /**
+     * Verifica a colisão entre duas formas convexas usando o teorema dos
+     * eixos separadores (SAT), gerando a variedade de contato.
+     * 
+     * @param a Uma forma convexa.
+     * @param b Outra forma convexa.
+     * @param manifold A variedade que será preenchida, com a normal de A para B.
+     * @return Verdadeiro caso as formas tenham colidido, falso caso contrário.
+     */
+    public static boolean checkCollisionConvexShapes( ConvexShape a, ConvexShape b, CollisionManifold manifold ) {
+        return checkCollisionConvexPolygons( a.getVertices(), a.getEdgeNormals(), b.getVertices(), b.getEdgeNormals(), manifold );
+    }
+    
+    /**
+     * Verifica a colisão entre um retângulo rotacionado em torno de um pivô
+     * e uma forma convexa, gerando a variedade de contato.
+     * 
+     * @param rectangle O retângulo.
+     * @param originX Coordenada x do pivô da rotação.
+     * @param originY Coordenada y do pivô da rotação.
+     * @param rotation Rotação em graus (sentido horário).
+     * @param shape A forma convexa.
+     * @param manifold A variedade que será preenchida, com a normal do retângulo para a forma.
+     * @return Verdadeiro caso as formas tenham colidido, falso caso contrário.
+     */
+    public static boolean checkCollisionRotatedRectangleConvexShape( Rectangle rectangle, double originX, double originY, double rotation, ConvexShape shape, CollisionManifold manifold ) {
+        return checkCollisionConvexPolygons( 
+            rectangle.getVertices( originX, originY, rotation ), 
+            rectangle.getEdgeNormals( originX, originY, rotation ), 
+            shape.getVertices(), 
+            shape.getEdgeNormals(), 
+            manifold 
+        );
+    }
+    
+    /**
+     * Verifica a colisão entre um polígono convexo e um círculo, gerando a
+     * variedade de contato.
+     * 
+     * @param vertices Vértices empacotados (x, y) do polígono.
+     * @param normals Normais das arestas do polígono.
+     * @param x Coordenada x do centro do círculo.
+     * @param y Coordenada y do centro do círculo.
+     * @param radius Raio do círculo.
+     * @param manifold A variedade que será preenchida, com a normal do polígono para o círculo.
+     * @return Verdadeiro caso tenham colidido, falso caso contrário.
+     */
+    public static boolean checkCollisionConvexPolygonCircle( double[] vertices, double[] normals, double x, double y, double radius, CollisionManifold manifold ) {
+        
+        manifold.reset();
+        
+        int count = vertices.length / 2;
+        if ( count < 3 ) {
+            return false;
+        }
+        
+        int edge = 0;
+        double separation = Double.NEGATIVE_INFINITY;
+        
+        for ( int i = 0; i < count; i++ ) {
+            double s = normals[i*2] * ( x - vertices[i*2] ) + normals[i*2+1] * ( y - vertices[i*2+1] );
+            if ( s > radius ) {
+                return false;
+            }
+            if ( s > separation ) {
+                separation = s;
+                edge = i;
+            }
+        }
+        
+        int next = ( edge + 1 ) % count;
+        double x1 = vertices[edge*2];
+        double y1 = vertices[edge*2+1];
+        double x2 = vertices[next*2];
+        double y2 = vertices[next*2+1];
+        double nx = normals[edge*2];
+        double ny = normals[edge*2+1];
+        
+        if ( separation > FLT_EPSILON ) {
+            
+            // regiões de Voronoi dos vértices da aresta
+            double u1 = ( x - x1 ) * ( x2 - x1 ) + ( y - y1 ) * ( y2 - y1 );
+            double u2 = ( x - x2 ) * ( x1 - x2 ) + ( y - y2 ) * ( y1 - y2 );
+            double vx = Double.NaN;
+            double vy = Double.NaN;
+            
+            if ( u1 <= 0 ) {
+                vx = x1;
+                vy = y1;
+            } else if ( u2 <= 0 ) {
+                vx = x2;
+                vy = y2;
+            }
+            
+            if ( !Double.isNaN( vx ) ) {
+                double dx = x - vx;
+                double dy = y - vy;
+                double distanceSQ = dx * dx + dy * dy;
+                if ( distanceSQ > radius * radius ) {
+                    return false;
+                }
+                double distance = Math.sqrt( distanceSQ );
+                manifold.colliding = true;
+                manifold.depth = radius - distance;
+                manifold.normal.x = dx / distance;
+                manifold.normal.y = dy / distance;
+                manifold.addContact( vx, vy );
+                return true;
+            }
+            
+        }
+        
+        manifold.colliding = true;
+        manifold.depth = radius - separation;
+        manifold.normal.x = nx;
+        manifold.normal.y = ny;
+        manifold.addContact( x - nx * separation, y - ny * separation );
+        
+        return true;
+        
+    }
+    
+    /**
+     * Verifica a colisão entre uma forma convexa e um círculo, gerando a
+     * variedade de contato.
+     * 
+     * @param shape A forma convexa.
+     * @param circle O círculo.
+     * @param manifold A variedade que será preenchida, com a normal da forma para o círculo.
+     * @return Verdadeiro caso tenham colidido, falso caso contrário.
+     */
+    public static boolean checkCollisionConvexShapeCircle( ConvexShape shape, Circle circle, CollisionManifold manifold ) {
+        return checkCollisionConvexPolygonCircle( shape.getVertices(), shape.getEdgeNormals(), circle.x, circle.y, circle.radius, manifold );
+    }
+    
+    /**
+     * Verifica a colisão entre uma estrela e uma forma convexa.
+     * 
+     * A estrela é tratada como a união das suas partes convexas e a variedade
+     * resultante é a da parte com maior penetração.
+     * 
+     * @param star A estrela.
+     * @param shape A forma convexa.
+     * @param manifold A variedade que será preenchida, com a normal da estrela para a forma.
+     * @return Verdadeiro caso tenham colidido, falso caso contrário.
+     */
+    public static boolean checkCollisionStarConvexShape( Star star, ConvexShape shape, CollisionManifold manifold ) {
+        return checkCollisionStarPieces( star, shape.getVertices(), shape.getEdgeNormals(), Double.NaN, Double.NaN, 0, manifold );
+    }
+    
+    /**
+     * Verifica a colisão entre uma estrela e um círculo.
+     * 
+     * @param star A estrela.
+     * @param circle O círculo.
+     * @param manifold A variedade que será preenchida, com a normal da estrela para o círculo.
+     * @return Verdadeiro caso tenham colidido, falso caso contrário.
+     */
+    public static boolean checkCollisionStarCircle( Star star, Circle circle, CollisionManifold manifold ) {
+        return checkCollisionStarPieces( star, null, null, circle.x, circle.y, circle.radius, manifold );
+    }
+    
+    /**
+     * Verifica a colisão entre duas estrelas.
+     * 
+     * @param star1 Uma estrela.
+     * @param star2 Outra estrela.
+     * @param manifold A variedade que será preenchida, com a normal da primeira para a segunda.
+     * @return Verdadeiro caso tenham colidido, falso caso contrário.
+     */
+    public static boolean checkCollisionStars( Star star1, Star star2, CollisionManifold manifold ) {
+        
+        manifold.reset();
+        
+        double bestDepth = -1;
+        double nx = 0, ny = 0, c1x = 0, c1y = 0, c2x = 0, c2y = 0, d1 = 0, d2 = 0;
+        int contactCount = 0;
+        
+        for ( int i = 0; i < star2.getConvexPieceCount(); i++ ) {
+            if ( checkCollisionStarPieces( star1, star2.getPieceVertices( i ), star2.getPieceEdgeNormals( i ), Double.NaN, Double.NaN, 0, manifold ) && 
+                 manifold.depth > bestDepth ) {
+                bestDepth = manifold.depth;
+                nx = manifold.normal.x;
+                ny = manifold.normal.y;
+                contactCount = manifold.contactCount;
+                c1x = manifold.contacts[0].x;
+                c1y = manifold.contacts[0].y;
+                c2x = manifold.contacts[1].x;
+                c2y = manifold.contacts[1].y;
+                d1 = manifold.depths[0];
+                d2 = manifold.depths[1];
+            }
+        }
+        
+        return restoreBestManifold( bestDepth, nx, ny, contactCount, c1x, c1y, d1, c2x, c2y, d2, manifold );
+        
+    }
+    
+    /**
+     * Testa cada parte convexa de uma estrela contra um polígono convexo
+     * (quando os vértices não são nulos) ou contra um círculo, mantendo a
+     * variedade de maior penetração sem alocações.
+     */
+    private static boolean checkCollisionStarPieces( Star star, double[] vertices, double[] normals, double x, double y, double radius, CollisionManifold manifold ) {
+        
+        manifold.reset();
+        
+        double bestDepth = -1;
+        double nx = 0, ny = 0, c1x = 0, c1y = 0, c2x = 0, c2y = 0, d1 = 0, d2 = 0;
+        int contactCount = 0;
+        
+        for ( int i = 0; i < star.getConvexPieceCount(); i++ ) {
+            
+            boolean hit = vertices != null ? 
+                checkCollisionConvexPolygons( star.getPieceVertices( i ), star.getPieceEdgeNormals( i ), vertices, normals, manifold ) :
+                checkCollisionConvexPolygonCircle( star.getPieceVertices( i ), star.getPieceEdgeNormals( i ), x, y, radius, manifold );
+            
+            if ( hit && manifold.depth > bestDepth ) {
+                bestDepth = manifold.depth;
+                nx = manifold.normal.x;
+                ny = manifold.normal.y;
+                contactCount = manifold.contactCount;
+                c1x = manifold.contacts[0].x;
+                c1y = manifold.contacts[0].y;
+                c2x = manifold.contacts[1].x;
+                c2y = manifold.contacts[1].y;
+                d1 = manifold.depths[0];
+                d2 = manifold.depths[1];
+            }
+            
+        }
+        
+        return restoreBestManifold( bestDepth, nx, ny, contactCount, c1x, c1y, d1, c2x, c2y, d2, manifold );
+        
+    }
+    
+    /**
+     * Reescreve a variedade com os dados da melhor parte encontrada,
+     * incluindo a profundidade de cada ponto de contato.
+     */
+    private static boolean restoreBestManifold( double depth, double nx, double ny, int contactCount, double c1x, double c1y, double d1, double c2x, double c2y, double d2, CollisionManifold manifold ) {
+        
+        manifold.reset();
+        
+        if ( depth < 0 ) {
+            return false;
+        }
+        
+        manifold.colliding = true;
+        manifold.depth = depth;
+        manifold.normal.x = nx;
+        manifold.normal.y = ny;
+        if ( contactCount > 0 ) {
+            manifold.addContact( c1x, c1y, d1 );
+        }
+        if ( contactCount > 1 ) {
+            manifold.addContact( c2x, c2y, d2 );
+        }
+        
+        return true;
+        
+    }
+    
+    /**
+     * Encontra a aresta do polígono A cuja normal separa mais os polígonos.
+     */
+    private static int findMaxSeparationEdge( double[] verticesA, double[] normalsA, double[] verticesB ) {
+        
+        int countA = verticesA.length / 2;
+        int bestEdge = 0;
+        double maxSeparation = Double.NEGATIVE_INFINITY;
+        
+        for ( int i = 0; i < countA; i++ ) {
+            double separation = edgeSeparation( verticesA, normalsA, i, verticesB );
+            if ( separation > maxSeparation ) {
+                maxSeparation = separation;
+                bestEdge = i;
+            }
+        }
+        
+        return bestEdge;
+        
+    }
+    
+    /**
+     * Calcula a separação do polígono B em relação a uma aresta de A, ou
+     * seja, a menor distância dos vértices de B ao longo da normal da aresta.
+     */
+    private static double edgeSeparation( double[] verticesA, double[] normalsA, int edge, double[] verticesB ) {
+        
+        double nx = normalsA[edge*2];
+        double ny = normalsA[edge*2+1];
+        double ax = verticesA[edge*2];
+        double ay = verticesA[edge*2+1];
+        double min = Double.POSITIVE_INFINITY;
+        
+        for ( int j = 0; j < verticesB.length; j += 2 ) {
+            double d = nx * ( verticesB[j] - ax ) + ny * ( verticesB[j+1] - ay );
+            if ( d < min ) {
+                min = d;
+            }
+        }
+        
+        return min;
+        
+    }
+    
+    /**
+     * Verifica a colisão contínua (swept) entre uma AABB em movimento e uma
+     * AABB parada, evitando que objetos rápidos atravessem objetos finos.
+     * 
+     * Caso as AABBs já estejam se sobrepondo no início do deslocamento, o
+     * tempo de impacto é zero e a normal aponta no eixo de menor penetração.
+     * 
+     * @param moving A AABB em movimento.
+     * @param dx Deslocamento em x durante o passo.
+     * @param dy Deslocamento em y durante o passo.
+     * @param target A AABB alvo.
+     * @param result O resultado que será preenchido.
+     * @return Verdadeiro caso haja impacto durante o deslocamento, falso caso contrário.
+     */
+    public static boolean checkCollisionSweptAABBs( AABB moving, double dx, double dy, AABB target, SweepResult result ) {
+        
+        result.reset();
+        
+        if ( moving.x1 < target.x2 && moving.x2 > target.x1 &&
+             moving.y1 < target.y2 && moving.y2 > target.y1 ) {
+            
+            double overlapX = Math.min( moving.x2 - target.x1, target.x2 - moving.x1 );
+            double overlapY = Math.min( moving.y2 - target.y1, target.y2 - moving.y1 );
+            
+            if ( overlapX < overlapY ) {
+                double nx = ( moving.x1 + moving.x2 ) < ( target.x1 + target.x2 ) ? -1 : 1;
+                result.set( 0, nx, 0, moving.x1, moving.y1 );
+            } else {
+                double ny = ( moving.y1 + moving.y2 ) < ( target.y1 + target.y2 ) ? -1 : 1;
+                result.set( 0, 0, ny, moving.x1, moving.y1 );
+            }
+            
+            return true;
+            
+        }
+        
+        // raio do vértice superior esquerdo contra a soma de Minkowski
+        return sweepRayAABB( 
+            moving.x1, moving.y1, dx, dy, 
+            target.x1 - moving.width, target.y1 - moving.height, target.x2, target.y2, 
+            result 
+        );
+        
+    }
+    
+    /**
+     * Verifica a colisão contínua (swept) entre uma AABB em movimento e uma
+     * AABB parada.
+     * 
+     * @param moving A AABB em movimento.
+     * @param velocity Deslocamento durante o passo.
+     * @param target A AABB alvo.
+     * @param result O resultado que será preenchido.
+     * @return Verdadeiro caso haja impacto durante o deslocamento, falso caso contrário.
+     */
+    public static boolean checkCollisionSweptAABBs( AABB moving, Vector2 velocity, AABB target, SweepResult result ) {
+        return checkCollisionSweptAABBs( moving, velocity.x, velocity.y, target, result );
+    }
+    
+    /**
+     * Verifica a colisão contínua (swept) entre um círculo em movimento,
+     * definido pelo centro e pelo raio, e uma AABB parada.
+     * 
+     * @param x Coordenada x do centro do círculo.
+     * @param y Coordenada y do centro do círculo.
+     * @param radius Raio do círculo.
+     * @param dx Deslocamento em x durante o passo.
+     * @param dy Deslocamento em y durante o passo.
+     * @param aabb A AABB alvo.
+     * @param result O resultado que será preenchido.
+     * @return Verdadeiro caso haja impacto durante o deslocamento, falso caso contrário.
+     */
+    public static boolean checkCollisionSweptCircleAABB( double x, double y, double radius, double dx, double dy, AABB aabb, SweepResult result ) {
+        
+        result.reset();
+        
+        double closestX = MathUtils.clamp( x, aabb.x1, aabb.x2 );
+        double closestY = MathUtils.clamp( y, aabb.y1, aabb.y2 );
+        double cdx = x - closestX;
+        double cdy = y - closestY;
+        double distanceSQ = cdx * cdx + cdy * cdy;
+        
+        if ( distanceSQ < radius * radius ) {
+            
+            if ( distanceSQ > FLT_EPSILON ) {
+                double distance = Math.sqrt( distanceSQ );
+                result.set( 0, cdx / distance, cdy / distance, x, y );
+            } else {
+                // centro dentro da AABB: menor penetração
+                double left = x - aabb.x1;
+                double right = aabb.x2 - x;
+                double top = y - aabb.y1;
+                double bottom = aabb.y2 - y;
+                double min = Math.min( Math.min( left, right ), Math.min( top, bottom ) );
+                if ( min == left ) {
+                    result.set( 0, -1, 0, x, y );
+                } else if ( min == right ) {
+                    result.set( 0, 1, 0, x, y );
+                } else if ( min == top ) {
+                    result.set( 0, 0, -1, x, y );
+                } else {
+                    result.set( 0, 0, 1, x, y );
+                }
+            }
+            
+            return true;
+            
+        }
+        
+        if ( !sweepRayAABB( x, y, dx, dy, aabb.x1 - radius, aabb.y1 - radius, aabb.x2 + radius, aabb.y2 + radius, result ) ) {
+            return false;
+        }
+        
+        // se o ponto de entrada estiver em uma região de canto, o impacto
+        // real acontece (ou não) contra o círculo centrado no vértice
+        double px = result.position.x;
+        double py = result.position.y;
+        double cornerX = px < aabb.x1 ? aabb.x1 : ( px > aabb.x2 ? aabb.x2 : Double.NaN );
+        double cornerY = py < aabb.y1 ? aabb.y1 : ( py > aabb.y2 ? aabb.y2 : Double.NaN );
+        
+        if ( !Double.isNaN( cornerX ) && !Double.isNaN( cornerY ) ) {
+            result.reset();
+            return sweepRayCircle( x, y, dx, dy, cornerX, cornerY, radius, result );
+        }
+        
+        return true;
+        
+    }
+    
+    /**
+     * Verifica a colisão contínua (swept) entre um círculo em movimento e uma
+     * AABB parada.
+     * 
+     * @param circle O círculo.
+     * @param velocity Deslocamento durante o passo.
+     * @param aabb A AABB alvo.
+     * @param result O resultado que será preenchido.
+     * @return Verdadeiro caso haja impacto durante o deslocamento, falso caso contrário.
+     */
+    public static boolean checkCollisionSweptCircleAABB( Circle circle, Vector2 velocity, AABB aabb, SweepResult result ) {
+        return checkCollisionSweptCircleAABB( circle.x, circle.y, circle.radius, velocity.x, velocity.y, aabb, result );
+    }
+    
+    /**
+     * Verifica a colisão contínua (swept) entre um círculo em movimento,
+     * definido pelo centro e pelo raio, e um segmento de reta parado.
+     * 
+     * @param x Coordenada x do centro do círculo.
+     * @param y Coordenada y do centro do círculo.
+     * @param radius Raio do círculo.
+     * @param dx Deslocamento em x durante o passo.
+     * @param dy Deslocamento em y durante o passo.
+     * @param x1 Coordenada x do ponto inicial do segmento.
+     * @param y1 Coordenada y do ponto inicial do segmento.
+     * @param x2 Coordenada x do ponto final do segmento.
+     * @param y2 Coordenada y do ponto final do segmento.
+     * @param result O resultado que será preenchido.
+     * @return Verdadeiro caso haja impacto durante o deslocamento, falso caso contrário.
+     */
+    public static boolean checkCollisionSweptCircleLine( double x, double y, double radius, double dx, double dy, double x1, double y1, double x2, double y2, SweepResult result ) {
+        
+        result.reset();
+        
+        double lx = x2 - x1;
+        double ly = y2 - y1;
+        double lengthSQ = lx * lx + ly * ly;
+        
+        if ( lengthSQ <= FLT_EPSILON ) {
+            return sweepRayCircle( x, y, dx, dy, x1, y1, radius, result );
+        }
+        
+        // sobreposição inicial
+        double s = MathUtils.clamp( ( ( x - x1 ) * lx + ( y - y1 ) * ly ) / lengthSQ, 0, 1 );
+        double cdx = x - ( x1 + lx * s );
+        double cdy = y - ( y1 + ly * s );
+        double distanceSQ = cdx * cdx + cdy * cdy;
+        double length = Math.sqrt( lengthSQ );
+        
+        // normal do segmento voltada para o lado em que o círculo está
+        double nx = -ly / length;
+        double ny = lx / length;
+        double side = ( x - x1 ) * nx + ( y - y1 ) * ny;
+        if ( side < 0 ) {
+            nx = -nx;
+            ny = -ny;
+            side = -side;
+        }
+        
+        if ( distanceSQ < radius * radius ) {
+            if ( distanceSQ > FLT_EPSILON ) {
+                double distance = Math.sqrt( distanceSQ );
+                result.set( 0, cdx / distance, cdy / distance, x, y );
+            } else {
+                result.set( 0, nx, ny, x, y );
+            }
+            return true;
+        }
+        
+        // o círculo precisa se aproximar da reta suporte
+        double vn = dx * nx + dy * ny;
+        if ( vn >= 0 ) {
+            return false;
+        }
+        
+        double t = ( side - radius ) / -vn;
+        if ( t > 1 ) {
+            return false;
+        }
+        
+        double px = x + dx * t;
+        double py = y + dy * t;
+        double contact = ( ( px - nx * radius - x1 ) * lx + ( py - ny * radius - y1 ) * ly ) / lengthSQ;
+        
+        if ( contact >= 0 && contact <= 1 ) {
+            result.set( t, nx, ny, px, py );
+            return true;
+        }
+        
+        // impacto com as extremidades do segmento
+        double t1 = rayCircleTime( x, y, dx, dy, x1, y1, radius );
+        double t2 = rayCircleTime( x, y, dx, dy, x2, y2, radius );
+        
+        if ( t1 < 0 && t2 < 0 ) {
+            return false;
+        }
+        
+        boolean first = t1 >= 0 && ( t2 < 0 || t1 <= t2 );
+        t = first ? t1 : t2;
+        px = x + dx * t;
+        py = y + dy * t;
+        double ex = first ? x1 : x2;
+        double ey = first ? y1 : y2;
+        result.set( t, ( px - ex ) / radius, ( py - ey ) / radius, px, py );
+        
+        return true;
+        
+    }
+    
+    /**
+     * Verifica a colisão contínua (swept) entre um círculo em movimento e uma
+     * linha parada.
+     * 
+     * @param circle O círculo.
+     * @param velocity Deslocamento durante o passo.
+     * @param line A linha.
+     * @param result O resultado que será preenchido.
+     * @return Verdadeiro caso haja impacto durante o deslocamento, falso caso contrário.
+     */
+    public static boolean checkCollisionSweptCircleLine( Circle circle, Vector2 velocity, Line line, SweepResult result ) {
+        return checkCollisionSweptCircleLine( 
+            circle.x, circle.y, circle.radius, velocity.x, velocity.y, 
+            line.x1, line.y1, line.x2, line.y2, result 
+        );
+    }
+    
+    /**
+     * Verifica a interseção entre um segmento e uma AABB, encontrando o
+     * primeiro ponto em que o segmento entra na AABB.
+     * 
+     * O tempo do resultado é a fração do segmento percorrida até o ponto de
+     * entrada e a posição é o próprio ponto. Caso o início do segmento
+     * esteja dentro da AABB, o tempo é zero e a normal é nula.
+     * 
+     * @param x1 Coordenada x do início do segmento.
+     * @param y1 Coordenada y do início do segmento.
+     * @param x2 Coordenada x do fim do segmento.
+     * @param y2 Coordenada y do fim do segmento.
+     * @param aabb A AABB.
+     * @param result O resultado que será preenchido.
+     * @return Verdadeiro caso o segmento intercepte a AABB, falso caso contrário.
+     */
+    public static boolean checkCollisionSegmentAABB( double x1, double y1, double x2, double y2, AABB aabb, SweepResult result ) {
+        
+        result.reset();
+        
+        if ( x1 >= aabb.x1 && x1 <= aabb.x2 && y1 >= aabb.y1 && y1 <= aabb.y2 ) {
+            result.set( 0, 0, 0, x1, y1 );
+            return true;
+        }
+        
+        return sweepRayAABB( x1, y1, x2 - x1, y2 - y1, aabb.x1, aabb.y1, aabb.x2, aabb.y2, result );
+        
+    }
+    
+    /**
+     * Realiza a verificação de colisão pixel a pixel entre duas máscaras de
+     * colisão. O deslocamento entre as máscaras é arredondado para baixo,
+     * como nas demais verificações com máscaras.
+     * 
+     * @param maskA A primeira máscara.
+     * @param ax Coordenada x do canto superior esquerdo da primeira máscara.
+     * @param ay Coordenada y do canto superior esquerdo da primeira máscara.
+     * @param maskB A segunda máscara.
+     * @param bx Coordenada x do canto superior esquerdo da segunda máscara.
+     * @param by Coordenada y do canto superior esquerdo da segunda máscara.
+     * @return Verdadeiro caso algum pixel sólido das máscaras se sobreponha, falso caso contrário.
+     */
+    public static boolean checkCollisionMasks( CollisionMask maskA, double ax, double ay, CollisionMask maskB, double bx, double by ) {
+        return maskA.overlaps( maskB, (int) Math.floor( bx - ax ), (int) Math.floor( by - ay ) );
+    }
+    
+    /**
+     * Realiza a verificação de colisão pixel a pixel entre uma máscara de
+     * colisão e uma AABB.
+     * 
+     * @param mask A máscara.
+     * @param x Coordenada x do canto superior esquerdo da máscara.
+     * @param y Coordenada y do canto superior esquerdo da máscara.
+     * @param aabb A AABB.
+     * @return Verdadeiro caso algum pixel sólido da máscara esteja na AABB, falso caso contrário.
+     */
+    public static boolean checkCollisionMaskAABB( CollisionMask mask, double x, double y, AABB aabb ) {
+        return mask.overlapsRectangle( 
+            (int) Math.floor( aabb.x1 - x ), (int) Math.floor( aabb.y1 - y ), 
+            (int) Math.ceil( aabb.x2 - x ), (int) Math.ceil( aabb.y2 - y )
+        );
+    }
+    
+    /**
+     * Realiza a verificação de colisão pixel a pixel entre uma máscara de
+     * colisão e um retângulo.
+     * 
+     * @param mask A máscara.
+     * @param x Coordenada x do canto superior esquerdo da máscara.
+     * @param y Coordenada y do canto superior esquerdo da máscara.
+     * @param rec O retângulo.
+     * @return Verdadeiro caso algum pixel sólido da máscara esteja no retângulo, falso caso contrário.
+     */
+    public static boolean checkCollisionMaskRectangle( CollisionMask mask, double x, double y, Rectangle rec ) {
+        return mask.overlapsRectangle( 
+            (int) Math.floor( rec.x - x ), (int) Math.floor( rec.y - y ), 
+            (int) Math.ceil( rec.x + rec.width - x ), (int) Math.ceil( rec.y + rec.height - y )
+        );
+    }
+    
+    /**
+     * Realiza a verificação de colisão entre uma máscara de colisão e um
+     * ponto.
+     * 
+     * @param mask A máscara.
+     * @param x Coordenada x do canto superior esquerdo da máscara.
+     * @param y Coordenada y do canto superior esquerdo da máscara.
+     * @param px Coordenada x do ponto.
+     * @param py Coordenada y do ponto.
+     * @return Verdadeiro caso o ponto esteja sobre um pixel sólido da máscara, falso caso contrário.
+     */
+    public static boolean checkCollisionMaskPoint( CollisionMask mask, double x, double y, double px, double py ) {
+        return mask.get( (int) Math.floor( px - x ), (int) Math.floor( py - y ) );
+    }
+    
+    /**
+     * Realiza a verificação de colisão entre uma máscara de colisão e um
+     * ponto.
+     * 
+     * @param mask A máscara.
+     * @param position Posição do canto superior esquerdo da máscara.
+     * @param point O ponto.
+     * @return Verdadeiro caso o ponto esteja sobre um pixel sólido da máscara, falso caso contrário.
+     */
+    public static boolean checkCollisionMaskPoint( CollisionMask mask, Vector2 position, Vector2 point ) {
+        return checkCollisionMaskPoint( mask, position.x, position.y, point.x, point.y );
+    }
+    
+    /**
+     * Intersecta um raio parametrizado em [0, 1] com uma caixa alinhada aos
+     * eixos usando o método dos slabs.
+     */
+    private static boolean sweepRayAABB( double ox, double oy, double dx, double dy, double x1, double y1, double x2, double y2, SweepResult result ) {
+        
+        double tNear = Double.NEGATIVE_INFINITY;
+        double tFar = Double.POSITIVE_INFINITY;
+        double nx = 0;
+        double ny = 0;
+        
+        if ( dx == 0 ) {
+            if ( ox < x1 || ox > x2 ) {
+                return false;
+            }
+        } else {
+            double t1 = ( x1 - ox ) / dx;
+            double t2 = ( x2 - ox ) / dx;
+            if ( t1 > t2 ) {
+                double temp = t1;
+                t1 = t2;
+                t2 = temp;
+            }
+            tNear = t1;
+            tFar = t2;
+            nx = dx > 0 ? -1 : 1;
+        }
+        
+        if ( dy == 0 ) {
+            if ( oy < y1 || oy > y2 ) {
+                return false;
+            }
+        } else {
+            double t1 = ( y1 - oy ) / dy;
+            double t2 = ( y2 - oy ) / dy;
+            if ( t1 > t2 ) {
+                double temp = t1;
+                t1 = t2;
+                t2 = temp;
+            }
+            if ( t1 > tNear ) {
+                tNear = t1;
+                nx = 0;
+                ny = dy > 0 ? -1 : 1;
+            }
+            if ( t2 < tFar ) {
+                tFar = t2;
+            }
+        }
+        
+        if ( tNear > tFar || tNear < 0 || tNear > 1 ) {
+            return false;
+        }
+        
+        result.set( tNear, nx, ny, ox + dx * tNear, oy + dy * tNear );
+        return true;
+        
+    }
+    
+    /**
+     * Calcula o tempo de entrada de um raio parametrizado em [0, 1] em um
+     * círculo que não contém a origem do raio, ou -1 caso não haja entrada.
+     */
+    private static double rayCircleTime( double ox, double oy, double dx, double dy, double cx, double cy, double radius ) {
+        
+        double mx = ox - cx;
+        double my = oy - cy;
+        double a = dx * dx + dy * dy;
+        double b = mx * dx + my * dy;
+        double c = mx * mx + my * my - radius * radius;
+        
+        if ( a <= FLT_EPSILON || b >= 0 ) {
+            return -1;
+        }
+        
+        double discriminant = b * b - a * c;
+        if ( discriminant < 0 ) {
+            return -1;
+        }
+        
+        double t = ( -b - Math.sqrt( discriminant ) ) / a;
+        return t < 0 || t > 1 ? -1 : t;
+        
+    }
+    
+    /**
+     * Intersecta um raio parametrizado em [0, 1] com um círculo.
+     */
+    private static boolean sweepRayCircle( double ox, double oy, double dx, double dy, double cx, double cy, double radius, SweepResult result ) {
+        
+        double mx = ox - cx;
+        double my = oy - cy;
+        
+        if ( mx * mx + my * my <= radius * radius ) {
+            double distance = Math.sqrt( mx * mx + my * my );
+            if ( distance > FLT_EPSILON ) {
+                result.set( 0, mx / distance, my / distance, ox, oy );
+            } else {
+                result.set( 0, 0, -1, ox, oy );
+            }
+            return true;
+        }
+        
+        double t = rayCircleTime( ox, oy, dx, dy, cx, cy, radius );
+        if ( t < 0 ) {
+            return false;
+        }
+        
+        double px = ox + dx * t;
+        double py = oy + dy * t;
+        result.set( t, ( px - cx ) / radius, ( py - cy ) / radius, px, py );
+        return true;
+        
+    }
+
 }
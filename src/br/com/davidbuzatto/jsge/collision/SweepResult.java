@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2025 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.collision;
+
+import br.com.davidbuzatto.jsge.math.Vector2;
+
+/**
+ * Resultado de um teste de colisão contínua (swept).
+ *
+ * O tempo de impacto é normalizado no intervalo [0, 1], ou seja, é a fração
+ * do deslocamento percorrida antes do contato. Instâncias podem ser
+ * reutilizadas entre testes para evitar alocações a cada quadro.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class SweepResult {
+
+    /**
+     * Indica se houve impacto durante o deslocamento.
+     */
+    public boolean hit;
+
+    /**
+     * Tempo de impacto, no intervalo [0, 1].
+     */
+    public double time;
+
+    /**
+     * Normal de contato, apontando do alvo para o objeto em movimento.
+     */
+    public final Vector2 normal;
+
+    /**
+     * Posição do objeto em movimento no momento do impacto (canto superior
+     * esquerdo para AABBs, centro para círculos).
+     */
+    public final Vector2 position;
+
+    /**
+     * O alvo atingido, quando o teste é feito via broadphase.
+     */
+    public Object target;
+
+    /**
+     * Cria um novo resultado sem impacto.
+     */
+    public SweepResult() {
+        normal = new Vector2();
+        position = new Vector2();
+        time = 1.0;
+    }
+
+    /**
+     * Reseta o resultado para o estado sem impacto.
+     */
+    public void reset() {
+        hit = false;
+        time = 1.0;
+        normal.x = 0;
+        normal.y = 0;
+        position.x = 0;
+        position.y = 0;
+        target = null;
+    }
+
+    /**
+     * Configura o resultado com um impacto.
+     *
+     * @param time Tempo de impacto.
+     * @param normalX Componente x da normal de contato.
+     * @param normalY Componente y da normal de contato.
+     * @param positionX Coordenada x da posição no impacto.
+     * @param positionY Coordenada y da posição no impacto.
+     */
+    public void set( double time, double normalX, double normalY, double positionX, double positionY ) {
+        this.hit = true;
+        this.time = time;
+        this.normal.x = normalX;
+        this.normal.y = normalY;
+        this.position.x = positionX;
+        this.position.y = positionY;
+    }
+
+    /**
+     * Copia os dados de outro resultado.
+     *
+     * @param other O outro resultado.
+     */
+    public void set( SweepResult other ) {
+        this.hit = other.hit;
+        this.time = other.time;
+        this.normal.x = other.normal.x;
+        this.normal.y = other.normal.y;
+        this.position.x = other.position.x;
+        this.position.y = other.position.y;
+        this.target = other.target;
+    }
+
+    @Override
+    public String toString() {
+        return String.format( "SweepResult[%b, %.4f, %s, %s]", hit, time, normal, position );
+    }
+
+}
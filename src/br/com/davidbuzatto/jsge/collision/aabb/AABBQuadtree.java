@@ -16,14 +16,25 @@
  */
 package br.com.davidbuzatto.jsge.collision.aabb;
 
+import br.com.davidbuzatto.jsge.collision.CollisionUtils;
+import br.com.davidbuzatto.jsge.collision.SweepResult;
 import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
 import br.com.davidbuzatto.jsge.core.utils.ColorUtils;
 import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Uma quadtree para AABBs.
  * 
+ * As consultas reutilizam estruturas internas da árvore, portanto uma
+ * mesma árvore não deve ser consultada por várias threads ao mesmo tempo.
+ * 
  * @author Prof. Dr. David Buzatto
  */
 public class AABBQuadtree {
@@ -49,6 +60,45 @@ public class AABBQuadtree {
      */
     private List<AABB> aabbs;
     
+    /**
+     * AABBs já visitadas pela consulta corrente. Uma AABB pode estar em
+     * vários nós, e também em outras árvores, por isso o controle é feito
+     * pela árvore, e não na própria AABB. O conjunto é reutilizado entre as
+     * consultas.
+     */
+    private final Set<AABB> visited = Collections.newSetFromMap( new IdentityHashMap<>() );
+    
+    /**
+     * Lista auxiliar de candidatos reutilizada pelas consultas de varredura.
+     */
+    private final List<AABB> sweepCandidates = new ArrayList<>();
+    
+    /**
+     * Resultado auxiliar reutilizado pelas consultas de varredura.
+     */
+    private final SweepResult sweepTemp = new SweepResult();
+    
+    /**
+     * Pilha de nós reutilizada pelas consultas de raios.
+     */
+    private AABBQuadtreeNode[] rayStackNodes = new AABBQuadtreeNode[32];
+    
+    /**
+     * Limites das regiões dos nós empilhados, quatro valores por nó.
+     */
+    private double[] rayStackBounds = new double[32 * 4];
+    
+    /**
+     * Tempo de entrada do raio na região de cada nó empilhado.
+     */
+    private double[] rayStackTimes = new double[32];
+    
+    /**
+     * Resultado auxiliar de um único impacto, reutilizado pelas consultas de
+     * raios que buscam apenas o primeiro impacto.
+     */
+    private final SweepResult[] rayFirstHit = { new SweepResult() };
+    
     /**
      * Enumeração para os tipos dos nós da quadtree.
      */
@@ -262,6 +312,517 @@ public class AABBQuadtree {
         }
     }
 
+    /**
+     * Consulta as AABBs ativas que interceptam uma região retangular.
+     * 
+     * Apenas os nós que interceptam a região são visitados. A árvore
+     * precisa estar atualizada (update()).
+     * 
+     * @param x1 Coordenada x do vértice superior esquerdo da região.
+     * @param y1 Coordenada y do vértice superior esquerdo da região.
+     * @param x2 Coordenada x do vértice inferior direito da região.
+     * @param y2 Coordenada y do vértice inferior direito da região.
+     * @param result Lista em que os candidatos serão adicionados.
+     * @return A lista de resultado.
+     */
+    public List<AABB> query( double x1, double y1, double x2, double y2, List<AABB> result ) {
+        visited.clear();
+        queryNode( root, x1, y1, x2, y2, result );
+        return result;
+    }
+    
+    /**
+     * Consulta as AABBs ativas que podem ser atingidas por uma AABB ao longo
+     * de um deslocamento, ou seja, as que interceptam os limites varridos
+     * pela AABB.
+     * 
+     * @param aabb A AABB em movimento.
+     * @param dx Deslocamento em x.
+     * @param dy Deslocamento em y.
+     * @param result Lista em que os candidatos serão adicionados.
+     * @return A lista de resultado.
+     */
+    public List<AABB> querySwept( AABB aabb, double dx, double dy, List<AABB> result ) {
+        return query( 
+            Math.min( aabb.x1, aabb.x1 + dx ), 
+            Math.min( aabb.y1, aabb.y1 + dy ), 
+            Math.max( aabb.x2, aabb.x2 + dx ), 
+            Math.max( aabb.y2, aabb.y2 + dy ), 
+            result
+        );
+    }
+    
+    /**
+     * Encontra o primeiro impacto de uma AABB em movimento contra as AABBs
+     * ativas da árvore, testando apenas os candidatos dos limites varridos.
+     * A própria AABB é ignorada.
+     * 
+     * @param aabb A AABB em movimento.
+     * @param dx Deslocamento em x.
+     * @param dy Deslocamento em y.
+     * @param result O resultado, com o alvo em result.target.
+     * @return Verdadeiro caso haja impacto, falso caso contrário.
+     */
+    public boolean sweep( AABB aabb, double dx, double dy, SweepResult result ) {
+        
+        result.reset();
+        sweepCandidates.clear();
+        querySwept( aabb, dx, dy, sweepCandidates );
+        
+        for ( AABB candidate : sweepCandidates ) {
+            if ( candidate != aabb && 
+                 CollisionUtils.checkCollisionSweptAABBs( aabb, dx, dy, candidate, sweepTemp ) && 
+                 ( !result.hit || sweepTemp.time < result.time ) ) {
+                result.set( sweepTemp );
+                result.target = candidate;
+            }
+        }
+        
+        return result.hit;
+        
+    }
+    
+    /**
+     * Encontra o primeiro impacto de um círculo em movimento contra as AABBs
+     * ativas da árvore, testando apenas os candidatos dos limites varridos.
+     * 
+     * @param x Coordenada x do centro do círculo.
+     * @param y Coordenada y do centro do círculo.
+     * @param radius Raio do círculo.
+     * @param dx Deslocamento em x.
+     * @param dy Deslocamento em y.
+     * @param result O resultado, com o alvo em result.target.
+     * @return Verdadeiro caso haja impacto, falso caso contrário.
+     */
+    public boolean sweepCircle( double x, double y, double radius, double dx, double dy, SweepResult result ) {
+        
+        result.reset();
+        sweepCandidates.clear();
+        query( 
+            Math.min( x, x + dx ) - radius, 
+            Math.min( y, y + dy ) - radius, 
+            Math.max( x, x + dx ) + radius, 
+            Math.max( y, y + dy ) + radius, 
+            sweepCandidates
+        );
+        
+        for ( AABB candidate : sweepCandidates ) {
+            if ( CollisionUtils.checkCollisionSweptCircleAABB( x, y, radius, dx, dy, candidate, sweepTemp ) && 
+                 ( !result.hit || sweepTemp.time < result.time ) ) {
+                result.set( sweepTemp );
+                result.target = candidate;
+            }
+        }
+        
+        return result.hit;
+        
+    }
+    
+    /**
+     * Lança um segmento contra as AABBs ativas da árvore e encontra o
+     * primeiro impacto. Apenas os nós cruzados pelo segmento são visitados,
+     * do mais próximo para o mais distante, e a busca termina assim que
+     * nenhum nó restante puder conter um impacto mais próximo.
+     * 
+     * O tempo do resultado é a fração do segmento até o impacto, a posição
+     * é o ponto de impacto e o alvo é a AABB atingida.
+     * 
+     * @param x1 Coordenada x do início do segmento.
+     * @param y1 Coordenada y do início do segmento.
+     * @param x2 Coordenada x do fim do segmento.
+     * @param y2 Coordenada y do fim do segmento.
+     * @param result O resultado, com o alvo em result.target.
+     * @return Verdadeiro caso haja impacto, falso caso contrário.
+     */
+    public boolean raycast( double x1, double y1, double x2, double y2, SweepResult result ) {
+        return raycast( x1, y1, x2, y2, null, result );
+    }
+    
+    /**
+     * Lança um segmento contra as AABBs ativas da árvore e encontra o
+     * primeiro impacto, considerando apenas as AABBs aceitas por um filtro.
+     * 
+     * @param x1 Coordenada x do início do segmento.
+     * @param y1 Coordenada y do início do segmento.
+     * @param x2 Coordenada x do fim do segmento.
+     * @param y2 Coordenada y do fim do segmento.
+     * @param filter Filtro das AABBs consideradas, ou null para todas.
+     * @param result O resultado, com o alvo em result.target.
+     * @return Verdadeiro caso haja impacto, falso caso contrário.
+     */
+    public boolean raycast( double x1, double y1, double x2, double y2, Predicate<AABB> filter, SweepResult result ) {
+        
+        result.reset();
+        
+        if ( raycastNodes( x1, y1, x2, y2, filter, rayFirstHit, 1, false ) > 0 ) {
+            result.set( rayFirstHit[0] );
+        }
+        
+        return result.hit;
+        
+    }
+    
+    /**
+     * Lança um segmento contra as AABBs ativas da árvore e obtém os impactos
+     * ordenados pela distância. São mantidos no máximo results.length
+     * impactos, os mais próximos, e os nós que só poderiam conter impactos
+     * mais distantes do que o último mantido deixam de ser visitados.
+     * 
+     * @param x1 Coordenada x do início do segmento.
+     * @param y1 Coordenada y do início do segmento.
+     * @param x2 Coordenada x do fim do segmento.
+     * @param y2 Coordenada y do fim do segmento.
+     * @param results Os resultados que serão preenchidos.
+     * @return A quantidade de impactos encontrados.
+     */
+    public int raycastAll( double x1, double y1, double x2, double y2, SweepResult[] results ) {
+        return raycastAll( x1, y1, x2, y2, null, results );
+    }
+    
+    /**
+     * Lança um segmento contra as AABBs ativas da árvore e obtém os impactos
+     * ordenados pela distância, considerando apenas as AABBs aceitas por um
+     * filtro.
+     * 
+     * @param x1 Coordenada x do início do segmento.
+     * @param y1 Coordenada y do início do segmento.
+     * @param x2 Coordenada x do fim do segmento.
+     * @param y2 Coordenada y do fim do segmento.
+     * @param filter Filtro das AABBs consideradas, ou null para todas.
+     * @param results Os resultados que serão preenchidos.
+     * @return A quantidade de impactos encontrados.
+     */
+    public int raycastAll( double x1, double y1, double x2, double y2, Predicate<AABB> filter, SweepResult[] results ) {
+        
+        for ( SweepResult result : results ) {
+            result.reset();
+        }
+        
+        if ( results.length == 0 ) {
+            return 0;
+        }
+        
+        return raycastNodes( x1, y1, x2, y2, filter, results, results.length, false );
+        
+    }
+    
+    /**
+     * Verifica se existe linha de visão entre dois pontos, ou seja, se o
+     * segmento entre eles não atinge nenhuma AABB ativa. A busca termina no
+     * primeiro impacto encontrado, sem procurar o mais próximo.
+     * 
+     * @param x1 Coordenada x do primeiro ponto.
+     * @param y1 Coordenada y do primeiro ponto.
+     * @param x2 Coordenada x do segundo ponto.
+     * @param y2 Coordenada y do segundo ponto.
+     * @return Verdadeiro caso haja linha de visão, falso caso contrário.
+     */
+    public boolean hasLineOfSight( double x1, double y1, double x2, double y2 ) {
+        return hasLineOfSight( x1, y1, x2, y2, null );
+    }
+    
+    /**
+     * Verifica se existe linha de visão entre dois pontos, considerando
+     * apenas as AABBs aceitas por um filtro como obstáculos (por exemplo,
+     * para ignorar o próprio observador e o alvo).
+     * 
+     * @param x1 Coordenada x do primeiro ponto.
+     * @param y1 Coordenada y do primeiro ponto.
+     * @param x2 Coordenada x do segundo ponto.
+     * @param y2 Coordenada y do segundo ponto.
+     * @param filter Filtro das AABBs consideradas obstáculos, ou null para todas.
+     * @return Verdadeiro caso haja linha de visão, falso caso contrário.
+     */
+    public boolean hasLineOfSight( double x1, double y1, double x2, double y2, Predicate<AABB> filter ) {
+        return raycastNodes( x1, y1, x2, y2, filter, rayFirstHit, 1, true ) == 0;
+    }
+    
+    /**
+     * Lança vários segmentos, por exemplo os raios de um cone de visão,
+     * reutilizando a pilha de travessia entre eles, sem alocações.
+     * 
+     * @param segments Segmentos empacotados (x1, y1, x2, y2, x1, y1, ...).
+     * @param segmentCount Quantidade de segmentos.
+     * @param filter Filtro das AABBs consideradas, ou null para todas.
+     * @param results Os resultados, um por segmento.
+     * @return A quantidade de segmentos que atingiram alguma AABB.
+     */
+    public int raycast( double[] segments, int segmentCount, Predicate<AABB> filter, SweepResult[] results ) {
+        
+        int hits = 0;
+        
+        for ( int i = 0; i < segmentCount; i++ ) {
+            int k = i * 4;
+            if ( raycast( segments[k], segments[k+1], segments[k+2], segments[k+3], filter, results[i] ) ) {
+                hits++;
+            }
+        }
+        
+        return hits;
+        
+    }
+    
+    /**
+     * Verifica a linha de visão de vários segmentos, reutilizando a pilha de
+     * travessia entre eles, sem alocações.
+     * 
+     * @param segments Segmentos empacotados (x1, y1, x2, y2, x1, y1, ...).
+     * @param segmentCount Quantidade de segmentos.
+     * @param filter Filtro das AABBs consideradas obstáculos, ou null para todas.
+     * @param visible Resultados, verdadeiro para os segmentos desobstruídos.
+     * @return A quantidade de segmentos desobstruídos.
+     */
+    public int hasLineOfSight( double[] segments, int segmentCount, Predicate<AABB> filter, boolean[] visible ) {
+        
+        int count = 0;
+        
+        for ( int i = 0; i < segmentCount; i++ ) {
+            int k = i * 4;
+            visible[i] = hasLineOfSight( segments[k], segments[k+1], segments[k+2], segments[k+3], filter );
+            if ( visible[i] ) {
+                count++;
+            }
+        }
+        
+        return count;
+        
+    }
+    
+    /**
+     * Percorre os nós cruzados pelo segmento do mais próximo para o mais
+     * distante, mantendo os maxHits impactos mais próximos ordenados.
+     * 
+     * As regiões dos nós seguem o mesmo critério de distribuição usado na
+     * inserção: as bordas externas da raiz são ilimitadas, pois AABBs fora
+     * da área da árvore são guardadas nos nós da borda.
+     */
+    private int raycastNodes( double x1, double y1, double x2, double y2, Predicate<AABB> filter, SweepResult[] hits, int maxHits, boolean anyHit ) {
+        
+        if ( root == null ) {
+            return 0;
+        }
+        
+        visited.clear();
+        
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+        double inf = Double.POSITIVE_INFINITY;
+        int count = 0;
+        int top = 0;
+        
+        top = pushRayNode( top, root, -inf, -inf, inf, inf, 0 );
+        
+        while ( top > 0 ) {
+            
+            top--;
+            AABBQuadtreeNode node = rayStackNodes[top];
+            rayStackNodes[top] = null;
+            double limit = count == maxHits ? hits[maxHits-1].time : 1.0;
+            
+            if ( rayStackTimes[top] > limit ) {
+                continue;
+            }
+            
+            int b = top * 4;
+            double bx1 = rayStackBounds[b];
+            double by1 = rayStackBounds[b+1];
+            double bx2 = rayStackBounds[b+2];
+            double by2 = rayStackBounds[b+3];
+            
+            if ( node.depth < maxDepth && node.aabbs.size() > 1 && node.nw != null ) {
+                
+                double xc = node.xCenter;
+                double yc = node.yCenter;
+                double tNw = segmentEnterTime( x1, y1, dx, dy, bx1, by1, xc, yc, limit );
+                double tNe = segmentEnterTime( x1, y1, dx, dy, xc, by1, bx2, yc, limit );
+                double tSw = segmentEnterTime( x1, y1, dx, dy, bx1, yc, xc, by2, limit );
+                double tSe = segmentEnterTime( x1, y1, dx, dy, xc, yc, bx2, by2, limit );
+                int start = top;
+                
+                // empilha e ordena para que o filho mais próximo saia primeiro
+                if ( tNw >= 0 ) {
+                    top = pushRayNode( top, node.nw, bx1, by1, xc, yc, tNw );
+                }
+                if ( tNe >= 0 ) {
+                    top = pushRayNode( top, node.ne, xc, by1, bx2, yc, tNe );
+                }
+                if ( tSw >= 0 ) {
+                    top = pushRayNode( top, node.sw, bx1, yc, xc, by2, tSw );
+                }
+                if ( tSe >= 0 ) {
+                    top = pushRayNode( top, node.se, xc, yc, bx2, by2, tSe );
+                }
+                sortRayStack( start, top );
+                
+            } else {
+                
+                for ( AABB aabb : node.aabbs ) {
+                    
+                    if ( !visited.add( aabb ) ) {
+                        continue;
+                    }
+                    
+                    if ( ( filter == null || filter.test( aabb ) ) && 
+                         CollisionUtils.checkCollisionSegmentAABB( x1, y1, x2, y2, aabb, sweepTemp ) ) {
+                        
+                        sweepTemp.target = aabb;
+                        
+                        if ( anyHit ) {
+                            hits[0].set( sweepTemp );
+                            clearRayStack( top );
+                            return 1;
+                        }
+                        
+                        if ( count < maxHits || sweepTemp.time < hits[maxHits-1].time ) {
+                            int i = count < maxHits ? count++ : maxHits - 1;
+                            while ( i > 0 && hits[i-1].time > sweepTemp.time ) {
+                                hits[i].set( hits[i-1] );
+                                i--;
+                            }
+                            hits[i].set( sweepTemp );
+                        }
+                        
+                    }
+                    
+                }
+                
+            }
+            
+        }
+        
+        return count;
+        
+    }
+    
+    /**
+     * Calcula o tempo de entrada de um segmento em uma região, que pode ter
+     * limites infinitos, ou -1 caso não a cruze até o limite dado.
+     */
+    private static double segmentEnterTime( double ox, double oy, double dx, double dy, double x1, double y1, double x2, double y2, double limit ) {
+        
+        double tMin = 0;
+        double tMax = limit;
+        
+        if ( dx == 0 ) {
+            if ( ox < x1 || ox > x2 ) {
+                return -1;
+            }
+        } else {
+            double t1 = ( x1 - ox ) / dx;
+            double t2 = ( x2 - ox ) / dx;
+            tMin = Math.max( tMin, Math.min( t1, t2 ) );
+            tMax = Math.min( tMax, Math.max( t1, t2 ) );
+        }
+        
+        if ( dy == 0 ) {
+            if ( oy < y1 || oy > y2 ) {
+                return -1;
+            }
+        } else {
+            double t1 = ( y1 - oy ) / dy;
+            double t2 = ( y2 - oy ) / dy;
+            tMin = Math.max( tMin, Math.min( t1, t2 ) );
+            tMax = Math.min( tMax, Math.max( t1, t2 ) );
+        }
+        
+        return tMin <= tMax ? tMin : -1;
+        
+    }
+    
+    private int pushRayNode( int top, AABBQuadtreeNode node, double x1, double y1, double x2, double y2, double time ) {
+        
+        if ( top == rayStackNodes.length ) {
+            rayStackNodes = Arrays.copyOf( rayStackNodes, top * 2 );
+            rayStackBounds = Arrays.copyOf( rayStackBounds, top * 2 * 4 );
+            rayStackTimes = Arrays.copyOf( rayStackTimes, top * 2 );
+        }
+        
+        int b = top * 4;
+        rayStackNodes[top] = node;
+        rayStackBounds[b] = x1;
+        rayStackBounds[b+1] = y1;
+        rayStackBounds[b+2] = x2;
+        rayStackBounds[b+3] = y2;
+        rayStackTimes[top] = time;
+        
+        return top + 1;
+        
+    }
+    
+    /**
+     * Ordena os nós empilhados em [start, end) por tempo decrescente, de
+     * forma que o mais próximo fique no topo.
+     */
+    private void sortRayStack( int start, int end ) {
+        for ( int i = start + 1; i < end; i++ ) {
+            for ( int j = i; j > start && rayStackTimes[j-1] < rayStackTimes[j]; j-- ) {
+                swapRayStack( j - 1, j );
+            }
+        }
+    }
+    
+    private void swapRayStack( int i, int j ) {
+        
+        AABBQuadtreeNode node = rayStackNodes[i];
+        rayStackNodes[i] = rayStackNodes[j];
+        rayStackNodes[j] = node;
+        
+        double time = rayStackTimes[i];
+        rayStackTimes[i] = rayStackTimes[j];
+        rayStackTimes[j] = time;
+        
+        for ( int k = 0; k < 4; k++ ) {
+            double v = rayStackBounds[i*4+k];
+            rayStackBounds[i*4+k] = rayStackBounds[j*4+k];
+            rayStackBounds[j*4+k] = v;
+        }
+        
+    }
+    
+    private void clearRayStack( int top ) {
+        for ( int i = 0; i < top; i++ ) {
+            rayStackNodes[i] = null;
+        }
+    }
+    
+    /**
+     * Visita recursivamente os nós que interceptam a região consultada,
+     * seguindo o mesmo critério de distribuição usado na inserção.
+     */
+    private void queryNode( AABBQuadtreeNode node, double x1, double y1, double x2, double y2, List<AABB> result ) {
+        
+        if ( node == null ) {
+            return;
+        }
+        
+        if ( node.depth < maxDepth && node.aabbs.size() > 1 && node.nw != null ) {
+            if ( y1 <= node.yCenter ) {
+                if ( x1 <= node.xCenter ) {
+                    queryNode( node.nw, x1, y1, x2, y2, result );
+                }
+                if ( x2 >= node.xCenter ) {
+                    queryNode( node.ne, x1, y1, x2, y2, result );
+                }
+            }
+            if ( y2 >= node.yCenter ) {
+                if ( x1 <= node.xCenter ) {
+                    queryNode( node.sw, x1, y1, x2, y2, result );
+                }
+                if ( x2 >= node.xCenter ) {
+                    queryNode( node.se, x1, y1, x2, y2, result );
+                }
+            }
+        } else {
+            for ( AABB aabb : node.aabbs ) {
+                if ( aabb.x1 <= x2 && aabb.x2 >= x1 && aabb.y1 <= y2 && aabb.y2 >= y1 && 
+                     visited.add( aabb ) ) {
+                    result.add( aabb );
+                }
+            }
+        }
+        
+    }
+
     /**
      * Reseta os nós recursivamente.
      * 
@@ -16,6 +16,9 @@
  */
 package br.com.davidbuzatto.jsge.core;
 
+import br.com.davidbuzatto.jsge.collision.aabb.AABB;
+import br.com.davidbuzatto.jsge.geom.Circle;
+import br.com.davidbuzatto.jsge.geom.Rectangle;
 import br.com.davidbuzatto.jsge.math.Matrix;
 import br.com.davidbuzatto.jsge.math.Vector2;
 import br.com.davidbuzatto.jsge.math.Vector3;
@@ -46,6 +49,34 @@ public class Camera2D {
      * Fator de zoom.
      */
     public double zoom;
+    
+    /*
+     * Estado da câmera usado no cálculo das transformações em cache. Como os
+     * campos da câmera são públicos, o cache é validado comparando o estado
+     * atual com esse estado a cada uso.
+     */
+    private double cachedTargetX;
+    private double cachedTargetY;
+    private double cachedOffsetX;
+    private double cachedOffsetY;
+    private double cachedRotation;
+    private double cachedZoom;
+    private boolean cacheValid;
+    
+    /*
+     * Transformação do mundo para a tela (m) e da tela para o mundo (i):
+     * x' = m00 * x + m01 * y + m02 e y' = m10 * x + m11 * y + m12.
+     */
+    private double m00, m01, m02, m10, m11, m12;
+    private double i00, i01, i02, i10, i11, i12;
+    
+    /*
+     * Área visível do mundo em cache, para o tamanho de tela informado.
+     */
+    private double visibleScreenWidth = -1;
+    private double visibleScreenHeight = -1;
+    private double visibleX1, visibleY1, visibleX2, visibleY2;
+    private boolean visibleValid;
 
     /**
      * Cria uma nova câmera apontando para a coordenada 0.0; 0.0, com deslocamento
@@ -83,12 +114,8 @@ public class Camera2D {
      * @return O ponto correspondente do mundo 2D.
      */
     public Vector2 getScreenToWorld( double x, double y ) {
-        
-        Matrix invMatCamera = getCameraMatrix().invert();
-        Vector3 transform = new Vector3( x, y, 0 ).transform( invMatCamera );
-
-        return new Vector2( transform.x, transform.y );
-        
+        validateCache();
+        return new Vector2( i00 * x + i01 * y + i02, i10 * x + i11 * y + i12 );
     }
     
     /**
@@ -111,12 +138,8 @@ public class Camera2D {
      * @return O ponto correspondente da tela.
      */
     public Vector2 getWorldToScreen( double x, double y ) {
-        
-        Matrix matCamera = getCameraMatrix();
-        Vector3 transform = new Vector3( x, y, 0 ).transform( matCamera );
-
-        return new Vector2( transform.x, transform.y );
-        
+        validateCache();
+        return new Vector2( m00 * x + m01 * y + m02, m10 * x + m11 * y + m12 );
     }
     
     /**
@@ -130,6 +153,212 @@ public class Camera2D {
         return getWorldToScreen( point.x, point.y );
     }
     
+    /**
+     * Converte, em lote, coordenadas do mundo 2D para coordenadas da tela.
+     * As coordenadas são armazenadas intercaladas (x0, y0, x1, y1, ...) e
+     * os vetores de origem e destino podem ser o mesmo.
+     * 
+     * @param src As coordenadas do mundo 2D.
+     * @param dst As coordenadas da tela.
+     * @param count A quantidade de pontos.
+     */
+    public void getWorldToScreen( double[] src, double[] dst, int count ) {
+        validateCache();
+        transformPoints( src, dst, count, m00, m01, m02, m10, m11, m12 );
+    }
+    
+    /**
+     * Converte, em lote, coordenadas da tela para coordenadas do mundo 2D.
+     * As coordenadas são armazenadas intercaladas (x0, y0, x1, y1, ...) e
+     * os vetores de origem e destino podem ser o mesmo.
+     * 
+     * @param src As coordenadas da tela.
+     * @param dst As coordenadas do mundo 2D.
+     * @param count A quantidade de pontos.
+     */
+    public void getScreenToWorld( double[] src, double[] dst, int count ) {
+        validateCache();
+        transformPoints( src, dst, count, i00, i01, i02, i10, i11, i12 );
+    }
+    
+    private static void transformPoints( double[] src, double[] dst, int count, 
+            double a, double b, double c, double d, double e, double f ) {
+        for ( int i = 0, n = count * 2; i < n; i += 2 ) {
+            double x = src[i];
+            double y = src[i+1];
+            dst[i] = a * x + b * y + c;
+            dst[i+1] = d * x + e * y + f;
+        }
+    }
+    
+    /**
+     * Obtém a área do mundo 2D visível na tela, ou seja, a AABB que contém
+     * os quatro cantos da tela convertidos para o mundo. Com a câmera
+     * rotacionada, a AABB contém também partes do mundo fora da tela.
+     * 
+     * @param screenWidth Largura da tela.
+     * @param screenHeight Altura da tela.
+     * @return A área visível do mundo 2D.
+     */
+    public AABB getVisibleWorldAABB( double screenWidth, double screenHeight ) {
+        validateVisibleArea( screenWidth, screenHeight );
+        return new AABB( visibleX1, visibleY1, visibleX2, visibleY2, this );
+    }
+    
+    /**
+     * Verifica se uma AABB do mundo 2D pode estar visível na tela. O teste
+     * é conservador: com a câmera rotacionada, objetos próximos dos cantos
+     * da tela podem ser considerados visíveis sem estar.
+     * 
+     * @param aabb A AABB.
+     * @param screenWidth Largura da tela.
+     * @param screenHeight Altura da tela.
+     * @return Verdadeiro caso a AABB possa estar visível, falso caso
+     * contrário.
+     */
+    public boolean isVisible( AABB aabb, double screenWidth, double screenHeight ) {
+        return isVisible( aabb.x1, aabb.y1, aabb.x2, aabb.y2, screenWidth, screenHeight );
+    }
+    
+    /**
+     * Verifica se um retângulo do mundo 2D pode estar visível na tela. O
+     * teste é conservador: com a câmera rotacionada, objetos próximos dos
+     * cantos da tela podem ser considerados visíveis sem estar.
+     * 
+     * @param rectangle O retângulo.
+     * @param screenWidth Largura da tela.
+     * @param screenHeight Altura da tela.
+     * @return Verdadeiro caso o retângulo possa estar visível, falso caso
+     * contrário.
+     */
+    public boolean isVisible( Rectangle rectangle, double screenWidth, double screenHeight ) {
+        return isVisible( 
+            rectangle.x, rectangle.y, 
+            rectangle.x + rectangle.width, rectangle.y + rectangle.height, 
+            screenWidth, screenHeight );
+    }
+    
+    /**
+     * Verifica se um círculo do mundo 2D pode estar visível na tela. O
+     * teste é conservador: com a câmera rotacionada, objetos próximos dos
+     * cantos da tela podem ser considerados visíveis sem estar.
+     * 
+     * @param circle O círculo.
+     * @param screenWidth Largura da tela.
+     * @param screenHeight Altura da tela.
+     * @return Verdadeiro caso o círculo possa estar visível, falso caso
+     * contrário.
+     */
+    public boolean isVisible( Circle circle, double screenWidth, double screenHeight ) {
+        
+        validateVisibleArea( screenWidth, screenHeight );
+        
+        // ponto da área visível mais próximo do centro
+        double nx = Math.max( visibleX1, Math.min( circle.x, visibleX2 ) );
+        double ny = Math.max( visibleY1, Math.min( circle.y, visibleY2 ) );
+        double dx = circle.x - nx;
+        double dy = circle.y - ny;
+        
+        return dx * dx + dy * dy <= circle.radius * circle.radius;
+        
+    }
+    
+    /**
+     * Verifica se uma região retangular do mundo 2D pode estar visível na
+     * tela. O teste é conservador: com a câmera rotacionada, objetos
+     * próximos dos cantos da tela podem ser considerados visíveis sem estar.
+     * 
+     * @param x1 Coordenada x do vértice superior esquerdo da região.
+     * @param y1 Coordenada y do vértice superior esquerdo da região.
+     * @param x2 Coordenada x do vértice inferior direito da região.
+     * @param y2 Coordenada y do vértice inferior direito da região.
+     * @param screenWidth Largura da tela.
+     * @param screenHeight Altura da tela.
+     * @return Verdadeiro caso a região possa estar visível, falso caso
+     * contrário.
+     */
+    public boolean isVisible( double x1, double y1, double x2, double y2, double screenWidth, double screenHeight ) {
+        validateVisibleArea( screenWidth, screenHeight );
+        return x2 >= visibleX1 && x1 <= visibleX2 && y2 >= visibleY1 && y1 <= visibleY2;
+    }
+    
+    /**
+     * Recalcula as transformações em cache caso o estado da câmera tenha
+     * mudado desde o último cálculo.
+     */
+    private void validateCache() {
+        
+        if ( cacheValid && 
+             cachedTargetX == target.x && cachedTargetY == target.y && 
+             cachedOffsetX == offset.x && cachedOffsetY == offset.y && 
+             cachedRotation == rotation && cachedZoom == zoom ) {
+            return;
+        }
+        
+        cachedTargetX = target.x;
+        cachedTargetY = target.y;
+        cachedOffsetX = offset.x;
+        cachedOffsetY = offset.y;
+        cachedRotation = rotation;
+        cachedZoom = zoom;
+        
+        // mesma transformação de getCameraMatrix: translada por -target,
+        // rotaciona, aplica o zoom e translada por offset
+        double theta = Math.toRadians( rotation );
+        double cos = Math.cos( theta );
+        double sin = Math.sin( theta );
+        
+        m00 = zoom * cos;
+        m01 = -zoom * sin;
+        m10 = zoom * sin;
+        m11 = zoom * cos;
+        m02 = offset.x - ( m00 * target.x + m01 * target.y );
+        m12 = offset.y - ( m10 * target.x + m11 * target.y );
+        
+        i00 = cos / zoom;
+        i01 = sin / zoom;
+        i10 = -sin / zoom;
+        i11 = cos / zoom;
+        i02 = target.x - ( i00 * offset.x + i01 * offset.y );
+        i12 = target.y - ( i10 * offset.x + i11 * offset.y );
+        
+        cacheValid = true;
+        visibleValid = false;
+        
+    }
+    
+    /**
+     * Recalcula a área visível em cache caso a câmera ou o tamanho da tela
+     * tenham mudado.
+     */
+    private void validateVisibleArea( double screenWidth, double screenHeight ) {
+        
+        validateCache();
+        
+        if ( visibleValid && visibleScreenWidth == screenWidth && visibleScreenHeight == screenHeight ) {
+            return;
+        }
+        
+        double ax = i02;
+        double ay = i12;
+        double bx = i00 * screenWidth + i02;
+        double by = i10 * screenWidth + i12;
+        double cx = i01 * screenHeight + i02;
+        double cy = i11 * screenHeight + i12;
+        double dx = i00 * screenWidth + i01 * screenHeight + i02;
+        double dy = i10 * screenWidth + i11 * screenHeight + i12;
+        
+        visibleX1 = Math.min( Math.min( ax, bx ), Math.min( cx, dx ) );
+        visibleY1 = Math.min( Math.min( ay, by ), Math.min( cy, dy ) );
+        visibleX2 = Math.max( Math.max( ax, bx ), Math.max( cx, dx ) );
+        visibleY2 = Math.max( Math.max( ay, by ), Math.max( cy, dy ) );
+        
+        visibleScreenWidth = screenWidth;
+        visibleScreenHeight = screenHeight;
+        visibleValid = true;
+        
+    }
+    
     /**
      * Obtém a matriz da câmera 2D.
      * 
@@ -22,6 +22,7 @@ import br.com.davidbuzatto.jsge.core.utils.TraceLogUtils;
 import br.com.davidbuzatto.jsge.core.utils.ColorUtils;
 import br.com.davidbuzatto.jsge.core.utils.CoreUtils;
 import br.com.davidbuzatto.jsge.core.utils.DrawingUtils;
+import br.com.davidbuzatto.jsge.core.utils.PathCache;
 import br.com.davidbuzatto.jsge.core.utils.StrokeUtils;
 import br.com.davidbuzatto.jsge.font.FontUtils;
 import br.com.davidbuzatto.jsge.geom.Arc;
@@ -45,9 +46,11 @@ import br.com.davidbuzatto.jsge.math.Vector2;
 import br.com.davidbuzatto.jsge.sound.Music;
 import br.com.davidbuzatto.jsge.sound.Sound;
 import java.awt.AWTException;
+import java.awt.AlphaComposite;
 import java.awt.BasicStroke;
 import java.awt.BorderLayout;
 import java.awt.Color;
+import java.awt.Composite;
 import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.Font;
@@ -72,9 +75,11 @@ import java.awt.event.WindowEvent;
 import java.awt.font.GlyphVector;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Arc2D;
+import java.awt.geom.Area;
 import java.awt.geom.CubicCurve2D;
 import java.awt.geom.Ellipse2D;
 import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
 import java.awt.geom.QuadCurve2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.geom.RoundRectangle2D;
@@ -94,12 +99,17 @@ import java.net.URL;
 import java.text.AttributedCharacterIterator;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.LogManager;
 import javax.imageio.ImageIO;
 import javax.imageio.stream.ImageOutputStream;
@@ -134,6 +144,11 @@ public abstract class EngineFrame extends JFrame {
      * Pilha de contextos gráficos. 
      */
     private Deque<Graphics2D> g2dStack;
+    
+    /**
+     * Caminho reutilizado pelo desenho de linhas em lote.
+     */
+    private final Path2D.Double linesPath = new Path2D.Double();
 
     /**
      * Fonte padrão.
@@ -307,6 +322,41 @@ public abstract class EngineFrame extends JFrame {
                 "invisible"
             );
     
+    /** Cor de preenchimento do destaque das regiões sujas. */
+    private static final Color DIRTY_REGION_FILL_COLOR = new Color( 255, 0, 0, 48 );
+    
+    /** Cor da borda do destaque das regiões sujas. */
+    private static final Color DIRTY_REGION_BORDER_COLOR = new Color( 255, 0, 0, 200 );
+    
+    /** Tamanho do cache das cores compactadas (potência de 2). */
+    private static final int PACKED_COLOR_CACHE_SIZE = 256;
+    
+    /**
+     * Cache de mapeamento direto das cores usadas pelos métodos de desenho
+     * que recebem cores compactadas, evitando alocar uma nova cor a cada
+     * desenho quando a cor não muda.
+     */
+    private final Color[] packedColorCache = new Color[PACKED_COLOR_CACHE_SIZE];
+    
+    /**
+     * Controle das mudanças de estado do contexto gráfico, que ignora as
+     * mudanças redundantes e as contabiliza por quadro.
+     */
+    private final RenderStateCache renderState = new RenderStateCache();
+    
+    /*
+     * Parâmetros do controle dinâmico da resolução interna: a escala é
+     * reduzida quando o tempo médio do quadro passa de 95% do tempo
+     * disponível e aumentada quando fica abaixo de 70%, aguardando alguns
+     * quadros entre mudanças para a média se estabilizar.
+     */
+    private static final double RENDER_TIME_SMOOTHING = 0.1;
+    private static final double RENDER_SCALE_DOWN_THRESHOLD = 0.95;
+    private static final double RENDER_SCALE_UP_THRESHOLD = 0.7;
+    private static final double RENDER_SCALE_DOWN_FACTOR = 0.9;
+    private static final double RENDER_SCALE_UP_FACTOR = 1.05;
+    private static final int RENDER_SCALE_COOLDOWN_FRAMES = 20;
+    
     /** Flag que indica se a engine está em modo 2D (câmera). */
     private boolean mode2DActive = false;
     
@@ -315,6 +365,100 @@ public abstract class EngineFrame extends JFrame {
     
     /** O contexto gráfico original do ciclo. */
     private Graphics2D baseGraphics;
+    
+    /** A imagem alvo do modo de textura, ou null fora dele. */
+    private Image textureModeImage;
+    
+    /** Profundidade da pilha de contextos ao iniciar o modo de textura. */
+    private int textureModeStackDepth;
+    
+    /** Estado do modo 2D antes do início do modo de textura. */
+    private boolean textureModeSavedMode2DActive;
+    
+    /** As camadas de desenho com cache, ordenadas pela ordem z. */
+    private final List<RenderLayer> renderLayers = new ArrayList<>();
+    
+    /** Flag que indica se o modo de regiões sujas está ativo. */
+    private volatile boolean dirtyRegionMode;
+    
+    /** Flag que indica se as regiões sujas devem ser destacadas na tela. */
+    private volatile boolean dirtyRegionDebugOverlay;
+    
+    /** Regiões marcadas como sujas desde o último quadro. */
+    private final List<java.awt.Rectangle> pendingDirtyRegions = new ArrayList<>();
+    
+    /** Regiões enviadas para o desenho e ainda não redesenhadas. */
+    private final List<java.awt.Rectangle> paintDirtyRegions = new ArrayList<>();
+    
+    /** Regiões destacadas no último quadro pela sobreposição de depuração. */
+    private List<java.awt.Rectangle> debugDirtyRegions = new ArrayList<>();
+    
+    /** Imagem retida com o conteúdo da tela no modo de regiões sujas. */
+    private BufferedImage dirtyBackBuffer;
+    
+    /** 
+     * Flag que indica que a imagem retida deve ser redesenhada por inteiro.
+     * A imagem só é acessada pela thread de eventos, então a troca de modo
+     * apenas sinaliza por meio dessa flag.
+     */
+    private volatile boolean dirtyBackBufferStale;
+    
+    /** Recorte das regiões sujas em redesenho, ou null fora dele. */
+    private Shape dirtyClip;
+    
+    /** Escala da resolução interna de desenho em relação à janela. */
+    private volatile double renderScale = 1.0;
+    
+    /** Flag que indica se a ampliação da resolução interna é bilinear. */
+    private volatile boolean renderScaleBilinear;
+    
+    /** Flag que indica se a escala da resolução interna é dinâmica. */
+    private volatile boolean dynamicRenderScale;
+    
+    /** Escala mínima do controle dinâmico da resolução interna. */
+    private volatile double minRenderScale = 0.5;
+    
+    /** Escala máxima do controle dinâmico da resolução interna. */
+    private volatile double maxRenderScale = 1.0;
+    
+    /** Imagem com a resolução interna de desenho. */
+    private BufferedImage renderScaleBuffer;
+    
+    /** Média móvel, em milissegundos, do tempo de atualização e desenho (EDT). */
+    private double renderTimeAverage;
+    
+    /** Quantidade de quadros até a próxima mudança dinâmica de escala (EDT). */
+    private int renderScaleCooldown;
+    
+    /** Flag que pede à EDT que reinicie a média e a espera do controle dinâmico. */
+    private volatile boolean renderScaleStatsStale;
+    
+    /** Tempo, em nanossegundos, da última atualização. */
+    private volatile long lastUpdateTime;
+    
+    /** Flag que indica se o desenho em regiões paralelas está ativo. */
+    private volatile boolean tiledRendering;
+    
+    /** Quantidade de regiões do desenho em regiões paralelas. */
+    private volatile int renderTiles = Runtime.getRuntime().availableProcessors();
+    
+    /** 
+     * Threads que desenham as regiões, exceto a primeira. Assim como as
+     * imagens das regiões, só são acessadas pela thread de eventos.
+     */
+    private ExecutorService tileExecutor;
+    
+    /** Quantidade de threads de tileExecutor. */
+    private int tileExecutorThreads;
+    
+    /** Imagens das regiões do desenho paralelo. */
+    private BufferedImage[] tiledBuffers;
+    
+    /** Altura da tela usada na criação das imagens das regiões. */
+    private int tiledBufferHeight;
+    
+    /** Imagem que fornece o contexto de sombra da gravação. */
+    private final BufferedImage tiledShadowImage = new BufferedImage( 1, 1, BufferedImage.TYPE_INT_ARGB );
         
     /**
      * Processa a entrada inicial fornecida pelo usuário e cria
@@ -496,19 +640,27 @@ public abstract class EngineFrame extends JFrame {
                 mouseWheelUpValue = mouseWheelUpAction.getAmount();
                 mouseWheelDownValue = mouseWheelDownAction.getAmount();
                 
+                long updateStart = System.nanoTime();
+                
                 try {
                     update( frameTime / 1000.0 ); // getFrameTime();
                 } catch ( RuntimeException exc ) {
                     traceLogError( CoreUtils.stackTraceToString( exc ) );
                 }
                 
+                lastUpdateTime = System.nanoTime() - updateStart;
+                
                 inputManager.consumeKeyActions();
                 resetMouseButtonsState();
                 resetKeysState();
                 
                 try {
                     SwingUtilities.invokeAndWait( () -> {
-                        drawingPanel.repaint();
+                        if ( dirtyRegionMode ) {
+                            repaintDirtyRegions();
+                        } else {
+                            drawingPanel.repaint();
+                        }
                     });
                 } catch ( InterruptedException | InvocationTargetException exc ) {
                     traceLogError( CoreUtils.stackTraceToString( exc ) );
@@ -1041,10 +1193,21 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void drawPixel( double x, double y, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.draw( new Line2D.Double( x, y, x, y ) );
     }
 
+    /**
+     * Desenha um pixel.
+     * 
+     * @param x Coordenada x do pixel.
+     * @param y Coordenada y do pixel.
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void drawPixel( double x, double y, int color ) {
+        drawPixel( x, y, packedColor( color ) );
+    }
+
     /**
      * Desenha um pixel.
      * 
@@ -1065,10 +1228,23 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void drawLine( double startX, double startY, double endX, double endY, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.draw( new Line2D.Double( startX, startY, endX, endY ) );
     }
 
+    /**
+     * Desenha uma linha.
+     * 
+     * @param startX Coordenada x do ponto inicial.
+     * @param startY Coordenada y do ponto inicial.
+     * @param endX Coordenada x do ponto final.
+     * @param endY Coordenada y do ponto final.
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void drawLine( double startX, double startY, double endX, double endY, int color ) {
+        drawLine( startX, startY, endX, endY, packedColor( color ) );
+    }
+
     /**
      * Desenha uma linha.
      * 
@@ -1090,6 +1266,45 @@ public abstract class EngineFrame extends JFrame {
         drawLine( line.x1, line.y1, line.x2, line.y2, paint );
     }
 
+    /**
+     * Desenha várias linhas independentes em uma única operação de desenho.
+     * 
+     * As coordenadas são empacotadas no formato [x1, y1, x2, y2, ...], ou
+     * seja, quatro valores por linha.
+     * 
+     * @param coordinates As coordenadas das linhas.
+     * @param lineCount Quantidade de linhas que serão desenhadas.
+     * @param paint Paint para o desenho.
+     */
+    public void drawLines( double[] coordinates, int lineCount, Paint paint ) {
+        
+        linesPath.reset();
+        
+        for ( int i = 0; i < lineCount; i++ ) {
+            int k = i * 4;
+            linesPath.moveTo( coordinates[k], coordinates[k+1] );
+            linesPath.lineTo( coordinates[k+2], coordinates[k+3] );
+        }
+        
+        renderState.setPaint( g2d, paint );
+        g2d.draw( linesPath );
+        
+    }
+
+    /**
+     * Desenha várias linhas independentes em uma única operação de desenho.
+     * 
+     * As coordenadas são empacotadas no formato [x1, y1, x2, y2, ...], ou
+     * seja, quatro valores por linha.
+     * 
+     * @param coordinates As coordenadas das linhas.
+     * @param lineCount Quantidade de linhas que serão desenhadas.
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void drawLines( double[] coordinates, int lineCount, int color ) {
+        drawLines( coordinates, lineCount, packedColor( color ) );
+    }
+
     /**
      * Desenha um retângulo.
      * 
@@ -1100,10 +1315,23 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void drawRectangle( double x, double y, double width, double height, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.draw( new Rectangle2D.Double( x, y, width, height ) );
     }
 
+    /**
+     * Desenha um retângulo.
+     * 
+     * @param x Coordenada x do vértice superior esquerdo do retângulo.
+     * @param y Coordenada y do vértice superior esquerdo do retângulo.
+     * @param width Largura.
+     * @param height Altura.
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void drawRectangle( double x, double y, double width, double height, int color ) {
+        drawRectangle( x, y, width, height, packedColor( color ) );
+    }
+
     /**
      * Desenha um retângulo.
      * 
@@ -1147,10 +1375,23 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void fillRectangle( double x, double y, double width, double height, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.fill( new Rectangle2D.Double( x, y, width, height ) );
     }
 
+    /**
+     * Pinta um retângulo.
+     * 
+     * @param x Coordenada x do vértice superior esquerdo do retângulo.
+     * @param y Coordenada y do vértice superior esquerdo do retângulo.
+     * @param width Largura.
+     * @param height Altura.
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void fillRectangle( double x, double y, double width, double height, int color ) {
+        fillRectangle( x, y, width, height, packedColor( color ) );
+    }
+
     /**
      * Pinta um retângulo.
      * 
@@ -1208,6 +1449,22 @@ public abstract class EngineFrame extends JFrame {
 
     }
 
+    /**
+     * Desenha um retângulo rotacionado.
+     * 
+     * @param x Coordenada x do vértice superior esquerdo do retângulo.
+     * @param y Coordenada y do vértice superior esquerdo do retângulo.
+     * @param width Largura.
+     * @param height Altura.
+     * @param originX Coordenada x do pivô da rotação.
+     * @param originY Coordenada y do pivô da rotação.
+     * @param rotation Rotação em graus (sentido horário).
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void drawRectangle( double x, double y, double width, double height, double originX, double originY, double rotation, int color ) {
+        drawRectangle( x, y, width, height, originX, originY, rotation, packedColor( color ) );
+    }
+
     /**
      * Desenha um retângulo rotacionado.
      * 
@@ -1313,6 +1570,22 @@ public abstract class EngineFrame extends JFrame {
 
     }
 
+    /**
+     * Pinta um retângulo rotacionado.
+     * 
+     * @param x Coordenada x do vértice superior esquerdo do retângulo.
+     * @param y Coordenada y do vértice superior esquerdo do retângulo.
+     * @param width Largura.
+     * @param height Altura.
+     * @param originX Coordenada x do pivô da rotação.
+     * @param originY Coordenada y do pivô da rotação.
+     * @param rotation Rotação em graus (sentido horário).
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void fillRectangle( double x, double y, double width, double height, double originX, double originY, double rotation, int color ) {
+        fillRectangle( x, y, width, height, originX, originY, rotation, packedColor( color ) );
+    }
+
     /**
      * Pinta um retângulo rotacionado.
      * 
@@ -1401,7 +1674,7 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void drawAABB( AABB aabb, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.draw( new Rectangle2D.Double( aabb.x1, aabb.y1, aabb.width, aabb.height ) );
     }
     
@@ -1412,7 +1685,7 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void fillAABB( AABB aabb, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.fill( new Rectangle2D.Double( aabb.x1, aabb.y1, aabb.width, aabb.height ) );
     }
 
@@ -1427,10 +1700,24 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void drawRoundRectangle( double x, double y, double width, double height, double roundness, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.draw( new RoundRectangle2D.Double( x, y, width, height, roundness, roundness ) );
     }
 
+    /**
+     * Desenha um retângulo com cantos arredondados.
+     * 
+     * @param x Coordenada x do vértice superior esquerdo do retângulo.
+     * @param y Coordenada y do vértice superior esquerdo do retângulo.
+     * @param width Largura.
+     * @param height Altura.
+     * @param roundness Arredondamento dos cantos.
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void drawRoundRectangle( double x, double y, double width, double height, double roundness, int color ) {
+        drawRoundRectangle( x, y, width, height, roundness, packedColor( color ) );
+    }
+
     /**
      * Desenha um retângulo com cantos arredondados.
      * 
@@ -1477,10 +1764,24 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void fillRoundRectangle( double x, double y, double width, double height, double roundness, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.fill( new RoundRectangle2D.Double( x, y, width, height, roundness, roundness ) );
     }
 
+    /**
+     * Pinta um retângulo com cantos arredondados.
+     * 
+     * @param x Coordenada x do vértice superior esquerdo do retângulo.
+     * @param y Coordenada y do vértice superior esquerdo do retângulo.
+     * @param width Largura.
+     * @param height Altura.
+     * @param roundness Arredondamento dos cantos.
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void fillRoundRectangle( double x, double y, double width, double height, double roundness, int color ) {
+        fillRoundRectangle( x, y, width, height, roundness, packedColor( color ) );
+    }
+
     /**
      * Pinta um retângulo com cantos arredondados.
      * 
@@ -1525,10 +1826,22 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void drawCircle( double x, double y, double radius, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.draw( new Ellipse2D.Double( x - radius, y - radius, radius * 2, radius * 2 ) );
     }
 
+    /**
+     * Desenha um círculo.
+     * 
+     * @param x Coordenada x do centro do círculo.
+     * @param y Coordenada y do centro do círculo.
+     * @param radius Raio.
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void drawCircle( double x, double y, double radius, int color ) {
+        drawCircle( x, y, radius, packedColor( color ) );
+    }
+
     /**
      * Desenha um círculo.
      * 
@@ -1559,10 +1872,22 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void fillCircle( double x, double y, double radius, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.fill( new Ellipse2D.Double( x - radius, y - radius, radius * 2, radius * 2 ) );
     }
 
+    /**
+     * Pinta um círculo.
+     * 
+     * @param x Coordenada x do centro do círculo.
+     * @param y Coordenada y do centro do círculo.
+     * @param radius Raio.
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void fillCircle( double x, double y, double radius, int color ) {
+        fillCircle( x, y, radius, packedColor( color ) );
+    }
+
     /**
      * Pinta um círculo.
      * 
@@ -1594,10 +1919,23 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void drawEllipse( double x, double y, double radiusH, double radiusV, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.draw( new Ellipse2D.Double( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2 ) );
     }
 
+    /**
+     * Desenha uma elipse.
+     * 
+     * @param x Coordenada x do centro da elipse.
+     * @param y Coordenada y do centro da elipse.
+     * @param radiusH Raio horizontal.
+     * @param radiusV Raio vertical.
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void drawEllipse( double x, double y, double radiusH, double radiusV, int color ) {
+        drawEllipse( x, y, radiusH, radiusV, packedColor( color ) );
+    }
+
     /**
      * Desenha uma elipse.
      * 
@@ -1630,10 +1968,23 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void fillEllipse( double x, double y, double radiusH, double radiusV, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.fill( new Ellipse2D.Double( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2 ) );
     }
 
+    /**
+     * Pinta uma elipse.
+     * 
+     * @param x Coordenada x do centro da elipse.
+     * @param y Coordenada y do centro da elipse.
+     * @param radiusH Raio horizontal.
+     * @param radiusV Raio vertical.
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void fillEllipse( double x, double y, double radiusH, double radiusV, int color ) {
+        fillEllipse( x, y, radiusH, radiusV, packedColor( color ) );
+    }
+
     /**
      * Pinta uma elipse.
      * 
@@ -1667,11 +2018,25 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void drawCircleSector( double x, double y, double radius, double startAngle, double endAngle, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         double extent = endAngle - startAngle;
         g2d.draw( new Arc2D.Double( x - radius, y - radius, radius * 2, radius * 2, -startAngle, -extent, Arc2D.PIE ) );
     }
 
+    /**
+     * Desenha um setor circular.
+     * 
+     * @param x Coordenada x do centro.
+     * @param y Coordenada y do centro.
+     * @param radius Raio.
+     * @param startAngle Ângulo inicial em graus (sentido horário).
+     * @param endAngle Ângulo final em graus (sentido horário).
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void drawCircleSector( double x, double y, double radius, double startAngle, double endAngle, int color ) {
+        drawCircleSector( x, y, radius, startAngle, endAngle, packedColor( color ) );
+    }
+
     /**
      * Desenha um setor circular.
      * 
@@ -1718,11 +2083,25 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void fillCircleSector( double x, double y, double radius, double startAngle, double endAngle, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         double extent = endAngle - startAngle;
         g2d.fill( new Arc2D.Double( x - radius, y - radius, radius * 2, radius * 2, -startAngle, -extent, Arc2D.PIE ) );
     }
 
+    /**
+     * Pinta um setor circular.
+     * 
+     * @param x Coordenada x do centro.
+     * @param y Coordenada y do centro.
+     * @param radius Raio.
+     * @param startAngle Ângulo inicial em graus (sentido horário).
+     * @param endAngle Ângulo final em graus (sentido horário).
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void fillCircleSector( double x, double y, double radius, double startAngle, double endAngle, int color ) {
+        fillCircleSector( x, y, radius, startAngle, endAngle, packedColor( color ) );
+    }
+
     /**
      * Pinta um setor circular.
      * 
@@ -1770,11 +2149,26 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void drawEllipseSector( double x, double y, double radiusH, double radiusV, double startAngle, double endAngle, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         double extent = endAngle - startAngle;
         g2d.draw( new Arc2D.Double( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2, -startAngle, -extent, Arc2D.PIE ) );
     }
 
+    /**
+     * Desenha um setor de uma elipse.
+     * 
+     * @param x Coordenada x do centro.
+     * @param y Coordenada y do centro.
+     * @param radiusH Raio horizontal.
+     * @param radiusV Raio vertical.
+     * @param startAngle Ângulo inicial em graus (sentido horário).
+     * @param endAngle Ângulo final em graus (sentido horário).
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void drawEllipseSector( double x, double y, double radiusH, double radiusV, double startAngle, double endAngle, int color ) {
+        drawEllipseSector( x, y, radiusH, radiusV, startAngle, endAngle, packedColor( color ) );
+    }
+
     /**
      * Desenha um setor de uma elipse.
      * 
@@ -1823,11 +2217,26 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void fillEllipseSector( double x, double y, double radiusH, double radiusV, double startAngle, double endAngle, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         double extent = endAngle - startAngle;
         g2d.fill( new Arc2D.Double( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2, -startAngle, -extent, Arc2D.PIE ) );
     }
 
+    /**
+     * Pinta um setor de uma elipse.
+     * 
+     * @param x Coordenada x do centro.
+     * @param y Coordenada y do centro.
+     * @param radiusH Raio horizontal.
+     * @param radiusV Raio vertical.
+     * @param startAngle Ângulo inicial em graus (sentido horário).
+     * @param endAngle Ângulo final em graus (sentido horário).
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void fillEllipseSector( double x, double y, double radiusH, double radiusV, double startAngle, double endAngle, int color ) {
+        fillEllipseSector( x, y, radiusH, radiusV, startAngle, endAngle, packedColor( color ) );
+    }
+
     /**
      * Pinta um setor de uma elipse.
      * 
@@ -1876,11 +2285,26 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void drawArc( double x, double y, double radiusH, double radiusV, double startAngle, double endAngle, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         double extent = endAngle - startAngle;
         g2d.draw( new Arc2D.Double( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2, -startAngle, -extent, Arc2D.OPEN ) );
     }
 
+    /**
+     * Desenha um arco.
+     * 
+     * @param x Coordenada x do centro.
+     * @param y Coordenada y do centro.
+     * @param radiusH Raio horizontal.
+     * @param radiusV Raio vertical.
+     * @param startAngle Ângulo inicial em graus (sentido horário).
+     * @param endAngle Ângulo final em graus (sentido horário).
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void drawArc( double x, double y, double radiusH, double radiusV, double startAngle, double endAngle, int color ) {
+        drawArc( x, y, radiusH, radiusV, startAngle, endAngle, packedColor( color ) );
+    }
+
     /**
      * Desenha um arco.
      * 
@@ -1917,7 +2341,7 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void fillArc( double x, double y, double radiusH, double radiusV, double startAngle, double endAngle, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         double extent = endAngle - startAngle;
         g2d.fill( new Arc2D.Double( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2, -startAngle, -extent, Arc2D.CHORD ) );
     }
@@ -1925,15 +2349,30 @@ public abstract class EngineFrame extends JFrame {
     /**
      * Pinta um arco.
      * 
-     * @param center Centro do arco.
+     * @param x Coordenada x do centro.
+     * @param y Coordenada y do centro.
      * @param radiusH Raio horizontal.
      * @param radiusV Raio vertical.
      * @param startAngle Ângulo inicial em graus (sentido horário).
      * @param endAngle Ângulo final em graus (sentido horário).
-     * @param paint Paint para o desenho.
+     * @param color Cor compactada no formato 0xAARRGGBB.
      */
-    public void fillArc( Vector2 center, double radiusH, double radiusV, double startAngle, double endAngle, Paint paint ) {
-        fillArc( center.x, center.y, radiusH, radiusV, startAngle, endAngle, paint );
+    public void fillArc( double x, double y, double radiusH, double radiusV, double startAngle, double endAngle, int color ) {
+        fillArc( x, y, radiusH, radiusV, startAngle, endAngle, packedColor( color ) );
+    }
+
+    /**
+     * Pinta um arco.
+     * 
+     * @param center Centro do arco.
+     * @param radiusH Raio horizontal.
+     * @param radiusV Raio vertical.
+     * @param startAngle Ângulo inicial em graus (sentido horário).
+     * @param endAngle Ângulo final em graus (sentido horário).
+     * @param paint Paint para o desenho.
+     */
+    public void fillArc( Vector2 center, double radiusH, double radiusV, double startAngle, double endAngle, Paint paint ) {
+        fillArc( center.x, center.y, radiusH, radiusV, startAngle, endAngle, paint );
     }
 
     /**
@@ -1958,8 +2397,23 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void drawRing( double x, double y, double innerRadius, double outerRadius, double startAngle, double endAngle, Paint paint ) {
-        g2d.setPaint( paint );
-        g2d.draw( DrawingUtils.createRing( x, y, innerRadius, outerRadius, startAngle, endAngle ) );
+        renderState.setPaint( g2d, paint );
+        PathCache.render( g2d, PathCache.getRing( innerRadius, outerRadius, endAngle - startAngle ), x, y, startAngle, false );
+    }
+
+    /**
+     * Desenha um anel.
+     * 
+     * @param x Coordenada x do centro.
+     * @param y Coordenada y do centro.
+     * @param innerRadius Raio interno.
+     * @param outerRadius Raio externo.
+     * @param startAngle Ângulo inicial em graus (sentido horário).
+     * @param endAngle Ângulo final em graus (sentido horário).
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void drawRing( double x, double y, double innerRadius, double outerRadius, double startAngle, double endAngle, int color ) {
+        drawRing( x, y, innerRadius, outerRadius, startAngle, endAngle, packedColor( color ) );
     }
 
     /**
@@ -1998,8 +2452,23 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void fillRing( double x, double y, double innerRadius, double outerRadius, double startAngle, double endAngle, Paint paint ) {
-        g2d.setPaint( paint );
-        g2d.fill( DrawingUtils.createRing( x, y, innerRadius, outerRadius, startAngle, endAngle ) );
+        renderState.setPaint( g2d, paint );
+        PathCache.render( g2d, PathCache.getRing( innerRadius, outerRadius, endAngle - startAngle ), x, y, startAngle, true );
+    }
+
+    /**
+     * Pinta um anel.
+     * 
+     * @param x Coordenada x do centro.
+     * @param y Coordenada y do centro.
+     * @param innerRadius Raio interno.
+     * @param outerRadius Raio externo.
+     * @param startAngle Ângulo inicial em graus (sentido horário).
+     * @param endAngle Ângulo final em graus (sentido horário).
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void fillRing( double x, double y, double innerRadius, double outerRadius, double startAngle, double endAngle, int color ) {
+        fillRing( x, y, innerRadius, outerRadius, startAngle, endAngle, packedColor( color ) );
     }
 
     /**
@@ -2038,10 +2507,25 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void drawTriangle( double v1x, double v1y, double v2x, double v2y, double v3x, double v3y, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.draw( DrawingUtils.createTriangle( v1x, v1y, v2x, v2y, v3x, v3y ) );
     }
 
+    /**
+     * Desenha um triângulo. Forneça os vértices no sentido horário.
+     * 
+     * @param v1x Coordenada x do primeiro vértice.
+     * @param v1y Coordenada y do primeiro vértice.
+     * @param v2x Coordenada x do segundo vértice.
+     * @param v2y Coordenada y do segundo vértice.
+     * @param v3x Coordenada x do terceiro vértice.
+     * @param v3y Coordenada y do terceiro vértice.
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void drawTriangle( double v1x, double v1y, double v2x, double v2y, double v3x, double v3y, int color ) {
+        drawTriangle( v1x, v1y, v2x, v2y, v3x, v3y, packedColor( color ) );
+    }
+
     /**
      * Desenha um triângulo. Forneça os vértices no sentido horário.
      * 
@@ -2076,10 +2560,25 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void fillTriangle( double v1x, double v1y, double v2x, double v2y, double v3x, double v3y, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.fill( DrawingUtils.createTriangle( v1x, v1y, v2x, v2y, v3x, v3y ) );
     }
 
+    /**
+     * Pinta um triângulo. Forneça os vértices no sentido horário.
+     * 
+     * @param v1x Coordenada x do primeiro vértice.
+     * @param v1y Coordenada y do primeiro vértice.
+     * @param v2x Coordenada x do segundo vértice.
+     * @param v2y Coordenada y do segundo vértice.
+     * @param v3x Coordenada x do terceiro vértice.
+     * @param v3y Coordenada y do terceiro vértice.
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void fillTriangle( double v1x, double v1y, double v2x, double v2y, double v3x, double v3y, int color ) {
+        fillTriangle( v1x, v1y, v2x, v2y, v3x, v3y, packedColor( color ) );
+    }
+
     /**
      * Pinta um triângulo. Forneça os vértices no sentido horário.
      * 
@@ -2113,8 +2612,22 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void drawPolygon( double x, double y, int sides, double radius, double rotation, Paint paint ) {
-        g2d.setPaint( paint );
-        g2d.draw( DrawingUtils.createPolygon( x, y, sides, radius, rotation ) );
+        renderState.setPaint( g2d, paint );
+        PathCache.render( g2d, PathCache.getPolygon( sides, radius ), x, y, rotation, false );
+    }
+
+    /**
+     * Desenha um polígono regular.
+     * 
+     * @param x Coordenada x do centro do polígono.
+     * @param y Coordenada y do centro do polígono.
+     * @param sides Quantidade de lados.
+     * @param radius Raio.
+     * @param rotation Rotação em graus (sentido horário).
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void drawPolygon( double x, double y, int sides, double radius, double rotation, int color ) {
+        drawPolygon( x, y, sides, radius, rotation, packedColor( color ) );
     }
 
     /**
@@ -2151,8 +2664,22 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void fillPolygon( double x, double y, int sides, double radius, double rotation, Paint paint ) {
-        g2d.setPaint( paint );
-        g2d.fill( DrawingUtils.createPolygon( x, y, sides, radius, rotation ) );
+        renderState.setPaint( g2d, paint );
+        PathCache.render( g2d, PathCache.getPolygon( sides, radius ), x, y, rotation, true );
+    }
+
+    /**
+     * Pinta um polígono regular.
+     * 
+     * @param x Coordenada x do centro do polígono.
+     * @param y Coordenada y do centro do polígono.
+     * @param sides Quantidade de lados.
+     * @param radius Raio.
+     * @param rotation Rotação em graus (sentido horário).
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void fillPolygon( double x, double y, int sides, double radius, double rotation, int color ) {
+        fillPolygon( x, y, sides, radius, rotation, packedColor( color ) );
     }
 
     /**
@@ -2189,8 +2716,22 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void drawStar( double x, double y, int tips, double radius, double rotation, Paint paint ) {
-        g2d.setPaint( paint );
-        g2d.draw( DrawingUtils.createStar( x, y, tips, radius, rotation ) );
+        renderState.setPaint( g2d, paint );
+        PathCache.render( g2d, PathCache.getStar( tips, radius ), x, y, rotation, false );
+    }
+
+    /**
+     * Desenha uma estrela regular.
+     * 
+     * @param x Coordenada x do centro da estrela.
+     * @param y Coordenada y do centro da estrela.
+     * @param tips Quantidade de pontas.
+     * @param radius Raio.
+     * @param rotation Rotação em graus (sentido horário).
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void drawStar( double x, double y, int tips, double radius, double rotation, int color ) {
+        drawStar( x, y, tips, radius, rotation, packedColor( color ) );
     }
 
     /**
@@ -2227,8 +2768,22 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void fillStar( double x, double y, int tips, double radius, double rotation, Paint paint ) {
-        g2d.setPaint( paint );
-        g2d.fill( DrawingUtils.createStar( x, y, tips, radius, rotation ) );
+        renderState.setPaint( g2d, paint );
+        PathCache.render( g2d, PathCache.getStar( tips, radius ), x, y, rotation, true );
+    }
+
+    /**
+     * Pinta uma estrela regular.
+     * 
+     * @param x Coordenada x do centro da estrela.
+     * @param y Coordenada y do centro da estrela.
+     * @param tips Quantidade de pontas.
+     * @param radius Raio.
+     * @param rotation Rotação em graus (sentido horário).
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void fillStar( double x, double y, int tips, double radius, double rotation, int color ) {
+        fillStar( x, y, tips, radius, rotation, packedColor( color ) );
     }
 
     /**
@@ -2261,7 +2816,7 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void drawPath( Path path, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.draw( path.path );
     }
 
@@ -2272,7 +2827,7 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void fillPath( Path path, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.fill( path.path );
     }
 
@@ -2294,10 +2849,25 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenhho.
      */
     public void drawQuadCurve( double p1x, double p1y, double cx, double cy, double p2x, double p2y, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.draw( new QuadCurve2D.Double( p1x, p1y, cx, cy, p2x, p2y ) );
     }
 
+    /**
+     * Desenha uma curva quadrática (curva Bézier quadrática).
+     * 
+     * @param p1x Coordenada x do ponto inicial.
+     * @param p1y Coordenada y do ponto inicial.
+     * @param cx Coordenada x do ponto de controle.
+     * @param cy Coordenada y do ponto de controle.
+     * @param p2x Coordenada x do ponto final.
+     * @param p2y Coordenada y do ponto final.
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void drawQuadCurve( double p1x, double p1y, double cx, double cy, double p2x, double p2y, int color ) {
+        drawQuadCurve( p1x, p1y, cx, cy, p2x, p2y, packedColor( color ) );
+    }
+
     /**
      * Desenha uma curva quadrática (curva Bézier quadrática).
      * 
@@ -2354,10 +2924,25 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenhho.
      */
     public void fillQuadCurve( double p1x, double p1y, double cx, double cy, double p2x, double p2y, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.fill( new QuadCurve2D.Double( p1x, p1y, cx, cy, p2x, p2y ) );
     }
 
+    /**
+     * Pinta uma curva quadrática (curva Bézier quadrática).
+     * 
+     * @param p1x Coordenada x do ponto inicial.
+     * @param p1y Coordenada y do ponto inicial.
+     * @param cx Coordenada x do ponto de controle.
+     * @param cy Coordenada y do ponto de controle.
+     * @param p2x Coordenada x do ponto final.
+     * @param p2y Coordenada y do ponto final.
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void fillQuadCurve( double p1x, double p1y, double cx, double cy, double p2x, double p2y, int color ) {
+        fillQuadCurve( p1x, p1y, cx, cy, p2x, p2y, packedColor( color ) );
+    }
+
     /**
      * Pinta uma curva quadrática (curva Bézier quadrática).
      * 
@@ -2416,10 +3001,27 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenhho.
      */
     public void drawCubicCurve( double p1x, double p1y, double c1x, double c1y, double c2x, double c2y, double p2x, double p2y, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.draw( new CubicCurve2D.Double( p1x, p1y, c1x, c1y, c2x, c2y, p2x, p2y ) );
     }
 
+    /**
+     * Desenha uma curva cúbica (curva Bézier cúbica).
+     * 
+     * @param p1x Coordenada x do ponto inicial.
+     * @param p1y Coordenada y do ponto inicial.
+     * @param c1x Coordenada x do primeiro ponto de controle.
+     * @param c1y Coordenada y do primeiro ponto de controle.
+     * @param c2x Coordenada x do segundo ponto de controle.
+     * @param c2y Coordenada y do segundo ponto de controle.
+     * @param p2x Coordenada x do ponto final.
+     * @param p2y Coordenada y do ponto final.
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void drawCubicCurve( double p1x, double p1y, double c1x, double c1y, double c2x, double c2y, double p2x, double p2y, int color ) {
+        drawCubicCurve( p1x, p1y, c1x, c1y, c2x, c2y, p2x, p2y, packedColor( color ) );
+    }
+
     /**
      * Desenha uma curva cúbica (curva Bézier cúbica).
      * 
@@ -2479,10 +3081,27 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenhho.
      */
     public void fillCubicCurve( double p1x, double p1y, double c1x, double c1y, double c2x, double c2y, double p2x, double p2y, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.fill( new CubicCurve2D.Double( p1x, p1y, c1x, c1y, c2x, c2y, p2x, p2y ) );
     }
 
+    /**
+     * Pinta uma curva cúbica (curva Bézier cúbica).
+     * 
+     * @param p1x Coordenada x do ponto inicial.
+     * @param p1y Coordenada y do ponto inicial.
+     * @param c1x Coordenada x do primeiro ponto de controle.
+     * @param c1y Coordenada y do primeiro ponto de controle.
+     * @param c2x Coordenada x do segundo ponto de controle.
+     * @param c2y Coordenada y do segundo ponto de controle.
+     * @param p2x Coordenada x do ponto final.
+     * @param p2y Coordenada y do ponto final.
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void fillCubicCurve( double p1x, double p1y, double c1x, double c1y, double c2x, double c2y, double p2x, double p2y, int color ) {
+        fillCubicCurve( p1x, p1y, c1x, c1y, c2x, c2y, p2x, p2y, packedColor( color ) );
+    }
+
     /**
      * Pinta uma curva cúbica (curva Bézier cúbica).
      * 
@@ -2543,11 +3162,23 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void drawText( String text, double x, double y, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         //Rectangle2D r = g2d.getFontMetrics().getStringBounds( text, g2d );
         //g2d.drawString( text, (int) x, (int) ( y + r.getHeight() / 2 ) );
         DrawingUtils.drawTextMultilineHelper( text, x, y, g2d );
     }
+
+    /**
+     * Desenha um texto usando o tamanho de fonte corrente.
+     * 
+     * @param text O texto a ser desenhado.
+     * @param x Coordenada x do início do desenho do texto.
+     * @param y Coordenada y do início do desenho do texto.
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void drawText( String text, double x, double y, int color ) {
+        drawText( text, x, y, packedColor( color ) );
+    }
     
     /**
      * Desenha um texto rotacionado usando o tamanho de fonte corrente.
@@ -2562,6 +3193,19 @@ public abstract class EngineFrame extends JFrame {
         drawText( text, x, y, 0, 0, rotation, paint );
     }
 
+    /**
+     * Desenha um texto rotacionado usando o tamanho de fonte corrente.
+     * 
+     * @param text O texto a ser desenhado.
+     * @param x Coordenada x do início do desenho do texto.
+     * @param y Coordenada y do início do desenho do texto.
+     * @param rotation Ângulo de rotação em graus (sentido horário).
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void drawText( String text, double x, double y, double rotation, int color ) {
+        drawText( text, x, y, rotation, packedColor( color ) );
+    }
+
     /**
      * Desenha um texto rotacionado usando o tamanho de fonte corrente.
      * 
@@ -2574,7 +3218,7 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void drawText( String text, double x, double y, double originX, double originY, double rotation, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         Graphics2D ig2d = (Graphics2D) g2d.create();
         ig2d.rotate( Math.toRadians( rotation ), x + originX, y + originY );
         //Rectangle2D r = ig2d.getFontMetrics().getStringBounds( text, ig2d );
@@ -2583,6 +3227,21 @@ public abstract class EngineFrame extends JFrame {
         ig2d.dispose();
     }
 
+    /**
+     * Desenha um texto rotacionado usando o tamanho de fonte corrente.
+     * 
+     * @param text O texto a ser desenhado.
+     * @param x Coordenada x do início do desenho do texto.
+     * @param y Coordenada y do início do desenho do texto.
+     * @param originX Coordenada x do pivô de rotação.
+     * @param originY Coordenada y do pivô de rotação.
+     * @param rotation Ângulo de rotação em graus (sentido horário).
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void drawText( String text, double x, double y, double originX, double originY, double rotation, int color ) {
+        drawText( text, x, y, originX, originY, rotation, packedColor( color ) );
+    }
+
     /**
      * Desenha um texto.
      * 
@@ -2593,14 +3252,27 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void drawText( String text, double x, double y, int fontSize, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         Graphics2D ig2d = (Graphics2D) g2d.create();
-        ig2d.setFont( g2d.getFont().deriveFont( (float) fontSize ) );
+        ig2d.setFont( renderState.deriveFont( g2d.getFont(), fontSize ) );
         //Rectangle2D r = ig2d.getFontMetrics().getStringBounds( text, ig2d );
         //ig2d.drawString( text, (int) x, (int) ( y + r.getHeight() / 2 ) );
         DrawingUtils.drawTextMultilineHelper( text, x, y, ig2d );
         ig2d.dispose();
     }
+
+    /**
+     * Desenha um texto.
+     * 
+     * @param text O texto a ser desenhado.
+     * @param x Coordenada x do início do desenho do texto.
+     * @param y Coordenada y do início do desenho do texto.
+     * @param fontSize Tamanho da fonte.
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void drawText( String text, double x, double y, int fontSize, int color ) {
+        drawText( text, x, y, fontSize, packedColor( color ) );
+    }
     
     /**
      * Desenha um texto rotacionado.
@@ -2615,6 +3287,20 @@ public abstract class EngineFrame extends JFrame {
     public void drawText( String text, double x, double y, double rotation, int fontSize, Paint paint ) {
         drawText( text, x, y, 0, 0, rotation, fontSize, paint );
     }
+
+    /**
+     * Desenha um texto rotacionado.
+     * 
+     * @param text O texto a ser desenhado.
+     * @param x Coordenada x do início do desenho do texto.
+     * @param y Coordenada y do início do desenho do texto.
+     * @param rotation Ângulo de rotação em graus (sentido horário).
+     * @param fontSize Tamanho da fonte.
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void drawText( String text, double x, double y, double rotation, int fontSize, int color ) {
+        drawText( text, x, y, rotation, fontSize, packedColor( color ) );
+    }
     
     /**
      * Desenha um texto rotacionado.
@@ -2629,9 +3315,9 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint para o desenho.
      */
     public void drawText( String text, double x, double y, double originX, double originY, double rotation, int fontSize, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         Graphics2D ig2d = (Graphics2D) g2d.create();
-        ig2d.setFont( g2d.getFont().deriveFont( (float) fontSize ) );
+        ig2d.setFont( renderState.deriveFont( g2d.getFont(), fontSize ) );
         ig2d.rotate( Math.toRadians( rotation ), x + originX, y + originY );
         //Rectangle2D r = ig2d.getFontMetrics().getStringBounds( text, ig2d );
         //ig2d.drawString( text, (int) x, (int) ( y + r.getHeight() / 2 ) );
@@ -2639,6 +3325,22 @@ public abstract class EngineFrame extends JFrame {
         ig2d.dispose();
     }
 
+    /**
+     * Desenha um texto rotacionado.
+     * 
+     * @param text O texto a ser desenhado.
+     * @param x Coordenada x do início do desenho do texto.
+     * @param y Coordenada y do início do desenho do texto.
+     * @param originX Coordenada x do pivô de rotação.
+     * @param originY Coordenada y do pivô de rotação.
+     * @param rotation Ângulo de rotação em graus (sentido horário).
+     * @param fontSize Tamanho da fonte.
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void drawText( String text, double x, double y, double originX, double originY, double rotation, int fontSize, int color ) {
+        drawText( text, x, y, originX, originY, rotation, fontSize, packedColor( color ) );
+    }
+
     /**
      * Desenha um texto usando o tamanho de fonte corrente.
      * 
@@ -2733,7 +3435,7 @@ public abstract class EngineFrame extends JFrame {
      */
     public int measureText( String text, int fontSize ) {
         Font f = g2d.getFont();
-        g2d.setFont( f.deriveFont( (float) fontSize ) );
+        g2d.setFont( renderState.deriveFont( f, fontSize ) );
         int width = g2d.getFontMetrics().stringWidth( text );
         g2d.setFont( f );
         return width;
@@ -2759,7 +3461,7 @@ public abstract class EngineFrame extends JFrame {
      */
     public Rectangle measureTextBounds( String text, int fontSize ) {
         Font f = g2d.getFont();
-        g2d.setFont( f.deriveFont( (float) fontSize ) );
+        g2d.setFont( renderState.deriveFont( f, fontSize ) );
         Rectangle2D r2d = g2d.getFontMetrics().getStringBounds( text, g2d );
         Rectangle r = new Rectangle( 0, 0, r2d.getWidth(), r2d.getHeight() );
         g2d.setFont( f );
@@ -2778,7 +3480,20 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint a ser usado.
      */
     public void clearBackground( Paint paint ) {
-        fillRectangle( 0, 0, getScreenWidth(), getScreenHeight(), paint );
+        if ( textureModeImage != null ) {
+            fillRectangle( 0, 0, textureModeImage.getWidth(), textureModeImage.getHeight(), paint );
+        } else {
+            fillRectangle( 0, 0, getScreenWidth(), getScreenHeight(), paint );
+        }
+    }
+
+    /**
+     * Limpa o fundo da tela de desenho.
+     * 
+     * @param color Cor compactada no formato 0xAARRGGBB.
+     */
+    public void clearBackground( int color ) {
+        clearBackground( packedColor( color ) );
     }
 
     
@@ -2941,6 +3656,29 @@ public abstract class EngineFrame extends JFrame {
         g2d.shear( x, y );
     }
 
+    /**
+     * Executa desenhos com o contexto gráfico transladado, restaurando a
+     * transformação anterior ao final. Os Paints, como os gradientes, são
+     * definidos no espaço do usuário e acompanham a translação. Dessa
+     * forma, um gradiente criado uma única vez em coordenadas locais pode
+     * acompanhar uma forma em movimento sem que um novo Paint seja criado
+     * para cada posição.
+     * Observação: Utilize apenas no método draw!
+     *
+     * @param x Nova origem em x.
+     * @param y Nova origem em y.
+     * @param drawing Os desenhos em coordenadas locais.
+     */
+    public void drawTranslated( double x, double y, Runnable drawing ) {
+        AffineTransform t = g2d.getTransform();
+        g2d.translate( x, y );
+        try {
+            drawing.run();
+        } finally {
+            g2d.setTransform( t );
+        }
+    }
+
     /**
      * Desenha o quantidade de FPS (quadros por segundo) atual.
      * 
@@ -3109,7 +3847,12 @@ public abstract class EngineFrame extends JFrame {
      * @param name Nome da fonte.
      */
     public void setFontName( String name ) {
-        g2d.setFont( new Font( name, g2d.getFont().getStyle(), g2d.getFont().getSize() ) );
+        Font f = g2d.getFont();
+        if ( f.getName().equals( name ) ) {
+            renderState.elide();
+            return;
+        }
+        renderState.setFont( g2d, new Font( name, f.getStyle(), f.getSize() ) );
     }
 
     /**
@@ -3125,7 +3868,11 @@ public abstract class EngineFrame extends JFrame {
      * @param style O estilo da fonte corrente.
      */
     public void setFontStyle( int style ) {
-        g2d.setFont( g2d.getFont().deriveFont( style ) );
+        if ( g2d.getFont().getStyle() == style ) {
+            renderState.elide();
+            return;
+        }
+        renderState.setFont( g2d, g2d.getFont().deriveFont( style ) );
     }
 
     /**
@@ -3141,7 +3888,7 @@ public abstract class EngineFrame extends JFrame {
      * @param size O tamanho da fonte corrente.
      */
     public void setFontSize( int size ) {
-        g2d.setFont( g2d.getFont().deriveFont( (float) size ) );
+        renderState.setFont( g2d, renderState.deriveFont( g2d.getFont(), size ) );
     }
 
     /**
@@ -3234,7 +3981,7 @@ public abstract class EngineFrame extends JFrame {
      * @param stroke Contorno a ser usado.
      */
     public void setStroke( BasicStroke stroke ) {
-        g2d.setStroke( stroke );
+        renderState.setStroke( g2d, stroke );
     }
     
     /**
@@ -3243,7 +3990,11 @@ public abstract class EngineFrame extends JFrame {
      * @param lineWidth A largura da linha do contorno padrão.
      */
     public void setStrokeLineWidth( float lineWidth ) {
-        g2d.setStroke( StrokeUtils.cloneStrokeLineWidth( lineWidth, g2d.getStroke() ) );
+        if ( g2d.getStroke() instanceof BasicStroke bs && bs.getLineWidth() == lineWidth ) {
+            renderState.elide();
+            return;
+        }
+        renderState.setStroke( g2d, StrokeUtils.cloneStrokeLineWidth( lineWidth, g2d.getStroke() ) );
     }
 
     /**
@@ -3253,7 +4004,11 @@ public abstract class EngineFrame extends JFrame {
      * @param endCap O novo modelo de desenho.
      */
     public void setStrokeEndCap( int endCap ) {
-        g2d.setStroke( StrokeUtils.cloneStrokeEndCap( endCap, g2d.getStroke() ) );
+        if ( g2d.getStroke() instanceof BasicStroke bs && bs.getEndCap() == endCap ) {
+            renderState.elide();
+            return;
+        }
+        renderState.setStroke( g2d, StrokeUtils.cloneStrokeEndCap( endCap, g2d.getStroke() ) );
     }
 
     /**
@@ -3263,7 +4018,11 @@ public abstract class EngineFrame extends JFrame {
      * @param lineJoin O novo modelo de junção de linhas.
      */
     public void setStrokeLineJoin( int lineJoin ) {
-        g2d.setStroke( StrokeUtils.cloneStrokeLineJoin( lineJoin, g2d.getStroke() ) );
+        if ( g2d.getStroke() instanceof BasicStroke bs && bs.getLineJoin() == lineJoin ) {
+            renderState.elide();
+            return;
+        }
+        renderState.setStroke( g2d, StrokeUtils.cloneStrokeLineJoin( lineJoin, g2d.getStroke() ) );
     }
     
     /**
@@ -3272,7 +4031,11 @@ public abstract class EngineFrame extends JFrame {
      * @param miterLimit O limite para aparar o a junta de esquadria.
      */
     public void setStrokeMiterLimit( float miterLimit ) {
-        g2d.setStroke( StrokeUtils.cloneStrokeMiterLimit( miterLimit, g2d.getStroke() ) );
+        if ( g2d.getStroke() instanceof BasicStroke bs && bs.getMiterLimit() == miterLimit ) {
+            renderState.elide();
+            return;
+        }
+        renderState.setStroke( g2d, StrokeUtils.cloneStrokeMiterLimit( miterLimit, g2d.getStroke() ) );
     }
     
     /**
@@ -3281,7 +4044,11 @@ public abstract class EngineFrame extends JFrame {
      * @param dashArray O array que representa o padrão de traço.
      */
     public void setStrokeDashArray( float[] dashArray ) {
-        g2d.setStroke( StrokeUtils.cloneStrokeDashArray( dashArray, g2d.getStroke() ) );
+        if ( g2d.getStroke() instanceof BasicStroke bs && Arrays.equals( bs.getDashArray(), dashArray ) ) {
+            renderState.elide();
+            return;
+        }
+        renderState.setStroke( g2d, StrokeUtils.cloneStrokeDashArray( dashArray, g2d.getStroke() ) );
     }
     
     /**
@@ -3290,7 +4057,11 @@ public abstract class EngineFrame extends JFrame {
      * @param dashPhase O deslocamento do início do padrão de traço.
      */
     public void setStrokeDashPhase( float dashPhase ) {
-        g2d.setStroke( StrokeUtils.cloneStrokeDashPhase( dashPhase, g2d.getStroke() ) );
+        if ( g2d.getStroke() instanceof BasicStroke bs && bs.getDashPhase() == dashPhase ) {
+            renderState.elide();
+            return;
+        }
+        renderState.setStroke( g2d, StrokeUtils.cloneStrokeDashPhase( dashPhase, g2d.getStroke() ) );
     }
     
     /**
@@ -3300,7 +4071,11 @@ public abstract class EngineFrame extends JFrame {
      * @param dashPhase O deslocamento do início do padrão de traço.
      */
     public void setStrokeDashArrayAndPhase( float[] dashArray, float dashPhase ) {
-        g2d.setStroke( StrokeUtils.cloneStrokeDashArrayAndPhase( dashArray, dashPhase, g2d.getStroke() ) );
+        if ( g2d.getStroke() instanceof BasicStroke bs && Arrays.equals( bs.getDashArray(), dashArray ) && bs.getDashPhase() == dashPhase ) {
+            renderState.elide();
+            return;
+        }
+        renderState.setStroke( g2d, StrokeUtils.cloneStrokeDashArrayAndPhase( dashArray, dashPhase, g2d.getStroke() ) );
     }
     
     /**
@@ -3308,7 +4083,7 @@ public abstract class EngineFrame extends JFrame {
      * contorno padrão.
      */
     public void resetStrokeToDefault() {
-        g2d.setStroke( defaultStroke );
+        renderState.setStroke( g2d, defaultStroke );
     }
     
     /**
@@ -3319,9 +4094,99 @@ public abstract class EngineFrame extends JFrame {
     public BasicStroke getStroke() {
         return (BasicStroke) g2d.getStroke();
     }
-    
-    
-    
+
+    /**
+     * Altera a composição do contexto gráfico, usada para misturar os
+     * desenhos com o que já foi desenhado.
+     *
+     * @param composite A composição.
+     */
+    public void setComposite( Composite composite ) {
+        renderState.setComposite( g2d, composite );
+    }
+
+    /**
+     * Obtém a composição corrente do contexto gráfico.
+     *
+     * @return A composição corrente do contexto gráfico.
+     */
+    public Composite getComposite() {
+        return g2d.getComposite();
+    }
+
+    /**
+     * Altera uma dica de renderização do contexto gráfico.
+     *
+     * @param key A chave da dica.
+     * @param value O valor da dica.
+     */
+    public void setRenderingHint( RenderingHints.Key key, Object value ) {
+        renderState.setRenderingHint( g2d, key, value );
+    }
+
+    /**
+     * Obtém a quantidade de mudanças de Paint feitas no contexto gráfico no
+     * último quadro. As mudanças para o estado atual são ignoradas pela
+     * engine e não são contadas.
+     *
+     * @return A quantidade de mudanças de Paint.
+     */
+    public int getPaintChangeCount() {
+        return renderState.getPaintChanges();
+    }
+
+    /**
+     * Obtém a quantidade de mudanças de contorno feitas no contexto gráfico
+     * no último quadro.
+     *
+     * @return A quantidade de mudanças de contorno.
+     */
+    public int getStrokeChangeCount() {
+        return renderState.getStrokeChanges();
+    }
+
+    /**
+     * Obtém a quantidade de mudanças de fonte feitas no contexto gráfico no
+     * último quadro.
+     *
+     * @return A quantidade de mudanças de fonte.
+     */
+    public int getFontChangeCount() {
+        return renderState.getFontChanges();
+    }
+
+    /**
+     * Obtém a quantidade de mudanças de composição feitas no contexto
+     * gráfico no último quadro.
+     *
+     * @return A quantidade de mudanças de composição.
+     */
+    public int getCompositeChangeCount() {
+        return renderState.getCompositeChanges();
+    }
+
+    /**
+     * Obtém a quantidade de mudanças de dicas de renderização feitas no
+     * contexto gráfico no último quadro.
+     *
+     * @return A quantidade de mudanças de dicas de renderização.
+     */
+    public int getRenderingHintChangeCount() {
+        return renderState.getHintChanges();
+    }
+
+    /**
+     * Obtém a quantidade de mudanças de estado redundantes ignoradas no
+     * último quadro.
+     *
+     * @return A quantidade de mudanças ignoradas.
+     */
+    public int getElidedStateChangeCount() {
+        return renderState.getElidedChanges();
+    }
+
+    
+    
     //**************************************************************************
     // Métodos para carga e desenho de imagens.
     //**************************************************************************
@@ -3661,7 +4526,7 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics2D#draw
      */
     public void g2Draw( Shape shape, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.draw( shape );
     }
     
@@ -3677,7 +4542,7 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#drawLine
      */
     public void g2DrawLine( int startX, int startY, int endX, int endY, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.drawLine( startX, startY, endX, endY );
     }
     
@@ -3693,7 +4558,7 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#drawRect
      */
     public void g2DrawRect( int x, int y, int width, int height, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.drawRect( x, y, width, height );
     }
     
@@ -3711,7 +4576,7 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#drawRoundRect
      */
     public void g2DrawRoundRect( int x, int y, int width, int height, int arcWidth, int arcHeight, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.drawRoundRect( x, y, width, height, arcWidth, arcHeight );
     }
     
@@ -3728,7 +4593,7 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#draw3DRect
      */
     public void g2Draw3DRect( int x, int y, int width, int height, boolean raised, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.draw3DRect( x, y, width, height, raised );
     }
     
@@ -3746,7 +4611,7 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#drawOval
      */
     public void g2DrawOval( int x, int y, int width, int height, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.drawOval( x, y, width, height );
     }
     
@@ -3766,7 +4631,7 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#drawOval
      */
     public void g2DrawArc( int x, int y, int width, int height, int startAngle, int arcAngle, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.drawArc(x, y, width, height, startAngle, arcAngle );
     }
     
@@ -3779,7 +4644,7 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#drawPolygon
      */
     public void g2DrawPolygon( java.awt.Polygon polygon, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.drawPolygon( polygon );
     }
     
@@ -3794,7 +4659,7 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#drawPolygon
      */
     public void g2DrawPolygon( int[] xVertices, int[] yVertices, int nVertices, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.drawPolygon( xVertices, yVertices, nVertices );
     }
     
@@ -3809,7 +4674,7 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#drawPolyline
      */
     public void g2DrawPolyline( int[] xVertices, int[] yVertices, int nVertices, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.drawPolyline( xVertices, yVertices, nVertices );
     }
     
@@ -3822,7 +4687,7 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics2D#fill
      */
     public void g2Fill( Shape shape, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.fill( shape );
     }
     
@@ -3838,7 +4703,7 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#fillRect
      */
     public void g2FillRect( int x, int y, int width, int height, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.fillRect( x, y, width, height );
     }
     
@@ -3856,7 +4721,7 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#fillRoundRect
      */
     public void g2FillRoundRect( int x, int y, int width, int height, int arcWidth, int arcHeight, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.fillRoundRect( x, y, width, height, arcWidth, arcHeight );
     }
     
@@ -3873,7 +4738,7 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#fill3DRect
      */
     public void g2Fill3DRect( int x, int y, int width, int height, boolean raised, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.fill3DRect( x, y, width, height, raised );
     }
     
@@ -3891,7 +4756,7 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#fillOval
      */
     public void g2FillOval( int x, int y, int width, int height, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.fillOval( x, y, width, height );
     }
     
@@ -3911,7 +4776,7 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#fillArc
      */
     public void g2FillArc( int x, int y, int width, int height, int startAngle, int arcAngle, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.fillArc( x, y, width, height, startAngle, arcAngle );
     }
     
@@ -3924,7 +4789,7 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#fillPolygon
      */
     public void g2FillPolygon( java.awt.Polygon polygon, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.fillPolygon( polygon );
     }
     
@@ -3939,7 +4804,7 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#fillPolygon
      */
     public void g2FillPolygon( int[] xVertices, int[] yVertices, int nVertices, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.fillPolygon( xVertices, yVertices, nVertices );
     }
     
@@ -4110,7 +4975,7 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#drawChars
      */
     public void g2DrawChars( char[] data, int offset, int length, int x, int y, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.drawChars( data, offset, length, x, y );
     }
     
@@ -4125,7 +4990,7 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics2D#drawGlyphVector
      */
     public void g2DrawGlyphVector( GlyphVector gv, float x, float y, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.drawGlyphVector( gv, x, y );
     }
     
@@ -4140,7 +5005,7 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#drawString
      */
     public void g2DrawString( AttributedCharacterIterator iterator, int x, int y, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.drawString( iterator, x, y );
     }
     
@@ -4155,7 +5020,7 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics2D#drawString
      */
     public void g2DrawString( AttributedCharacterIterator iterator, float x, float y, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.drawString( iterator, x, y );
     }
     
@@ -4170,7 +5035,7 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#drawString
      */
     public void g2DrawString( String string, int x, int y, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.drawString( string, x, y );
     }
     
@@ -4185,7 +5050,7 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics2D#drawString
      */
     public void g2DrawString( String string, float x, float y, Paint paint ) {
-        g2d.setPaint( paint );
+        renderState.setPaint( g2d, paint );
         g2d.drawString( string, x, y );
     }
     
@@ -4662,6 +5527,305 @@ public abstract class EngineFrame extends JFrame {
     
     
     
+    //**************************************************************************
+    // Métodos para controle do modo de textura
+    //**************************************************************************
+    
+    /**
+     * Inicia o modo de textura, redirecionando todos os métodos de desenho
+     * da engine para uma imagem. Os modos 2D e de recorte iniciados dentro
+     * do modo de textura são aplicados à imagem, permitindo desenhar camadas
+     * estáticas, minimapas e interfaces uma única vez e depois apenas
+     * desenhar a imagem resultante a cada quadro.
+     * 
+     * O contexto gráfico da imagem herda a fonte, o traço e as dicas de
+     * renderização do contexto corrente. O modo de textura não pode ser
+     * aninhado; para desenhar em outra imagem dentro dele, finalize-o
+     * antes. Caso o modo não seja finalizado até o fim do quadro, ele é
+     * finalizado pela engine.
+     * 
+     * @param image A imagem que receberá os desenhos.
+     * @throws IllegalStateException Caso o modo de textura já esteja ativo.
+     */
+    public void beginTextureMode( Image image ) {
+        
+        if ( textureModeImage != null ) {
+            throw new IllegalStateException( "texture mode is already active!" );
+        }
+        
+        Graphics2D textureG2d = image.buffImage.createGraphics();
+        textureG2d.setRenderingHints( g2d.getRenderingHints() );
+        textureG2d.setFont( g2d.getFont() );
+        textureG2d.setStroke( g2d.getStroke() );
+        
+        g2dStack.push( g2d );
+        textureModeStackDepth = g2dStack.size();
+        textureModeSavedMode2DActive = mode2DActive;
+        textureModeImage = image;
+        image.markModified();
+        
+        g2d = textureG2d;
+        mode2DActive = false;
+        
+    }
+    
+    /**
+     * Finaliza o modo de textura, voltando a desenhar no contexto anterior.
+     * Os modos 2D e de recorte que ainda estiverem ativos dentro do modo de
+     * textura são finalizados.
+     */
+    public void endTextureMode() {
+        
+        if ( textureModeImage != null ) {
+            
+            while ( g2dStack.size() > textureModeStackDepth ) {
+                disposeAndRestoreGraphics2D();
+            }
+            disposeAndRestoreGraphics2D();
+            
+            mode2DActive = textureModeSavedMode2DActive;
+            textureModeImage.markModified();
+            textureModeImage = null;
+            
+        }
+        
+    }
+    
+    /**
+     * Retorna se o modo de textura está ativo.
+     * 
+     * @return Verdadeiro caso o modo de textura esteja ativo, falso caso
+     * contrário.
+     */
+    public boolean isTextureModeActive() {
+        return textureModeImage != null;
+    }
+
+    /**
+     * Executa desenhos da engine em uma imagem, com a transformação
+     * informada e as mesmas configurações do contexto gráfico corrente.
+     * Diferente do modo de textura, pode ser usado dentro de qualquer modo,
+     * inclusive do próprio modo de textura, que fica suspenso durante o
+     * desenho. Os modos iniciados pelo código de desenho são finalizados ao
+     * seu término.
+     *
+     * @param image A imagem.
+     * @param transform A transformação do desenho na imagem.
+     * @param renderer O código de desenho.
+     */
+    void renderToImage( Image image, AffineTransform transform, Runnable renderer ) {
+
+        Graphics2D imageG2d = image.buffImage.createGraphics();
+        imageG2d.setRenderingHints( g2d.getRenderingHints() );
+        imageG2d.setFont( g2d.getFont() );
+        imageG2d.setStroke( g2d.getStroke() );
+        imageG2d.setTransform( transform );
+
+        g2dStack.push( g2d );
+        int depth = g2dStack.size();
+        boolean savedMode2DActive = mode2DActive;
+        Image savedTextureModeImage = textureModeImage;
+        int savedTextureModeStackDepth = textureModeStackDepth;
+        boolean savedTextureModeMode2DActive = textureModeSavedMode2DActive;
+        g2d = imageG2d;
+        mode2DActive = false;
+        textureModeImage = null;
+
+        try {
+            renderer.run();
+        } finally {
+            while ( g2dStack.size() > depth ) {
+                disposeAndRestoreGraphics2D();
+            }
+            disposeAndRestoreGraphics2D();
+            if ( textureModeImage != null ) {
+                textureModeImage.markModified();
+            }
+            image.markModified();
+            mode2DActive = savedMode2DActive;
+            textureModeImage = savedTextureModeImage;
+            textureModeStackDepth = savedTextureModeStackDepth;
+            textureModeSavedMode2DActive = savedTextureModeMode2DActive;
+        }
+
+    }
+
+    
+    
+    //**************************************************************************
+    // Métodos para controle das camadas de desenho com cache
+    //**************************************************************************
+    
+    /**
+     * Cria e registra uma camada de desenho com cache no espaço da tela,
+     * útil para molduras e painéis da interface que raramente mudam.
+     * 
+     * O código de desenho é executado apenas quando a camada precisa ser
+     * redesenhada e deve usar os métodos de desenho da engine normalmente.
+     * 
+     * @param zOrder A ordem z da camada.
+     * @param renderer O código que desenha a camada.
+     * @return A camada criada.
+     */
+    public RenderLayer createRenderLayer( int zOrder, Runnable renderer ) {
+        return createRenderLayer( zOrder, null, renderer );
+    }
+    
+    /**
+     * Cria e registra uma camada de desenho com cache no espaço do mundo,
+     * desenhada através de uma câmera, útil para cenários e geometria
+     * estática das fases.
+     * 
+     * O código de desenho é executado apenas quando a camada precisa ser
+     * redesenhada e deve usar os métodos de desenho da engine normalmente,
+     * em coordenadas do mundo, sem iniciar o modo 2D.
+     * 
+     * @param zOrder A ordem z da camada.
+     * @param camera A câmera usada para desenhar a camada.
+     * @param renderer O código que desenha a camada.
+     * @return A camada criada.
+     */
+    public RenderLayer createRenderLayer( int zOrder, Camera2D camera, Runnable renderer ) {
+        
+        RenderLayer layer = new RenderLayer( zOrder, camera, renderer );
+        
+        // inserção estável: camadas com a mesma ordem z mantêm a ordem de criação
+        int index = renderLayers.size();
+        while ( index > 0 && renderLayers.get( index - 1 ).zOrder > zOrder ) {
+            index--;
+        }
+        renderLayers.add( index, layer );
+        
+        return layer;
+        
+    }
+    
+    /**
+     * Remove uma camada de desenho com cache, liberando sua imagem.
+     * 
+     * @param layer A camada.
+     */
+    public void removeRenderLayer( RenderLayer layer ) {
+        if ( renderLayers.remove( layer ) ) {
+            layer.buffer = null;
+        }
+    }
+    
+    /**
+     * Invalida todas as camadas de desenho com cache.
+     */
+    public void invalidateRenderLayers() {
+        for ( RenderLayer layer : renderLayers ) {
+            layer.invalidate();
+        }
+    }
+    
+    /**
+     * Desenha todas as camadas de desenho com cache visíveis, em ordem z.
+     * Deve ser chamado fora do modo 2D.
+     * 
+     * @throws IllegalStateException Caso o modo 2D esteja ativo.
+     */
+    public void drawRenderLayers() {
+        drawRenderLayers( Integer.MIN_VALUE, Integer.MAX_VALUE );
+    }
+    
+    /**
+     * Desenha as camadas de desenho com cache visíveis cuja ordem z esteja
+     * no intervalo fornecido, em ordem z. Permite intercalar as camadas com
+     * os desenhos dinâmicos de cada quadro, por exemplo desenhando as
+     * camadas de ordem negativa antes e as de ordem positiva depois deles.
+     * Deve ser chamado fora do modo 2D.
+     * 
+     * @param minZOrder A ordem z mínima (inclusiva).
+     * @param maxZOrder A ordem z máxima (inclusiva).
+     * @throws IllegalStateException Caso o modo 2D esteja ativo.
+     */
+    public void drawRenderLayers( int minZOrder, int maxZOrder ) {
+        for ( RenderLayer layer : renderLayers ) {
+            if ( layer.zOrder > maxZOrder ) {
+                break;
+            }
+            if ( layer.zOrder >= minZOrder ) {
+                drawRenderLayer( layer );
+            }
+        }
+    }
+    
+    /**
+     * Desenha uma camada de desenho com cache, redesenhando-a antes caso
+     * seja necessário. A camada é desenhada em coordenadas da tela, então
+     * deve ser chamado fora do modo 2D. Dentro do modo de textura, a camada
+     * é desenhada na imagem de destino.
+     * 
+     * @param layer A camada.
+     * @throws IllegalStateException Caso o modo 2D esteja ativo.
+     */
+    public void drawRenderLayer( RenderLayer layer ) {
+        
+        if ( mode2DActive ) {
+            throw new IllegalStateException( "render layers must be drawn outside mode 2D!" );
+        }
+        
+        if ( !layer.isVisible() ) {
+            return;
+        }
+        
+        int screenWidth = getScreenWidth();
+        int screenHeight = getScreenHeight();
+        
+        if ( layer.needsRender( screenWidth, screenHeight ) ) {
+            renderLayer( layer, screenWidth, screenHeight );
+        }
+        
+        int margin = layer.renderedMargin;
+        g2d.drawImage( 
+            layer.buffer.buffImage, 
+            (int) Math.round( layer.getBlitX() ) - margin, 
+            (int) Math.round( layer.getBlitY() ) - margin, 
+            null );
+        
+    }
+    
+    /**
+     * Redesenha a imagem de uma camada. O desenho é feito por renderToImage,
+     * que não interfere no modo de textura nem nos modos ativos de quem
+     * chamou.
+     */
+    private void renderLayer( RenderLayer layer, int screenWidth, int screenHeight ) {
+        
+        int margin = layer.getMargin();
+        int width = screenWidth + margin * 2;
+        int height = screenHeight + margin * 2;
+        
+        if ( layer.buffer == null || layer.buffer.getWidth() != width || layer.buffer.getHeight() != height ) {
+            layer.buffer = new Image( width, height );
+        } else {
+            Graphics2D g = layer.buffer.buffImage.createGraphics();
+            g.setComposite( AlphaComposite.Clear );
+            g.fillRect( 0, 0, width, height );
+            g.dispose();
+        }
+        
+        Camera2D camera = layer.camera;
+        
+        renderToImage( layer.buffer, new AffineTransform(), () -> {
+            if ( camera != null ) {
+                beginMode2D( new Camera2D( 
+                    camera.target, 
+                    new Vector2( camera.offset.x + margin, camera.offset.y + margin ), 
+                    camera.rotation, 
+                    camera.zoom ) );
+            }
+            layer.renderer.run();
+        });
+        
+        layer.markRendered();
+        
+    }
+    
+    
+    
     //**************************************************************************
     // Métodos para controle de recortes de desenho
     //**************************************************************************
@@ -4676,7 +5840,7 @@ public abstract class EngineFrame extends JFrame {
      */
     public void beginScissorMode( double x, double y, double width, double height ) {
         copyAndSaveGraphics2D();
-        g2d.setClip( (int) x, (int) y, (int) width, (int) height );
+        setScissorClip( new java.awt.Rectangle( (int) x, (int) y, (int) width, (int) height ) );
     }
     
     /**
@@ -4687,7 +5851,7 @@ public abstract class EngineFrame extends JFrame {
     public void beginScissorMode( Arc arc ) {
         copyAndSaveGraphics2D();
         double extent = arc.endAngle - arc.startAngle;
-        g2d.setClip( new Arc2D.Double( arc.x - arc.radiusH, arc.y - arc.radiusV, arc.radiusH * 2, arc.radiusV * 2, -arc.startAngle, -extent, Arc2D.CHORD ) );
+        setScissorClip( new Arc2D.Double( arc.x - arc.radiusH, arc.y - arc.radiusV, arc.radiusH * 2, arc.radiusV * 2, -arc.startAngle, -extent, Arc2D.CHORD ) );
     }
     
     /**
@@ -4697,7 +5861,7 @@ public abstract class EngineFrame extends JFrame {
      */
     public void beginScissorMode( Circle circle ) {
         copyAndSaveGraphics2D();
-        g2d.setClip( new Ellipse2D.Double( circle.x - circle.radius, circle.y - circle.radius, circle.radius * 2, circle.radius * 2 ) );
+        setScissorClip( new Ellipse2D.Double( circle.x - circle.radius, circle.y - circle.radius, circle.radius * 2, circle.radius * 2 ) );
     }
     
     /**
@@ -4708,7 +5872,7 @@ public abstract class EngineFrame extends JFrame {
     public void beginScissorMode( CircleSector circleSector ) {
         copyAndSaveGraphics2D();
         double extent = circleSector.endAngle - circleSector.startAngle;
-        g2d.setClip( new Arc2D.Double( circleSector.x - circleSector.radius, circleSector.y - circleSector.radius, circleSector.radius * 2, circleSector.radius * 2, -circleSector.startAngle, -extent, Arc2D.PIE ) );
+        setScissorClip( new Arc2D.Double( circleSector.x - circleSector.radius, circleSector.y - circleSector.radius, circleSector.radius * 2, circleSector.radius * 2, -circleSector.startAngle, -extent, Arc2D.PIE ) );
     }
     
     /**
@@ -4718,7 +5882,7 @@ public abstract class EngineFrame extends JFrame {
      */
     public void beginScissorMode( CubicCurve cubicCurve ) {
         copyAndSaveGraphics2D();
-        g2d.setClip( new CubicCurve2D.Double( cubicCurve.x1, cubicCurve.y1, cubicCurve.c1x, cubicCurve.c1y, cubicCurve.c2x, cubicCurve.c2y, cubicCurve.x2, cubicCurve.y2 ) );
+        setScissorClip( new CubicCurve2D.Double( cubicCurve.x1, cubicCurve.y1, cubicCurve.c1x, cubicCurve.c1y, cubicCurve.c2x, cubicCurve.c2y, cubicCurve.x2, cubicCurve.y2 ) );
     }
     
     /**
@@ -4728,7 +5892,7 @@ public abstract class EngineFrame extends JFrame {
      */
     public void beginScissorMode( Ellipse ellipse ) {
         copyAndSaveGraphics2D();
-        g2d.setClip( new Ellipse2D.Double( ellipse.x - ellipse.radiusH, ellipse.y - ellipse.radiusV, ellipse.radiusH * 2, ellipse.radiusV * 2 ) );
+        setScissorClip( new Ellipse2D.Double( ellipse.x - ellipse.radiusH, ellipse.y - ellipse.radiusV, ellipse.radiusH * 2, ellipse.radiusV * 2 ) );
     }
     
     /**
@@ -4739,7 +5903,7 @@ public abstract class EngineFrame extends JFrame {
     public void beginScissorMode( EllipseSector ellipseSector ) {
         copyAndSaveGraphics2D();
         double extent = ellipseSector.endAngle - ellipseSector.startAngle;
-        g2d.setClip( new Arc2D.Double( ellipseSector.x - ellipseSector.radiusH, ellipseSector.y - ellipseSector.radiusV, ellipseSector.radiusH * 2, ellipseSector.radiusV * 2, -ellipseSector.startAngle, -extent, Arc2D.PIE ) );
+        setScissorClip( new Arc2D.Double( ellipseSector.x - ellipseSector.radiusH, ellipseSector.y - ellipseSector.radiusV, ellipseSector.radiusH * 2, ellipseSector.radiusV * 2, -ellipseSector.startAngle, -extent, Arc2D.PIE ) );
     }
 
     /**
@@ -4749,7 +5913,7 @@ public abstract class EngineFrame extends JFrame {
      */
     public void beginScissorMode( Path path ) {
         copyAndSaveGraphics2D();
-        g2d.setClip( path.path );
+        setScissorClip( path.path );
     }
     
     /**
@@ -4759,7 +5923,7 @@ public abstract class EngineFrame extends JFrame {
      */
     public void beginScissorMode( Polygon polygon ) {
         copyAndSaveGraphics2D();
-        g2d.setClip( DrawingUtils.createPolygon( polygon.x, polygon.y, polygon.sides, polygon.radius, polygon.rotation ) );
+        setScissorClip( DrawingUtils.createPolygon( polygon.x, polygon.y, polygon.sides, polygon.radius, polygon.rotation ) );
     }
     
     /**
@@ -4769,7 +5933,7 @@ public abstract class EngineFrame extends JFrame {
      */
     public void beginScissorMode( QuadCurve quadCurve ) {
         copyAndSaveGraphics2D();
-        g2d.setClip( new QuadCurve2D.Double( quadCurve.x1, quadCurve.y1, quadCurve.cx, quadCurve.cy, quadCurve.x2, quadCurve.y2 ) );
+        setScissorClip( new QuadCurve2D.Double( quadCurve.x1, quadCurve.y1, quadCurve.cx, quadCurve.cy, quadCurve.x2, quadCurve.y2 ) );
     }
     
     /**
@@ -4788,7 +5952,7 @@ public abstract class EngineFrame extends JFrame {
      */
     public void beginScissorMode( Ring ring ) {
         copyAndSaveGraphics2D();
-        g2d.setClip( DrawingUtils.createRing( ring.x, ring.y, ring.innerRadius, ring.outerRadius, ring.startAngle, ring.endAngle ) );
+        setScissorClip( DrawingUtils.createRing( ring.x, ring.y, ring.innerRadius, ring.outerRadius, ring.startAngle, ring.endAngle ) );
     }
     
     /**
@@ -4798,7 +5962,7 @@ public abstract class EngineFrame extends JFrame {
      */
     public void beginScissorMode( RoundRectangle roundRectangle ) {
         copyAndSaveGraphics2D();
-        g2d.setClip( new RoundRectangle2D.Double( roundRectangle.x, roundRectangle.y, roundRectangle.width, roundRectangle.height, roundRectangle.roundness, roundRectangle.roundness ) );
+        setScissorClip( new RoundRectangle2D.Double( roundRectangle.x, roundRectangle.y, roundRectangle.width, roundRectangle.height, roundRectangle.roundness, roundRectangle.roundness ) );
     }
     
     /**
@@ -4808,7 +5972,7 @@ public abstract class EngineFrame extends JFrame {
      */
     public void beginScissorMode( Star star ) {
         copyAndSaveGraphics2D();
-        g2d.setClip( DrawingUtils.createStar( star.x, star.y, star.tips, star.radius, star.rotation ) );
+        setScissorClip( DrawingUtils.createStar( star.x, star.y, star.tips, star.radius, star.rotation ) );
     }
     
     /**
@@ -4818,7 +5982,7 @@ public abstract class EngineFrame extends JFrame {
      */
     public void beginScissorMode( Triangle triangle ) {
         copyAndSaveGraphics2D();
-        g2d.setClip( DrawingUtils.createTriangle( triangle.x1, triangle.y1, triangle.x2, triangle.y2, triangle.x3, triangle.y3 ) );
+        setScissorClip( DrawingUtils.createTriangle( triangle.x1, triangle.y1, triangle.x2, triangle.y2, triangle.x3, triangle.y3 ) );
     }
     
     /**
@@ -4830,10 +5994,716 @@ public abstract class EngineFrame extends JFrame {
     
     
     
+    //**************************************************************************
+    // Métodos para controle do modo de regiões sujas
+    //**************************************************************************
+    
+    /**
+     * Ativa ou desativa o modo de regiões sujas.
+     * 
+     * Nesse modo o conteúdo da tela é retido em uma imagem e, a cada quadro,
+     * apenas as regiões marcadas como sujas são limpas e redesenhadas, com o
+     * método draw executado recortado a essas regiões, e apenas elas são
+     * enviadas para a tela. É indicado para editores, painéis e jogos de
+     * tabuleiro que mudam pouco por quadro. Quadros sem regiões sujas não
+     * redesenham nada.
+     * 
+     * A aplicação é responsável por marcar, a cada mudança, tanto a área
+     * antiga quanto a nova de cada elemento alterado.
+     * 
+     * @param dirtyRegionMode Verdadeiro para ativar, falso para desativar.
+     */
+    public void setDirtyRegionMode( boolean dirtyRegionMode ) {
+        
+        if ( this.dirtyRegionMode != dirtyRegionMode ) {
+            
+            this.dirtyRegionMode = dirtyRegionMode;
+            
+            synchronized ( pendingDirtyRegions ) {
+                pendingDirtyRegions.clear();
+                paintDirtyRegions.clear();
+            }
+            
+            // o primeiro quadro do modo sempre redesenha a tela inteira
+            dirtyBackBufferStale = true;
+            
+        }
+        
+    }
+    
+    /**
+     * Retorna se o modo de regiões sujas está ativo.
+     * 
+     * @return Verdadeiro caso o modo de regiões sujas esteja ativo, falso caso
+     * contrário.
+     */
+    public boolean isDirtyRegionMode() {
+        return dirtyRegionMode;
+    }
+    
+    /**
+     * Ativa ou desativa o destaque visual das regiões redesenhadas em cada
+     * quadro no modo de regiões sujas.
+     * 
+     * @param dirtyRegionDebugOverlay Verdadeiro para ativar, falso para
+     * desativar.
+     */
+    public void setDirtyRegionDebugOverlay( boolean dirtyRegionDebugOverlay ) {
+        this.dirtyRegionDebugOverlay = dirtyRegionDebugOverlay;
+    }
+    
+    /**
+     * Retorna se o destaque visual das regiões sujas está ativo.
+     * 
+     * @return Verdadeiro caso o destaque esteja ativo, falso caso contrário.
+     */
+    public boolean isDirtyRegionDebugOverlay() {
+        return dirtyRegionDebugOverlay;
+    }
+    
+    /**
+     * Marca uma região retangular da tela como suja, para que seja
+     * redesenhada no próximo quadro. A região é expandida para os pixels
+     * inteiros que a contêm.
+     * 
+     * @param x Coordenada x do vértice superior esquerdo da região.
+     * @param y Coordenada y do vértice superior esquerdo da região.
+     * @param width Largura da região.
+     * @param height Altura da região.
+     */
+    public void markDirtyRegion( double x, double y, double width, double height ) {
+        
+        if ( width <= 0 || height <= 0 ) {
+            return;
+        }
+        
+        int x1 = (int) Math.floor( x );
+        int y1 = (int) Math.floor( y );
+        int x2 = (int) Math.ceil( x + width );
+        int y2 = (int) Math.ceil( y + height );
+        
+        synchronized ( pendingDirtyRegions ) {
+            pendingDirtyRegions.add( new java.awt.Rectangle( x1, y1, x2 - x1, y2 - y1 ) );
+        }
+        
+    }
+    
+    /**
+     * Marca uma região retangular da tela como suja, para que seja
+     * redesenhada no próximo quadro.
+     * 
+     * @param rectangle A região.
+     */
+    public void markDirtyRegion( Rectangle rectangle ) {
+        markDirtyRegion( rectangle.x, rectangle.y, rectangle.width, rectangle.height );
+    }
+    
+    /**
+     * Marca a tela inteira como suja, para que seja redesenhada no próximo
+     * quadro.
+     */
+    public void markAllDirty() {
+        markDirtyRegion( 0, 0, getScreenWidth(), getScreenHeight() );
+    }
+    
+    /**
+     * Envia para o desenho as regiões sujas do quadro, junto das regiões
+     * destacadas no quadro anterior, que precisam ser apagadas da tela.
+     */
+    private void repaintDirtyRegions() {
+        
+        if ( dirtyBackBufferStale || 
+             dirtyBackBuffer == null || 
+             dirtyBackBuffer.getWidth() != drawingPanel.getWidth() || 
+             dirtyBackBuffer.getHeight() != drawingPanel.getHeight() ) {
+            drawingPanel.repaint();
+            return;
+        }
+        
+        synchronized ( pendingDirtyRegions ) {
+            for ( java.awt.Rectangle r : pendingDirtyRegions ) {
+                drawingPanel.repaint( r );
+            }
+            paintDirtyRegions.addAll( pendingDirtyRegions );
+            pendingDirtyRegions.clear();
+        }
+        
+        for ( java.awt.Rectangle r : debugDirtyRegions ) {
+            drawingPanel.repaint( r.x - 1, r.y - 1, r.width + 2, r.height + 2 );
+        }
+        
+    }
+    
+    /**
+     * Redesenha as regiões sujas na imagem retida e copia a imagem para a
+     * tela, que já está recortada pelo Swing às regiões alteradas.
+     * 
+     * @param g O contexto gráfico do painel de desenho.
+     * @param width Largura do painel.
+     * @param height Altura do painel.
+     * @param background A cor de fundo.
+     */
+    private void paintDirtyRegions( Graphics g, int width, int height, Color background ) {
+        
+        List<java.awt.Rectangle> regions;
+        synchronized ( pendingDirtyRegions ) {
+            regions = new ArrayList<>( paintDirtyRegions );
+            paintDirtyRegions.clear();
+        }
+        
+        boolean stale = dirtyBackBufferStale;
+        if ( stale ) {
+            dirtyBackBufferStale = false;
+        }
+        
+        if ( stale || 
+             dirtyBackBuffer == null || 
+             dirtyBackBuffer.getWidth() != width || 
+             dirtyBackBuffer.getHeight() != height ) {
+            
+            if ( dirtyBackBuffer == null || 
+                 dirtyBackBuffer.getWidth() != width || 
+                 dirtyBackBuffer.getHeight() != height ) {
+                dirtyBackBuffer = new BufferedImage( 
+                    Math.max( width, 1 ), Math.max( height, 1 ), BufferedImage.TYPE_INT_ARGB );
+            }
+            
+            regions.clear();
+            regions.add( new java.awt.Rectangle( 0, 0, width, height ) );
+            
+        }
+        
+        if ( !regions.isEmpty() ) {
+            
+            Area clip = new Area();
+            for ( java.awt.Rectangle r : regions ) {
+                clip.add( new Area( r ) );
+            }
+            
+            g2d = dirtyBackBuffer.createGraphics();
+            g2d.setBackground( background );
+            g2d.setClip( clip );
+            for ( java.awt.Rectangle r : regions ) {
+                g2d.clearRect( r.x, r.y, r.width, r.height );
+            }
+            
+            renderState.startFrame();
+            g2d.setFont( defaultFont );
+            g2d.setStroke( defaultStroke );
+            
+            if ( antialiasing ) {
+                renderState.setRenderingHint( g2d, 
+                    RenderingHints.KEY_ANTIALIASING, 
+                    RenderingHints.VALUE_ANTIALIAS_ON );
+            }
+            
+            dirtyClip = clip;
+            
+            try {
+                drawFrame();
+            } finally {
+                dirtyClip = null;
+            }
+            
+            g2d.dispose();
+            
+        }
+        
+        g.drawImage( dirtyBackBuffer, 0, 0, null );
+        
+        if ( dirtyRegionDebugOverlay ) {
+            for ( java.awt.Rectangle r : regions ) {
+                g.setColor( DIRTY_REGION_FILL_COLOR );
+                g.fillRect( r.x, r.y, r.width, r.height );
+                g.setColor( DIRTY_REGION_BORDER_COLOR );
+                g.drawRect( r.x, r.y, r.width - 1, r.height - 1 );
+            }
+            debugDirtyRegions = regions;
+        } else {
+            debugDirtyRegions = new ArrayList<>();
+        }
+        
+    }
+    
+    /**
+     * Configura o recorte do modo de recorte, mantendo o desenho dentro das
+     * regiões sujas em redesenho.
+     * 
+     * @param clip O recorte.
+     */
+    private void setScissorClip( Shape clip ) {
+        
+        g2d.setClip( clip );
+        
+        if ( dirtyClip != null && textureModeImage == null ) {
+            // as regiões sujas estão no espaço da tela, sem transformação
+            AffineTransform t = g2d.getTransform();
+            g2d.setTransform( new AffineTransform() );
+            g2d.clip( dirtyClip );
+            g2d.setTransform( t );
+        }
+        
+    }
+    
+    
+    
+    //**************************************************************************
+    // Métodos para controle da resolução interna de desenho
+    //**************************************************************************
+    
+    /**
+     * Configura a escala da resolução interna de desenho em relação à
+     * janela. Com escalas menores que 1.0 o desenho é feito em uma imagem
+     * menor, ampliada para a janela ao final de cada quadro, o que reduz o
+     * custo de cenas limitadas pela quantidade de pixels preenchidos, como
+     * gradientes em tela cheia e formas suavizadas.
+     * 
+     * As coordenadas de desenho, as dimensões da tela e as coordenadas do
+     * mouse continuam no espaço da janela, independentemente da escala.
+     * O modo de regiões sujas, quando ativo, ignora a escala.
+     * 
+     * @param renderScale A escala, maior que 0.0 e menor ou igual a 1.0.
+     */
+    public void setRenderScale( double renderScale ) {
+        
+        if ( renderScale <= 0.0 || renderScale > 1.0 ) {
+            throw new IllegalArgumentException( "render scale must be in (0.0, 1.0]!" );
+        }
+        
+        this.renderScale = renderScale;
+        
+    }
+    
+    /**
+     * Obtém a escala atual da resolução interna de desenho, que pode ter
+     * sido alterada pelo controle dinâmico.
+     * 
+     * @return A escala.
+     */
+    public double getRenderScale() {
+        return renderScale;
+    }
+    
+    /**
+     * Configura o filtro de ampliação da resolução interna: bilinear, mais
+     * suave, ou vizinho mais próximo, mais nítido e mais barato.
+     * 
+     * @param renderScaleBilinear Verdadeiro para usar o filtro bilinear,
+     * falso para usar o vizinho mais próximo.
+     */
+    public void setRenderScaleBilinear( boolean renderScaleBilinear ) {
+        this.renderScaleBilinear = renderScaleBilinear;
+    }
+    
+    /**
+     * Retorna se a ampliação da resolução interna usa o filtro bilinear.
+     * 
+     * @return Verdadeiro caso o filtro bilinear seja usado, falso caso
+     * contrário.
+     */
+    public boolean isRenderScaleBilinear() {
+        return renderScaleBilinear;
+    }
+    
+    /**
+     * Ativa ou desativa o controle dinâmico da resolução interna. Quando
+     * ativo, a escala é reduzida enquanto o tempo médio de atualização e
+     * desenho de um quadro ultrapassar o tempo disponível para manter a
+     * quantidade de quadros por segundo desejada, e aumentada quando
+     * houver folga, sempre entre a escala mínima e a máxima.
+     * 
+     * @param dynamicRenderScale Verdadeiro para ativar, falso para desativar.
+     * @param minRenderScale A escala mínima.
+     * @param maxRenderScale A escala máxima.
+     */
+    public void setDynamicRenderScale( boolean dynamicRenderScale, double minRenderScale, double maxRenderScale ) {
+        
+        if ( minRenderScale <= 0.0 || maxRenderScale > 1.0 || minRenderScale > maxRenderScale ) {
+            throw new IllegalArgumentException( "render scale limits must satisfy 0.0 < min <= max <= 1.0!" );
+        }
+        
+        this.minRenderScale = minRenderScale;
+        this.maxRenderScale = maxRenderScale;
+        this.dynamicRenderScale = dynamicRenderScale;
+        
+        renderScale = Math.max( minRenderScale, Math.min( maxRenderScale, renderScale ) );
+        renderScaleStatsStale = true;
+        
+    }
+    
+    /**
+     * Ativa ou desativa o controle dinâmico da resolução interna, com a
+     * escala entre 0.5 e 1.0.
+     * 
+     * @param dynamicRenderScale Verdadeiro para ativar, falso para desativar.
+     */
+    public void setDynamicRenderScale( boolean dynamicRenderScale ) {
+        setDynamicRenderScale( dynamicRenderScale, 0.5, 1.0 );
+    }
+    
+    /**
+     * Retorna se o controle dinâmico da resolução interna está ativo.
+     * 
+     * @return Verdadeiro caso o controle dinâmico esteja ativo, falso caso
+     * contrário.
+     */
+    public boolean isDynamicRenderScale() {
+        return dynamicRenderScale;
+    }
+    
+    /**
+     * Desenha o quadro na imagem da resolução interna e a amplia para a
+     * janela.
+     * 
+     * @param g O contexto gráfico do painel de desenho.
+     * @param width Largura do painel.
+     * @param height Altura do painel.
+     * @param background A cor de fundo.
+     */
+    private void paintScaled( Graphics g, int width, int height, Color background ) {
+        
+        int bufferWidth = Math.max( 1, (int) Math.ceil( width * renderScale ) );
+        int bufferHeight = Math.max( 1, (int) Math.ceil( height * renderScale ) );
+        
+        if ( renderScaleBuffer == null || 
+             renderScaleBuffer.getWidth() != bufferWidth || 
+             renderScaleBuffer.getHeight() != bufferHeight ) {
+            renderScaleBuffer = new BufferedImage( bufferWidth, bufferHeight, BufferedImage.TYPE_INT_ARGB );
+        }
+        
+        g2d = renderScaleBuffer.createGraphics();
+        g2d.setBackground( background );
+        g2d.clearRect( 0, 0, bufferWidth, bufferHeight );
+        
+        // o desenho continua sendo feito nas coordenadas da janela
+        g2d.scale( bufferWidth / (double) Math.max( width, 1 ), bufferHeight / (double) Math.max( height, 1 ) );
+        
+        renderState.startFrame();
+        g2d.setFont( defaultFont );
+        g2d.setStroke( defaultStroke );
+        
+        if ( antialiasing ) {
+            renderState.setRenderingHint( g2d, 
+                RenderingHints.KEY_ANTIALIASING, 
+                RenderingHints.VALUE_ANTIALIAS_ON );
+        }
+        
+        drawFrame();
+        
+        g2d.dispose();
+        
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setRenderingHint( 
+            RenderingHints.KEY_INTERPOLATION, 
+            renderScaleBilinear ? 
+                RenderingHints.VALUE_INTERPOLATION_BILINEAR : 
+                RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR );
+        g2.drawImage( renderScaleBuffer, 0, 0, width, height, null );
+        g2.dispose();
+        
+    }
+    
+    /**
+     * Ajusta a escala da resolução interna a partir do tempo do último
+     * quadro.
+     * 
+     * @param paintTime Tempo de desenho do quadro, em nanossegundos.
+     */
+    private void updateDynamicRenderScale( long paintTime ) {
+        
+        double frameMillis = ( paintTime + lastUpdateTime ) / 1_000_000.0;
+        
+        // a média e a espera só são reiniciadas aqui, na EDT
+        if ( renderScaleStatsStale ) {
+            renderScaleStatsStale = false;
+            renderTimeAverage = 0;
+            renderScaleCooldown = 0;
+        }
+        
+        if ( renderTimeAverage == 0 ) {
+            renderTimeAverage = frameMillis;
+        } else {
+            renderTimeAverage += ( frameMillis - renderTimeAverage ) * RENDER_TIME_SMOOTHING;
+        }
+        
+        if ( renderScaleCooldown > 0 ) {
+            renderScaleCooldown--;
+            return;
+        }
+        
+        double budget = 1000.0 / targetFPS;
+        double newScale = renderScale;
+        
+        if ( renderTimeAverage > budget * RENDER_SCALE_DOWN_THRESHOLD ) {
+            newScale = Math.max( minRenderScale, renderScale * RENDER_SCALE_DOWN_FACTOR );
+        } else if ( renderTimeAverage < budget * RENDER_SCALE_UP_THRESHOLD ) {
+            newScale = Math.min( maxRenderScale, renderScale * RENDER_SCALE_UP_FACTOR );
+        }
+        
+        if ( newScale != renderScale ) {
+            renderScale = newScale;
+            renderScaleCooldown = RENDER_SCALE_COOLDOWN_FRAMES;
+        }
+        
+    }
+    
+    
+    
+    //**************************************************************************
+    // Métodos para controle do desenho em regiões paralelas
+    //**************************************************************************
+    
+    /**
+     * Ativa ou desativa o desenho em regiões paralelas, usando uma região
+     * por processador disponível.
+     * 
+     * @param tiledRendering Verdadeiro para ativar, falso para desativar.
+     */
+    public void setTiledRendering( boolean tiledRendering ) {
+        setTiledRendering( tiledRendering, Runtime.getRuntime().availableProcessors() );
+    }
+    
+    /**
+     * Ativa ou desativa o desenho em regiões paralelas.
+     * 
+     * Nesse modo os comandos de desenho do método draw são gravados e depois
+     * reproduzidos em paralelo, uma vez para cada uma das faixas horizontais
+     * em que a tela é dividida, cada uma desenhada por uma thread em uma
+     * imagem própria, e as faixas são então apresentadas. O resultado é
+     * igual ao do desenho em uma única thread, exceto por pequenas variações
+     * de arredondamento em gradientes e de suavização em formas que cruzam
+     * as faixas, causadas pelo recorte de geometria do rasterizador do
+     * Java2D (desativável com a propriedade sun.java2d.renderer.clip=false).
+     * O método draw não deve ler pixels do
+     * próprio destino nem alterar imagens depois de desenhá-las no mesmo
+     * quadro.
+     * 
+     * Compensa em cenas limitadas pelo preenchimento de pixels em máquinas
+     * com vários núcleos, já que o custo de cada comando é pago uma vez por
+     * região; o ganho deve ser medido na máquina de destino. Os modos de
+     * regiões sujas e de resolução interna têm, nessa ordem, precedência
+     * sobre ele. As threads e as imagens das regiões são criadas e
+     * liberadas pela thread de eventos no quadro seguinte à mudança.
+     * 
+     * @param tiledRendering Verdadeiro para ativar, falso para desativar.
+     * @param renderTiles Quantidade de regiões.
+     */
+    public void setTiledRendering( boolean tiledRendering, int renderTiles ) {
+        
+        if ( renderTiles <= 0 ) {
+            throw new IllegalArgumentException( "render tiles must be positive!" );
+        }
+        
+        this.renderTiles = renderTiles;
+        this.tiledRendering = tiledRendering;
+        
+    }
+    
+    /**
+     * Retorna se o desenho em regiões paralelas está ativo.
+     * 
+     * @return Verdadeiro caso o desenho em regiões paralelas esteja ativo,
+     * falso caso contrário.
+     */
+    public boolean isTiledRendering() {
+        return tiledRendering;
+    }
+    
+    /**
+     * Obtém a quantidade de regiões do desenho em regiões paralelas.
+     * 
+     * @return A quantidade de regiões.
+     */
+    public int getRenderTiles() {
+        return renderTiles;
+    }
+    
+    /**
+     * Grava o quadro, reproduz a gravação em paralelo por faixas da tela e
+     * apresenta o resultado.
+     * 
+     * @param g O contexto gráfico do painel de desenho.
+     * @param width Largura do painel.
+     * @param height Altura do painel.
+     * @param background A cor de fundo.
+     */
+    private void paintTiled( Graphics g, int width, int height, Color background ) {
+        
+        Graphics2D shadow = tiledShadowImage.createGraphics();
+        shadow.setClip( 0, 0, width, height );
+        shadow.setBackground( background );
+        
+        RecordingGraphics2D recorder = new RecordingGraphics2D( shadow );
+        g2d = recorder;
+        
+        renderState.startFrame();
+        g2d.setFont( defaultFont );
+        g2d.setStroke( defaultStroke );
+        
+        if ( antialiasing ) {
+            renderState.setRenderingHint( g2d, 
+                RenderingHints.KEY_ANTIALIASING, 
+                RenderingHints.VALUE_ANTIALIAS_ON );
+        }
+        
+        drawFrame();
+        
+        g2d.dispose();
+        
+        if ( width <= 0 || height <= 0 ) {
+            return;
+        }
+        
+        RecordingGraphics2D.Recording recording = recorder.getRecording();
+        int tiles = Math.min( renderTiles, height );
+        
+        if ( tiledBuffers == null || tiledBuffers.length != tiles || 
+             tiledBuffers[0].getWidth() != width || tiledBufferHeight != height ) {
+            tiledBuffers = new BufferedImage[tiles];
+            for ( int i = 0; i < tiles; i++ ) {
+                tiledBuffers[i] = new BufferedImage( width, tileY( i + 1, tiles, height ) - tileY( i, tiles, height ), BufferedImage.TYPE_INT_ARGB );
+            }
+            tiledBufferHeight = height;
+        }
+        
+        BufferedImage[] buffers = tiledBuffers;
+        List<Future<?>> futures = new ArrayList<>();
+        ExecutorService executor = getTileExecutor( tiles );
+        
+        for ( int i = 1; i < tiles; i++ ) {
+            BufferedImage buffer = buffers[i];
+            int y = tileY( i, tiles, height );
+            futures.add( executor.submit( () -> {
+                replayTile( recording, buffer, y, background );
+            }));
+        }
+        
+        // a primeira faixa é desenhada na própria thread de desenho
+        replayTile( recording, buffers[0], 0, background );
+        
+        for ( Future<?> future : futures ) {
+            try {
+                future.get();
+            } catch ( InterruptedException | ExecutionException exc ) {
+                traceLogError( CoreUtils.stackTraceToString( exc ) );
+            }
+        }
+        
+        for ( int i = 0; i < tiles; i++ ) {
+            g.drawImage( buffers[i], 0, tileY( i, tiles, height ), null );
+        }
+        
+    }
+    
+    /**
+     * Calcula a coordenada y inicial de uma faixa.
+     */
+    private static int tileY( int tile, int tiles, int height ) {
+        return (int) ( (long) height * tile / tiles );
+    }
+    
+    /**
+     * Limpa a imagem de uma faixa e reproduz a gravação nela, transladada
+     * para a posição da faixa.
+     */
+    private static void replayTile( RecordingGraphics2D.Recording recording, BufferedImage buffer, int y, Color background ) {
+        
+        Graphics2D tg = buffer.createGraphics();
+        tg.setBackground( background );
+        tg.clearRect( 0, 0, buffer.getWidth(), buffer.getHeight() );
+        tg.translate( 0, -y );
+        
+        recording.replay( tg );
+        tg.dispose();
+        
+    }
+    
+    /**
+     * Obtém as threads das faixas, criando-as ou recriando-as caso a
+     * quantidade de faixas tenha mudado. Executado na thread de eventos.
+     */
+    private ExecutorService getTileExecutor( int tiles ) {
+        
+        if ( tileExecutor != null && tileExecutorThreads != tiles - 1 ) {
+            tileExecutor.shutdown();
+            tileExecutor = null;
+        }
+        
+        if ( tileExecutor == null && tiles > 1 ) {
+            tileExecutor = Executors.newFixedThreadPool( tiles - 1, r -> {
+                Thread t = new Thread( r, "JSGE tile renderer" );
+                t.setDaemon( true );
+                return t;
+            });
+            tileExecutorThreads = tiles - 1;
+        }
+        
+        return tileExecutor;
+        
+    }
+    
+    /**
+     * Libera as threads e as imagens do desenho em regiões paralelas depois
+     * que o modo é desativado. Executado na thread de eventos.
+     */
+    private void releaseTiledResources() {
+        if ( tileExecutor != null ) {
+            tileExecutor.shutdown();
+            tileExecutor = null;
+        }
+        tiledBuffers = null;
+    }
+    
+    
+    
     //**************************************************************************
     // Métodos para controle dos contextos gráficos.
     //**************************************************************************
     
+    /**
+     * Obtém a cor correspondente a uma cor compactada, reutilizando a cor
+     * em cache quando possível.
+     * 
+     * @param argb A cor compactada no formato 0xAARRGGBB.
+     * @return A cor.
+     */
+    private Color packedColor( int argb ) {
+        int index = ( argb * 0x9E3779B9 ) >>> 24 & ( PACKED_COLOR_CACHE_SIZE - 1 );
+        Color color = packedColorCache[index];
+        if ( color == null || color.getRGB() != argb ) {
+            color = new Color( argb, true );
+            packedColorCache[index] = color;
+        }
+        return color;
+    }
+    
+    /**
+     * Executa o desenho de um quadro no contexto gráfico corrente. Ao final,
+     * mesmo que o desenho lance uma exceção, os modos de textura, 2D e de
+     * recorte que ficaram ativos são finalizados e o contexto gráfico do
+     * quadro é restaurado.
+     */
+    private void drawFrame() {
+        
+        int depth = g2dStack.size();
+        
+        try {
+            draw();
+        } catch ( RuntimeException exc ) {
+            traceLogError( CoreUtils.stackTraceToString( exc ) );
+        } finally {
+            while ( g2dStack.size() > depth ) {
+                disposeAndRestoreGraphics2D();
+            }
+            if ( textureModeImage != null ) {
+                textureModeImage.markModified();
+                textureModeImage = null;
+            }
+            mode2DActive = false;
+        }
+        
+    }
+    
     /**
      * Cria uma cópia do contexto gráfico corrente e salva uma referência
      * ao contexto gráfico anterior.
@@ -5077,26 +6947,57 @@ public abstract class EngineFrame extends JFrame {
         public void paintComponent( Graphics g ) {
 
             super.paintComponent( g );
+            
+            if ( dirtyRegionMode ) {
+                paintDirtyRegions( g, getWidth(), getHeight(), getBackground() );
+                return;
+            }
+            
+            // fora do modo de regiões sujas a imagem retida é liberada
+            dirtyBackBuffer = null;
+            
+            long paintStart = System.nanoTime();
+            
+            if ( renderScale != 1.0 ) {
+                releaseTiledResources();
+                paintScaled( g, getWidth(), getHeight(), getBackground() );
+                if ( dynamicRenderScale ) {
+                    updateDynamicRenderScale( System.nanoTime() - paintStart );
+                }
+                return;
+            }
+            
+            if ( tiledRendering ) {
+                paintTiled( g, getWidth(), getHeight(), getBackground() );
+                if ( dynamicRenderScale ) {
+                    updateDynamicRenderScale( System.nanoTime() - paintStart );
+                }
+                return;
+            }
+            
+            releaseTiledResources();
+            
             g2d = (Graphics2D) g.create();
 
+            renderState.startFrame();
             g2d.setFont( defaultFont );
             g2d.setStroke( defaultStroke );
             
             g2d.clearRect( 0, 0, getWidth(), getHeight() );
 
             if ( antialiasing ) {
-                g2d.setRenderingHint( 
+                renderState.setRenderingHint( g2d, 
                     RenderingHints.KEY_ANTIALIASING, 
                     RenderingHints.VALUE_ANTIALIAS_ON );
             }
             
-            try {
-                draw();
-            } catch ( RuntimeException exc ) {
-                traceLogError( CoreUtils.stackTraceToString( exc ) );
-            }
+            drawFrame();
             
             g2d.dispose();
+            
+            if ( dynamicRenderScale ) {
+                updateDynamicRenderScale( System.nanoTime() - paintStart );
+            }
 
         }
 
@@ -0,0 +1,718 @@
+/*
+ * Copyright (C) 2025 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.core.engine;
+
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Paint;
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Area;
+import java.awt.geom.CubicCurve2D;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.QuadCurve2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.BufferedImageOp;
+import java.awt.image.ImageObserver;
+import java.awt.image.RenderedImage;
+import java.awt.image.renderable.RenderableImage;
+import java.text.AttributedCharacterIterator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contexto gráfico que grava os comandos de desenho para que sejam
+ * reproduzidos depois, uma vez por região da tela, em paralelo.
+ *
+ * As mudanças de estado são aplicadas também a um contexto de sombra, que
+ * responde às consultas (cor, fonte, transformação, métricas de fonte etc.)
+ * durante a gravação. Os argumentos mutáveis, como formas, transformações
+ * e vetores, são copiados, já que a engine reutiliza alguns desses objetos
+ * entre chamadas. As imagens são gravadas por referência, então o conteúdo
+ * reproduzido é o que elas tiverem no momento da reprodução.
+ *
+ * Cada região é reproduzida em uma imagem própria, transladada para a
+ * posição da região, então o recorte de cada região é o próprio limite da
+ * imagem e permanece mesmo quando os comandos gravados substituem o
+ * recorte corrente. As transformações absolutas gravadas são compostas
+ * com essa translação.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+class RecordingGraphics2D extends Graphics2D {
+
+    /**
+     * Comando gravado, reproduzido sobre o contexto de uma região.
+     */
+    @FunctionalInterface
+    static interface Command {
+
+        /**
+         * Reproduz o comando.
+         *
+         * @param g O contexto gráfico da região.
+         * @param base A transformação inicial do contexto da região.
+         */
+        void replay( Graphics2D g, AffineTransform base );
+
+    }
+
+    /**
+     * Gravação compartilhada por um contexto e todos os contextos criados
+     * a partir dele.
+     */
+    static class Recording {
+
+        private final List<Operation> operations = new ArrayList<>();
+        private int contextCount = 1;
+        
+        /**
+         * Indica se o contexto principal foi descartado, o que encerra a
+         * gravação. Contextos filhos esquecidos podem ser descartados depois
+         * pelo coletor de lixo, enquanto a gravação é reproduzida.
+         */
+        private volatile boolean finished;
+
+        /**
+         * Reproduz a gravação em um contexto. A transformação corrente do
+         * contexto, normalmente a translação da região, passa a ser a base
+         * das transformações gravadas. O contexto fornecido não é descartado.
+         *
+         * @param target O contexto gráfico da região.
+         */
+        void replay( Graphics2D target ) {
+
+            AffineTransform base = target.getTransform();
+            Graphics2D[] contexts = new Graphics2D[contextCount];
+            contexts[0] = target;
+
+            for ( Operation op : operations ) {
+                Graphics2D g = contexts[op.context];
+                if ( g == null ) {
+                    continue;
+                }
+                if ( op.child >= 0 ) {
+                    contexts[op.child] = (Graphics2D) g.create();
+                } else if ( op.command == null ) {
+                    if ( op.context != 0 ) {
+                        g.dispose();
+                    }
+                    contexts[op.context] = null;
+                } else {
+                    op.command.replay( g, base );
+                }
+            }
+
+            for ( int i = 1; i < contexts.length; i++ ) {
+                if ( contexts[i] != null ) {
+                    contexts[i].dispose();
+                }
+            }
+
+        }
+
+        /**
+         * Obtém a quantidade de comandos gravados.
+         *
+         * @return A quantidade de comandos.
+         */
+        int size() {
+            return operations.size();
+        }
+
+    }
+
+    /**
+     * Operação gravada: um comando, a criação de um contexto filho
+     * (child >= 0) ou o descarte do contexto (command nulo).
+     */
+    private static record Operation( int context, int child, Command command ) {
+    }
+
+    private final Recording recording;
+    private final int context;
+    private final Graphics2D shadow;
+    private boolean disposed;
+
+    /**
+     * Cria um contexto de gravação.
+     *
+     * @param shadow O contexto de sombra, que responde às consultas de
+     * estado e é descartado junto com este.
+     */
+    RecordingGraphics2D( Graphics2D shadow ) {
+        this( new Recording(), 0, shadow );
+    }
+
+    private RecordingGraphics2D( Recording recording, int context, Graphics2D shadow ) {
+        this.recording = recording;
+        this.context = context;
+        this.shadow = shadow;
+    }
+
+    /**
+     * Obtém a gravação.
+     *
+     * @return A gravação.
+     */
+    Recording getRecording() {
+        return recording;
+    }
+
+    private void record( Command command ) {
+        if ( !recording.finished ) {
+            recording.operations.add( new Operation( context, -1, command ) );
+        }
+    }
+
+    /**
+     * Copia uma forma, já que formas podem ser reutilizadas pelo chamador.
+     */
+    private static Shape copy( Shape s ) {
+        if ( s == null ) {
+            return null;
+        } else if ( s instanceof Rectangle r ) {
+            return new Rectangle( r );
+        } else if ( s instanceof Rectangle2D r ) {
+            return (Shape) r.clone();
+        } else if ( s instanceof Ellipse2D e ) {
+            return (Shape) e.clone();
+        } else if ( s instanceof Line2D l ) {
+            return (Shape) l.clone();
+        } else if ( s instanceof Arc2D a ) {
+            return (Shape) a.clone();
+        } else if ( s instanceof RoundRectangle2D r ) {
+            return (Shape) r.clone();
+        } else if ( s instanceof QuadCurve2D q ) {
+            return (Shape) q.clone();
+        } else if ( s instanceof CubicCurve2D c ) {
+            return (Shape) c.clone();
+        } else if ( s instanceof Path2D p ) {
+            return (Shape) p.clone();
+        } else if ( s instanceof Area a ) {
+            return (Shape) a.clone();
+        } else if ( s instanceof Polygon p ) {
+            return new Polygon( p.xpoints, p.ypoints, p.npoints );
+        }
+        return new Path2D.Double( s );
+    }
+
+    /**
+     * Copia um vetor de glifos, com os códigos, as posições e as
+     * transformações de cada glifo, já que ele pode ser alterado pelo
+     * chamador e os vetores de glifos não são seguros para uso simultâneo
+     * pelas regiões.
+     */
+    private static GlyphVector copy( GlyphVector gv ) {
+
+        int n = gv.getNumGlyphs();
+        GlyphVector c = gv.getFont().createGlyphVector( gv.getFontRenderContext(), gv.getGlyphCodes( 0, n, null ) );
+
+        for ( int i = 0; i < n; i++ ) {
+            c.setGlyphPosition( i, gv.getGlyphPosition( i ) );
+            c.setGlyphTransform( i, gv.getGlyphTransform( i ) );
+        }
+        c.setGlyphPosition( n, gv.getGlyphPosition( n ) );
+
+        return c;
+
+    }
+
+    //**************************************************************************
+    // Contextos
+    //**************************************************************************
+
+    @Override
+    public Graphics create() {
+        int child = recording.contextCount++;
+        if ( !recording.finished ) {
+            recording.operations.add( new Operation( context, child, null ) );
+        }
+        return new RecordingGraphics2D( recording, child, (Graphics2D) shadow.create() );
+    }
+
+    @Override
+    public void dispose() {
+        
+        if ( disposed ) {
+            return;
+        }
+        
+        disposed = true;
+        shadow.dispose();
+        
+        if ( !recording.finished ) {
+            recording.operations.add( new Operation( context, -1, null ) );
+            if ( context == 0 ) {
+                recording.finished = true;
+            }
+        }
+        
+    }
+
+    //**************************************************************************
+    // Estado
+    //**************************************************************************
+
+    @Override
+    public void setColor( Color c ) {
+        shadow.setColor( c );
+        record( ( g, base ) -> g.setColor( c ) );
+    }
+
+    @Override
+    public void setPaint( Paint paint ) {
+        shadow.setPaint( paint );
+        record( ( g, base ) -> g.setPaint( paint ) );
+    }
+
+    @Override
+    public void setFont( Font font ) {
+        shadow.setFont( font );
+        record( ( g, base ) -> g.setFont( font ) );
+    }
+
+    @Override
+    public void setStroke( Stroke s ) {
+        shadow.setStroke( s );
+        record( ( g, base ) -> g.setStroke( s ) );
+    }
+
+    @Override
+    public void setComposite( Composite comp ) {
+        shadow.setComposite( comp );
+        record( ( g, base ) -> g.setComposite( comp ) );
+    }
+
+    @Override
+    public void setBackground( Color color ) {
+        shadow.setBackground( color );
+        record( ( g, base ) -> g.setBackground( color ) );
+    }
+
+    @Override
+    public void setPaintMode() {
+        shadow.setPaintMode();
+        record( ( g, base ) -> g.setPaintMode() );
+    }
+
+    @Override
+    public void setXORMode( Color c1 ) {
+        shadow.setXORMode( c1 );
+        record( ( g, base ) -> g.setXORMode( c1 ) );
+    }
+
+    @Override
+    public void setRenderingHint( RenderingHints.Key hintKey, Object hintValue ) {
+        shadow.setRenderingHint( hintKey, hintValue );
+        record( ( g, base ) -> g.setRenderingHint( hintKey, hintValue ) );
+    }
+
+    @Override
+    public void setRenderingHints( Map<?, ?> hints ) {
+        Map<?, ?> h = new HashMap<>( hints );
+        shadow.setRenderingHints( h );
+        record( ( g, base ) -> g.setRenderingHints( h ) );
+    }
+
+    @Override
+    public void addRenderingHints( Map<?, ?> hints ) {
+        Map<?, ?> h = new HashMap<>( hints );
+        shadow.addRenderingHints( h );
+        record( ( g, base ) -> g.addRenderingHints( h ) );
+    }
+
+    @Override
+    public void translate( int x, int y ) {
+        shadow.translate( x, y );
+        record( ( g, base ) -> g.translate( x, y ) );
+    }
+
+    @Override
+    public void translate( double tx, double ty ) {
+        shadow.translate( tx, ty );
+        record( ( g, base ) -> g.translate( tx, ty ) );
+    }
+
+    @Override
+    public void rotate( double theta ) {
+        shadow.rotate( theta );
+        record( ( g, base ) -> g.rotate( theta ) );
+    }
+
+    @Override
+    public void rotate( double theta, double x, double y ) {
+        shadow.rotate( theta, x, y );
+        record( ( g, base ) -> g.rotate( theta, x, y ) );
+    }
+
+    @Override
+    public void scale( double sx, double sy ) {
+        shadow.scale( sx, sy );
+        record( ( g, base ) -> g.scale( sx, sy ) );
+    }
+
+    @Override
+    public void shear( double shx, double shy ) {
+        shadow.shear( shx, shy );
+        record( ( g, base ) -> g.shear( shx, shy ) );
+    }
+
+    @Override
+    public void transform( AffineTransform tx ) {
+        AffineTransform t = new AffineTransform( tx );
+        shadow.transform( t );
+        record( ( g, base ) -> g.transform( t ) );
+    }
+
+    @Override
+    public void setTransform( AffineTransform tx ) {
+        AffineTransform t = new AffineTransform( tx );
+        shadow.setTransform( t );
+        record( ( g, base ) -> {
+            g.setTransform( base );
+            g.transform( t );
+        });
+    }
+
+    @Override
+    public void clipRect( int x, int y, int width, int height ) {
+        shadow.clipRect( x, y, width, height );
+        record( ( g, base ) -> g.clipRect( x, y, width, height ) );
+    }
+
+    @Override
+    public void clip( Shape s ) {
+        Shape c = copy( s );
+        shadow.clip( c );
+        record( ( g, base ) -> g.clip( c ) );
+    }
+
+    @Override
+    public void setClip( int x, int y, int width, int height ) {
+        setClip( new Rectangle( x, y, width, height ) );
+    }
+
+    @Override
+    public void setClip( Shape clip ) {
+        Shape c = copy( clip );
+        shadow.setClip( c );
+        record( ( g, base ) -> g.setClip( c ) );
+    }
+
+    //**************************************************************************
+    // Consultas, respondidas pelo contexto de sombra
+    //**************************************************************************
+
+    @Override
+    public Color getColor() {
+        return shadow.getColor();
+    }
+
+    @Override
+    public Paint getPaint() {
+        return shadow.getPaint();
+    }
+
+    @Override
+    public Font getFont() {
+        return shadow.getFont();
+    }
+
+    @Override
+    public FontMetrics getFontMetrics( Font f ) {
+        return shadow.getFontMetrics( f );
+    }
+
+    @Override
+    public Stroke getStroke() {
+        return shadow.getStroke();
+    }
+
+    @Override
+    public Composite getComposite() {
+        return shadow.getComposite();
+    }
+
+    @Override
+    public Color getBackground() {
+        return shadow.getBackground();
+    }
+
+    @Override
+    public Object getRenderingHint( RenderingHints.Key hintKey ) {
+        return shadow.getRenderingHint( hintKey );
+    }
+
+    @Override
+    public RenderingHints getRenderingHints() {
+        return shadow.getRenderingHints();
+    }
+
+    @Override
+    public AffineTransform getTransform() {
+        return shadow.getTransform();
+    }
+
+    @Override
+    public Rectangle getClipBounds() {
+        return shadow.getClipBounds();
+    }
+
+    @Override
+    public Shape getClip() {
+        return shadow.getClip();
+    }
+
+    @Override
+    public FontRenderContext getFontRenderContext() {
+        return shadow.getFontRenderContext();
+    }
+
+    @Override
+    public GraphicsConfiguration getDeviceConfiguration() {
+        return shadow.getDeviceConfiguration();
+    }
+
+    @Override
+    public boolean hit( Rectangle rect, Shape s, boolean onStroke ) {
+        return shadow.hit( rect, s, onStroke );
+    }
+
+    //**************************************************************************
+    // Desenho
+    //**************************************************************************
+
+    @Override
+    public void draw( Shape s ) {
+        Shape c = copy( s );
+        record( ( g, base ) -> g.draw( c ) );
+    }
+
+    @Override
+    public void fill( Shape s ) {
+        Shape c = copy( s );
+        record( ( g, base ) -> g.fill( c ) );
+    }
+
+    @Override
+    public void drawLine( int x1, int y1, int x2, int y2 ) {
+        record( ( g, base ) -> g.drawLine( x1, y1, x2, y2 ) );
+    }
+
+    @Override
+    public void drawRect( int x, int y, int width, int height ) {
+        record( ( g, base ) -> g.drawRect( x, y, width, height ) );
+    }
+
+    @Override
+    public void fillRect( int x, int y, int width, int height ) {
+        record( ( g, base ) -> g.fillRect( x, y, width, height ) );
+    }
+
+    @Override
+    public void clearRect( int x, int y, int width, int height ) {
+        record( ( g, base ) -> g.clearRect( x, y, width, height ) );
+    }
+
+    @Override
+    public void draw3DRect( int x, int y, int width, int height, boolean raised ) {
+        record( ( g, base ) -> g.draw3DRect( x, y, width, height, raised ) );
+    }
+
+    @Override
+    public void fill3DRect( int x, int y, int width, int height, boolean raised ) {
+        record( ( g, base ) -> g.fill3DRect( x, y, width, height, raised ) );
+    }
+
+    @Override
+    public void drawRoundRect( int x, int y, int width, int height, int arcWidth, int arcHeight ) {
+        record( ( g, base ) -> g.drawRoundRect( x, y, width, height, arcWidth, arcHeight ) );
+    }
+
+    @Override
+    public void fillRoundRect( int x, int y, int width, int height, int arcWidth, int arcHeight ) {
+        record( ( g, base ) -> g.fillRoundRect( x, y, width, height, arcWidth, arcHeight ) );
+    }
+
+    @Override
+    public void drawOval( int x, int y, int width, int height ) {
+        record( ( g, base ) -> g.drawOval( x, y, width, height ) );
+    }
+
+    @Override
+    public void fillOval( int x, int y, int width, int height ) {
+        record( ( g, base ) -> g.fillOval( x, y, width, height ) );
+    }
+
+    @Override
+    public void drawArc( int x, int y, int width, int height, int startAngle, int arcAngle ) {
+        record( ( g, base ) -> g.drawArc( x, y, width, height, startAngle, arcAngle ) );
+    }
+
+    @Override
+    public void fillArc( int x, int y, int width, int height, int startAngle, int arcAngle ) {
+        record( ( g, base ) -> g.fillArc( x, y, width, height, startAngle, arcAngle ) );
+    }
+
+    @Override
+    public void drawPolyline( int[] xPoints, int[] yPoints, int nPoints ) {
+        int[] xs = xPoints.clone();
+        int[] ys = yPoints.clone();
+        record( ( g, base ) -> g.drawPolyline( xs, ys, nPoints ) );
+    }
+
+    @Override
+    public void drawPolygon( int[] xPoints, int[] yPoints, int nPoints ) {
+        int[] xs = xPoints.clone();
+        int[] ys = yPoints.clone();
+        record( ( g, base ) -> g.drawPolygon( xs, ys, nPoints ) );
+    }
+
+    @Override
+    public void fillPolygon( int[] xPoints, int[] yPoints, int nPoints ) {
+        int[] xs = xPoints.clone();
+        int[] ys = yPoints.clone();
+        record( ( g, base ) -> g.fillPolygon( xs, ys, nPoints ) );
+    }
+
+    @Override
+    public void copyArea( int x, int y, int width, int height, int dx, int dy ) {
+        // lê pixels do destino, que podem pertencer a outra região
+        record( ( g, base ) -> g.copyArea( x, y, width, height, dx, dy ) );
+    }
+
+    @Override
+    public void drawString( String str, int x, int y ) {
+        record( ( g, base ) -> g.drawString( str, x, y ) );
+    }
+
+    @Override
+    public void drawString( String str, float x, float y ) {
+        record( ( g, base ) -> g.drawString( str, x, y ) );
+    }
+
+    @Override
+    public void drawString( AttributedCharacterIterator iterator, int x, int y ) {
+        AttributedCharacterIterator it = (AttributedCharacterIterator) iterator.clone();
+        record( ( g, base ) -> g.drawString( (AttributedCharacterIterator) it.clone(), x, y ) );
+    }
+
+    @Override
+    public void drawString( AttributedCharacterIterator iterator, float x, float y ) {
+        AttributedCharacterIterator it = (AttributedCharacterIterator) iterator.clone();
+        record( ( g, base ) -> g.drawString( (AttributedCharacterIterator) it.clone(), x, y ) );
+    }
+
+    @Override
+    public void drawChars( char[] data, int offset, int length, int x, int y ) {
+        char[] d = data.clone();
+        record( ( g, base ) -> g.drawChars( d, offset, length, x, y ) );
+    }
+
+    @Override
+    public void drawBytes( byte[] data, int offset, int length, int x, int y ) {
+        byte[] d = data.clone();
+        record( ( g, base ) -> g.drawBytes( d, offset, length, x, y ) );
+    }
+
+    @Override
+    public void drawGlyphVector( GlyphVector gv, float x, float y ) {
+        GlyphVector c = copy( gv );
+        record( ( g, base ) -> g.drawGlyphVector( copy( c ), x, y ) );
+    }
+
+    @Override
+    public boolean drawImage( Image img, AffineTransform xform, ImageObserver obs ) {
+        AffineTransform t = xform == null ? null : new AffineTransform( xform );
+        record( ( g, base ) -> g.drawImage( img, t, obs ) );
+        return true;
+    }
+
+    @Override
+    public void drawImage( BufferedImage img, BufferedImageOp op, int x, int y ) {
+        record( ( g, base ) -> g.drawImage( img, op, x, y ) );
+    }
+
+    @Override
+    public void drawRenderedImage( RenderedImage img, AffineTransform xform ) {
+        AffineTransform t = new AffineTransform( xform );
+        record( ( g, base ) -> g.drawRenderedImage( img, t ) );
+    }
+
+    @Override
+    public void drawRenderableImage( RenderableImage img, AffineTransform xform ) {
+        AffineTransform t = new AffineTransform( xform );
+        record( ( g, base ) -> g.drawRenderableImage( img, t ) );
+    }
+
+    @Override
+    public boolean drawImage( Image img, int x, int y, ImageObserver observer ) {
+        record( ( g, base ) -> g.drawImage( img, x, y, observer ) );
+        return true;
+    }
+
+    @Override
+    public boolean drawImage( Image img, int x, int y, int width, int height, ImageObserver observer ) {
+        record( ( g, base ) -> g.drawImage( img, x, y, width, height, observer ) );
+        return true;
+    }
+
+    @Override
+    public boolean drawImage( Image img, int x, int y, Color bgcolor, ImageObserver observer ) {
+        record( ( g, base ) -> g.drawImage( img, x, y, bgcolor, observer ) );
+        return true;
+    }
+
+    @Override
+    public boolean drawImage( Image img, int x, int y, int width, int height, Color bgcolor, ImageObserver observer ) {
+        record( ( g, base ) -> g.drawImage( img, x, y, width, height, bgcolor, observer ) );
+        return true;
+    }
+
+    @Override
+    public boolean drawImage( Image img, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2, ImageObserver observer ) {
+        record( ( g, base ) -> g.drawImage( img, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, observer ) );
+        return true;
+    }
+
+    @Override
+    public boolean drawImage( Image img, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2, Color bgcolor, ImageObserver observer ) {
+        record( ( g, base ) -> g.drawImage( img, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, bgcolor, observer ) );
+        return true;
+    }
+
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright (C) 2025 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.core.engine;
+
+import br.com.davidbuzatto.jsge.core.Camera2D;
+import br.com.davidbuzatto.jsge.image.Image;
+
+/**
+ * Camada de desenho estática com cache.
+ *
+ * Os desenhos de uma camada são feitos uma única vez em uma imagem fora da
+ * tela, usando os mesmos métodos de desenho da engine, e a imagem é apenas
+ * copiada para a tela nos quadros seguintes. A camada é redesenhada quando
+ * for invalidada pela aplicação, quando o tamanho da tela mudar ou, para
+ * camadas associadas a uma câmera, quando o zoom ou a rotação da câmera
+ * mudarem além da tolerância ou quando o deslocamento da câmera ultrapassar
+ * a margem da imagem. Nos demais casos a imagem é copiada com uma
+ * translação.
+ *
+ * As camadas são criadas e desenhadas pela engine, em ordem crescente da
+ * sua ordem z.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class RenderLayer {
+
+    /**
+     * Margem padrão, em pixels, desenhada além das bordas da tela.
+     */
+    public static final int DEFAULT_MARGIN = 128;
+
+    /**
+     * Tolerância padrão para a variação do zoom da câmera.
+     */
+    public static final double DEFAULT_ZOOM_TOLERANCE = 0.001;
+
+    /**
+     * Tolerância padrão, em graus, para a variação da rotação da câmera.
+     */
+    public static final double DEFAULT_ROTATION_TOLERANCE = 0.01;
+
+    final int zOrder;
+    final Camera2D camera;
+    final Runnable renderer;
+
+    private int margin;
+    private double zoomTolerance;
+    private double rotationTolerance;
+    private boolean visible;
+
+    /** A imagem com os desenhos em cache. */
+    Image buffer;
+
+    /** Indica se a camada precisa ser redesenhada. */
+    boolean dirty;
+
+    /** Margem usada no último desenho. */
+    int renderedMargin;
+
+    /** Estado da câmera no último desenho. */
+    double renderedTargetX;
+    double renderedTargetY;
+    double renderedOffsetX;
+    double renderedOffsetY;
+    double renderedRotation;
+    double renderedZoom;
+
+    /**
+     * Cria uma nova camada.
+     *
+     * @param zOrder A ordem z.
+     * @param camera A câmera, ou null para uma camada no espaço da tela.
+     * @param renderer O código que desenha a camada.
+     */
+    RenderLayer( int zOrder, Camera2D camera, Runnable renderer ) {
+        this.zOrder = zOrder;
+        this.camera = camera;
+        this.renderer = renderer;
+        this.margin = camera == null ? 0 : DEFAULT_MARGIN;
+        this.zoomTolerance = DEFAULT_ZOOM_TOLERANCE;
+        this.rotationTolerance = DEFAULT_ROTATION_TOLERANCE;
+        this.visible = true;
+        this.dirty = true;
+    }
+
+    /**
+     * Marca a camada para ser redesenhada na próxima vez em que for
+     * desenhada.
+     */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * Verifica se a camada precisa ser redesenhada para o estado atual da
+     * câmera e para o tamanho de tela informado.
+     *
+     * @param screenWidth Largura da tela.
+     * @param screenHeight Altura da tela.
+     * @return Verdadeiro caso a camada precise ser redesenhada.
+     */
+    boolean needsRender( int screenWidth, int screenHeight ) {
+
+        if ( dirty || buffer == null ||
+             buffer.getWidth() != screenWidth + margin * 2 ||
+             buffer.getHeight() != screenHeight + margin * 2 ) {
+            return true;
+        }
+
+        if ( camera != null ) {
+
+            if ( Math.abs( camera.zoom - renderedZoom ) > zoomTolerance ||
+                 Math.abs( camera.rotation - renderedRotation ) > rotationTolerance ) {
+                return true;
+            }
+
+            return Math.abs( getBlitX() ) > renderedMargin ||
+                   Math.abs( getBlitY() ) > renderedMargin;
+
+        }
+
+        return false;
+
+    }
+
+    /**
+     * Registra o estado da câmera usado no desenho da camada.
+     */
+    void markRendered() {
+
+        if ( camera != null ) {
+            renderedTargetX = camera.target.x;
+            renderedTargetY = camera.target.y;
+            renderedOffsetX = camera.offset.x;
+            renderedOffsetY = camera.offset.y;
+            renderedRotation = camera.rotation;
+            renderedZoom = camera.zoom;
+        }
+
+        renderedMargin = margin;
+        dirty = false;
+
+    }
+
+    /**
+     * Calcula o deslocamento horizontal da imagem em relação ao desenho
+     * original, usando a rotação e o zoom do último desenho.
+     */
+    double getBlitX() {
+        if ( camera == null ) {
+            return 0;
+        }
+        double dx = renderedTargetX - camera.target.x;
+        double dy = renderedTargetY - camera.target.y;
+        double theta = Math.toRadians( renderedRotation );
+        return camera.offset.x - renderedOffsetX +
+               renderedZoom * ( dx * Math.cos( theta ) - dy * Math.sin( theta ) );
+    }
+
+    /**
+     * Calcula o deslocamento vertical da imagem em relação ao desenho
+     * original, usando a rotação e o zoom do último desenho.
+     */
+    double getBlitY() {
+        if ( camera == null ) {
+            return 0;
+        }
+        double dx = renderedTargetX - camera.target.x;
+        double dy = renderedTargetY - camera.target.y;
+        double theta = Math.toRadians( renderedRotation );
+        return camera.offset.y - renderedOffsetY +
+               renderedZoom * ( dx * Math.sin( theta ) + dy * Math.cos( theta ) );
+    }
+
+    /**
+     * Obtém a ordem z da camada.
+     *
+     * @return A ordem z.
+     */
+    public int getZOrder() {
+        return zOrder;
+    }
+
+    /**
+     * Obtém a câmera associada à camada.
+     *
+     * @return A câmera, ou null caso a camada esteja no espaço da tela.
+     */
+    public Camera2D getCamera() {
+        return camera;
+    }
+
+    /**
+     * Obtém a margem, em pixels, desenhada além das bordas da tela.
+     *
+     * @return A margem.
+     */
+    public int getMargin() {
+        return margin;
+    }
+
+    /**
+     * Configura a margem, em pixels, desenhada além das bordas da tela.
+     * Margens maiores permitem mais movimento da câmera sem redesenho, ao
+     * custo de memória.
+     *
+     * @param margin A margem.
+     */
+    public void setMargin( int margin ) {
+        if ( margin < 0 ) {
+            throw new IllegalArgumentException( "margin must not be negative!" );
+        }
+        this.margin = margin;
+    }
+
+    /**
+     * Obtém a tolerância para a variação do zoom da câmera.
+     *
+     * @return A tolerância.
+     */
+    public double getZoomTolerance() {
+        return zoomTolerance;
+    }
+
+    /**
+     * Configura a tolerância para a variação do zoom da câmera.
+     *
+     * @param zoomTolerance A tolerância.
+     */
+    public void setZoomTolerance( double zoomTolerance ) {
+        if ( zoomTolerance < 0 ) {
+            throw new IllegalArgumentException( "zoomTolerance must not be negative!" );
+        }
+        this.zoomTolerance = zoomTolerance;
+    }
+
+    /**
+     * Obtém a tolerância, em graus, para a variação da rotação da câmera.
+     *
+     * @return A tolerância.
+     */
+    public double getRotationTolerance() {
+        return rotationTolerance;
+    }
+
+    /**
+     * Configura a tolerância, em graus, para a variação da rotação da câmera.
+     *
+     * @param rotationTolerance A tolerância.
+     */
+    public void setRotationTolerance( double rotationTolerance ) {
+        if ( rotationTolerance < 0 ) {
+            throw new IllegalArgumentException( "rotationTolerance must not be negative!" );
+        }
+        this.rotationTolerance = rotationTolerance;
+    }
+
+    /**
+     * Retorna se a camada está visível.
+     *
+     * @return Verdadeiro caso a camada esteja visível.
+     */
+    public boolean isVisible() {
+        return visible;
+    }
+
+    /**
+     * Configura a visibilidade da camada.
+     *
+     * @param visible A visibilidade.
+     */
+    public void setVisible( boolean visible ) {
+        this.visible = visible;
+    }
+
+    @Override
+    public String toString() {
+        return String.format( "RenderLayer[zOrder=%d, camera=%b, dirty=%b]", zOrder, camera != null, dirty );
+    }
+
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright (C) 2025 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.core.engine;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.RenderingHints;
+import java.awt.Stroke;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Controle das mudanças de estado do contexto gráfico.
+ *
+ * O Java2D revalida o seu pipeline de desenho a cada mudança de Paint,
+ * contorno, fonte, composição ou dica de renderização, o que é caro
+ * principalmente para gradientes. As mudanças feitas pela engine passam
+ * por esta classe, que compara o novo estado com o estado atual do
+ * contexto gráfico e ignora as mudanças redundantes. Contornos e fontes
+ * derivadas com a mesma configuração são internados, de modo que
+ * configurações repetidas resultem no mesmo objeto. Os Paints são
+ * comparados apenas pela identidade (e as cores pelo valor), pois os
+ * gradientes já são internados por PaintCache ao serem criados em
+ * PaintUtils.
+ *
+ * As mudanças efetivas e as ignoradas são contadas por quadro.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+class RenderStateCache {
+
+    /**
+     * Quantidade máxima de objetos internados de cada tipo.
+     */
+    private static final int MAX_INTERNED = 64;
+
+    /*
+     * Contadores do quadro corrente e do último quadro completo.
+     */
+    private int paintChanges;
+    private int strokeChanges;
+    private int fontChanges;
+    private int compositeChanges;
+    private int hintChanges;
+    private int elidedChanges;
+
+    private int lastPaintChanges;
+    private int lastStrokeChanges;
+    private int lastFontChanges;
+    private int lastCompositeChanges;
+    private int lastHintChanges;
+    private int lastElidedChanges;
+
+    private final Map<BasicStroke, BasicStroke> strokes = createLRU();
+    private final Map<FontKey, Font> fonts = createLRU();
+
+    /**
+     * Chave de uma fonte derivada.
+     */
+    private static record FontKey( Font base, float size ) {
+    }
+
+    /**
+     * Finaliza a contagem do quadro corrente e inicia a de um novo quadro.
+     */
+    void startFrame() {
+
+        lastPaintChanges = paintChanges;
+        lastStrokeChanges = strokeChanges;
+        lastFontChanges = fontChanges;
+        lastCompositeChanges = compositeChanges;
+        lastHintChanges = hintChanges;
+        lastElidedChanges = elidedChanges;
+
+        paintChanges = 0;
+        strokeChanges = 0;
+        fontChanges = 0;
+        compositeChanges = 0;
+        hintChanges = 0;
+        elidedChanges = 0;
+
+    }
+
+    /**
+     * Configura o Paint do contexto gráfico caso seja diferente do atual.
+     */
+    void setPaint( Graphics2D g2d, Paint paint ) {
+
+        Paint current = g2d.getPaint();
+
+        if ( paint == current ) {
+            elidedChanges++;
+            return;
+        }
+
+        if ( paint instanceof Color c && current instanceof Color cc && c.getRGB() == cc.getRGB() ) {
+            elidedChanges++;
+            return;
+        }
+
+        g2d.setPaint( paint );
+        paintChanges++;
+
+    }
+
+    /**
+     * Configura o contorno do contexto gráfico caso seja diferente do atual.
+     */
+    void setStroke( Graphics2D g2d, Stroke stroke ) {
+
+        Stroke current = g2d.getStroke();
+
+        if ( stroke == current || stroke.equals( current ) ) {
+            elidedChanges++;
+            return;
+        }
+
+        if ( stroke instanceof BasicStroke bs ) {
+            stroke = strokes.computeIfAbsent( bs, s -> s );
+        }
+
+        g2d.setStroke( stroke );
+        strokeChanges++;
+
+    }
+
+    /**
+     * Registra uma mudança de estado ignorada pela engine sem consultar o
+     * contexto gráfico.
+     */
+    void elide() {
+        elidedChanges++;
+    }
+
+    /**
+     * Configura a fonte do contexto gráfico caso seja diferente da atual.
+     */
+    void setFont( Graphics2D g2d, Font font ) {
+
+        Font current = g2d.getFont();
+
+        if ( font == current || font.equals( current ) ) {
+            elidedChanges++;
+            return;
+        }
+
+        g2d.setFont( font );
+        fontChanges++;
+
+    }
+
+    /**
+     * Obtém uma fonte derivada com outro tamanho, reutilizando as fontes
+     * derivadas anteriormente.
+     */
+    Font deriveFont( Font base, float size ) {
+        if ( base.getSize2D() == size ) {
+            return base;
+        }
+        return fonts.computeIfAbsent( new FontKey( base, size ), k -> base.deriveFont( size ) );
+    }
+
+    /**
+     * Configura a composição do contexto gráfico caso seja diferente da
+     * atual.
+     */
+    void setComposite( Graphics2D g2d, Composite composite ) {
+
+        Composite current = g2d.getComposite();
+
+        if ( composite == current || composite.equals( current ) ) {
+            elidedChanges++;
+            return;
+        }
+
+        g2d.setComposite( composite );
+        compositeChanges++;
+
+    }
+
+    /**
+     * Configura uma dica de renderização do contexto gráfico caso seja
+     * diferente da atual.
+     */
+    void setRenderingHint( Graphics2D g2d, RenderingHints.Key key, Object value ) {
+
+        if ( value == g2d.getRenderingHint( key ) ) {
+            elidedChanges++;
+            return;
+        }
+
+        g2d.setRenderingHint( key, value );
+        hintChanges++;
+
+    }
+
+    int getPaintChanges() {
+        return lastPaintChanges;
+    }
+
+    int getStrokeChanges() {
+        return lastStrokeChanges;
+    }
+
+    int getFontChanges() {
+        return lastFontChanges;
+    }
+
+    int getCompositeChanges() {
+        return lastCompositeChanges;
+    }
+
+    int getHintChanges() {
+        return lastHintChanges;
+    }
+
+    int getElidedChanges() {
+        return lastElidedChanges;
+    }
+
+    /**
+     * Cria um mapa limitado que descarta as entradas usadas há mais tempo.
+     */
+    private static <K, V> Map<K, V> createLRU() {
+        return new LinkedHashMap<>( 16, 0.75f, true ) {
+            @Override
+            protected boolean removeEldestEntry( Map.Entry<K, V> eldest ) {
+                return size() > MAX_INTERNED;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,401 @@
+/*
+ * Copyright (C) 2025 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.core.engine;
+
+import br.com.davidbuzatto.jsge.core.Drawable;
+import br.com.davidbuzatto.jsge.geom.Arc;
+import br.com.davidbuzatto.jsge.geom.CircleSector;
+import br.com.davidbuzatto.jsge.geom.EllipseSector;
+import br.com.davidbuzatto.jsge.geom.Path;
+import br.com.davidbuzatto.jsge.geom.Polygon;
+import br.com.davidbuzatto.jsge.geom.Ring;
+import br.com.davidbuzatto.jsge.geom.RoundRectangle;
+import br.com.davidbuzatto.jsge.geom.Star;
+import br.com.davidbuzatto.jsge.image.Image;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.RenderingHints;
+import java.awt.Stroke;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache de formas rasterizadas.
+ *
+ * Estrelas, anéis, retângulos arredondados, setores, arcos, polígonos e
+ * caminhos são tesselados e rasterizados pelo Java2D a cada desenho, o que
+ * fica mais caro com a suavização ativa. Este cache, de uso opcional,
+ * rasteriza a forma com a cor, o contorno e a escala correntes em uma
+ * pequena imagem e, nos desenhos seguintes com os mesmos parâmetros, apenas
+ * copia a imagem para a posição da forma. As imagens usadas há mais tempo
+ * são descartadas quando o limite de entradas é atingido.
+ *
+ * As formas são indexadas pelos parâmetros independentes da posição,
+ * exceto os caminhos, indexados pela própria instância, pelos seus limites
+ * e pelo seu ponto corrente, o que detecta as alterações usuais de um
+ * caminho. Alterações que não mudem nenhum deles devem ser informadas com
+ * invalidate. Formas de outros tipos, Paints
+ * que não sejam cores sólidas e contextos gráficos rotacionados são
+ * desenhados diretamente. A imagem é copiada em posições inteiras de
+ * pixel, podendo diferir do desenho direto em até meio pixel.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public final class ShapeRasterCache {
+
+    /**
+     * Quantidade máxima padrão de imagens no cache.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 128;
+
+    /**
+     * Tamanho máximo, em pixels, do lado de uma imagem em cache. Formas
+     * maiores são desenhadas diretamente.
+     */
+    public static final int MAX_IMAGE_SIZE = 1024;
+
+    private static final AffineTransform IDENTITY = new AffineTransform();
+
+    /**
+     * Chave de uma forma rasterizada.
+     */
+    private static record RasterKey(
+            Object shape, double a, double b, double c, double d,
+            Paint paint, Stroke stroke, double scaleX, double scaleY, Object antialiasing ) {
+    }
+
+    /**
+     * Identificação de um caminho: a instância e o seu ponto corrente. Os
+     * limites entram nos parâmetros da chave.
+     */
+    private static record PathSignature( Path path, double currentX, double currentY ) {
+    }
+
+    /**
+     * Imagem de uma forma e o seu deslocamento, em pixels, em relação à
+     * posição da forma.
+     */
+    private static record RasterEntry( Image image, int offsetX, int offsetY ) {
+    }
+
+    private int maxEntries;
+    private long hits;
+    private long misses;
+    private long bypasses;
+
+    private final LinkedHashMap<RasterKey, RasterEntry> cache = new LinkedHashMap<>( 64, 0.75f, true ) {
+        @Override
+        protected boolean removeEldestEntry( Map.Entry<RasterKey, RasterEntry> eldest ) {
+            return size() > maxEntries;
+        }
+    };
+
+    // descrição da forma: âncora, parâmetros e limites relativos à âncora
+    private final double[] desc = new double[10];
+
+    /**
+     * Cria um cache com a quantidade máxima padrão de imagens.
+     */
+    public ShapeRasterCache() {
+        this( DEFAULT_MAX_ENTRIES );
+    }
+
+    /**
+     * Cria um cache.
+     *
+     * @param maxEntries A quantidade máxima de imagens.
+     */
+    public ShapeRasterCache( int maxEntries ) {
+        setMaxEntries( maxEntries );
+    }
+
+    /**
+     * Desenha o contorno de uma forma usando o cache.
+     *
+     * @param engine A engine.
+     * @param shape A forma.
+     * @param paint Paint para o desenho.
+     */
+    public void draw( EngineFrame engine, Drawable shape, Paint paint ) {
+        render( engine, shape, paint, false );
+    }
+
+    /**
+     * Pinta uma forma usando o cache.
+     *
+     * @param engine A engine.
+     * @param shape A forma.
+     * @param paint Paint para o desenho.
+     */
+    public void fill( EngineFrame engine, Drawable shape, Paint paint ) {
+        render( engine, shape, paint, true );
+    }
+
+    /**
+     * Desenha ou pinta a forma a partir do cache, rasterizando-a caso
+     * necessário.
+     */
+    private void render( EngineFrame engine, Drawable shape, Paint paint, boolean fill ) {
+
+        Graphics2D g2d = engine.getGraphics2D();
+        AffineTransform t = g2d.getTransform();
+        Stroke stroke = fill ? null : g2d.getStroke();
+        Object shapeKey = describe( shape );
+
+        double sx = t.getScaleX();
+        double sy = t.getScaleY();
+
+        if ( shapeKey == null || !( paint instanceof Color ) ||
+             ( stroke != null && !( stroke instanceof BasicStroke ) ) ||
+             t.getShearX() != 0 || t.getShearY() != 0 || sx <= 0 || sy <= 0 ) {
+            bypass( engine, shape, paint, fill );
+            return;
+        }
+
+        double anchorX = desc[0];
+        double anchorY = desc[1];
+
+        RasterKey key = new RasterKey(
+                shapeKey, desc[2], desc[3], desc[4], desc[5],
+                paint, stroke, sx, sy, g2d.getRenderingHint( RenderingHints.KEY_ANTIALIASING ) );
+        RasterEntry entry = cache.get( key );
+
+        if ( entry == null ) {
+
+            // metade do contorno e as juntas em bico podem sair da forma
+            double pad = 0;
+            if ( stroke instanceof BasicStroke bs ) {
+                pad = bs.getLineWidth() / 2;
+                if ( bs.getLineJoin() == BasicStroke.JOIN_MITER ) {
+                    pad *= Math.max( 1, bs.getMiterLimit() );
+                }
+            }
+
+            int x1 = (int) Math.floor( ( desc[6] - pad ) * sx ) - 1;
+            int y1 = (int) Math.floor( ( desc[7] - pad ) * sy ) - 1;
+            int x2 = (int) Math.ceil( ( desc[8] + pad ) * sx ) + 1;
+            int y2 = (int) Math.ceil( ( desc[9] + pad ) * sy ) + 1;
+
+            if ( x2 - x1 > MAX_IMAGE_SIZE || y2 - y1 > MAX_IMAGE_SIZE ) {
+                bypass( engine, shape, paint, fill );
+                return;
+            }
+
+            misses++;
+
+            Image image = new Image( x2 - x1, y2 - y1 );
+            AffineTransform rasterTransform = AffineTransform.getTranslateInstance( -x1, -y1 );
+            rasterTransform.scale( sx, sy );
+            rasterTransform.translate( -anchorX, -anchorY );
+
+            engine.renderToImage( image, rasterTransform, () -> {
+                if ( fill ) {
+                    shape.fill( engine, paint );
+                } else {
+                    shape.draw( engine, paint );
+                }
+            });
+
+            entry = new RasterEntry( image, x1, y1 );
+            cache.put( key, entry );
+
+        } else {
+            hits++;
+        }
+
+        double deviceX = sx * anchorX + t.getTranslateX();
+        double deviceY = sy * anchorY + t.getTranslateY();
+
+        g2d.setTransform( IDENTITY );
+        g2d.drawImage( entry.image().buffImage,
+                (int) Math.round( deviceX ) + entry.offsetX(),
+                (int) Math.round( deviceY ) + entry.offsetY(), null );
+        g2d.setTransform( t );
+
+    }
+
+    /**
+     * Desenha a forma diretamente, sem o cache.
+     */
+    private void bypass( EngineFrame engine, Drawable shape, Paint paint, boolean fill ) {
+        bypasses++;
+        if ( fill ) {
+            shape.fill( engine, paint );
+        } else {
+            shape.draw( engine, paint );
+        }
+    }
+
+    /**
+     * Preenche a descrição da forma: a âncora (x, y), até quatro parâmetros
+     * independentes da posição e os limites relativos à âncora.
+     *
+     * @return A identificação do tipo da forma, ou null caso não seja
+     * suportada.
+     */
+    private Object describe( Drawable shape ) {
+
+        if ( shape instanceof Star s ) {
+            return describe( s.x, s.y, s.tips, s.radius, s.rotation, 0, -s.radius, -s.radius, s.radius, s.radius, Star.class );
+        } else if ( shape instanceof Polygon p ) {
+            return describe( p.x, p.y, p.sides, p.radius, p.rotation, 0, -p.radius, -p.radius, p.radius, p.radius, Polygon.class );
+        } else if ( shape instanceof Ring r ) {
+            double o = r.outerRadius;
+            return describe( r.x, r.y, r.innerRadius, r.outerRadius, r.startAngle, r.endAngle, -o, -o, o, o, Ring.class );
+        } else if ( shape instanceof RoundRectangle r ) {
+            return describe( r.x, r.y, r.width, r.height, r.roundness, 0, 0, 0, r.width, r.height, RoundRectangle.class );
+        } else if ( shape instanceof CircleSector c ) {
+            double rd = c.radius;
+            return describe( c.x, c.y, c.radius, c.startAngle, c.endAngle, 0, -rd, -rd, rd, rd, CircleSector.class );
+        } else if ( shape instanceof EllipseSector e ) {
+            return describe( e.x, e.y, e.radiusH, e.radiusV, e.startAngle, e.endAngle,
+                             -e.radiusH, -e.radiusV, e.radiusH, e.radiusV, EllipseSector.class );
+        } else if ( shape instanceof Arc a ) {
+            return describe( a.x, a.y, a.radiusH, a.radiusV, a.startAngle, a.endAngle,
+                             -a.radiusH, -a.radiusV, a.radiusH, a.radiusV, Arc.class );
+        } else if ( shape instanceof Path p ) {
+            Rectangle2D b = p.path.getBounds2D();
+            Point2D current = p.path.getCurrentPoint();
+            PathSignature signature = current == null ?
+                    new PathSignature( p, Double.NaN, Double.NaN ) :
+                    new PathSignature( p, current.getX(), current.getY() );
+            return describe( 0, 0, b.getMinX(), b.getMinY(), b.getMaxX(), b.getMaxY(),
+                             b.getMinX(), b.getMinY(), b.getMaxX(), b.getMaxY(), signature );
+        }
+
+        return null;
+
+    }
+
+    /**
+     * Preenche a descrição da forma.
+     */
+    private Object describe( double anchorX, double anchorY,
+                             double a, double b, double c, double d,
+                             double x1, double y1, double x2, double y2, Object shapeKey ) {
+        desc[0] = anchorX;
+        desc[1] = anchorY;
+        desc[2] = a;
+        desc[3] = b;
+        desc[4] = c;
+        desc[5] = d;
+        desc[6] = x1;
+        desc[7] = y1;
+        desc[8] = x2;
+        desc[9] = y2;
+        return shapeKey;
+    }
+
+    /**
+     * Obtém a quantidade máxima de imagens no cache.
+     *
+     * @return A quantidade máxima de imagens.
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Configura a quantidade máxima de imagens no cache.
+     *
+     * @param maxEntries A quantidade máxima de imagens.
+     */
+    public void setMaxEntries( int maxEntries ) {
+        if ( maxEntries <= 0 ) {
+            throw new IllegalArgumentException( "maxEntries must be positive!" );
+        }
+        this.maxEntries = maxEntries;
+        while ( cache.size() > maxEntries ) {
+            cache.remove( cache.keySet().iterator().next() );
+        }
+    }
+
+    /**
+     * Obtém a quantidade de imagens no cache.
+     *
+     * @return A quantidade de imagens.
+     */
+    public int getSize() {
+        return cache.size();
+    }
+
+    /**
+     * Obtém a quantidade de desenhos feitos a partir de imagens em cache.
+     *
+     * @return A quantidade de acertos.
+     */
+    public long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Obtém a quantidade de formas rasterizadas por não estarem no cache.
+     *
+     * @return A quantidade de falhas.
+     */
+    public long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * Obtém a quantidade de formas desenhadas diretamente por não poderem
+     * usar o cache.
+     *
+     * @return A quantidade de desenhos diretos.
+     */
+    public long getBypassCount() {
+        return bypasses;
+    }
+
+    /**
+     * Zera as estatísticas do cache.
+     */
+    public void resetStats() {
+        hits = 0;
+        misses = 0;
+        bypasses = 0;
+    }
+
+    /**
+     * Remove do cache as imagens de um caminho, usado quando ele é alterado
+     * sem mudar os seus limites nem o seu ponto corrente.
+     *
+     * @param path O caminho.
+     */
+    public void invalidate( Path path ) {
+        cache.keySet().removeIf( k -> k.shape() instanceof PathSignature s && s.path() == path );
+    }
+
+    /**
+     * Remove todas as imagens do cache.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    @Override
+    public String toString() {
+        return String.format( "ShapeRasterCache[size=%d/%d, hits=%d, misses=%d, bypasses=%d]",
+                cache.size(), maxEntries, hits, misses, bypasses );
+    }
+
+}
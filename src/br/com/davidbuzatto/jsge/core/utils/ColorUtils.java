@@ -230,4 +230,298 @@ public interface ColorUtils {
         return new Color( r, g, b, a );
     }
 
+    //**************************************************************************
+    // Versões para cores compactadas em inteiros no formato 0xAARRGGBB.
+    // Não alocam objetos e podem ser usadas com os métodos de desenho da
+    // engine que recebem cores compactadas.
+    //**************************************************************************
+
+    /**
+     * Compacta os canais de uma cor em um inteiro no formato 0xAARRGGBB.
+     * Os canais são limitados ao intervalo de 0 a 255.
+     * 
+     * @param red Canal vermelho.
+     * @param green Canal verde.
+     * @param blue Canal azul.
+     * @param alpha Canal alfa.
+     * @return A cor compactada.
+     */
+    public static int packColor( int red, int green, int blue, int alpha ) {
+        return clampChannel( alpha ) << 24 | clampChannel( red ) << 16 | clampChannel( green ) << 8 | clampChannel( blue );
+    }
+
+    /**
+     * Compacta os canais de uma cor opaca em um inteiro no formato
+     * 0xAARRGGBB.
+     * 
+     * @param red Canal vermelho.
+     * @param green Canal verde.
+     * @param blue Canal azul.
+     * @return A cor compactada.
+     */
+    public static int packColor( int red, int green, int blue ) {
+        return packColor( red, green, blue, 255 );
+    }
+
+    /**
+     * Compacta uma cor em um inteiro no formato 0xAARRGGBB.
+     * 
+     * @param color A cor.
+     * @return A cor compactada.
+     */
+    public static int packColor( Color color ) {
+        return color.getRGB();
+    }
+
+    /**
+     * Obtém o canal vermelho de uma cor compactada.
+     * 
+     * @param color A cor compactada.
+     * @return O canal vermelho.
+     */
+    public static int getRed( int color ) {
+        return ( color >> 16 ) & 0xff;
+    }
+
+    /**
+     * Obtém o canal verde de uma cor compactada.
+     * 
+     * @param color A cor compactada.
+     * @return O canal verde.
+     */
+    public static int getGreen( int color ) {
+        return ( color >> 8 ) & 0xff;
+    }
+
+    /**
+     * Obtém o canal azul de uma cor compactada.
+     * 
+     * @param color A cor compactada.
+     * @return O canal azul.
+     */
+    public static int getBlue( int color ) {
+        return color & 0xff;
+    }
+
+    /**
+     * Obtém o canal alfa de uma cor compactada.
+     * 
+     * @param color A cor compactada.
+     * @return O canal alfa.
+     */
+    public static int getAlpha( int color ) {
+        return color >>> 24;
+    }
+
+    /**
+     * Aplica transparência (alpha) em uma cor compactada.
+     * 
+     * @param color A cor base compactada.
+     * @param alpha A quantidade de transparência entre 0.0 e 1.0
+     * @return A nova cor compactada.
+     */
+    public static int fade( int color, double alpha ) {
+        return clampChannel( (int) ( 255 * alpha ) ) << 24 | ( color & 0xffffff );
+    }
+
+    /**
+     * Obtém os valores HSV (hue/saturation/value - matiz/saturação/valor) de
+     * uma cor compactada, sem alocar arrays intermediárias. Os intervalos são
+     * h: [0..360], s: [0..1] e v: [0..1].
+     * 
+     * @param color A cor compactada.
+     * @param hsv Array de pelo menos três elementos que receberá os valores,
+     * na ordem.
+     * @return A própria array recebida.
+     */
+    public static double[] colorToHSV( int color, double[] hsv ) {
+
+        int r = getRed( color );
+        int g = getGreen( color );
+        int b = getBlue( color );
+        int max = Math.max( r, Math.max( g, b ) );
+        int min = Math.min( r, Math.min( g, b ) );
+
+        double hue = 0;
+        double saturation = max != 0 ? (double) ( max - min ) / max : 0;
+
+        if ( saturation != 0 ) {
+            double delta = max - min;
+            double rc = ( max - r ) / delta;
+            double gc = ( max - g ) / delta;
+            double bc = ( max - b ) / delta;
+            if ( r == max ) {
+                hue = bc - gc;
+            } else if ( g == max ) {
+                hue = 2.0 + rc - bc;
+            } else {
+                hue = 4.0 + gc - rc;
+            }
+            hue /= 6.0;
+            if ( hue < 0 ) {
+                hue += 1.0;
+            }
+        }
+
+        hsv[0] = hue * 360;
+        hsv[1] = saturation;
+        hsv[2] = max / 255.0;
+
+        return hsv;
+
+    }
+
+    /**
+     * Obtém uma cor compactada a partir dos valores HSV
+     * (hue/saturation/value - matiz/saturação/valor). Os intervalos são
+     * h: [0..360], s: [0..1] e v: [0..1].
+     * 
+     * @param hue matiz [0..360]
+     * @param saturation [0..1]
+     * @param value [0..1]
+     * @return Uma cor compactada com tais parâmetros.
+     */
+    public static int packedColorFromHSV( double hue, double saturation, double value ) {
+        return Color.HSBtoRGB( (float) ( hue / 360.0 ), (float) saturation, (float) value );
+    }
+
+    /**
+     * Multiplica uma cor compactada por uma tonalidade.
+     * 
+     * @param color A cor base compactada.
+     * @param tint A tonalidade compactada.
+     * @return Uma nova cor compactada multiplicada pela tonalidade.
+     */
+    public static int colorTint( int color, int tint ) {
+        return ( getAlpha( color ) * getAlpha( tint ) / 255 ) << 24 |
+               ( getRed( color ) * getRed( tint ) / 255 ) << 16 |
+               ( getGreen( color ) * getGreen( tint ) / 255 ) << 8 |
+               ( getBlue( color ) * getBlue( tint ) / 255 );
+    }
+
+    /**
+     * Gera a cor invertida de uma cor compactada.
+     * 
+     * @param color A cor compactada.
+     * @return A cor invertida compactada.
+     */
+    public static int colorInvert( int color ) {
+        return color ^ 0xffffff;
+    }
+
+    /**
+     * Gera a cor em escala de cinza de uma cor compactada.
+     * 
+     * @param color A cor compactada.
+     * @return A cor em escala de cinza compactada.
+     */
+    public static int colorGrayscale( int color ) {
+        int gray = ( getRed( color ) + getGreen( color ) + getBlue( color ) ) / 3;
+        return ( color & 0xff000000 ) | gray << 16 | gray << 8 | gray;
+    }
+
+    /**
+     * Obtém uma cor compactada com correção em relação ao brilho. O fator de
+     * brilho vai de -1.0 a 1.0.
+     * 
+     * @param color Uma cor compactada.
+     * @param brightness O fator de brilho de -1.0 a 1.0.
+     * @return Uma nova cor compactada corrigida.
+     */
+    public static int colorBrightness( int color, double brightness ) {
+
+        if ( brightness > 1.0 ) brightness = 1.0;
+        else if ( brightness < -1.0 ) brightness = -1.0 ;
+
+        double red = getRed( color );
+        double green = getGreen( color );
+        double blue = getBlue( color );
+
+        if ( brightness < 0.0 ) {
+            brightness = 1.0 + brightness;
+            red *= brightness;
+            green *= brightness;
+            blue *= brightness;
+        } else {
+            red = ( 255 - red ) * brightness + red;
+            green = ( 255 - green ) * brightness + green;
+            blue = ( 255 - blue ) * brightness + blue;
+        }
+
+        return ( color & 0xff000000 ) | (int) red << 16 | (int) green << 8 | (int) blue;
+
+    }
+
+    /**
+     * Obtém uma cor compactada com correção em relação ao contraste. O fator
+     * de contraste vai de -1.0 a 1.0.
+     * 
+     * @param color Uma cor compactada.
+     * @param contrast O fator de contraste de -1.0 a 1.0.
+     * @return Uma nova cor compactada corrigida.
+     */
+    public static int colorContrast( int color, double contrast ) {
+
+        if ( contrast < -1.0 ) contrast = -1.0;
+        else if ( contrast > 1.0 ) contrast = 1.0;
+
+        contrast = ( 1.0 + contrast );
+        contrast *= contrast;
+
+        return ( color & 0xff000000 ) |
+               contrastChannel( getRed( color ) / 255.0, contrast ) << 16 |
+               contrastChannel( getGreen( color ) / 255.0, contrast ) << 8 |
+               // o azul usa a divisão em float, como em colorContrast( Color, double )
+               contrastChannel( getBlue( color ) / 255.0f, contrast );
+
+    }
+
+    /**
+     * Aplica transparência (alpha) em uma cor compactada.
+     * 
+     * @param color A cor base compactada.
+     * @param alpha A quantidade de transparência entre 0.0 e 1.0
+     * @return A nova cor compactada.
+     */
+    public static int colorAlpha( int color, double alpha ) {
+        return fade( color, alpha );
+    }
+
+    /**
+     * Realiza a interpolação linear entre duas cores compactadas.
+     * 
+     * @param start cor inicial compactada.
+     * @param end cor final compactada.
+     * @param amount quantidade (0 a 1)
+     * @return Uma cor compactada que representa a interpolação linear entre
+     * as duas cores.
+     */
+    public static int lerp( int start, int end, double amount ) {
+        int r = (int) MathUtils.clamp( MathUtils.lerp( getRed( start ), getRed( end ), amount ), 0, 255 );
+        int g = (int) MathUtils.clamp( MathUtils.lerp( getGreen( start ), getGreen( end ), amount ), 0, 255 );
+        int b = (int) MathUtils.clamp( MathUtils.lerp( getBlue( start ), getBlue( end ), amount ), 0, 255 );
+        int a = (int) MathUtils.clamp( MathUtils.lerp( getAlpha( start ), getAlpha( end ), amount ), 0, 255 );
+        return a << 24 | r << 16 | g << 8 | b;
+    }
+
+    /*
+     * Limita um canal ao intervalo de 0 a 255.
+     */
+    private static int clampChannel( int value ) {
+        return value < 0 ? 0 : value > 255 ? 255 : value;
+    }
+
+    /*
+     * Aplica o fator de contraste em um canal já normalizado entre 0 e 1.
+     */
+    private static int contrastChannel( double p, double contrast ) {
+        p -= 0.5;
+        p *= contrast;
+        p += 0.5;
+        p *= 255;
+        if ( p < 0 ) p = 0;
+        else if ( p > 255 ) p = 255;
+        return (int) p;
+    }
+
 }
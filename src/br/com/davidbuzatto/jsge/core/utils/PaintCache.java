@@ -0,0 +1,429 @@
+/*
+ * Copyright (C) 2025 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.core.utils;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.LinearGradientPaint;
+import java.awt.MultipleGradientPaint;
+import java.awt.Paint;
+import java.awt.RadialGradientPaint;
+import java.awt.TexturePaint;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Cache dos Paints criados por PaintUtils.
+ *
+ * Os gradientes do Java2D guardam, em cada instância, as tabelas de cores
+ * calculadas no primeiro desenho. Criar um gradiente novo a cada quadro
+ * descarta essas tabelas. Este cache mantém os Paints indexados pela
+ * geometria, frações, cores e tipo de ciclo, de modo que chamadas
+ * repetidas com a mesma configuração retornem a mesma instância. O cache é
+ * limitado e descarta os Paints usados há mais tempo.
+ *
+ * Este é o único ponto de internação de Paints da engine: o contexto
+ * gráfico apenas compara os Paints pela identidade. As consultas usam uma
+ * chave reutilizada, então os acertos não alocam objetos.
+ *
+ * Um gradiente que acompanha uma forma em movimento pode ser criado uma
+ * única vez em coordenadas locais e desenhado com o contexto gráfico
+ * transladado (veja EngineFrame.drawTranslated), reutilizando a mesma
+ * instância em todas as posições.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public final class PaintCache {
+
+    /**
+     * Quantidade máxima padrão de Paints no cache.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 128;
+
+    private static final int GRADIENT = 0;
+    private static final int LINEAR = 1;
+    private static final int RADIAL = 2;
+    private static final int RADIAL_BOUNDS = 3;
+    private static final int TEXTURE = 4;
+
+    /**
+     * Chave de um Paint: o tipo e os componentes da configuração. A chave
+     * de consulta é reutilizada e copiada, junto com os vetores, ao entrar
+     * no cache, pois os vetores originais pertencem a quem chamou.
+     */
+    private static final class PaintKey {
+
+        int type;
+        double d0;
+        double d1;
+        double d2;
+        double d3;
+        double d4;
+        Object o0;
+        Object o1;
+        float[] fractions;
+        Color[] colors;
+        int mode;
+
+        PaintKey set( int type, double d0, double d1, double d2, double d3, double d4,
+                      Object o0, Object o1, float[] fractions, Color[] colors, int mode ) {
+            this.type = type;
+            this.d0 = d0;
+            this.d1 = d1;
+            this.d2 = d2;
+            this.d3 = d3;
+            this.d4 = d4;
+            this.o0 = o0;
+            this.o1 = o1;
+            this.fractions = fractions;
+            this.colors = colors;
+            this.mode = mode;
+            return this;
+        }
+
+        void clear() {
+            set( 0, 0, 0, 0, 0, 0, null, null, null, null, 0 );
+        }
+
+        PaintKey copy() {
+            return new PaintKey().set( type, d0, d1, d2, d3, d4, o0, o1,
+                    fractions == null ? null : fractions.clone(),
+                    colors == null ? null : colors.clone(), mode );
+        }
+
+        @Override
+        public boolean equals( Object obj ) {
+            return obj instanceof PaintKey k &&
+                   type == k.type && mode == k.mode &&
+                   same( d0, k.d0 ) && same( d1, k.d1 ) && same( d2, k.d2 ) &&
+                   same( d3, k.d3 ) && same( d4, k.d4 ) &&
+                   Objects.equals( o0, k.o0 ) && Objects.equals( o1, k.o1 ) &&
+                   Arrays.equals( fractions, k.fractions ) && Arrays.equals( colors, k.colors );
+        }
+
+        @Override
+        public int hashCode() {
+            int h = type;
+            h = 31 * h + Double.hashCode( d0 );
+            h = 31 * h + Double.hashCode( d1 );
+            h = 31 * h + Double.hashCode( d2 );
+            h = 31 * h + Double.hashCode( d3 );
+            h = 31 * h + Double.hashCode( d4 );
+            h = 31 * h + Objects.hashCode( o0 );
+            h = 31 * h + Objects.hashCode( o1 );
+            h = 31 * h + Arrays.hashCode( fractions );
+            h = 31 * h + Arrays.hashCode( colors );
+            return 31 * h + mode;
+        }
+
+        /**
+         * Compara dois valores pelos bits, assim como Double.hashCode, para
+         * que 0.0 e -0.0 sejam chaves distintas e NaN seja igual a si mesmo.
+         */
+        private static boolean same( double a, double b ) {
+            return Double.doubleToLongBits( a ) == Double.doubleToLongBits( b );
+        }
+
+    }
+
+    private static int maxEntries = DEFAULT_MAX_ENTRIES;
+    private static volatile boolean enabled = true;
+    private static long hits;
+    private static long misses;
+
+    private static final LinkedHashMap<PaintKey, Paint> CACHE = new LinkedHashMap<>( 64, 0.75f, true ) {
+        @Override
+        protected boolean removeEldestEntry( Map.Entry<PaintKey, Paint> eldest ) {
+            return size() > maxEntries;
+        }
+    };
+
+    /**
+     * Chave de consulta, usada apenas com o monitor de CACHE. É limpa após
+     * cada consulta para não manter referências aos vetores e imagens de
+     * quem chamou.
+     */
+    private static final PaintKey PROBE = new PaintKey();
+
+    private PaintCache() {
+    }
+
+    /**
+     * Obtém um gradiente de duas cores.
+     */
+    static Paint getGradientPaint( float x1, float y1, Color color1, float x2, float y2, Color color2, boolean cyclic ) {
+
+        if ( !enabled ) {
+            return new GradientPaint( x1, y1, color1, x2, y2, color2, cyclic );
+        }
+
+        synchronized ( CACHE ) {
+            PaintKey key = PROBE.set( GRADIENT, x1, y1, x2, y2, 0, color1, color2, null, null, cyclic ? 1 : 0 );
+            try {
+                Paint paint = lookup( key );
+                if ( paint == null ) {
+                    paint = store( key, new GradientPaint( x1, y1, color1, x2, y2, color2, cyclic ) );
+                }
+                return paint;
+            } finally {
+                key.clear();
+            }
+        }
+
+    }
+
+    /**
+     * Obtém um gradiente linear de várias cores.
+     */
+    static Paint getLinearGradientPaint( float startX, float startY, float endX, float endY, float[] fractions, Color[] colors, MultipleGradientPaint.CycleMethod cycleMethod ) {
+
+        if ( !enabled ) {
+            return new LinearGradientPaint( startX, startY, endX, endY, fractions, colors, cycleMethod );
+        }
+
+        synchronized ( CACHE ) {
+            PaintKey key = PROBE.set( LINEAR, startX, startY, endX, endY, 0, null, null, fractions, colors, cycleMethod.ordinal() );
+            try {
+                Paint paint = lookup( key );
+                if ( paint == null ) {
+                    paint = store( key, new LinearGradientPaint( startX, startY, endX, endY, fractions, colors, cycleMethod ) );
+                }
+                return paint;
+            } finally {
+                key.clear();
+            }
+        }
+
+    }
+
+    /**
+     * Obtém um gradiente radial acíclico de várias cores com o foco no
+     * centro.
+     */
+    static Paint getRadialGradientPaint( float cx, float cy, float radius, float[] fractions, Color[] colors ) {
+        return getRadialGradientPaint( cx, cy, radius, cx, cy, fractions, colors, MultipleGradientPaint.CycleMethod.NO_CYCLE );
+    }
+
+    /**
+     * Obtém um gradiente radial de várias cores com o foco no centro.
+     */
+    static Paint getRadialGradientPaint( float cx, float cy, float radius, float[] fractions, Color[] colors, MultipleGradientPaint.CycleMethod cycleMethod ) {
+        return getRadialGradientPaint( cx, cy, radius, cx, cy, fractions, colors, cycleMethod );
+    }
+
+    /**
+     * Obtém um gradiente radial de várias cores.
+     */
+    static Paint getRadialGradientPaint( float cx, float cy, float radius, float fx, float fy, float[] fractions, Color[] colors, MultipleGradientPaint.CycleMethod cycleMethod ) {
+
+        if ( !enabled ) {
+            return new RadialGradientPaint( cx, cy, radius, fx, fy, fractions, colors, cycleMethod );
+        }
+
+        synchronized ( CACHE ) {
+            PaintKey key = PROBE.set( RADIAL, cx, cy, radius, fx, fy, null, null, fractions, colors, cycleMethod.ordinal() );
+            try {
+                Paint paint = lookup( key );
+                if ( paint == null ) {
+                    paint = store( key, new RadialGradientPaint( cx, cy, radius, fx, fy, fractions, colors, cycleMethod ) );
+                }
+                return paint;
+            } finally {
+                key.clear();
+            }
+        }
+
+    }
+
+    /**
+     * Obtém um gradiente radial de várias cores ajustado a um retângulo.
+     */
+    static Paint getRadialGradientPaintInBounds( double x, double y, double width, double height, float[] fractions, Color[] colors, MultipleGradientPaint.CycleMethod cycleMethod ) {
+
+        if ( !enabled ) {
+            return new RadialGradientPaint( new Rectangle2D.Double( x, y, width, height ), fractions, colors, cycleMethod );
+        }
+
+        synchronized ( CACHE ) {
+            PaintKey key = PROBE.set( RADIAL_BOUNDS, x, y, width, height, 0, null, null, fractions, colors, cycleMethod.ordinal() );
+            try {
+                Paint paint = lookup( key );
+                if ( paint == null ) {
+                    paint = store( key, new RadialGradientPaint( new Rectangle2D.Double( x, y, width, height ), fractions, colors, cycleMethod ) );
+                }
+                return paint;
+            } finally {
+                key.clear();
+            }
+        }
+
+    }
+
+    /**
+     * Obtém um paint de imagem. A imagem é comparada pela identidade.
+     */
+    static Paint getTexturePaint( BufferedImage image, double anchorX, double anchorY, double anchorWidth, double anchorHeight ) {
+
+        if ( !enabled ) {
+            return new TexturePaint( image, new Rectangle2D.Double( anchorX, anchorY, anchorWidth, anchorHeight ) );
+        }
+
+        synchronized ( CACHE ) {
+            PaintKey key = PROBE.set( TEXTURE, anchorX, anchorY, anchorWidth, anchorHeight, 0, image, null, null, null, 0 );
+            try {
+                Paint paint = lookup( key );
+                if ( paint == null ) {
+                    paint = store( key, new TexturePaint( image, new Rectangle2D.Double( anchorX, anchorY, anchorWidth, anchorHeight ) ) );
+                }
+                return paint;
+            } finally {
+                key.clear();
+            }
+        }
+
+    }
+
+    /**
+     * Procura o Paint de uma chave, contando o acerto ou a falha. Deve ser
+     * chamado com o monitor de CACHE.
+     */
+    private static Paint lookup( PaintKey key ) {
+        Paint paint = CACHE.get( key );
+        if ( paint == null ) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return paint;
+    }
+
+    /**
+     * Guarda um Paint com uma cópia da chave de consulta. Deve ser chamado
+     * com o monitor de CACHE.
+     */
+    private static Paint store( PaintKey key, Paint paint ) {
+        CACHE.put( key.copy(), paint );
+        return paint;
+    }
+
+    /**
+     * Retorna se o cache está ativo.
+     *
+     * @return Verdadeiro caso o cache esteja ativo.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Ativa ou desativa o cache. Desativado, os Paints são criados a cada
+     * chamada.
+     *
+     * @param enabled Verdadeiro para ativar, falso para desativar.
+     */
+    public static void setEnabled( boolean enabled ) {
+        PaintCache.enabled = enabled;
+        if ( !enabled ) {
+            clear();
+        }
+    }
+
+    /**
+     * Obtém a quantidade máxima de Paints no cache.
+     *
+     * @return A quantidade máxima de Paints.
+     */
+    public static int getMaxEntries() {
+        synchronized ( CACHE ) {
+            return maxEntries;
+        }
+    }
+
+    /**
+     * Configura a quantidade máxima de Paints no cache.
+     *
+     * @param maxEntries A quantidade máxima de Paints.
+     */
+    public static void setMaxEntries( int maxEntries ) {
+        if ( maxEntries <= 0 ) {
+            throw new IllegalArgumentException( "maxEntries must be positive!" );
+        }
+        synchronized ( CACHE ) {
+            PaintCache.maxEntries = maxEntries;
+            while ( CACHE.size() > maxEntries ) {
+                CACHE.remove( CACHE.keySet().iterator().next() );
+            }
+        }
+    }
+
+    /**
+     * Obtém a quantidade de Paints no cache.
+     *
+     * @return A quantidade de Paints.
+     */
+    public static int getSize() {
+        synchronized ( CACHE ) {
+            return CACHE.size();
+        }
+    }
+
+    /**
+     * Obtém a quantidade de acertos do cache.
+     *
+     * @return A quantidade de acertos.
+     */
+    public static long getHitCount() {
+        synchronized ( CACHE ) {
+            return hits;
+        }
+    }
+
+    /**
+     * Obtém a quantidade de falhas do cache.
+     *
+     * @return A quantidade de falhas.
+     */
+    public static long getMissCount() {
+        synchronized ( CACHE ) {
+            return misses;
+        }
+    }
+
+    /**
+     * Zera as estatísticas do cache.
+     */
+    public static void resetStats() {
+        synchronized ( CACHE ) {
+            hits = 0;
+            misses = 0;
+        }
+    }
+
+    /**
+     * Remove todos os Paints do cache.
+     */
+    public static void clear() {
+        synchronized ( CACHE ) {
+            CACHE.clear();
+        }
+    }
+
+}
@@ -21,17 +21,15 @@ import br.com.davidbuzatto.jsge.geom.Rectangle;
 import br.com.davidbuzatto.jsge.image.Image;
 import br.com.davidbuzatto.jsge.math.Vector2;
 import java.awt.Color;
-import java.awt.GradientPaint;
-import java.awt.LinearGradientPaint;
 import java.awt.MultipleGradientPaint;
 import java.awt.Paint;
-import java.awt.RadialGradientPaint;
-import java.awt.TexturePaint;
-import java.awt.geom.Rectangle2D;
 
 /**
  * Interface com métodos estáticos utilitários criação de diversos tipos de Paints.
  * 
+ * Os Paints criados são mantidos em cache (veja PaintCache) e chamadas com a
+ * mesma configuração retornam a mesma instância.
+ * 
  * @author Prof. Dr. David Buzatto
  */
 public interface PaintUtils {
@@ -82,7 +80,7 @@ public interface PaintUtils {
      * @return Um paint do tipo gradiente.
      */
     public static Paint getGradientPaint( double startX, double startY, double endX, double endY, Color startColor, Color endColor, boolean cyclic ) {
-        return new GradientPaint( (float) startX, (float) startY, startColor, (float) endX, (float) endY, endColor, cyclic );
+        return PaintCache.getGradientPaint( (float) startX, (float) startY, startColor, (float) endX, (float) endY, endColor, cyclic );
     }
     
     /**
@@ -97,7 +95,7 @@ public interface PaintUtils {
      * @return Um paint do tipo gradiente acíclico.
      */
     public static Paint getGradientPaint( double startX, double startY, double endX, double endY, Color startColor, Color endColor ) {
-        return new GradientPaint( (float) startX, (float) startY, startColor, (float) endX, (float) endY, endColor, false );
+        return PaintCache.getGradientPaint( (float) startX, (float) startY, startColor, (float) endX, (float) endY, endColor, false );
     }
     
     /**
@@ -145,7 +143,7 @@ public interface PaintUtils {
      * @return Um gradiente horizontal de duas cores.
      */
     public static Paint getHorizontalGradientPaint( double x, double y, double width, double height, Color startColor, Color endColor, boolean cyclic ) {
-        return new GradientPaint( (float) x, (float) (y + height / 2), startColor, (float) (x + width), (float) (y + height / 2), endColor, cyclic );
+        return PaintCache.getGradientPaint( (float) x, (float) (y + height / 2), startColor, (float) (x + width), (float) (y + height / 2), endColor, cyclic );
     }
     
     /**
@@ -233,7 +231,7 @@ public interface PaintUtils {
      * @return Um gradiente vertical de duas cores.
      */
     public static Paint getVerticalGradientPaint( double x, double y, double width, double height, Color startColor, Color endColor, boolean cyclic ) {
-        return new GradientPaint( (float) (x + width / 2), (float) y, startColor, (float) (x + width / 2), (float) (y + height), endColor, cyclic );
+        return PaintCache.getGradientPaint( (float) (x + width / 2), (float) y, startColor, (float) (x + width / 2), (float) (y + height), endColor, cyclic );
     }
     
     /**
@@ -321,7 +319,7 @@ public interface PaintUtils {
      * @return Um gradiente linear.
      */
     public static Paint getLinearGradientPaint( double startX, double startY, double endX, double endY, float[] fractions, Color[] colors, CycleMethod cycleMethod ) {
-        return new LinearGradientPaint( (float) startX, (float) startY, (float) endX, (float) endY, fractions, colors, cycleMethod.method );
+        return PaintCache.getLinearGradientPaint( (float) startX, (float) startY, (float) endX, (float) endY, fractions, colors, cycleMethod.method );
     }
     
     /**
@@ -383,7 +381,7 @@ public interface PaintUtils {
      * @return Um gradiente radial.
      */
     public static Paint getRadialGradientPaint( double cx, double cy, double radius, float[] fractions, Color[] colors, CycleMethod cycleMethod ) {
-        return new RadialGradientPaint( (float) cx, (float) cy, (float) radius, fractions, colors, cycleMethod.method );
+        return PaintCache.getRadialGradientPaint( (float) cx, (float) cy, (float) radius, fractions, colors, cycleMethod.method );
     }
     
     /**
@@ -397,7 +395,7 @@ public interface PaintUtils {
      * @return Um gradiente radial acíclico.
      */
     public static Paint getRadialGradientPaint( double cx, double cy, double radius, float[] fractions, Color[] colors ) {
-        return new RadialGradientPaint( (float) cx, (float) cy, (float) radius, fractions, colors );
+        return PaintCache.getRadialGradientPaint( (float) cx, (float) cy, (float) radius, fractions, colors );
     }
     
     /**
@@ -414,7 +412,7 @@ public interface PaintUtils {
      * @return Um gradiente radial.
      */
     public static Paint getRadialGradientPaint( double cx, double cy, double radius, double fx, double fy, float[] fractions, Color[] colors, CycleMethod cycleMethod ) {
-        return new RadialGradientPaint( (float) cx, (float) cy, (float) radius, (float) fx, (float) fy, fractions, colors, cycleMethod.method );
+        return PaintCache.getRadialGradientPaint( (float) cx, (float) cy, (float) radius, (float) fx, (float) fy, fractions, colors, cycleMethod.method );
     }
     
     /**
@@ -430,7 +428,7 @@ public interface PaintUtils {
      * @return Um gradiente radial acíclico.
      */
     public static Paint getRadialGradientPaint( double cx, double cy, double radius, double fx, double fy, float[] fractions, Color[] colors ) {
-        return new RadialGradientPaint( (float) cx, (float) cy, (float) radius, (float) fx, (float) fy, fractions, colors, CycleMethod.NO_CYCLE.method );
+        return PaintCache.getRadialGradientPaint( (float) cx, (float) cy, (float) radius, (float) fx, (float) fy, fractions, colors, CycleMethod.NO_CYCLE.method );
     }
     
     /**
@@ -444,7 +442,7 @@ public interface PaintUtils {
      * @return Um gradiente radial.
      */
     public static Paint getRadialGradientPaint( Vector2 center, double radius, float[] fractions, Color[] colors, CycleMethod cycleMethod ) {
-        return new RadialGradientPaint( (float) center.x, (float) center.x, (float) radius, fractions, colors, cycleMethod.method );
+        return PaintCache.getRadialGradientPaint( (float) center.x, (float) center.x, (float) radius, fractions, colors, cycleMethod.method );
     }
     
     /**
@@ -457,7 +455,7 @@ public interface PaintUtils {
      * @return Um gradiente radial acíclico.
      */
     public static Paint getRadialGradientPaint( Vector2 center, double radius, float[] fractions, Color[] colors ) {
-        return new RadialGradientPaint( (float) center.x, (float) center.x, (float) radius, fractions, colors );
+        return PaintCache.getRadialGradientPaint( (float) center.x, (float) center.x, (float) radius, fractions, colors );
     }
     
     /**
@@ -472,7 +470,7 @@ public interface PaintUtils {
      * @return Um gradiente radial.
      */
     public static Paint getRadialGradientPaint( Vector2 center, double radius, Vector2 focus, float[] fractions, Color[] colors, CycleMethod cycleMethod ) {
-        return new RadialGradientPaint( (float) center.x, (float) center.y, (float) radius, (float) focus.x, (float) focus.y, fractions, colors, cycleMethod.method );
+        return PaintCache.getRadialGradientPaint( (float) center.x, (float) center.y, (float) radius, (float) focus.x, (float) focus.y, fractions, colors, cycleMethod.method );
     }
     
     /**
@@ -486,7 +484,7 @@ public interface PaintUtils {
      * @return Um gradiente radial acíclico.
      */
     public static Paint getRadialGradientPaint( Vector2 center, double radius, Vector2 focus, float[] fractions, Color[] colors ) {
-        return new RadialGradientPaint( (float) center.x, (float) center.y, (float) radius, (float) focus.x, (float) focus.y, fractions, colors, CycleMethod.NO_CYCLE.method );
+        return PaintCache.getRadialGradientPaint( (float) center.x, (float) center.y, (float) radius, (float) focus.x, (float) focus.y, fractions, colors, CycleMethod.NO_CYCLE.method );
     }
     
     /**
@@ -499,7 +497,7 @@ public interface PaintUtils {
      * @return Um gradiente radial.
      */
     public static Paint getRadialGradientPaint( Circle circle, float[] fractions, Color[] colors, CycleMethod cycleMethod ) {
-        return new RadialGradientPaint( (float) circle.x, (float) circle.x, (float) circle.radius, fractions, colors, cycleMethod.method );
+        return PaintCache.getRadialGradientPaint( (float) circle.x, (float) circle.x, (float) circle.radius, fractions, colors, cycleMethod.method );
     }
     
     /**
@@ -511,7 +509,7 @@ public interface PaintUtils {
      * @return Um gradiente radial acíclico.
      */
     public static Paint getRadialGradientPaint( Circle circle, float[] fractions, Color[] colors ) {
-        return new RadialGradientPaint( (float) circle.x, (float) circle.x, (float) circle.radius, fractions, colors );
+        return PaintCache.getRadialGradientPaint( (float) circle.x, (float) circle.x, (float) circle.radius, fractions, colors );
     }
     
     /**
@@ -525,7 +523,7 @@ public interface PaintUtils {
      * @return Um gradiente radial.
      */
     public static Paint getRadialGradientPaint( Circle circle, Vector2 focus, float[] fractions, Color[] colors, CycleMethod cycleMethod ) {
-        return new RadialGradientPaint( (float) circle.x, (float) circle.x, (float) circle.radius, (float) focus.x, (float) focus.y, fractions, colors, cycleMethod.method );
+        return PaintCache.getRadialGradientPaint( (float) circle.x, (float) circle.x, (float) circle.radius, (float) focus.x, (float) focus.y, fractions, colors, cycleMethod.method );
     }
     
     /**
@@ -538,7 +536,7 @@ public interface PaintUtils {
      * @return Um gradiente radial acíclico.
      */
     public static Paint getRadialGradientPaint( Circle circle, Vector2 focus, float[] fractions, Color[] colors ) {
-        return new RadialGradientPaint( (float) circle.x, (float) circle.x, (float) circle.radius, (float) focus.x, (float) focus.y, fractions, colors, CycleMethod.NO_CYCLE.method );
+        return PaintCache.getRadialGradientPaint( (float) circle.x, (float) circle.x, (float) circle.radius, (float) focus.x, (float) focus.y, fractions, colors, CycleMethod.NO_CYCLE.method );
     }
     
     /**
@@ -551,7 +549,7 @@ public interface PaintUtils {
      * @return Um gradiente radial.
      */
     public static Paint getRadialGradientPaint( Rectangle gradientBounds, float[] fractions, Color[] colors, CycleMethod cycleMethod ) {
-        return new RadialGradientPaint( new Rectangle2D.Double( gradientBounds.x, gradientBounds.y, gradientBounds.width, gradientBounds.height ), fractions, colors, cycleMethod.method );
+        return PaintCache.getRadialGradientPaintInBounds( gradientBounds.x, gradientBounds.y, gradientBounds.width, gradientBounds.height, fractions, colors, cycleMethod.method );
     }
     
     /**
@@ -563,7 +561,7 @@ public interface PaintUtils {
      * @return Um gradiente radial acíclico.
      */
     public static Paint getRadialGradientPaint( Rectangle gradientBounds, float[] fractions, Color[] colors ) {
-        return new RadialGradientPaint( new Rectangle2D.Double( gradientBounds.x, gradientBounds.y, gradientBounds.width, gradientBounds.height ), fractions, colors, CycleMethod.NO_CYCLE.method );
+        return PaintCache.getRadialGradientPaintInBounds( gradientBounds.x, gradientBounds.y, gradientBounds.width, gradientBounds.height, fractions, colors, CycleMethod.NO_CYCLE.method );
     }
     
     
@@ -579,7 +577,7 @@ public interface PaintUtils {
      * @return Um paint de imagem.
      */
     public static Paint getImagePaint( Image image, Rectangle anchor ) {
-        return new TexturePaint( image.buffImage, new Rectangle2D.Double( anchor.x, anchor.y, anchor.width, anchor.height ) );
+        return PaintCache.getTexturePaint( image.buffImage, anchor.x, anchor.y, anchor.width, anchor.height );
     }
     
     /**
@@ -591,7 +589,7 @@ public interface PaintUtils {
      * @return Um paint de imagem.
      */
     public static Paint getImagePaint( Image image, Vector2 anchorPos, Vector2 anchorDim ) {
-        return new TexturePaint( image.buffImage, new Rectangle2D.Double( anchorPos.x, anchorPos.y, anchorDim.x, anchorDim.y ) );
+        return PaintCache.getTexturePaint( image.buffImage, anchorPos.x, anchorPos.y, anchorDim.x, anchorDim.y );
     }
     
     /**
@@ -605,7 +603,7 @@ public interface PaintUtils {
      * @return Um paint de imagem.
      */
     public static Paint getImagePaint( Image image, double anchorX, double anchorY, double anchorWidth, double anchorHeight ) {
-        return new TexturePaint( image.buffImage, new Rectangle2D.Double( anchorX, anchorY, anchorWidth, anchorHeight ) );
+        return PaintCache.getTexturePaint( image.buffImage, anchorX, anchorY, anchorWidth, anchorHeight );
     }
     
 }
@@ -0,0 +1,368 @@
+/*
+ * Copyright (C) 2025 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.core.utils;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache da geometria de polígonos regulares, estrelas e anéis.
+ *
+ * Os Path2D gerados pelos métodos de DrawingUtils dependem de funções
+ * trigonométricas e, no caso dos anéis, do achatamento de arcos. Como a
+ * forma não depende da posição nem da rotação, os caminhos são gerados uma
+ * única vez com o centro na origem e o ângulo inicial zero, indexados pelos
+ * demais parâmetros, e posicionados e rotacionados no desenho por uma
+ * transformação. Assim, formas que giram a cada quadro reutilizam o mesmo
+ * caminho. O cache é limitado e descarta os caminhos usados há mais tempo.
+ *
+ * Os caminhos retornados são compartilhados e, por isso, expostos apenas
+ * como Shape, sem métodos de alteração.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public final class PathCache {
+
+    /**
+     * Quantidade máxima padrão de caminhos no cache.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+
+    private static final int POLYGON = 0;
+    private static final int STAR = 1;
+    private static final int RING = 2;
+
+    /**
+     * Chave de um caminho: o tipo e os parâmetros independentes da
+     * posição e da rotação.
+     */
+    private static record PathKey( int type, double a, double b, double c ) {
+    }
+
+    private static int maxEntries = DEFAULT_MAX_ENTRIES;
+    private static volatile boolean enabled = true;
+    private static long hits;
+    private static long misses;
+
+    private static final LinkedHashMap<PathKey, Shape> CACHE = new LinkedHashMap<>( 64, 0.75f, true ) {
+        @Override
+        protected boolean removeEldestEntry( Map.Entry<PathKey, Shape> eldest ) {
+            return size() > maxEntries;
+        }
+    };
+
+    private PathCache() {
+    }
+
+    /**
+     * Obtém o caminho de um polígono regular centrado na origem, com o
+     * primeiro vértice no ângulo zero.
+     *
+     * @param sides Quantidade de lados.
+     * @param radius Raio do círculo circunscrito.
+     * @return O caminho compartilhado.
+     */
+    public static Shape getPolygon( int sides, double radius ) {
+        if ( !enabled ) {
+            return DrawingUtils.createPolygon( 0, 0, sides, radius, 0 );
+        }
+        PathKey key = new PathKey( POLYGON, sides, radius, 0 );
+        synchronized ( CACHE ) {
+            Shape path = CACHE.get( key );
+            if ( path == null ) {
+                misses++;
+                path = new SharedPath( DrawingUtils.createPolygon( 0, 0, sides, radius, 0 ) );
+                CACHE.put( key, path );
+            } else {
+                hits++;
+            }
+            return path;
+        }
+    }
+
+    /**
+     * Obtém o caminho de uma estrela regular centrada na origem, com a
+     * primeira ponta no ângulo zero.
+     *
+     * @param tips Quantidade de pontas.
+     * @param radius Raio do círculo circunscrito.
+     * @return O caminho compartilhado.
+     */
+    public static Shape getStar( int tips, double radius ) {
+        if ( !enabled ) {
+            return DrawingUtils.createStar( 0, 0, tips, radius, 0 );
+        }
+        PathKey key = new PathKey( STAR, tips, radius, 0 );
+        synchronized ( CACHE ) {
+            Shape path = CACHE.get( key );
+            if ( path == null ) {
+                misses++;
+                path = new SharedPath( DrawingUtils.createStar( 0, 0, tips, radius, 0 ) );
+                CACHE.put( key, path );
+            } else {
+                hits++;
+            }
+            return path;
+        }
+    }
+
+    /**
+     * Obtém o caminho de um anel centrado na origem, começando no ângulo
+     * zero.
+     *
+     * @param innerRadius Raio interno.
+     * @param outerRadius Raio externo.
+     * @param extent Extensão do anel em graus (sentido horário), ou seja, o
+     * ângulo final menos o ângulo inicial.
+     * @return O caminho compartilhado.
+     */
+    public static Shape getRing( double innerRadius, double outerRadius, double extent ) {
+        if ( !enabled ) {
+            return DrawingUtils.createRing( 0, 0, innerRadius, outerRadius, 0, extent );
+        }
+        PathKey key = new PathKey( RING, innerRadius, outerRadius, extent );
+        synchronized ( CACHE ) {
+            Shape path = CACHE.get( key );
+            if ( path == null ) {
+                misses++;
+                path = new SharedPath( DrawingUtils.createRing( 0, 0, innerRadius, outerRadius, 0, extent ) );
+                CACHE.put( key, path );
+            } else {
+                hits++;
+            }
+            return path;
+        }
+    }
+
+    /**
+     * Desenha ou pinta um caminho centrado na origem na posição e com a
+     * rotação informadas, usando o Paint corrente do contexto gráfico. Com
+     * cores sólidas o caminho é posicionado transformando o contexto
+     * gráfico. Outros Paints, como os gradientes, são definidos no espaço do
+     * usuário e por isso o caminho é transformado no lugar do contexto.
+     *
+     * @param g2d O contexto gráfico.
+     * @param path O caminho centrado na origem.
+     * @param x Coordenada x do centro.
+     * @param y Coordenada y do centro.
+     * @param rotation Rotação em graus (sentido horário).
+     * @param fill Verdadeiro para pintar, falso para desenhar o contorno.
+     */
+    public static void render( Graphics2D g2d, Shape path, double x, double y, double rotation, boolean fill ) {
+
+        if ( g2d.getPaint() instanceof Color ) {
+            AffineTransform t = g2d.getTransform();
+            g2d.translate( x, y );
+            if ( rotation != 0 ) {
+                g2d.rotate( Math.toRadians( rotation ) );
+            }
+            if ( fill ) {
+                g2d.fill( path );
+            } else {
+                g2d.draw( path );
+            }
+            g2d.setTransform( t );
+        } else {
+            AffineTransform t = AffineTransform.getTranslateInstance( x, y );
+            if ( rotation != 0 ) {
+                t.rotate( Math.toRadians( rotation ) );
+            }
+            Path2D positioned = new Path2D.Double( path, t );
+            if ( fill ) {
+                g2d.fill( positioned );
+            } else {
+                g2d.draw( positioned );
+            }
+        }
+
+    }
+
+    /**
+     * Retorna se o cache está ativo.
+     *
+     * @return Verdadeiro caso o cache esteja ativo.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Ativa ou desativa o cache. Desativado, os caminhos são gerados a
+     * cada chamada.
+     *
+     * @param enabled Verdadeiro para ativar, falso para desativar.
+     */
+    public static void setEnabled( boolean enabled ) {
+        PathCache.enabled = enabled;
+        if ( !enabled ) {
+            clear();
+        }
+    }
+
+    /**
+     * Obtém a quantidade máxima de caminhos no cache.
+     *
+     * @return A quantidade máxima de caminhos.
+     */
+    public static int getMaxEntries() {
+        synchronized ( CACHE ) {
+            return maxEntries;
+        }
+    }
+
+    /**
+     * Configura a quantidade máxima de caminhos no cache.
+     *
+     * @param maxEntries A quantidade máxima de caminhos.
+     */
+    public static void setMaxEntries( int maxEntries ) {
+        if ( maxEntries <= 0 ) {
+            throw new IllegalArgumentException( "maxEntries must be positive!" );
+        }
+        synchronized ( CACHE ) {
+            PathCache.maxEntries = maxEntries;
+            while ( CACHE.size() > maxEntries ) {
+                CACHE.remove( CACHE.keySet().iterator().next() );
+            }
+        }
+    }
+
+    /**
+     * Obtém a quantidade de caminhos no cache.
+     *
+     * @return A quantidade de caminhos.
+     */
+    public static int getSize() {
+        synchronized ( CACHE ) {
+            return CACHE.size();
+        }
+    }
+
+    /**
+     * Obtém a quantidade de acertos do cache.
+     *
+     * @return A quantidade de acertos.
+     */
+    public static long getHitCount() {
+        synchronized ( CACHE ) {
+            return hits;
+        }
+    }
+
+    /**
+     * Obtém a quantidade de falhas do cache.
+     *
+     * @return A quantidade de falhas.
+     */
+    public static long getMissCount() {
+        synchronized ( CACHE ) {
+            return misses;
+        }
+    }
+
+    /**
+     * Zera as estatísticas do cache.
+     */
+    public static void resetStats() {
+        synchronized ( CACHE ) {
+            hits = 0;
+            misses = 0;
+        }
+    }
+
+    /**
+     * Remove todos os caminhos do cache.
+     */
+    public static void clear() {
+        synchronized ( CACHE ) {
+            CACHE.clear();
+        }
+    }
+
+    /**
+     * Visão somente leitura de um caminho em cache.
+     */
+    private static final class SharedPath implements Shape {
+
+        private final Path2D path;
+
+        SharedPath( Path2D path ) {
+            this.path = path;
+        }
+
+        @Override
+        public Rectangle getBounds() {
+            return path.getBounds();
+        }
+
+        @Override
+        public Rectangle2D getBounds2D() {
+            return path.getBounds2D();
+        }
+
+        @Override
+        public boolean contains( double x, double y ) {
+            return path.contains( x, y );
+        }
+
+        @Override
+        public boolean contains( Point2D p ) {
+            return path.contains( p );
+        }
+
+        @Override
+        public boolean intersects( double x, double y, double w, double h ) {
+            return path.intersects( x, y, w, h );
+        }
+
+        @Override
+        public boolean intersects( Rectangle2D r ) {
+            return path.intersects( r );
+        }
+
+        @Override
+        public boolean contains( double x, double y, double w, double h ) {
+            return path.contains( x, y, w, h );
+        }
+
+        @Override
+        public boolean contains( Rectangle2D r ) {
+            return path.contains( r );
+        }
+
+        @Override
+        public PathIterator getPathIterator( AffineTransform at ) {
+            return path.getPathIterator( at );
+        }
+
+        @Override
+        public PathIterator getPathIterator( AffineTransform at, double flatness ) {
+            return path.getPathIterator( at, flatness );
+        }
+
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2025 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.geom;
+
+/**
+ * Interface para formas convexas que expõem seus vértices e as normais das
+ * suas arestas em coordenadas do mundo, usadas pelos testes de colisão
+ * baseados no teorema dos eixos separadores (SAT).
+ *
+ * Os arrays retornados são empacotados no formato [x0, y0, x1, y1, ...],
+ * ficam em cache na forma e só são recalculados quando a posição, a rotação
+ * ou as dimensões mudam. Eles não devem ser modificados.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public interface ConvexShape {
+
+    /**
+     * Obtém os vértices da forma em coordenadas do mundo.
+     *
+     * @return Os vértices empacotados (x, y).
+     */
+    double[] getVertices();
+
+    /**
+     * Obtém as normais unitárias, voltadas para fora, das arestas da forma.
+     * A normal i corresponde à aresta que vai do vértice i ao vértice i + 1.
+     *
+     * @return As normais empacotadas (x, y).
+     */
+    double[] getEdgeNormals();
+
+    /**
+     * Calcula as normais unitárias voltadas para fora das arestas de um
+     * polígono convexo, independentemente do sentido dos seus vértices.
+     *
+     * @param vertices Os vértices empacotados (x, y).
+     * @param normals O array de destino, com o mesmo tamanho dos vértices.
+     */
+    public static void computeEdgeNormals( double[] vertices, double[] normals ) {
+
+        int count = vertices.length / 2;
+        double area = 0;
+
+        for ( int i = 0; i < count; i++ ) {
+            int j = ( i + 1 ) % count;
+            area += vertices[i*2] * vertices[j*2+1] - vertices[j*2] * vertices[i*2+1];
+        }
+
+        double sign = area >= 0 ? 1 : -1;
+
+        for ( int i = 0; i < count; i++ ) {
+            int j = ( i + 1 ) % count;
+            double ex = vertices[j*2] - vertices[i*2];
+            double ey = vertices[j*2+1] - vertices[i*2+1];
+            double length = Math.sqrt( ex * ex + ey * ey );
+            if ( length > 0 ) {
+                normals[i*2] = sign * ey / length;
+                normals[i*2+1] = -sign * ex / length;
+            } else {
+                normals[i*2] = 0;
+                normals[i*2+1] = 0;
+            }
+        }
+
+    }
+
+    /**
+     * Calcula os vértices de um polígono regular.
+     *
+     * @param x Coordenada x do centro.
+     * @param y Coordenada y do centro.
+     * @param sides Quantidade de lados.
+     * @param radius Raio do círculo circunscrito.
+     * @param rotation Ângulo inicial em graus (sentido horário).
+     * @param vertices O array de destino, com tamanho sides * 2.
+     */
+    public static void computeRegularPolygonVertices( double x, double y, int sides, double radius, double rotation, double[] vertices ) {
+
+        double angleIncrement = 360.0 / sides;
+
+        for ( int i = 0; i < sides; i++ ) {
+            double rad = Math.toRadians( rotation + angleIncrement * i );
+            vertices[i*2] = x + radius * Math.cos( rad );
+            vertices[i*2+1] = y + radius * Math.sin( rad );
+        }
+
+    }
+
+}
@@ -26,7 +26,7 @@ import java.io.Serializable;
  * 
  * @author Prof. Dr. David Buzatto
  */
-public class Polygon implements Drawable, Serializable {
+public class Polygon implements Drawable, ConvexShape, Serializable {
     
     private static final long serialVersionUID = 1L;
 
@@ -54,6 +54,22 @@ public class Polygon implements Drawable, Serializable {
      * Ângulo de rotação em gradus, no sentido horário.
      */
     public double rotation;
+    
+    /**
+     * Cache dos vértices em coordenadas do mundo.
+     */
+    private transient double[] vertices;
+    
+    /**
+     * Cache das normais das arestas.
+     */
+    private transient double[] normals;
+    
+    // parâmetros usados na última atualização do cache
+    private transient double cachedX;
+    private transient double cachedY;
+    private transient double cachedRadius;
+    private transient double cachedRotation;
 
     /**
      * Cria um novo polígono regular com valores padrão.
@@ -90,6 +106,44 @@ public class Polygon implements Drawable, Serializable {
         this( x, y, sides, radius, 0.0 );
     }
 
+    @Override
+    public double[] getVertices() {
+        updateCache();
+        return vertices;
+    }
+    
+    @Override
+    public double[] getEdgeNormals() {
+        updateCache();
+        return normals;
+    }
+    
+    /**
+     * Recalcula os vértices e as normais apenas se a posição, a quantidade
+     * de lados, o raio ou a rotação mudaram desde o último cálculo.
+     */
+    private void updateCache() {
+        
+        int length = Math.max( sides, 0 ) * 2;
+        
+        if ( vertices == null || vertices.length != length ) {
+            vertices = new double[length];
+            normals = new double[length];
+        } else if ( cachedX == x && cachedY == y && 
+                    cachedRadius == radius && cachedRotation == rotation ) {
+            return;
+        }
+        
+        ConvexShape.computeRegularPolygonVertices( x, y, sides, radius, rotation, vertices );
+        ConvexShape.computeEdgeNormals( vertices, normals );
+        
+        cachedX = x;
+        cachedY = y;
+        cachedRadius = radius;
+        cachedRotation = rotation;
+        
+    }
+
     @Override
     public void draw( EngineFrame engine, Paint color ) {
         engine.drawPolygon( this, color );
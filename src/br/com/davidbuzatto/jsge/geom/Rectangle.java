@@ -26,7 +26,7 @@ import java.io.Serializable;
  * 
  * @author Prof. Dr. David Buzatto
  */
-public class Rectangle implements Drawable, Serializable {
+public class Rectangle implements Drawable, ConvexShape, Serializable {
     
     private static final long serialVersionUID = 1L;
 
@@ -49,6 +49,25 @@ public class Rectangle implements Drawable, Serializable {
      * Altura.
      */
     public double height;
+    
+    /**
+     * Cache dos vértices em coordenadas do mundo.
+     */
+    private transient double[] vertices;
+    
+    /**
+     * Cache das normais das arestas.
+     */
+    private transient double[] normals;
+    
+    // parâmetros usados na última atualização do cache
+    private transient double cachedX;
+    private transient double cachedY;
+    private transient double cachedWidth;
+    private transient double cachedHeight;
+    private transient double cachedOriginX;
+    private transient double cachedOriginY;
+    private transient double cachedRotation;
 
     /**
      * Cria um novo retângulo com valores padrão.
@@ -71,6 +90,94 @@ public class Rectangle implements Drawable, Serializable {
         this.height = height;
     }
 
+    @Override
+    public double[] getVertices() {
+        return getVertices( 0, 0, 0 );
+    }
+    
+    @Override
+    public double[] getEdgeNormals() {
+        return getEdgeNormals( 0, 0, 0 );
+    }
+    
+    /**
+     * Obtém os vértices do retângulo rotacionado em torno de um pivô, da
+     * mesma forma que os métodos de desenho de retângulos rotacionados da
+     * engine.
+     * 
+     * @param originX Coordenada x do pivô da rotação.
+     * @param originY Coordenada y do pivô da rotação.
+     * @param rotation Rotação em graus (sentido horário).
+     * @return Os vértices empacotados (x, y).
+     */
+    public double[] getVertices( double originX, double originY, double rotation ) {
+        updateCache( originX, originY, rotation );
+        return vertices;
+    }
+    
+    /**
+     * Obtém as normais das arestas do retângulo rotacionado em torno de
+     * um pivô.
+     * 
+     * @param originX Coordenada x do pivô da rotação.
+     * @param originY Coordenada y do pivô da rotação.
+     * @param rotation Rotação em graus (sentido horário).
+     * @return As normais empacotadas (x, y).
+     */
+    public double[] getEdgeNormals( double originX, double originY, double rotation ) {
+        updateCache( originX, originY, rotation );
+        return normals;
+    }
+    
+    /**
+     * Recalcula os vértices e as normais apenas se a posição, as dimensões,
+     * o pivô ou a rotação mudaram desde o último cálculo.
+     */
+    private void updateCache( double originX, double originY, double rotation ) {
+        
+        if ( vertices == null ) {
+            vertices = new double[8];
+            normals = new double[8];
+        } else if ( cachedX == x && cachedY == y && 
+                    cachedWidth == width && cachedHeight == height && 
+                    cachedOriginX == originX && cachedOriginY == originY && 
+                    cachedRotation == rotation ) {
+            return;
+        }
+        
+        vertices[0] = x;
+        vertices[1] = y;
+        vertices[2] = x + width;
+        vertices[3] = y;
+        vertices[4] = x + width;
+        vertices[5] = y + height;
+        vertices[6] = x;
+        vertices[7] = y + height;
+        
+        if ( rotation != 0 ) {
+            double rad = Math.toRadians( rotation );
+            double cos = Math.cos( rad );
+            double sin = Math.sin( rad );
+            for ( int i = 0; i < 8; i += 2 ) {
+                double dx = vertices[i] - originX;
+                double dy = vertices[i+1] - originY;
+                vertices[i] = originX + dx * cos - dy * sin;
+                vertices[i+1] = originY + dx * sin + dy * cos;
+            }
+        }
+        
+        ConvexShape.computeEdgeNormals( vertices, normals );
+        
+        cachedX = x;
+        cachedY = y;
+        cachedWidth = width;
+        cachedHeight = height;
+        cachedOriginX = originX;
+        cachedOriginY = originY;
+        cachedRotation = rotation;
+        
+    }
+
     @Override
     public void draw( EngineFrame engine, Paint color ) {
         engine.drawRectangle( this, color );
@@ -54,6 +54,22 @@ public class Star implements Drawable, Serializable {
      * Ângulo de rotação em gradus, no sentido horário.
      */
     public double rotation;
+    
+    /**
+     * Cache dos vértices das partes convexas em coordenadas do mundo.
+     */
+    private transient double[][] pieceVertices;
+    
+    /**
+     * Cache das normais das arestas das partes convexas.
+     */
+    private transient double[][] pieceNormals;
+    
+    // parâmetros usados na última atualização do cache
+    private transient double cachedX;
+    private transient double cachedY;
+    private transient double cachedRadius;
+    private transient double cachedRotation;
 
     /**
      * Cria um novo polígono regular com valores padrão.
@@ -90,6 +106,97 @@ public class Star implements Drawable, Serializable {
         this( x, y, tips, radius, 0.0 );
     }
 
+    /**
+     * Obtém a quantidade de partes convexas que compõem a estrela. A estrela
+     * é decomposta no polígono regular interno mais um triângulo por ponta
+     * (ou em um único triângulo, quando possui três pontas), o que permite
+     * usar os testes de colisão para formas convexas.
+     * 
+     * @return A quantidade de partes convexas.
+     */
+    public int getConvexPieceCount() {
+        updateCache();
+        return pieceVertices.length;
+    }
+    
+    /**
+     * Obtém os vértices de uma das partes convexas da estrela.
+     * 
+     * @param piece O índice da parte.
+     * @return Os vértices empacotados (x, y).
+     */
+    public double[] getPieceVertices( int piece ) {
+        updateCache();
+        return pieceVertices[piece];
+    }
+    
+    /**
+     * Obtém as normais das arestas de uma das partes convexas da estrela.
+     * 
+     * @param piece O índice da parte.
+     * @return As normais empacotadas (x, y).
+     */
+    public double[] getPieceEdgeNormals( int piece ) {
+        updateCache();
+        return pieceNormals[piece];
+    }
+    
+    /**
+     * Recalcula as partes convexas apenas se a posição, a quantidade de
+     * pontas, o raio ou a rotação mudaram desde o último cálculo.
+     */
+    private void updateCache() {
+        
+        int pieces = tips == 3 ? 1 : ( tips >= 5 ? tips + 1 : 0 );
+        
+        if ( pieceVertices == null || pieceVertices.length != pieces || 
+             ( pieces > 1 && pieceVertices[0].length != tips * 2 ) ) {
+            pieceVertices = new double[pieces][];
+            pieceNormals = new double[pieces][];
+            for ( int i = 0; i < pieces; i++ ) {
+                int length = ( i == 0 && pieces > 1 ) ? tips * 2 : 6;
+                pieceVertices[i] = new double[length];
+                pieceNormals[i] = new double[length];
+            }
+        } else if ( cachedX == x && cachedY == y && 
+                    cachedRadius == radius && cachedRotation == rotation ) {
+            return;
+        }
+        
+        if ( pieces == 1 ) {
+            ConvexShape.computeRegularPolygonVertices( x, y, 3, radius, rotation, pieceVertices[0] );
+            ConvexShape.computeEdgeNormals( pieceVertices[0], pieceNormals[0] );
+        } else if ( pieces > 1 ) {
+            
+            // raio dos vértices internos, onde as arestas se cruzam
+            double halfStep = 180.0 / tips;
+            double innerRadius = radius * Math.cos( Math.toRadians( halfStep * 2 ) ) / Math.cos( Math.toRadians( halfStep ) );
+            double[] inner = pieceVertices[0];
+            ConvexShape.computeRegularPolygonVertices( x, y, tips, innerRadius, rotation + halfStep, inner );
+            ConvexShape.computeEdgeNormals( inner, pieceNormals[0] );
+            
+            for ( int i = 0; i < tips; i++ ) {
+                double rad = Math.toRadians( rotation + halfStep * 2 * i );
+                int previous = ( i + tips - 1 ) % tips;
+                double[] triangle = pieceVertices[i+1];
+                triangle[0] = inner[previous*2];
+                triangle[1] = inner[previous*2+1];
+                triangle[2] = x + radius * Math.cos( rad );
+                triangle[3] = y + radius * Math.sin( rad );
+                triangle[4] = inner[i*2];
+                triangle[5] = inner[i*2+1];
+                ConvexShape.computeEdgeNormals( triangle, pieceNormals[i+1] );
+            }
+            
+        }
+        
+        cachedX = x;
+        cachedY = y;
+        cachedRadius = radius;
+        cachedRotation = rotation;
+        
+    }
+
     @Override
     public void draw( EngineFrame engine, Paint color ) {
         engine.drawStar( this, color );
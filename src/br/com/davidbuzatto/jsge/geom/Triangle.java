@@ -26,7 +26,7 @@ import java.io.Serializable;
  *
  * @author Prof. Dr. David Buzatto
  */
-public class Triangle implements Drawable, Serializable {
+public class Triangle implements Drawable, ConvexShape, Serializable {
     
     private static final long serialVersionUID = 1L;
 
@@ -59,6 +59,16 @@ public class Triangle implements Drawable, Serializable {
      * Coordenada y do terceiro vértice.
      */
     public double y3;
+    
+    /**
+     * Cache dos vértices em coordenadas do mundo.
+     */
+    private transient double[] vertices;
+    
+    /**
+     * Cache das normais das arestas.
+     */
+    private transient double[] normals;
 
     /**
      * Cria um novo triângulo com valores padrão.
@@ -85,6 +95,43 @@ public class Triangle implements Drawable, Serializable {
         this.y3 = y3;
     }
 
+    @Override
+    public double[] getVertices() {
+        updateCache();
+        return vertices;
+    }
+    
+    @Override
+    public double[] getEdgeNormals() {
+        updateCache();
+        return normals;
+    }
+    
+    /**
+     * Recalcula as normais apenas se algum dos vértices mudou desde o
+     * último cálculo.
+     */
+    private void updateCache() {
+        
+        if ( vertices == null ) {
+            vertices = new double[6];
+            normals = new double[6];
+        } else if ( vertices[0] == x1 && vertices[1] == y1 && 
+                    vertices[2] == x2 && vertices[3] == y2 && 
+                    vertices[4] == x3 && vertices[5] == y3 ) {
+            return;
+        }
+        
+        vertices[0] = x1;
+        vertices[1] = y1;
+        vertices[2] = x2;
+        vertices[3] = y2;
+        vertices[4] = x3;
+        vertices[5] = y3;
+        ConvexShape.computeEdgeNormals( vertices, normals );
+        
+    }
+
     @Override
     public void draw( EngineFrame engine, Paint color ) {
         engine.drawTriangle( this, color );
@@ -19,6 +19,7 @@ package br.com.davidbuzatto.jsge.image;
 import br.com.davidbuzatto.jsge.collision.aabb.AABB;
 import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
 import br.com.davidbuzatto.jsge.core.utils.DrawingUtils;
+import br.com.davidbuzatto.jsge.core.utils.PathCache;
 import br.com.davidbuzatto.jsge.core.utils.StrokeUtils;
 import br.com.davidbuzatto.jsge.geom.Arc;
 import br.com.davidbuzatto.jsge.geom.Circle;
@@ -42,6 +43,7 @@ import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.Paint;
 import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Arc2D;
 import java.awt.geom.CubicCurve2D;
 import java.awt.geom.Ellipse2D;
@@ -67,6 +69,7 @@ public class Image {
     private static Font font;
     private static BasicStroke stroke;
     private static boolean antialiasing;
+    private static final AffineTransform IDENTITY = new AffineTransform();
     
     static {
         resetFont();
@@ -79,6 +82,44 @@ public class Image {
      */
     public BufferedImage buffImage;
     
+    /**
+     * Contexto gráfico persistente do modo de desenho, ou null quando os
+     * métodos de desenho criam um contexto por chamada.
+     */
+    private Graphics2D canvas;
+    
+    /**
+     * Buffered image à qual o contexto persistente está associado.
+     */
+    private BufferedImage canvasTarget;
+    
+    /**
+     * Estado da suavização configurado no contexto persistente.
+     */
+    private boolean canvasAntialiasing;
+    
+    /**
+     * Indica se o contexto persistente foi transformado pelo desenho corrente.
+     */
+    private boolean canvasTransformed;
+    
+    /**
+     * Formas reutilizadas pelos métodos de desenho no modo de desenho.
+     */
+    private Line2D.Double scratchLine;
+    private Rectangle2D.Double scratchRectangle;
+    private RoundRectangle2D.Double scratchRoundRectangle;
+    private Ellipse2D.Double scratchEllipse;
+    private Arc2D.Double scratchArc;
+    private QuadCurve2D.Double scratchQuadCurve;
+    private CubicCurve2D.Double scratchCubicCurve;
+    
+    /**
+     * Contador de alterações dos pixels, usado para invalidar dados
+     * derivados da imagem, como as máscaras de colisão em cache.
+     */
+    private int version;
+    
     /**
      * Cria uma imagem a partir de uma buffered image.
      * 
@@ -123,6 +164,7 @@ public class Image {
      */
     public Graphics2D createGraphics() {
         
+        version++;
         Graphics2D g2d = (Graphics2D) buffImage.createGraphics();
         
         if ( antialiasing ) {
@@ -138,6 +180,170 @@ public class Image {
         
     }
     
+    /**
+     * Inicia o modo de desenho. Enquanto ele estiver ativo, todos os métodos
+     * de desenho da imagem reutilizam um único contexto gráfico e as mesmas
+     * formas auxiliares, em vez de criar e descartar um contexto a cada
+     * chamada. Útil para gerar texturas com muitas operações de desenho.
+     * 
+     * O modo deve ser encerrado com endDrawing().
+     */
+    public void beginDrawing() {
+        if ( canvas == null ) {
+            openCanvas();
+            if ( scratchLine == null ) {
+                scratchLine = new Line2D.Double();
+                scratchRectangle = new Rectangle2D.Double();
+                scratchRoundRectangle = new RoundRectangle2D.Double();
+                scratchEllipse = new Ellipse2D.Double();
+                scratchArc = new Arc2D.Double();
+                scratchQuadCurve = new QuadCurve2D.Double();
+                scratchCubicCurve = new CubicCurve2D.Double();
+            }
+        }
+    }
+    
+    /**
+     * Encerra o modo de desenho, liberando o contexto gráfico persistente.
+     */
+    public void endDrawing() {
+        if ( canvas != null ) {
+            canvas.dispose();
+            canvas = null;
+            canvasTarget = null;
+        }
+    }
+    
+    /**
+     * Verifica se o modo de desenho está ativo.
+     * 
+     * @return Verdadeiro caso o modo de desenho esteja ativo, falso caso contrário.
+     */
+    public boolean isDrawing() {
+        return canvas != null;
+    }
+    
+    private void openCanvas() {
+        canvas = createGraphics();
+        canvasTarget = buffImage;
+        canvasAntialiasing = antialiasing;
+        canvasTransformed = false;
+    }
+    
+    /**
+     * Obtém o contexto gráfico para um desenho: o contexto persistente,
+     * sincronizado com a configuração global corrente, ou um novo contexto
+     * fora do modo de desenho.
+     */
+    private Graphics2D acquireGraphics() {
+        
+        if ( canvas == null ) {
+            return createGraphics();
+        }
+        
+        version++;
+        
+        // a imagem pode ter sido trocada por um método de transformação
+        if ( canvasTarget != buffImage ) {
+            canvas.dispose();
+            openCanvas();
+        }
+        
+        if ( canvas.getFont() != font ) {
+            canvas.setFont( font );
+        }
+        
+        if ( canvas.getStroke() != stroke ) {
+            canvas.setStroke( stroke );
+        }
+        
+        if ( canvasAntialiasing != antialiasing ) {
+            canvas.setRenderingHint( 
+                    RenderingHints.KEY_ANTIALIASING, 
+                    antialiasing ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_DEFAULT );
+            canvasAntialiasing = antialiasing;
+        }
+        
+        return canvas;
+        
+    }
+    
+    /**
+     * Libera o contexto gráfico de um desenho. O contexto persistente não é
+     * descartado, apenas tem a sua transformação restaurada.
+     */
+    private void releaseGraphics( Graphics2D g2d ) {
+        if ( g2d != canvas ) {
+            g2d.dispose();
+        } else if ( canvasTransformed ) {
+            canvas.setTransform( IDENTITY );
+            canvasTransformed = false;
+        }
+    }
+    
+    private void rotateGraphics( Graphics2D g2d, double theta, double x, double y ) {
+        g2d.rotate( theta, x, y );
+        if ( g2d == canvas ) {
+            canvasTransformed = true;
+        }
+    }
+    
+    private Line2D line2D( double x1, double y1, double x2, double y2 ) {
+        if ( canvas == null ) {
+            return new Line2D.Double( x1, y1, x2, y2 );
+        }
+        scratchLine.setLine( x1, y1, x2, y2 );
+        return scratchLine;
+    }
+    
+    private Rectangle2D rectangle2D( double x, double y, double width, double height ) {
+        if ( canvas == null ) {
+            return new Rectangle2D.Double( x, y, width, height );
+        }
+        scratchRectangle.setRect( x, y, width, height );
+        return scratchRectangle;
+    }
+    
+    private RoundRectangle2D roundRectangle2D( double x, double y, double width, double height, double arcWidth, double arcHeight ) {
+        if ( canvas == null ) {
+            return new RoundRectangle2D.Double( x, y, width, height, arcWidth, arcHeight );
+        }
+        scratchRoundRectangle.setRoundRect( x, y, width, height, arcWidth, arcHeight );
+        return scratchRoundRectangle;
+    }
+    
+    private Ellipse2D ellipse2D( double x, double y, double width, double height ) {
+        if ( canvas == null ) {
+            return new Ellipse2D.Double( x, y, width, height );
+        }
+        scratchEllipse.setFrame( x, y, width, height );
+        return scratchEllipse;
+    }
+    
+    private Arc2D arc2D( double x, double y, double width, double height, double start, double extent, int type ) {
+        if ( canvas == null ) {
+            return new Arc2D.Double( x, y, width, height, start, extent, type );
+        }
+        scratchArc.setArc( x, y, width, height, start, extent, type );
+        return scratchArc;
+    }
+    
+    private QuadCurve2D quadCurve2D( double x1, double y1, double ctrlX, double ctrlY, double x2, double y2 ) {
+        if ( canvas == null ) {
+            return new QuadCurve2D.Double( x1, y1, ctrlX, ctrlY, x2, y2 );
+        }
+        scratchQuadCurve.setCurve( x1, y1, ctrlX, ctrlY, x2, y2 );
+        return scratchQuadCurve;
+    }
+    
+    private CubicCurve2D cubicCurve2D( double x1, double y1, double ctrlX1, double ctrlY1, double ctrlX2, double ctrlY2, double x2, double y2 ) {
+        if ( canvas == null ) {
+            return new CubicCurve2D.Double( x1, y1, ctrlX1, ctrlY1, ctrlX2, ctrlY2, x2, y2 );
+        }
+        scratchCubicCurve.setCurve( x1, y1, ctrlX1, ctrlY1, ctrlX2, ctrlY2, x2, y2 );
+        return scratchCubicCurve;
+    }
+    
     /**
      * Obtém a cor RGB de um pixel.
      * 
@@ -158,6 +364,25 @@ public class Image {
      */
     public void setRGB( int x, int y, int rgb ) {
         buffImage.setRGB( x, y, rgb );
+        version++;
+    }
+    
+    /**
+     * Obtém a versão dos pixels da imagem, incrementada a cada alteração
+     * feita pelos métodos da imagem.
+     * 
+     * @return A versão dos pixels.
+     */
+    public int getVersion() {
+        return version;
+    }
+    
+    /**
+     * Informa que os pixels da imagem foram alterados diretamente na
+     * buffered image, invalidando os dados derivados dela.
+     */
+    public void markModified() {
+        version++;
     }
     
     
@@ -174,10 +399,10 @@ public class Image {
      * @param paint Paint para o desenho.
      */
     public void drawPixel( double x, double y, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
-        g2d.draw( new Line2D.Double( x, y, x, y ) );
-        g2d.dispose();
+        g2d.draw( line2D( x, y, x, y ) );
+        releaseGraphics( g2d );
     }
 
     /**
@@ -200,10 +425,10 @@ public class Image {
      * @param paint Paint para o desenho.
      */
     public void drawLine( double startX, double startY, double endX, double endY, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
-        g2d.draw( new Line2D.Double( startX, startY, endX, endY ) );
-        g2d.dispose();
+        g2d.draw( line2D( startX, startY, endX, endY ) );
+        releaseGraphics( g2d );
     }
 
     /**
@@ -237,10 +462,10 @@ public class Image {
      * @param paint Paint para o desenho.
      */
     public void drawRectangle( double x, double y, double width, double height, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
-        g2d.draw( new Rectangle2D.Double( x, y, width, height ) );
-        g2d.dispose();
+        g2d.draw( rectangle2D( x, y, width, height ) );
+        releaseGraphics( g2d );
     }
 
     /**
@@ -290,13 +515,13 @@ public class Image {
      */
     public void drawRectangle( double x, double y, double width, double height, double originX, double originY, double rotation, Paint paint ) {
 
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
 
-        g2d.rotate( Math.toRadians( rotation ), x + originX, y + originY );
-        g2d.draw( new Rectangle2D.Double( x, y, width, height ) );
+        rotateGraphics( g2d, Math.toRadians( rotation ), x + originX, y + originY );
+        g2d.draw( rectangle2D( x, y, width, height ) );
 
-        g2d.dispose();
+        releaseGraphics( g2d );
 
     }
 
@@ -391,10 +616,10 @@ public class Image {
      * @param paint Paint para o desenho.
      */
     public void fillRectangle( double x, double y, double width, double height, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
-        g2d.fill( new Rectangle2D.Double( x, y, width, height ) );
-        g2d.dispose();
+        g2d.fill( rectangle2D( x, y, width, height ) );
+        releaseGraphics( g2d );
     }
 
     /**
@@ -486,13 +711,13 @@ public class Image {
      */
     public void fillRectangle( double x, double y, double width, double height, double originX, double originY, double rotation, Paint paint ) {
 
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
 
-        g2d.rotate( Math.toRadians( rotation ), x + originX, y + originY );
-        g2d.fill( new Rectangle2D.Double( x, y, width, height ) );
+        rotateGraphics( g2d, Math.toRadians( rotation ), x + originX, y + originY );
+        g2d.fill( rectangle2D( x, y, width, height ) );
 
-        g2d.dispose();
+        releaseGraphics( g2d );
 
     }
 
@@ -575,10 +800,10 @@ public class Image {
      * @param paint Paint para o desenho.
      */
     public void drawRoundRectangle( double x, double y, double width, double height, double roundness, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
-        g2d.draw( new RoundRectangle2D.Double( x, y, width, height, roundness, roundness ) );
-        g2d.dispose();
+        g2d.draw( roundRectangle2D( x, y, width, height, roundness, roundness ) );
+        releaseGraphics( g2d );
     }
 
     /**
@@ -615,10 +840,10 @@ public class Image {
      * @param paint Paint para o desenho.
      */
     public void fillRoundRectangle( double x, double y, double width, double height, double roundness, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
-        g2d.fill( new RoundRectangle2D.Double( x, y, width, height, roundness, roundness ) );
-        g2d.dispose();
+        g2d.fill( roundRectangle2D( x, y, width, height, roundness, roundness ) );
+        releaseGraphics( g2d );
     }
 
     /**
@@ -653,10 +878,10 @@ public class Image {
      * @param paint Paint para o desenho.
      */
     public void drawCircle( double x, double y, double radius, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
-        g2d.draw( new Ellipse2D.Double( x - radius, y - radius, radius * 2, radius * 2 ) );
-        g2d.dispose();
+        g2d.draw( ellipse2D( x - radius, y - radius, radius * 2, radius * 2 ) );
+        releaseGraphics( g2d );
     }
 
     /**
@@ -689,10 +914,10 @@ public class Image {
      * @param paint Paint para o desenho.
      */
     public void fillCircle( double x, double y, double radius, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
-        g2d.fill( new Ellipse2D.Double( x - radius, y - radius, radius * 2, radius * 2 ) );
-        g2d.dispose();
+        g2d.fill( ellipse2D( x - radius, y - radius, radius * 2, radius * 2 ) );
+        releaseGraphics( g2d );
     }
 
     /**
@@ -726,10 +951,10 @@ public class Image {
      * @param paint Paint para o desenho.
      */
     public void drawEllipse( double x, double y, double radiusH, double radiusV, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
-        g2d.draw( new Ellipse2D.Double( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2 ) );
-        g2d.dispose();
+        g2d.draw( ellipse2D( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2 ) );
+        releaseGraphics( g2d );
     }
 
     /**
@@ -764,10 +989,10 @@ public class Image {
      * @param paint Paint para o desenho.
      */
     public void fillEllipse( double x, double y, double radiusH, double radiusV, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
-        g2d.fill( new Ellipse2D.Double( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2 ) );
-        g2d.dispose();
+        g2d.fill( ellipse2D( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2 ) );
+        releaseGraphics( g2d );
     }
 
     /**
@@ -803,11 +1028,11 @@ public class Image {
      * @param paint Paint para o desenho.
      */
     public void drawCircleSector( double x, double y, double radius, double startAngle, double endAngle, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         double extent = endAngle - startAngle;
-        g2d.draw( new Arc2D.Double( x - radius, y - radius, radius * 2, radius * 2, -startAngle, -extent, Arc2D.PIE ) );
-        g2d.dispose();
+        g2d.draw( arc2D( x - radius, y - radius, radius * 2, radius * 2, -startAngle, -extent, Arc2D.PIE ) );
+        releaseGraphics( g2d );
     }
 
     /**
@@ -856,11 +1081,11 @@ public class Image {
      * @param paint Paint para o desenho.
      */
     public void fillCircleSector( double x, double y, double radius, double startAngle, double endAngle, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         double extent = endAngle - startAngle;
-        g2d.fill( new Arc2D.Double( x - radius, y - radius, radius * 2, radius * 2, -startAngle, -extent, Arc2D.PIE ) );
-        g2d.dispose();
+        g2d.fill( arc2D( x - radius, y - radius, radius * 2, radius * 2, -startAngle, -extent, Arc2D.PIE ) );
+        releaseGraphics( g2d );
     }
 
     /**
@@ -910,11 +1135,11 @@ public class Image {
      * @param paint Paint para o desenho.
      */
     public void drawEllipseSector( double x, double y, double radiusH, double radiusV, double startAngle, double endAngle, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         double extent = endAngle - startAngle;
-        g2d.draw( new Arc2D.Double( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2, -startAngle, -extent, Arc2D.PIE ) );
-        g2d.dispose();
+        g2d.draw( arc2D( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2, -startAngle, -extent, Arc2D.PIE ) );
+        releaseGraphics( g2d );
     }
 
     /**
@@ -965,11 +1190,11 @@ public class Image {
      * @param paint Paint para o desenho.
      */
     public void fillEllipseSector( double x, double y, double radiusH, double radiusV, double startAngle, double endAngle, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         double extent = endAngle - startAngle;
-        g2d.fill( new Arc2D.Double( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2, -startAngle, -extent, Arc2D.PIE ) );
-        g2d.dispose();
+        g2d.fill( arc2D( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2, -startAngle, -extent, Arc2D.PIE ) );
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1020,11 +1245,11 @@ public class Image {
      * @param paint Paint para o desenho.
      */
     public void drawArc( double x, double y, double radiusH, double radiusV, double startAngle, double endAngle, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         double extent = endAngle - startAngle;
-        g2d.draw( new Arc2D.Double( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2, -startAngle, -extent, Arc2D.OPEN ) );
-        g2d.dispose();
+        g2d.draw( arc2D( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2, -startAngle, -extent, Arc2D.OPEN ) );
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1063,11 +1288,11 @@ public class Image {
      * @param paint Paint para o desenho.
      */
     public void fillArc( double x, double y, double radiusH, double radiusV, double startAngle, double endAngle, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         double extent = endAngle - startAngle;
-        g2d.fill( new Arc2D.Double( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2, -startAngle, -extent, Arc2D.CHORD ) );
-        g2d.dispose();
+        g2d.fill( arc2D( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2, -startAngle, -extent, Arc2D.CHORD ) );
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1106,10 +1331,10 @@ public class Image {
      * @param paint Paint para o desenho.
      */
     public void drawRing( double x, double y, double innerRadius, double outerRadius, double startAngle, double endAngle, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
-        g2d.draw( DrawingUtils.createRing( x, y, innerRadius, outerRadius, startAngle, endAngle ) );
-        g2d.dispose();
+        PathCache.render( g2d, PathCache.getRing( innerRadius, outerRadius, endAngle - startAngle ), x, y, startAngle, false );
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1148,10 +1373,10 @@ public class Image {
      * @param paint Paint para o desenho.
      */
     public void fillRing( double x, double y, double innerRadius, double outerRadius, double startAngle, double endAngle, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
-        g2d.fill( DrawingUtils.createRing( x, y, innerRadius, outerRadius, startAngle, endAngle ) );
-        g2d.dispose();
+        PathCache.render( g2d, PathCache.getRing( innerRadius, outerRadius, endAngle - startAngle ), x, y, startAngle, true );
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1190,10 +1415,10 @@ public class Image {
      * @param paint Paint para o desenho.
      */
     public void drawTriangle( double v1x, double v1y, double v2x, double v2y, double v3x, double v3y, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.draw( DrawingUtils.createTriangle( v1x, v1y, v2x, v2y, v3x, v3y ) );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1230,10 +1455,10 @@ public class Image {
      * @param paint Paint para o desenho.
      */
     public void fillTriangle( double v1x, double v1y, double v2x, double v2y, double v3x, double v3y, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.fill( DrawingUtils.createTriangle( v1x, v1y, v2x, v2y, v3x, v3y ) );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1269,10 +1494,10 @@ public class Image {
      * @param paint Paint para o desenho.
      */
     public void drawPolygon( double x, double y, int sides, double radius, double rotation, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
-        g2d.draw( DrawingUtils.createPolygon( x, y, sides, radius, rotation ) );
-        g2d.dispose();
+        PathCache.render( g2d, PathCache.getPolygon( sides, radius ), x, y, rotation, false );
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1309,10 +1534,10 @@ public class Image {
      * @param paint Paint para o desenho.
      */
     public void fillPolygon( double x, double y, int sides, double radius, double rotation, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
-        g2d.fill( DrawingUtils.createPolygon( x, y, sides, radius, rotation ) );
-        g2d.dispose();
+        PathCache.render( g2d, PathCache.getPolygon( sides, radius ), x, y, rotation, true );
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1349,10 +1574,10 @@ public class Image {
      * @param paint Paint para o desenho.
      */
     public void drawStar( double x, double y, int tips, double radius, double rotation, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
-        g2d.draw( DrawingUtils.createStar( x, y, tips, radius, rotation ) );
-        g2d.dispose();
+        PathCache.render( g2d, PathCache.getStar( tips, radius ), x, y, rotation, false );
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1389,10 +1614,10 @@ public class Image {
      * @param paint Paint para o desenho.
      */
     public void fillStar( double x, double y, int tips, double radius, double rotation, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
-        g2d.fill( DrawingUtils.createStar( x, y, tips, radius, rotation ) );
-        g2d.dispose();
+        PathCache.render( g2d, PathCache.getStar( tips, radius ), x, y, rotation, true );
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1425,10 +1650,10 @@ public class Image {
      * @param paint Paint para o desenho.
      */
     public void drawPath( Path path, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.draw( path.path );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1438,10 +1663,10 @@ public class Image {
      * @param paint Paint para o desenho.
      */
     public void fillPath( Path path, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.fill( path.path );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     
@@ -1462,10 +1687,10 @@ public class Image {
      * @param paint Paint para o desenhho.
      */
     public void drawQuadCurve( double p1x, double p1y, double cx, double cy, double p2x, double p2y, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
-        g2d.draw( new QuadCurve2D.Double( p1x, p1y, cx, cy, p2x, p2y ) );
-        g2d.dispose();
+        g2d.draw( quadCurve2D( p1x, p1y, cx, cy, p2x, p2y ) );
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1502,10 +1727,10 @@ public class Image {
      * @param paint Paint para o desenhho.
      */
     public void fillQuadCurve( double p1x, double p1y, double cx, double cy, double p2x, double p2y, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
-        g2d.fill( new QuadCurve2D.Double( p1x, p1y, cx, cy, p2x, p2y ) );
-        g2d.dispose();
+        g2d.fill( quadCurve2D( p1x, p1y, cx, cy, p2x, p2y ) );
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1544,10 +1769,10 @@ public class Image {
      * @param paint Paint para o desenhho.
      */
     public void drawCubicCurve( double p1x, double p1y, double c1x, double c1y, double c2x, double c2y, double p2x, double p2y, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
-        g2d.draw( new CubicCurve2D.Double( p1x, p1y, c1x, c1y, c2x, c2y, p2x, p2y ) );
-        g2d.dispose();
+        g2d.draw( cubicCurve2D( p1x, p1y, c1x, c1y, c2x, c2y, p2x, p2y ) );
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1587,10 +1812,10 @@ public class Image {
      * @param paint Paint para o desenhho.
      */
     public void fillCubicCurve( double p1x, double p1y, double c1x, double c1y, double c2x, double c2y, double p2x, double p2y, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
-        g2d.fill( new CubicCurve2D.Double( p1x, p1y, c1x, c1y, c2x, c2y, p2x, p2y ) );
-        g2d.dispose();
+        g2d.fill( cubicCurve2D( p1x, p1y, c1x, c1y, c2x, c2y, p2x, p2y ) );
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1631,12 +1856,12 @@ public class Image {
      * @param paint Paint para o desenho.
      */
     public void drawText( String text, double x, double y, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         //Rectangle2D r = g2d.getFontMetrics().getStringBounds( text, g2d );
         //g2d.drawString( text, (int) x, (int) ( y + r.getHeight() / 2 ) );
         DrawingUtils.drawTextMultilineHelper( text, x, y, g2d );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
     
     /**
@@ -1664,13 +1889,13 @@ public class Image {
      * @param paint Paint para o desenho.
      */
     public void drawText( String text, double x, double y, double originX, double originY, double rotation, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
-        g2d.rotate( Math.toRadians( rotation ), x + originX, y + originY );
+        rotateGraphics( g2d, Math.toRadians( rotation ), x + originX, y + originY );
         //Rectangle2D r = g2d.getFontMetrics().getStringBounds( text, g2d );
         //g2d.drawString( text, (int) x, (int) ( y + r.getHeight() / 2 ) );
         DrawingUtils.drawTextMultilineHelper( text, x, y, g2d );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1683,13 +1908,13 @@ public class Image {
      * @param paint Paint para o desenho.
      */
     public void drawText( String text, double x, double y, int fontSize, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.setFont( g2d.getFont().deriveFont( (float) fontSize ) );
         //Rectangle2D r = g2d.getFontMetrics().getStringBounds( text, g2d );
         //g2d.drawString( text, (int) x, (int) ( y + r.getHeight() / 2 ) );
         DrawingUtils.drawTextMultilineHelper( text, x, y, g2d );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
     
     /**
@@ -1719,14 +1944,14 @@ public class Image {
      * @param paint Paint para o desenho.
      */
     public void drawText( String text, double x, double y, double originX, double originY, double rotation, int fontSize, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.setFont( g2d.getFont().deriveFont( (float) fontSize ) );
-        g2d.rotate( Math.toRadians( rotation ), x + originX, y + originY );
+        rotateGraphics( g2d, Math.toRadians( rotation ), x + originX, y + originY );
         //Rectangle2D r = g2d.getFontMetrics().getStringBounds( text, g2d );
         //g2d.drawString( text, (int) x, (int) ( y + r.getHeight() / 2 ) );
         DrawingUtils.drawTextMultilineHelper( text, x, y, g2d );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1819,9 +2044,9 @@ public class Image {
      * @param bgColor Uma cor de fundo.
      */
     public void drawImage( Image image, double x, double y, Color bgColor ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.drawImage( image.buffImage, (int) x, (int) y, bgColor, null );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
     
     /**
@@ -1872,10 +2097,10 @@ public class Image {
      * @param bgColor Uma cor de fundo.
      */
     public void drawImage( Image image, double x, double y, double originX, double originY, double rotation, Color bgColor ) {
-        Graphics2D g2d = createGraphics();
-        g2d.rotate( Math.toRadians( rotation ), x + originX, y + originY );
+        Graphics2D g2d = acquireGraphics();
+        rotateGraphics( g2d, Math.toRadians( rotation ), x + originX, y + originY );
         g2d.drawImage( image.buffImage, (int) x, (int) y, bgColor, null );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
     
     /**
@@ -1902,7 +2127,7 @@ public class Image {
      * @param bgColor Uma cor de fundo.
      */
     public void drawImage( Image image, Rectangle source, double x, double y, Color bgColor ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.drawImage( image.buffImage, 
                 (int) x, 
                 (int) y, 
@@ -1915,7 +2140,7 @@ public class Image {
                 bgColor,
                 null
         );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
     
     /**
@@ -1970,8 +2195,8 @@ public class Image {
      * @param bgColor Uma cor de fundo.
      */
     public void drawImage( Image image, Rectangle source, double x, double y, double originX, double originY, double rotation, Color bgColor ) {
-        Graphics2D g2d = createGraphics();
-        g2d.rotate( Math.toRadians( rotation ), x + originX, y + originY );
+        Graphics2D g2d = acquireGraphics();
+        rotateGraphics( g2d, Math.toRadians( rotation ), x + originX, y + originY );
         g2d.drawImage( image.buffImage, 
                 (int) x, 
                 (int) y, 
@@ -1984,7 +2209,7 @@ public class Image {
                 bgColor,
                 null
         );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
     
     /**
@@ -2011,7 +2236,7 @@ public class Image {
      * @param bgColor Uma cor de fundo.
      */
     public void drawImage( Image image, Rectangle source, Rectangle dest, Color bgColor ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.drawImage( image.buffImage, 
                 (int) dest.x, 
                 (int) dest.y, 
@@ -2024,7 +2249,7 @@ public class Image {
                 bgColor,
                 null
         );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
     
     /**
@@ -2075,8 +2300,8 @@ public class Image {
      * @param bgColor Uma cor de fundo.
      */
     public void drawImage( Image image, Rectangle source, Rectangle dest, double originX, double originY, double rotation, Color bgColor ) {
-        Graphics2D g2d = createGraphics();
-        g2d.rotate( Math.toRadians( rotation ), dest.x + originX, dest.y + originY );
+        Graphics2D g2d = acquireGraphics();
+        rotateGraphics( g2d, Math.toRadians( rotation ), dest.x + originX, dest.y + originY );
         g2d.drawImage( image.buffImage, 
                 (int) dest.x, 
                 (int) dest.y, 
@@ -2089,7 +2314,7 @@ public class Image {
                 bgColor,
                 null
         );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
     
     /**
@@ -2425,6 +2650,17 @@ public class Image {
     public Image copy() {
         return new Image( ImageUtils.copyBufferedImage( buffImage ) );
     }
+
+    /**
+     * Cria uma sequência preguiçosa de operações sobre a imagem corrente.
+     * As operações registradas são executadas em uma única passada quando
+     * apply() é invocado, sem criar imagens intermediárias.
+     *
+     * @return Uma nova sequência de operações associada à imagem corrente.
+     */
+    public ImagePipeline pipeline() {
+        return new ImagePipeline( this );
+    }
     
     
     
@@ -0,0 +1,227 @@
+/*
+ * Copyright (C) 2025 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.image;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Executor das operações de imagem, que divide a imagem em faixas de linhas
+ * processadas em paralelo por um pool fork/join.
+ *
+ * Imagens com menos pixels do que o limiar configurado são processadas
+ * serialmente na thread chamadora, já que o custo de distribuir o trabalho
+ * superaria o ganho em sprites pequenos. Como cada faixa escreve apenas as
+ * suas próprias linhas, o resultado é idêntico ao do processamento serial.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class ImageFilterExecutor {
+
+    /**
+     * Quantidade mínima de pixels, padrão, para o processamento paralelo.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 256 * 256;
+
+    /**
+     * Quantidade de faixas criadas por thread, para balancear a carga.
+     */
+    private static final int STRIPS_PER_THREAD = 4;
+
+    private static int parallelism = Runtime.getRuntime().availableProcessors();
+    private static int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+    private static ForkJoinPool pool;
+
+    /**
+     * Operação aplicada a uma faixa de linhas de uma imagem.
+     */
+    @FunctionalInterface
+    public static interface RowStripOperation {
+
+        /**
+         * Processa as linhas no intervalo [startRow, endRow).
+         *
+         * @param startRow A primeira linha (inclusiva).
+         * @param endRow A última linha (exclusiva).
+         */
+        void apply( int startRow, int endRow );
+
+    }
+
+    private ImageFilterExecutor() {
+    }
+
+    /**
+     * Executa uma operação sobre todas as linhas de uma imagem, dividindo-as
+     * em faixas processadas em paralelo quando a imagem for grande o
+     * suficiente. O método retorna apenas depois de todas as faixas serem
+     * processadas.
+     *
+     * @param width Largura da imagem.
+     * @param height Altura da imagem.
+     * @param operation A operação.
+     */
+    public static void forEachRowStrip( int width, int height, RowStripOperation operation ) {
+
+        while ( true ) {
+
+            ForkJoinPool currentPool = getPool();
+
+            if ( currentPool == null || (long) width * height < parallelThreshold || height < 2 ) {
+                operation.apply( 0, height );
+                return;
+            }
+
+            int minRows = Math.max( 1, height / ( currentPool.getParallelism() * STRIPS_PER_THREAD ) );
+            RowStripTask task = new RowStripTask( operation, 0, height, minRows );
+
+            if ( ForkJoinTask.getPool() == currentPool ) {
+                // chamada aninhada feita por um trabalhador do próprio pool
+                task.invoke();
+                return;
+            }
+
+            try {
+                currentPool.invoke( task );
+                return;
+            } catch ( RejectedExecutionException exc ) {
+                // o pool foi substituído por setParallelism depois de obtido
+                // e recusou a tarefa antes de executar qualquer faixa
+                if ( !currentPool.isShutdown() ) {
+                    throw exc;
+                }
+            }
+
+        }
+
+    }
+
+    /**
+     * Obtém o pool usado, criando-o se necessário, ou null quando o
+     * processamento é serial.
+     */
+    private static synchronized ForkJoinPool getPool() {
+        if ( parallelism > 1 && pool == null ) {
+            pool = new ForkJoinPool( parallelism );
+        }
+        return parallelism > 1 ? pool : null;
+    }
+
+    /**
+     * Obtém a quantidade de threads usadas no processamento paralelo.
+     *
+     * @return A quantidade de threads.
+     */
+    public static synchronized int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Configura a quantidade de threads usadas no processamento paralelo.
+     * O valor 1 desativa o paralelismo.
+     *
+     * O novo pool é publicado antes de o anterior ser encerrado. As
+     * operações que já estavam em execução no pool anterior terminam
+     * normalmente e as que o obtiveram mas ainda não o usaram são
+     * reenviadas ao novo pool.
+     *
+     * @param parallelism A quantidade de threads.
+     */
+    public static synchronized void setParallelism( int parallelism ) {
+
+        if ( parallelism <= 0 ) {
+            throw new IllegalArgumentException( "parallelism must be positive!" );
+        }
+
+        if ( ImageFilterExecutor.parallelism != parallelism ) {
+            ForkJoinPool oldPool = pool;
+            ImageFilterExecutor.parallelism = parallelism;
+            pool = parallelism > 1 && oldPool != null ? new ForkJoinPool( parallelism ) : null;
+            if ( oldPool != null ) {
+                oldPool.shutdown();
+            }
+        }
+
+    }
+
+    /**
+     * Obtém a quantidade mínima de pixels para o processamento paralelo.
+     *
+     * @return A quantidade mínima de pixels.
+     */
+    public static synchronized int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Configura a quantidade mínima de pixels para o processamento paralelo.
+     * Imagens menores são processadas serialmente.
+     *
+     * @param parallelThreshold A quantidade mínima de pixels.
+     */
+    public static synchronized void setParallelThreshold( int parallelThreshold ) {
+
+        if ( parallelThreshold < 0 ) {
+            throw new IllegalArgumentException( "parallelThreshold must not be negative!" );
+        }
+
+        ImageFilterExecutor.parallelThreshold = parallelThreshold;
+
+    }
+
+    /**
+     * Tarefa que divide o intervalo de linhas ao meio até atingir o tamanho
+     * mínimo da faixa.
+     */
+    private static class RowStripTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        // as tarefas nunca são serializadas
+        private final transient RowStripOperation operation;
+        private final int startRow;
+        private final int endRow;
+        private final int minRows;
+
+        RowStripTask( RowStripOperation operation, int startRow, int endRow, int minRows ) {
+            this.operation = operation;
+            this.startRow = startRow;
+            this.endRow = endRow;
+            this.minRows = minRows;
+        }
+
+        @Override
+        protected void compute() {
+
+            if ( endRow - startRow <= minRows ) {
+                operation.apply( startRow, endRow );
+                return;
+            }
+
+            int middle = ( startRow + endRow ) >>> 1;
+            invokeAll(
+                new RowStripTask( operation, startRow, middle, minRows ),
+                new RowStripTask( operation, middle, endRow, minRows )
+            );
+
+        }
+
+    }
+
+}
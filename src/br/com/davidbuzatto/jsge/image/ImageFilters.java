@@ -0,0 +1,572 @@
+/*
+ * Copyright (C) 2025 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.image;
+
+import java.util.Arrays;
+
+/**
+ * Filtros de convolução e morfologia sobre arrays de pixels ARGB.
+ *
+ * Os desfoques são separáveis e usam somas acumuladas, então o custo por
+ * pixel não depende do raio. O desfoque gaussiano é aproximado por três
+ * desfoques de caixa sucessivos. Cada passada horizontal escreve o
+ * resultado transposto, de forma que a passada vertical também percorre a
+ * memória linha a linha. As passadas são distribuídas em faixas de linhas
+ * pelo ImageFilterExecutor.
+ *
+ * Uma instância mantém os buffers auxiliares entre as chamadas, o que
+ * torna viável aplicar efeitos a cada quadro sem alocações. Instâncias não
+ * devem ser compartilhadas entre threads. Em todos os métodos o destino
+ * pode ser o próprio array de origem.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class ImageFilters {
+
+    private int[] bufferA = new int[0];
+    private int[] bufferB = new int[0];
+    private int[] bufferC = new int[0];
+
+    /**
+     * Cria um novo conjunto de filtros.
+     */
+    public ImageFilters() {
+    }
+
+    /**
+     * Aplica um desfoque de caixa com o raio especificado.
+     *
+     * @param src Pixels de origem.
+     * @param dst Pixels de destino.
+     * @param width Largura da imagem.
+     * @param height Altura da imagem.
+     * @param radius Raio do desfoque, em pixels.
+     */
+    public void boxBlur( int[] src, int[] dst, int width, int height, int radius ) {
+
+        int n = width * height;
+        ensureCapacity( n );
+
+        premultiply( src, bufferA, width, height );
+        if ( radius > 0 ) {
+            boxTransposed( bufferA, bufferB, width, height, radius );
+            boxTransposed( bufferB, bufferA, height, width, radius );
+        }
+        unpremultiply( bufferA, dst, width, height );
+
+    }
+
+    /**
+     * Aplica um desfoque gaussiano, aproximado por três desfoques de caixa.
+     *
+     * @param src Pixels de origem.
+     * @param dst Pixels de destino.
+     * @param width Largura da imagem.
+     * @param height Altura da imagem.
+     * @param sigma Desvio padrão do desfoque, em pixels.
+     */
+    public void gaussianBlur( int[] src, int[] dst, int width, int height, double sigma ) {
+
+        ensureCapacity( width * height );
+
+        premultiply( src, bufferA, width, height );
+        gaussianPasses( width, height, sigma );
+        unpremultiply( bufferA, dst, width, height );
+
+    }
+
+    /**
+     * Realça os detalhes da imagem por máscara de nitidez (unsharp mask),
+     * somando a cada pixel a diferença entre ele e a sua versão desfocada.
+     *
+     * @param src Pixels de origem.
+     * @param dst Pixels de destino.
+     * @param width Largura da imagem.
+     * @param height Altura da imagem.
+     * @param sigma Desvio padrão do desfoque usado como referência.
+     * @param amount Intensidade do realce, normalmente entre 0.5 e 2.0.
+     */
+    public void sharpen( int[] src, int[] dst, int width, int height, double sigma, double amount ) {
+
+        ensureCapacity( width * height );
+
+        premultiply( src, bufferA, width, height );
+        gaussianPasses( width, height, sigma );
+        unpremultiply( bufferA, bufferC, width, height );
+
+        int[] blurred = bufferC;
+        int factor = (int) Math.round( amount * 256 );
+
+        ImageFilterExecutor.forEachRowStrip( width, height, ( startRow, endRow ) -> {
+            for ( int i = startRow * width; i < endRow * width; i++ ) {
+                int s = src[i];
+                int b = blurred[i];
+                int r = sharpenChannel( ( s >> 16 ) & 0xff, ( b >> 16 ) & 0xff, factor );
+                int g = sharpenChannel( ( s >> 8 ) & 0xff, ( b >> 8 ) & 0xff, factor );
+                int bl = sharpenChannel( s & 0xff, b & 0xff, factor );
+                dst[i] = ( s & 0xff000000 ) | ( r << 16 ) | ( g << 8 ) | bl;
+            }
+        });
+
+    }
+
+    private static int sharpenChannel( int source, int blurred, int factor ) {
+        int v = source + ( ( source - blurred ) * factor >> 8 );
+        return v < 0 ? 0 : v > 255 ? 255 : v;
+    }
+
+    /**
+     * Detecta bordas com o operador de Sobel sobre a luminância. O resultado
+     * é uma imagem em tons de cinza com a magnitude do gradiente, mantendo o
+     * canal alfa da origem.
+     *
+     * @param src Pixels de origem.
+     * @param dst Pixels de destino.
+     * @param width Largura da imagem.
+     * @param height Altura da imagem.
+     */
+    public void sobel( int[] src, int[] dst, int width, int height ) {
+
+        ensureCapacity( width * height );
+        int[] luma = bufferA;
+
+        ImageFilterExecutor.forEachRowStrip( width, height, ( startRow, endRow ) -> {
+            for ( int i = startRow * width; i < endRow * width; i++ ) {
+                int p = src[i];
+                luma[i] = ( ( ( p >> 16 ) & 0xff ) * 299 + ( ( p >> 8 ) & 0xff ) * 587 + ( p & 0xff ) * 114 ) / 1000;
+            }
+        });
+
+        int[] alpha = bufferB;
+        System.arraycopy( src, 0, alpha, 0, width * height );
+
+        ImageFilterExecutor.forEachRowStrip( width, height, ( startRow, endRow ) -> {
+            for ( int y = startRow; y < endRow; y++ ) {
+
+                int up = ( y > 0 ? y - 1 : y ) * width;
+                int row = y * width;
+                int down = ( y < height - 1 ? y + 1 : y ) * width;
+
+                for ( int x = 0; x < width; x++ ) {
+
+                    int l = x > 0 ? x - 1 : x;
+                    int r = x < width - 1 ? x + 1 : x;
+
+                    int gx = ( luma[up + r] + 2 * luma[row + r] + luma[down + r] ) -
+                             ( luma[up + l] + 2 * luma[row + l] + luma[down + l] );
+                    int gy = ( luma[down + l] + 2 * luma[down + x] + luma[down + r] ) -
+                             ( luma[up + l] + 2 * luma[up + x] + luma[up + r] );
+
+                    int m = Math.min( 255, (int) Math.sqrt( gx * gx + gy * gy ) );
+                    dst[row + x] = ( alpha[row + x] & 0xff000000 ) | ( m << 16 ) | ( m << 8 ) | m;
+
+                }
+
+            }
+        });
+
+    }
+
+    /**
+     * Dilata o canal alfa, ou seja, cada pixel recebe o maior alfa da sua
+     * vizinhança quadrada. As cores são mantidas.
+     *
+     * @param src Pixels de origem.
+     * @param dst Pixels de destino.
+     * @param width Largura da imagem.
+     * @param height Altura da imagem.
+     * @param radius Raio da vizinhança, em pixels.
+     */
+    public void dilateAlpha( int[] src, int[] dst, int width, int height, int radius ) {
+        morphologyAlpha( src, dst, width, height, radius, true );
+    }
+
+    /**
+     * Erode o canal alfa, ou seja, cada pixel recebe o menor alfa da sua
+     * vizinhança quadrada. As cores são mantidas.
+     *
+     * @param src Pixels de origem.
+     * @param dst Pixels de destino.
+     * @param width Largura da imagem.
+     * @param height Altura da imagem.
+     * @param radius Raio da vizinhança, em pixels.
+     */
+    public void erodeAlpha( int[] src, int[] dst, int width, int height, int radius ) {
+        morphologyAlpha( src, dst, width, height, radius, false );
+    }
+
+    /**
+     * Calcula a margem necessária ao redor da imagem para que uma sombra
+     * não seja cortada.
+     *
+     * @param sigma Desvio padrão do desfoque da sombra.
+     * @param offsetX Deslocamento x da sombra.
+     * @param offsetY Deslocamento y da sombra.
+     * @return A margem, em pixels.
+     */
+    public static int shadowMargin( double sigma, int offsetX, int offsetY ) {
+        return (int) Math.ceil( sigma * 3 ) + Math.max( Math.abs( offsetX ), Math.abs( offsetY ) );
+    }
+
+    /**
+     * Calcula a margem necessária ao redor da imagem para que um brilho
+     * externo não seja cortado.
+     *
+     * @param spread Expansão do contorno, em pixels.
+     * @param sigma Desvio padrão do desfoque do brilho.
+     * @return A margem, em pixels.
+     */
+    public static int glowMargin( int spread, double sigma ) {
+        return spread + (int) Math.ceil( sigma * 3 );
+    }
+
+    /**
+     * Desenha a imagem sobre a sua sombra projetada, que é a silhueta da
+     * imagem deslocada, desfocada e colorida. O destino tem a margem
+     * especificada em todos os lados e a imagem de origem fica na posição
+     * (margin, margin).
+     *
+     * @param src Pixels de origem.
+     * @param width Largura da origem.
+     * @param height Altura da origem.
+     * @param dst Pixels de destino, com (width + 2 * margin) * (height + 2 * margin) elementos.
+     * @param margin Margem do destino, normalmente obtida com shadowMargin.
+     * @param offsetX Deslocamento x da sombra.
+     * @param offsetY Deslocamento y da sombra.
+     * @param sigma Desvio padrão do desfoque da sombra.
+     * @param shadowColor Cor ARGB da sombra; o alfa define a opacidade.
+     */
+    public void dropShadow( int[] src, int width, int height, int[] dst, int margin, int offsetX, int offsetY, double sigma, int shadowColor ) {
+        silhouetteEffect( src, width, height, dst, margin, offsetX, offsetY, 0, sigma, shadowColor );
+    }
+
+    /**
+     * Desenha a imagem sobre um brilho externo, que é a silhueta da imagem
+     * expandida, desfocada e colorida. O destino tem a margem especificada
+     * em todos os lados e a imagem de origem fica na posição
+     * (margin, margin).
+     *
+     * @param src Pixels de origem.
+     * @param width Largura da origem.
+     * @param height Altura da origem.
+     * @param dst Pixels de destino, com (width + 2 * margin) * (height + 2 * margin) elementos.
+     * @param margin Margem do destino, normalmente obtida com glowMargin.
+     * @param spread Expansão do contorno antes do desfoque, em pixels.
+     * @param sigma Desvio padrão do desfoque do brilho.
+     * @param glowColor Cor ARGB do brilho; o alfa define a opacidade.
+     */
+    public void glow( int[] src, int width, int height, int[] dst, int margin, int spread, double sigma, int glowColor ) {
+        silhouetteEffect( src, width, height, dst, margin, 0, 0, spread, sigma, glowColor );
+    }
+
+    private void silhouetteEffect( int[] src, int width, int height, int[] dst, int margin, int offsetX, int offsetY, int spread, double sigma, int color ) {
+
+        int newWidth = width + 2 * margin;
+        int newHeight = height + 2 * margin;
+        int n = newWidth * newHeight;
+        ensureCapacity( n );
+
+        // silhueta (apenas alfa) deslocada dentro da área com margem
+        int[] silhouette = bufferA;
+        Arrays.fill( silhouette, 0, n, 0 );
+        for ( int y = 0; y < height; y++ ) {
+            int ty = y + margin + offsetY;
+            if ( ty < 0 || ty >= newHeight ) {
+                continue;
+            }
+            for ( int x = 0; x < width; x++ ) {
+                int tx = x + margin + offsetX;
+                if ( tx >= 0 && tx < newWidth ) {
+                    silhouette[ty * newWidth + tx] = src[y * width + x] & 0xff000000;
+                }
+            }
+        }
+
+        if ( spread > 0 ) {
+            alphaPasses( silhouette, newWidth, newHeight, spread, true );
+        }
+
+        // sem cores, a pré-multiplicação não é necessária
+        gaussianPasses( newWidth, newHeight, sigma );
+
+        int colorAlpha = color >>> 24;
+        int rgb = color & 0xffffff;
+
+        ImageFilterExecutor.forEachRowStrip( newWidth, newHeight, ( startRow, endRow ) -> {
+            for ( int y = startRow; y < endRow; y++ ) {
+                int sy = y - margin;
+                for ( int x = 0; x < newWidth; x++ ) {
+                    int i = y * newWidth + x;
+                    int a = ( bufferA[i] >>> 24 ) * colorAlpha / 255;
+                    int shadow = ( a << 24 ) | rgb;
+                    int sx = x - margin;
+                    if ( sx >= 0 && sx < width && sy >= 0 && sy < height ) {
+                        dst[i] = sourceOver( src[sy * width + sx], shadow );
+                    } else {
+                        dst[i] = shadow;
+                    }
+                }
+            }
+        });
+
+    }
+
+    /**
+     * Compõe um pixel ARGB não pré-multiplicado sobre outro.
+     */
+    private static int sourceOver( int s, int d ) {
+
+        int sa = s >>> 24;
+        if ( sa == 255 ) {
+            return s;
+        }
+        if ( sa == 0 ) {
+            return d;
+        }
+
+        int da = ( d >>> 24 ) * ( 255 - sa ) / 255;
+        int oa = sa + da;
+
+        int r = ( ( ( s >> 16 ) & 0xff ) * sa + ( ( d >> 16 ) & 0xff ) * da ) / oa;
+        int g = ( ( ( s >> 8 ) & 0xff ) * sa + ( ( d >> 8 ) & 0xff ) * da ) / oa;
+        int b = ( ( s & 0xff ) * sa + ( d & 0xff ) * da ) / oa;
+
+        return ( oa << 24 ) | ( r << 16 ) | ( g << 8 ) | b;
+
+    }
+
+    private void morphologyAlpha( int[] src, int[] dst, int width, int height, int radius, boolean max ) {
+
+        int n = width * height;
+        ensureCapacity( n );
+        System.arraycopy( src, 0, bufferA, 0, n );
+
+        if ( radius > 0 ) {
+            alphaPasses( bufferA, width, height, radius, max );
+        }
+
+        int[] result = bufferA;
+        ImageFilterExecutor.forEachRowStrip( width, height, ( startRow, endRow ) -> {
+            for ( int i = startRow * width; i < endRow * width; i++ ) {
+                dst[i] = ( result[i] & 0xff000000 ) | ( src[i] & 0xffffff );
+            }
+        });
+
+    }
+
+    /**
+     * Aplica máximo ou mínimo separável no canal alfa de bufferA, usando
+     * bufferB como intermediário e bufferC para as filas. As cores do
+     * resultado são descartadas.
+     */
+    private void alphaPasses( int[] data, int width, int height, int radius, boolean max ) {
+        minMaxTransposed( data, bufferB, bufferC, width, height, radius, max );
+        minMaxTransposed( bufferB, data, bufferC, height, width, radius, max );
+    }
+
+    /**
+     * Executa os três desfoques de caixa que aproximam o gaussiano sobre
+     * bufferA, usando bufferB como intermediário.
+     */
+    private void gaussianPasses( int width, int height, double sigma ) {
+
+        if ( sigma <= 0 ) {
+            return;
+        }
+
+        for ( int radius : gaussianBoxRadii( sigma, 3 ) ) {
+            if ( radius > 0 ) {
+                boxTransposed( bufferA, bufferB, width, height, radius );
+                boxTransposed( bufferB, bufferA, height, width, radius );
+            }
+        }
+
+    }
+
+    /**
+     * Calcula os raios de n desfoques de caixa cuja composição aproxima um
+     * desfoque gaussiano com o desvio padrão dado.
+     */
+    private static int[] gaussianBoxRadii( double sigma, int n ) {
+
+        double idealWidth = Math.sqrt( 12 * sigma * sigma / n + 1 );
+        int lower = (int) Math.floor( idealWidth );
+        if ( lower % 2 == 0 ) {
+            lower--;
+        }
+        int upper = lower + 2;
+
+        double idealCount = ( 12 * sigma * sigma - n * lower * lower - 4 * n * lower - 3 * n ) / ( -4.0 * lower - 4 );
+        int count = (int) Math.round( idealCount );
+
+        int[] radii = new int[n];
+        for ( int i = 0; i < n; i++ ) {
+            radii[i] = ( ( i < count ? lower : upper ) - 1 ) / 2;
+        }
+
+        return radii;
+
+    }
+
+    /**
+     * Desfoque de caixa horizontal por somas acumuladas, com as bordas
+     * estendidas. O resultado é escrito transposto (height x width).
+     */
+    private static void boxTransposed( int[] in, int[] out, int width, int height, int radius ) {
+
+        int size = 2 * radius + 1;
+        int half = size / 2;
+        int last = width - 1;
+
+        ImageFilterExecutor.forEachRowStrip( width, height, ( startRow, endRow ) -> {
+            for ( int y = startRow; y < endRow; y++ ) {
+
+                int base = y * width;
+                int sa = 0;
+                int sr = 0;
+                int sg = 0;
+                int sb = 0;
+
+                for ( int i = -radius; i <= radius; i++ ) {
+                    int p = in[base + ( i < 0 ? 0 : i > last ? last : i )];
+                    sa += p >>> 24;
+                    sr += ( p >> 16 ) & 0xff;
+                    sg += ( p >> 8 ) & 0xff;
+                    sb += p & 0xff;
+                }
+
+                for ( int x = 0; x < width; x++ ) {
+
+                    out[x * height + y] = ( ( ( sa + half ) / size ) << 24 ) |
+                                          ( ( ( sr + half ) / size ) << 16 ) |
+                                          ( ( ( sg + half ) / size ) << 8 ) |
+                                          ( ( sb + half ) / size );
+
+                    int outIndex = x - radius;
+                    int inIndex = x + radius + 1;
+                    int po = in[base + ( outIndex < 0 ? 0 : outIndex )];
+                    int pi = in[base + ( inIndex > last ? last : inIndex )];
+                    sa += ( pi >>> 24 ) - ( po >>> 24 );
+                    sr += ( ( pi >> 16 ) & 0xff ) - ( ( po >> 16 ) & 0xff );
+                    sg += ( ( pi >> 8 ) & 0xff ) - ( ( po >> 8 ) & 0xff );
+                    sb += ( pi & 0xff ) - ( po & 0xff );
+
+                }
+
+            }
+        });
+
+    }
+
+    /**
+     * Máximo ou mínimo horizontal do canal alfa em uma janela deslizante,
+     * usando uma fila monotônica, com custo constante amortizado por pixel.
+     * O resultado é escrito transposto (height x width).
+     *
+     * Cada faixa guarda a sua fila em queues, a partir do índice da sua
+     * primeira linha, o que dispensa alocações e não se sobrepõe às filas
+     * das outras faixas.
+     */
+    private static void minMaxTransposed( int[] in, int[] out, int[] queues, int width, int height, int radius, boolean max ) {
+
+        ImageFilterExecutor.forEachRowStrip( width, height, ( startRow, endRow ) -> {
+
+            int offset = startRow * width;
+
+            for ( int y = startRow; y < endRow; y++ ) {
+
+                int base = y * width;
+                int head = offset;
+                int tail = offset;
+                int next = 0;
+
+                for ( int x = 0; x < width; x++ ) {
+
+                    int hi = Math.min( width - 1, x + radius );
+                    while ( next <= hi ) {
+                        int v = in[base + next] >>> 24;
+                        while ( tail > head ) {
+                            int q = in[base + queues[tail - 1]] >>> 24;
+                            if ( max ? q <= v : q >= v ) {
+                                tail--;
+                            } else {
+                                break;
+                            }
+                        }
+                        queues[tail++] = next++;
+                    }
+
+                    while ( queues[head] < x - radius ) {
+                        head++;
+                    }
+
+                    out[x * height + y] = in[base + queues[head]] & 0xff000000;
+
+                }
+
+            }
+
+        });
+
+    }
+
+    private static void premultiply( int[] in, int[] out, int width, int height ) {
+        ImageFilterExecutor.forEachRowStrip( width, height, ( startRow, endRow ) -> {
+            for ( int i = startRow * width; i < endRow * width; i++ ) {
+                int p = in[i];
+                int a = p >>> 24;
+                if ( a == 255 ) {
+                    out[i] = p;
+                } else {
+                    int r = ( ( ( p >> 16 ) & 0xff ) * a + 127 ) / 255;
+                    int g = ( ( ( p >> 8 ) & 0xff ) * a + 127 ) / 255;
+                    int b = ( ( p & 0xff ) * a + 127 ) / 255;
+                    out[i] = ( a << 24 ) | ( r << 16 ) | ( g << 8 ) | b;
+                }
+            }
+        });
+    }
+
+    private static void unpremultiply( int[] in, int[] out, int width, int height ) {
+        ImageFilterExecutor.forEachRowStrip( width, height, ( startRow, endRow ) -> {
+            for ( int i = startRow * width; i < endRow * width; i++ ) {
+                int p = in[i];
+                int a = p >>> 24;
+                if ( a == 255 ) {
+                    out[i] = p;
+                } else if ( a == 0 ) {
+                    out[i] = 0;
+                } else {
+                    int half = a / 2;
+                    int r = Math.min( 255, ( ( ( p >> 16 ) & 0xff ) * 255 + half ) / a );
+                    int g = Math.min( 255, ( ( ( p >> 8 ) & 0xff ) * 255 + half ) / a );
+                    int b = Math.min( 255, ( ( p & 0xff ) * 255 + half ) / a );
+                    out[i] = ( a << 24 ) | ( r << 16 ) | ( g << 8 ) | b;
+                }
+            }
+        });
+    }
+
+    private void ensureCapacity( int n ) {
+        if ( bufferA.length < n ) {
+            bufferA = new int[n];
+            bufferB = new int[n];
+            bufferC = new int[n];
+        }
+    }
+
+}
@@ -0,0 +1,835 @@
+/*
+ * Copyright (C) 2025 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.image;
+
+import br.com.davidbuzatto.jsge.core.utils.ColorUtils;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sequência preguiçosa de operações sobre imagens.
+ *
+ * As operações são apenas registradas e executadas juntas quando apply()
+ * é invocado, na ordem em que foram registradas. Cada sequência de
+ * operações por pixel consecutivas (tonalidade, inversão, escala de cinza,
+ * contraste, brilho, troca de cor e transparência) é fundida em uma única
+ * passada sobre os pixels: as operações que atuam em cada canal
+ * separadamente são compostas em uma única tabela por canal. Cada sequência
+ * de operações geométricas consecutivas é composta em uma única
+ * transformação; inversões e rotações de 90 graus são feitas por
+ * remapeamento exato, na mesma passada das operações por pixel seguintes,
+ * enquanto rotações arbitrárias e redimensionamentos usam uma única
+ * reamostragem.
+ *
+ * Exemplo:
+ * <pre>
+ * image.pipeline()
+ *      .colorTint( EngineFrame.ORANGE )
+ *      .colorContrast( 0.2 )
+ *      .colorBrightness( 0.1 )
+ *      .flipHorizontal()
+ *      .apply();
+ * </pre>
+ *
+ * Uma mesma sequência pode ser aplicada a várias imagens, por exemplo aos
+ * quadros de uma animação, por meio de apply( Image ).
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class ImagePipeline {
+
+    private static final int OP_TINT = 0;
+    private static final int OP_INVERT = 1;
+    private static final int OP_GRAYSCALE = 2;
+    private static final int OP_CONTRAST = 3;
+    private static final int OP_BRIGHTNESS = 4;
+    private static final int OP_REPLACE = 5;
+    private static final int OP_FADE = 6;
+    private static final int OP_FLIP_VERTICAL = 7;
+    private static final int OP_FLIP_HORIZONTAL = 8;
+    private static final int OP_ROTATE_CW = 9;
+    private static final int OP_ROTATE_CCW = 10;
+    private static final int OP_ROTATE = 11;
+    private static final int OP_RESIZE = 12;
+    private static final int OP_RESIZE_WIDTH = 13;
+    private static final int OP_RESIZE_PERCENTAGE = 14;
+
+    private static final int STAGE_TABLES = 0;
+    private static final int STAGE_GRAYSCALE = 1;
+    private static final int STAGE_REPLACE = 2;
+
+    private final Image image;
+    private final List<Operation> operations;
+
+    // trechos compilados, descartados quando uma operação é adicionada
+    private List<Segment> segments;
+    private boolean compiled;
+
+    /**
+     * Cria uma sequência vazia, que deve ser aplicada com apply( Image ).
+     */
+    public ImagePipeline() {
+        this( null );
+    }
+
+    /**
+     * Cria uma sequência vazia associada a uma imagem.
+     *
+     * @param image A imagem que será alterada por apply().
+     */
+    public ImagePipeline( Image image ) {
+        this.image = image;
+        this.operations = new ArrayList<>();
+    }
+
+    /**
+     * Registra a alteração da tonalidade.
+     *
+     * @param color A cor que será usada para tonalizar a imagem.
+     * @return A sequência, permitindo encadeamento.
+     */
+    public ImagePipeline colorTint( Color color ) {
+        return add( new Operation( OP_TINT ).color( color.getRGB() ) );
+    }
+
+    /**
+     * Registra a inversão das cores.
+     *
+     * @return A sequência, permitindo encadeamento.
+     */
+    public ImagePipeline colorInvert() {
+        return add( new Operation( OP_INVERT ) );
+    }
+
+    /**
+     * Registra a conversão para escala de cinza.
+     *
+     * @return A sequência, permitindo encadeamento.
+     */
+    public ImagePipeline colorGrayscale() {
+        return add( new Operation( OP_GRAYSCALE ) );
+    }
+
+    /**
+     * Registra o ajuste de contraste. O fator de contraste vai de -1.0 a 1.0.
+     *
+     * @param contrast O fator de contraste de -1.0 a 1.0.
+     * @return A sequência, permitindo encadeamento.
+     */
+    public ImagePipeline colorContrast( double contrast ) {
+        return add( new Operation( OP_CONTRAST ).value( contrast ) );
+    }
+
+    /**
+     * Registra o ajuste de brilho. O fator de brilho vai de -1.0 a 1.0.
+     *
+     * @param brightness O fator de brilho de -1.0 a 1.0.
+     * @return A sequência, permitindo encadeamento.
+     */
+    public ImagePipeline colorBrightness( double brightness ) {
+        return add( new Operation( OP_BRIGHTNESS ).value( brightness ) );
+    }
+
+    /**
+     * Registra a troca de uma cor por outra.
+     *
+     * @param color A cor que será substituída.
+     * @param replace A cor que substituirá a outra cor.
+     * @return A sequência, permitindo encadeamento.
+     */
+    public ImagePipeline colorReplace( Color color, Color replace ) {
+        return add( new Operation( OP_REPLACE ).color( color.getRGB() ).replace( replace.getRGB() ) );
+    }
+
+    /**
+     * Registra a multiplicação do canal alfa de cada pixel por um fator.
+     *
+     * @param alpha O fator, de 0.0 (transparente) a 1.0 (sem alteração).
+     * @return A sequência, permitindo encadeamento.
+     */
+    public ImagePipeline fade( double alpha ) {
+        return add( new Operation( OP_FADE ).value( alpha ) );
+    }
+
+    /**
+     * Registra a inversão vertical.
+     *
+     * @return A sequência, permitindo encadeamento.
+     */
+    public ImagePipeline flipVertical() {
+        return add( new Operation( OP_FLIP_VERTICAL ) );
+    }
+
+    /**
+     * Registra a inversão horizontal.
+     *
+     * @return A sequência, permitindo encadeamento.
+     */
+    public ImagePipeline flipHorizontal() {
+        return add( new Operation( OP_FLIP_HORIZONTAL ) );
+    }
+
+    /**
+     * Registra a rotação em 90 graus no sentido horário.
+     *
+     * @return A sequência, permitindo encadeamento.
+     */
+    public ImagePipeline rotateCW() {
+        return add( new Operation( OP_ROTATE_CW ) );
+    }
+
+    /**
+     * Registra a rotação em 90 graus no sentido anti-horário.
+     *
+     * @return A sequência, permitindo encadeamento.
+     */
+    public ImagePipeline rotateCCW() {
+        return add( new Operation( OP_ROTATE_CCW ) );
+    }
+
+    /**
+     * Registra a rotação. As dimensões resultantes seguem as de
+     * ImageUtils.imageRotate.
+     *
+     * @param rotation Rotação em graus (sentido horário).
+     * @return A sequência, permitindo encadeamento.
+     */
+    public ImagePipeline rotate( double rotation ) {
+        return add( new Operation( OP_ROTATE ).value( rotation ) );
+    }
+
+    /**
+     * Registra o redimensionamento.
+     *
+     * @param newImageWidth A nova largura.
+     * @param newImageHeight A nova altura.
+     * @return A sequência, permitindo encadeamento.
+     */
+    public ImagePipeline resize( int newImageWidth, int newImageHeight ) {
+        return add( new Operation( OP_RESIZE ).size( newImageWidth, newImageHeight ) );
+    }
+
+    /**
+     * Registra o redimensionamento.
+     *
+     * @param newImageWidth A nova largura. A nova altura será calculada
+     * proporcionamente em relação à nova largura.
+     * @return A sequência, permitindo encadeamento.
+     */
+    public ImagePipeline resize( int newImageWidth ) {
+        return add( new Operation( OP_RESIZE_WIDTH ).size( newImageWidth, 0 ) );
+    }
+
+    /**
+     * Registra o redimensionamento.
+     *
+     * @param percentage A porcentagem (0 a 1) de redimensionamento da imagem.
+     * @return A sequência, permitindo encadeamento.
+     */
+    public ImagePipeline resize( double percentage ) {
+        return add( new Operation( OP_RESIZE_PERCENTAGE ).value( percentage ) );
+    }
+
+    /**
+     * Remove todas as operações registradas.
+     *
+     * @return A sequência, permitindo encadeamento.
+     */
+    public ImagePipeline clear() {
+        operations.clear();
+        compiled = false;
+        return this;
+    }
+
+    /**
+     * Aplica as operações na imagem associada.
+     *
+     * @return A imagem associada, alterada.
+     */
+    public Image apply() {
+        if ( image == null ) {
+            throw new IllegalStateException( "this pipeline is not associated with an image!" );
+        }
+        return apply( image );
+    }
+
+    /**
+     * Aplica as operações em uma imagem, alterando-a. Quando não há
+     * operações geométricas e a imagem é ARGB, os pixels são reescritos na
+     * própria imagem.
+     *
+     * @param target A imagem que será alterada.
+     * @return A imagem alterada.
+     */
+    public Image apply( Image target ) {
+
+        Image result = process( target, true );
+
+        if ( result != target ) {
+            target.buffImage = result.buffImage;
+        }
+
+        return target;
+
+    }
+
+    /**
+     * Cria uma cópia da imagem associada com as operações aplicadas.
+     *
+     * @return A nova imagem.
+     */
+    public Image applyCopy() {
+        if ( image == null ) {
+            throw new IllegalStateException( "this pipeline is not associated with an image!" );
+        }
+        return applyCopy( image );
+    }
+
+    /**
+     * Cria uma cópia de uma imagem com as operações aplicadas. A imagem
+     * original não é alterada.
+     *
+     * @param source A imagem de origem.
+     * @return A nova imagem.
+     */
+    public Image applyCopy( Image source ) {
+        return process( source, false );
+    }
+
+    private ImagePipeline add( Operation operation ) {
+        operations.add( operation );
+        compiled = false;
+        return this;
+    }
+
+    /**
+     * Executa as operações, retornando a própria imagem quando ela puder
+     * ser alterada no lugar.
+     */
+    private Image process( Image source, boolean inPlace ) {
+
+        compileStages();
+
+        int width = source.getWidth();
+        int height = source.getHeight();
+        int[] pixels = ImageUtils.getPixels( source );
+        boolean transformed = false;
+
+        for ( Segment segment : segments ) {
+
+            if ( !segment.geometry.isEmpty() ) {
+
+                // composição das operações geométricas, da origem para o destino
+                AffineTransform geometry = new AffineTransform();
+                int[] size = { width, height };
+                for ( Operation op : segment.geometry ) {
+                    composeGeometry( op, geometry, size );
+                }
+
+                if ( !geometry.isIdentity() ) {
+
+                    transformed = true;
+
+                    if ( isExactRemap( geometry ) ) {
+                        int[] newPixels = new int[size[0] * size[1]];
+                        remapPixels( segment, pixels, width, newPixels, size[0], size[1], geometry );
+                        pixels = newPixels;
+                        width = size[0];
+                        height = size[1];
+                        continue;
+                    }
+
+                    // reamostragem única para rotações arbitrárias e redimensionamentos
+                    Image processed = new Image( width, height );
+                    ImageUtils.setPixels( processed, pixels );
+
+                    Image newImage = new Image( Math.max( size[0], 1 ), Math.max( size[1], 1 ) );
+                    Graphics2D g2d = newImage.createGraphics();
+                    g2d.drawImage( processed.buffImage, geometry, null );
+                    g2d.dispose();
+
+                    pixels = ImageUtils.getPixels( newImage );
+                    width = newImage.getWidth();
+                    height = newImage.getHeight();
+
+                }
+
+            }
+
+            processPixels( segment, pixels, width, height );
+
+        }
+
+        if ( !transformed && inPlace && source.buffImage.getType() == BufferedImage.TYPE_INT_ARGB ) {
+            ImageUtils.setPixels( source, pixels );
+            return source;
+        }
+
+        Image newImage = new Image( width, height );
+        ImageUtils.setPixels( newImage, pixels );
+        return newImage;
+
+    }
+
+    /**
+     * Acumula em geometry a transformação de uma operação geométrica,
+     * atualizando as dimensões correntes em size.
+     */
+    private static void composeGeometry( Operation op, AffineTransform geometry, int[] size ) {
+
+        int w = size[0];
+        int h = size[1];
+
+        switch ( op.type ) {
+
+            case OP_FLIP_VERTICAL:
+                geometry.preConcatenate( new AffineTransform( 1, 0, 0, -1, 0, h ) );
+                break;
+
+            case OP_FLIP_HORIZONTAL:
+                geometry.preConcatenate( new AffineTransform( -1, 0, 0, 1, w, 0 ) );
+                break;
+
+            case OP_ROTATE_CW:
+                rotateCW( geometry, size );
+                break;
+
+            case OP_ROTATE_CCW:
+                geometry.preConcatenate( new AffineTransform( 0, -1, 1, 0, 0, w ) );
+                size[0] = h;
+                size[1] = w;
+                break;
+
+            case OP_ROTATE: {
+
+                // mesmo procedimento de ImageUtils.imageRotate
+                double rotation = op.value;
+                rotation -= ( (int) ( rotation / 360.0 ) ) * 360.0;
+                if ( rotation < 0.0 ) {
+                    rotation = 360.0 + rotation;
+                }
+
+                while ( rotation >= 90.0 ) {
+                    rotation -= 90.0;
+                    rotateCW( geometry, size );
+                }
+
+                if ( rotation > 0.0 ) {
+
+                    w = size[0];
+                    h = size[1];
+                    double radians = Math.toRadians( rotation );
+                    int newWidth = (int) ( w * Math.cos( radians ) + h * Math.sin( radians ) );
+                    int newHeight = (int) ( w * Math.sin( radians ) + h * Math.cos( radians ) );
+
+                    AffineTransform t = new AffineTransform();
+                    t.translate( newWidth / 2, newHeight / 2 );
+                    t.rotate( radians );
+                    t.translate( -w / 2, -h / 2 );
+                    geometry.preConcatenate( t );
+
+                    size[0] = newWidth;
+                    size[1] = newHeight;
+
+                }
+
+                break;
+
+            }
+
+            case OP_RESIZE:
+                scale( geometry, size, op.width, op.height );
+                break;
+
+            case OP_RESIZE_WIDTH: {
+                double percentage = ( (double) op.width ) / w;
+                scale( geometry, size, op.width, (int) ( h * percentage ) );
+                break;
+            }
+
+            case OP_RESIZE_PERCENTAGE:
+                scale( geometry, size, (int) ( w * op.value ), (int) ( h * op.value ) );
+                break;
+
+            default:
+                break;
+
+        }
+
+    }
+
+    private static void rotateCW( AffineTransform geometry, int[] size ) {
+        int w = size[0];
+        int h = size[1];
+        geometry.preConcatenate( new AffineTransform( 0, 1, -1, 0, h, 0 ) );
+        size[0] = h;
+        size[1] = w;
+    }
+
+    private static void scale( AffineTransform geometry, int[] size, int newWidth, int newHeight ) {
+        if ( newWidth != size[0] || newHeight != size[1] ) {
+            geometry.preConcatenate( AffineTransform.getScaleInstance( (double) newWidth / size[0], (double) newHeight / size[1] ) );
+        }
+        size[0] = newWidth;
+        size[1] = newHeight;
+    }
+
+    /**
+     * Verifica se a transformação apenas reordena pixels inteiros, ou seja,
+     * é uma composição de inversões e rotações de 90 graus.
+     */
+    private static boolean isExactRemap( AffineTransform t ) {
+
+        double m00 = t.getScaleX();
+        double m01 = t.getShearX();
+        double m10 = t.getShearY();
+        double m11 = t.getScaleY();
+
+        boolean axisAligned = ( m01 == 0 && m10 == 0 && Math.abs( m00 ) == 1 && Math.abs( m11 ) == 1 ) ||
+                              ( m00 == 0 && m11 == 0 && Math.abs( m01 ) == 1 && Math.abs( m10 ) == 1 );
+
+        return axisAligned &&
+               t.getTranslateX() == Math.rint( t.getTranslateX() ) &&
+               t.getTranslateY() == Math.rint( t.getTranslateY() );
+
+    }
+
+    /**
+     * Remapeia os pixels pela transformação exata, aplicando os estágios por
+     * pixel do trecho na mesma passada.
+     */
+    private static void remapPixels( Segment segment, int[] pixels, int width, int[] newPixels, int newWidth, int newHeight, AffineTransform geometry ) {
+
+        AffineTransform inverse;
+        try {
+            inverse = geometry.createInverse();
+        } catch ( NoninvertibleTransformException exc ) {
+            throw new IllegalStateException( exc );
+        }
+
+        // centro do pixel (0, 0) do destino e passos em x e em y na origem
+        Point2D origin = inverse.transform( new Point2D.Double( 0.5, 0.5 ), null );
+        int baseX = (int) Math.floor( origin.getX() );
+        int baseY = (int) Math.floor( origin.getY() );
+        int stepXx = (int) inverse.getScaleX();
+        int stepXy = (int) inverse.getShearY();
+        int stepYx = (int) inverse.getShearX();
+        int stepYy = (int) inverse.getScaleY();
+
+        ImageFilterExecutor.forEachRowStrip( newWidth, newHeight, ( startRow, endRow ) -> {
+            for ( int y = startRow; y < endRow; y++ ) {
+                int sx = baseX + stepYx * y;
+                int sy = baseY + stepYy * y;
+                int index = y * newWidth;
+                for ( int x = 0; x < newWidth; x++ ) {
+                    newPixels[index + x] = segment.processPixel( pixels[sy * width + sx] );
+                    sx += stepXx;
+                    sy += stepXy;
+                }
+            }
+        });
+
+    }
+
+    /**
+     * Aplica os estágios por pixel de um trecho no próprio array.
+     */
+    private static void processPixels( Segment segment, int[] pixels, int width, int height ) {
+
+        if ( segment.stageCount == 0 ) {
+            return;
+        }
+
+        ImageFilterExecutor.forEachRowStrip( width, height, ( startRow, endRow ) -> {
+            for ( int i = startRow * width; i < endRow * width; i++ ) {
+                pixels[i] = segment.processPixel( pixels[i] );
+            }
+        });
+
+    }
+
+    /**
+     * Compila as operações em trechos, respeitando a ordem registrada. Cada
+     * trecho é formado pelas operações geométricas consecutivas seguidas
+     * pelas operações por pixel consecutivas. Dentro de um trecho, as
+     * operações que atuam em cada canal separadamente são compostas em uma
+     * única tabela de 256 entradas por canal.
+     */
+    private void compileStages() {
+
+        if ( compiled ) {
+            return;
+        }
+
+        int n = operations.size();
+        segments = new ArrayList<>();
+        Segment segment = null;
+        int[][] tables = null;
+
+        for ( Operation op : operations ) {
+
+            if ( isGeometric( op ) ) {
+                // uma operação geométrica depois de operações por pixel inicia um novo trecho
+                if ( segment == null || segment.stageCount > 0 || tables != null ) {
+                    if ( segment != null ) {
+                        segment.flushTables( tables );
+                        tables = null;
+                    }
+                    segment = new Segment( n );
+                    segments.add( segment );
+                }
+                segment.geometry.add( op );
+                continue;
+            }
+
+            if ( segment == null ) {
+                segment = new Segment( n );
+                segments.add( segment );
+            }
+
+            switch ( op.type ) {
+
+                case OP_TINT:
+                case OP_INVERT:
+                case OP_CONTRAST:
+                case OP_BRIGHTNESS:
+                case OP_FADE:
+                    if ( tables == null ) {
+                        tables = identityTables();
+                    }
+                    composeTables( op, tables );
+                    break;
+
+                case OP_GRAYSCALE:
+                    segment.flushTables( tables );
+                    tables = null;
+                    segment.stageTypes[segment.stageCount++] = STAGE_GRAYSCALE;
+                    break;
+
+                case OP_REPLACE:
+                    segment.flushTables( tables );
+                    tables = null;
+                    segment.stageTypes[segment.stageCount] = STAGE_REPLACE;
+                    segment.stageTargets[segment.stageCount] = op.color;
+                    segment.stageReplacements[segment.stageCount] = op.replace;
+                    segment.stageCount++;
+                    break;
+
+            }
+
+        }
+
+        if ( segment != null ) {
+            segment.flushTables( tables );
+        }
+
+        compiled = true;
+
+    }
+
+    private static boolean isGeometric( Operation op ) {
+        return op.type >= OP_FLIP_VERTICAL;
+    }
+
+    private static int[][] identityTables() {
+        int[][] tables = new int[4][256];
+        for ( int c = 0; c < 4; c++ ) {
+            for ( int v = 0; v < 256; v++ ) {
+                tables[c][v] = v;
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * Compõe uma operação por canal nas tabelas acumuladas (alfa, vermelho,
+     * verde e azul), usando a mesma aritmética de ImageUtils.
+     */
+    private static void composeTables( Operation op, int[][] tables ) {
+
+        int[] red = new int[256];
+        int[] green = new int[256];
+        int[] blue = new int[256];
+        int[] alpha = new int[256];
+
+        for ( int v = 0; v < 256; v++ ) {
+
+            red[v] = v;
+            green[v] = v;
+            blue[v] = v;
+            alpha[v] = v;
+
+            switch ( op.type ) {
+                case OP_TINT:
+                    red[v] = v * ( ( op.color >> 16 ) & 0xff ) / 255;
+                    green[v] = v * ( ( op.color >> 8 ) & 0xff ) / 255;
+                    blue[v] = v * ( op.color & 0xff ) / 255;
+                    break;
+                case OP_INVERT:
+                    red[v] = 255 - v;
+                    green[v] = 255 - v;
+                    blue[v] = 255 - v;
+                    break;
+                case OP_CONTRAST: {
+                    Color c = ColorUtils.colorContrast( new Color( v, v, v ), op.value );
+                    red[v] = c.getRed();
+                    green[v] = c.getGreen();
+                    blue[v] = c.getBlue();
+                    break;
+                }
+                case OP_BRIGHTNESS: {
+                    Color c = ColorUtils.colorBrightness( new Color( v, v, v ), op.value );
+                    red[v] = c.getRed();
+                    green[v] = c.getGreen();
+                    blue[v] = c.getBlue();
+                    break;
+                }
+                case OP_FADE:
+                    alpha[v] = Math.max( 0, Math.min( 255, (int) ( v * op.value ) ) );
+                    break;
+            }
+
+        }
+
+        for ( int v = 0; v < 256; v++ ) {
+            tables[0][v] = alpha[tables[0][v]];
+            tables[1][v] = red[tables[1][v]];
+            tables[2][v] = green[tables[2][v]];
+            tables[3][v] = blue[tables[3][v]];
+        }
+
+    }
+
+    /**
+     * Um trecho compilado: as operações geométricas consecutivas e os
+     * estágios por pixel aplicados depois delas.
+     */
+    private static class Segment {
+
+        final List<Operation> geometry = new ArrayList<>();
+        final int[] stageTypes;
+        final int[][] stageTables;
+        final int[] stageTargets;
+        final int[] stageReplacements;
+        int stageCount;
+
+        Segment( int capacity ) {
+            stageTypes = new int[capacity];
+            stageTables = new int[capacity][];
+            stageTargets = new int[capacity];
+            stageReplacements = new int[capacity];
+        }
+
+        /**
+         * Transforma as tabelas acumuladas em um estágio.
+         */
+        void flushTables( int[][] tables ) {
+
+            if ( tables != null ) {
+
+                // alfa, vermelho, verde e azul já deslocados para suas posições
+                int[] packed = new int[1024];
+                for ( int v = 0; v < 256; v++ ) {
+                    packed[v] = tables[1][v] << 16;
+                    packed[256 + v] = tables[2][v] << 8;
+                    packed[512 + v] = tables[3][v];
+                    packed[768 + v] = tables[0][v] << 24;
+                }
+
+                stageTypes[stageCount] = STAGE_TABLES;
+                stageTables[stageCount] = packed;
+                stageCount++;
+
+            }
+
+        }
+
+        int processPixel( int pixel ) {
+
+            for ( int i = 0; i < stageCount; i++ ) {
+                switch ( stageTypes[i] ) {
+                    case STAGE_TABLES: {
+                        int[] t = stageTables[i];
+                        pixel = t[768 + ( pixel >>> 24 )] | t[( pixel >> 16 ) & 0xff] |
+                                t[256 + ( ( pixel >> 8 ) & 0xff )] | t[512 + ( pixel & 0xff )];
+                        break;
+                    }
+                    case STAGE_GRAYSCALE: {
+                        int gray = ( ( ( pixel >> 16 ) & 0xff ) + ( ( pixel >> 8 ) & 0xff ) + ( pixel & 0xff ) ) / 3;
+                        pixel = ( pixel & 0xff000000 ) | ( gray << 16 ) | ( gray << 8 ) | gray;
+                        break;
+                    }
+                    case STAGE_REPLACE:
+                        if ( pixel == stageTargets[i] ) {
+                            pixel = stageReplacements[i];
+                        }
+                        break;
+                }
+            }
+
+            return pixel;
+
+        }
+
+    }
+
+    /**
+     * Uma operação registrada.
+     */
+    private static class Operation {
+
+        final int type;
+        double value;
+        int color;
+        int replace;
+        int width;
+        int height;
+
+        Operation( int type ) {
+            this.type = type;
+        }
+
+        Operation value( double value ) {
+            this.value = value;
+            return this;
+        }
+
+        Operation color( int color ) {
+            this.color = color;
+            return this;
+        }
+
+        Operation replace( int replace ) {
+            this.replace = replace;
+            return this;
+        }
+
+        Operation size( int width, int height ) {
+            this.width = width;
+            this.height = height;
+            return this;
+        }
+
+    }
+
+}
@@ -109,15 +109,18 @@ public interface ImageUtils {
      */
     public static Image imageFlipVertical( Image image ) {
         
-        Image newImage = new Image( image.getWidth(), image.getHeight() );
-        
-        for ( int i = 0; i < image.getWidth(); i++ ) {
-            for ( int j = 0; j < image.getHeight(); j++ ) {
-                newImage.setRGB( i, j, image.getRGB( i, image.getHeight() - j - 1 ) );
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = readPixels( image.buffImage );
+        int[] newPixels = new int[pixels.length];
+        
+        ImageFilterExecutor.forEachRowStrip( width, height, ( startRow, endRow ) -> {
+            for ( int i = startRow; i < endRow; i++ ) {
+                System.arraycopy( pixels, ( height - i - 1 ) * width, newPixels, i * width, width );
             }
-        }
+        });
         
-        return newImage;
+        return createImage( width, height, newPixels );
         
     }
     
@@ -129,15 +132,21 @@ public interface ImageUtils {
      */
     public static Image imageFlipHorizontal( Image image ) {
         
-        Image newImage = new Image( image.getWidth(), image.getHeight() );
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = readPixels( image.buffImage );
         
-        for ( int i = 0; i < image.getHeight(); i++ ) {
-            for ( int j = 0; j < image.getWidth(); j++ ) {
-                newImage.setRGB( j, i, image.getRGB( image.getWidth() - j - 1, i ) );
+        ImageFilterExecutor.forEachRowStrip( width, height, ( startRow, endRow ) -> {
+            for ( int i = startRow; i < endRow; i++ ) {
+                for ( int left = i * width, right = left + width - 1; left < right; left++, right-- ) {
+                    int pixel = pixels[left];
+                    pixels[left] = pixels[right];
+                    pixels[right] = pixel;
+                }
             }
-        }
+        });
         
-        return newImage;
+        return createImage( width, height, pixels );
         
     }
     
@@ -228,22 +237,20 @@ public interface ImageUtils {
      */
     public static Image imageColorTint( Image image, Color color ) {
         
-        Image newImage = new Image( image.getWidth(), image.getHeight() );
-        
-        for ( int i = 0; i < image.getHeight(); i++ ) {
-            for ( int j = 0; j < image.getWidth(); j++ ) {
-                
-                Color c = ColorUtils.colorTint( new Color( image.getRGB( j, i ) ), color );
-                int pixel = image.getRGB( j, i );
-                int alpha = (pixel >> 24) & 0xff;
-                c = new Color( c.getRed(), c.getGreen(), c.getBlue(), alpha );
-                
-                newImage.setRGB( j, i, c.getRGB() );
-                
-            }
+        int[] pixels = readPixels( image.buffImage );
+        int[] red = new int[256];
+        int[] green = new int[256];
+        int[] blue = new int[256];
+        
+        // mesma aritmética inteira de ColorUtils.colorTint, tabelada por canal
+        for ( int v = 0; v < 256; v++ ) {
+            red[v] = ( v * color.getRed() / 255 ) << 16;
+            green[v] = ( v * color.getGreen() / 255 ) << 8;
+            blue[v] = v * color.getBlue() / 255;
         }
         
-        return newImage;
+        applyChannelTables( pixels, image.getWidth(), image.getHeight(), red, green, blue );
+        return createImage( image.getWidth(), image.getHeight(), pixels );
         
     }
     
@@ -255,20 +262,17 @@ public interface ImageUtils {
      */
     public static Image imageColorInvert( Image image ) {
         
-        Image newImage = new Image( image.getWidth(), image.getHeight() );
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = readPixels( image.buffImage );
         
-        for ( int i = 0; i < image.getHeight(); i++ ) {
-            for ( int j = 0; j < image.getWidth(); j++ ) {
-                int pixel = image.getRGB( j, i );
-                int alpha = (pixel >> 24) & 0xff;
-                int red = (pixel >> 16) & 0xff;
-                int green = (pixel >> 8) & 0xff;
-                int blue = (pixel >> 0) & 0xff;
-                newImage.setRGB( j, i, new Color( 255 - red, 255 - green, 255 - blue, alpha ).getRGB() );
+        ImageFilterExecutor.forEachRowStrip( width, height, ( startRow, endRow ) -> {
+            for ( int i = startRow * width; i < endRow * width; i++ ) {
+                pixels[i] ^= 0x00ffffff;
             }
-        }
+        });
         
-        return newImage;
+        return createImage( width, height, pixels );
         
     }
     
@@ -280,21 +284,19 @@ public interface ImageUtils {
      */
     public static Image imageColorGrayscale( Image image ) {
         
-        Image newImage = new Image( image.getWidth(), image.getHeight() );
-        
-        for ( int i = 0; i < image.getHeight(); i++ ) {
-            for ( int j = 0; j < image.getWidth(); j++ ) {
-                int pixel = image.getRGB( j, i );
-                int alpha = (pixel >> 24) & 0xff;
-                int red = (pixel >> 16) & 0xff;
-                int green = (pixel >> 8) & 0xff;
-                int blue = (pixel >> 0) & 0xff;
-                int gray = ( red + green + blue ) / 3;
-                newImage.setRGB( j, i, new Color( gray, gray, gray, alpha ).getRGB() );
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = readPixels( image.buffImage );
+        
+        ImageFilterExecutor.forEachRowStrip( width, height, ( startRow, endRow ) -> {
+            for ( int i = startRow * width; i < endRow * width; i++ ) {
+                int pixel = pixels[i];
+                int gray = ( ( ( pixel >> 16 ) & 0xff ) + ( ( pixel >> 8 ) & 0xff ) + ( pixel & 0xff ) ) / 3;
+                pixels[i] = ( pixel & 0xff000000 ) | ( gray << 16 ) | ( gray << 8 ) | gray;
             }
-        }
+        });
         
-        return newImage;
+        return createImage( width, height, pixels );
         
     }
     
@@ -308,22 +310,23 @@ public interface ImageUtils {
      */
     public static Image imageColorContrast( Image image, double contrast ) {
         
-        Image newImage = new Image( image.getWidth(), image.getHeight() );
-        
-        for ( int i = 0; i < image.getHeight(); i++ ) {
-            for ( int j = 0; j < image.getWidth(); j++ ) {
-                
-                Color c = ColorUtils.colorContrast( new Color( image.getRGB( j, i ) ), contrast );
-                int pixel = image.getRGB( j, i );
-                int alpha = (pixel >> 24) & 0xff;
-                c = new Color( c.getRed(), c.getGreen(), c.getBlue(), alpha );
-                
-                newImage.setRGB( j, i, c.getRGB() );
-                
-            }
+        int[] pixels = readPixels( image.buffImage );
+        int[] red = new int[256];
+        int[] green = new int[256];
+        int[] blue = new int[256];
+        
+        // cada canal tem apenas 256 valores possíveis, então o ajuste de
+        // ColorUtils é avaliado uma vez por valor em vez de uma vez por pixel
+        for ( int v = 0; v < 256; v++ ) {
+            Color c = ColorUtils.colorContrast( new Color( v, v, v ), contrast );
+            red[v] = c.getRed() << 16;
+            green[v] = c.getGreen() << 8;
+            blue[v] = c.getBlue();
         }
         
-        return newImage;
+        applyChannelTables( pixels, image.getWidth(), image.getHeight(), red, green, blue );
+        return createImage( image.getWidth(), image.getHeight(), pixels );
+        
     }
     
     /**
@@ -336,22 +339,20 @@ public interface ImageUtils {
      */
     public static Image imageColorBrightness( Image image, double brightness ) {
         
-        Image newImage = new Image( image.getWidth(), image.getHeight() );
-        
-        for ( int i = 0; i < image.getHeight(); i++ ) {
-            for ( int j = 0; j < image.getWidth(); j++ ) {
-                
-                Color c = ColorUtils.colorBrightness( new Color( image.getRGB( j, i ) ), brightness );
-                int pixel = image.getRGB( j, i );
-                int alpha = (pixel >> 24) & 0xff;
-                c = new Color( c.getRed(), c.getGreen(), c.getBlue(), alpha );
-                
-                newImage.setRGB( j, i, c.getRGB() );
-                
-            }
+        int[] pixels = readPixels( image.buffImage );
+        int[] red = new int[256];
+        int[] green = new int[256];
+        int[] blue = new int[256];
+        
+        for ( int v = 0; v < 256; v++ ) {
+            Color c = ColorUtils.colorBrightness( new Color( v, v, v ), brightness );
+            red[v] = c.getRed() << 16;
+            green[v] = c.getGreen() << 8;
+            blue[v] = c.getBlue();
         }
         
-        return newImage;
+        applyChannelTables( pixels, image.getWidth(), image.getHeight(), red, green, blue );
+        return createImage( image.getWidth(), image.getHeight(), pixels );
         
     }
     
@@ -365,28 +366,146 @@ public interface ImageUtils {
      */
     public static Image imageColorReplace( Image image, Color color, Color replace ) {
         
-        Image newImage = new Image( image.getWidth(), image.getHeight() );
-        
-        for ( int i = 0; i < image.getHeight(); i++ ) {
-            for ( int j = 0; j < image.getWidth(); j++ ) {
-                
-                int pixel = image.getRGB( j, i );
-                int alpha = (pixel >> 24) & 0xff;
-                int red = (pixel >> 16) & 0xff;
-                int green = (pixel >> 8) & 0xff;
-                int blue = (pixel >> 0) & 0xff;
-                Color c = new Color( red, green, blue, alpha );
-                
-                if ( pixel == color.getRGB() ) {
-                    newImage.setRGB( j, i, replace.getRGB() );
-                } else {
-                    newImage.setRGB( j, i, c.getRGB() );
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = readPixels( image.buffImage );
+        int target = color.getRGB();
+        int replacement = replace.getRGB();
+        
+        ImageFilterExecutor.forEachRowStrip( width, height, ( startRow, endRow ) -> {
+            for ( int i = startRow * width; i < endRow * width; i++ ) {
+                if ( pixels[i] == target ) {
+                    pixels[i] = replacement;
                 }
-                
             }
-        }
+        });
         
-        return newImage;
+        return createImage( width, height, pixels );
+        
+    }
+    
+    /**
+     * Cria uma imagem com desfoque de caixa.
+     * 
+     * @param image Uma imagem.
+     * @param radius O raio do desfoque, em pixels.
+     * @return Uma nova imagem desfocada.
+     */
+    public static Image imageBoxBlur( Image image, int radius ) {
+        int[] pixels = readPixels( image.buffImage );
+        new ImageFilters().boxBlur( pixels, pixels, image.getWidth(), image.getHeight(), radius );
+        return createImage( image.getWidth(), image.getHeight(), pixels );
+    }
+    
+    /**
+     * Cria uma imagem com desfoque gaussiano.
+     * 
+     * @param image Uma imagem.
+     * @param sigma O desvio padrão do desfoque, em pixels.
+     * @return Uma nova imagem desfocada.
+     */
+    public static Image imageGaussianBlur( Image image, double sigma ) {
+        int[] pixels = readPixels( image.buffImage );
+        new ImageFilters().gaussianBlur( pixels, pixels, image.getWidth(), image.getHeight(), sigma );
+        return createImage( image.getWidth(), image.getHeight(), pixels );
+    }
+    
+    /**
+     * Cria uma imagem com os detalhes realçados (máscara de nitidez).
+     * 
+     * @param image Uma imagem.
+     * @param sigma O desvio padrão do desfoque usado como referência.
+     * @param amount A intensidade do realce.
+     * @return Uma nova imagem realçada.
+     */
+    public static Image imageSharpen( Image image, double sigma, double amount ) {
+        int[] pixels = readPixels( image.buffImage );
+        new ImageFilters().sharpen( pixels, pixels, image.getWidth(), image.getHeight(), sigma, amount );
+        return createImage( image.getWidth(), image.getHeight(), pixels );
+    }
+    
+    /**
+     * Cria uma imagem com as bordas detectadas pelo operador de Sobel.
+     * 
+     * @param image Uma imagem.
+     * @return Uma nova imagem em tons de cinza com a intensidade das bordas.
+     */
+    public static Image imageEdgeDetect( Image image ) {
+        int[] pixels = readPixels( image.buffImage );
+        new ImageFilters().sobel( pixels, pixels, image.getWidth(), image.getHeight() );
+        return createImage( image.getWidth(), image.getHeight(), pixels );
+    }
+    
+    /**
+     * Cria uma imagem com o canal alfa dilatado.
+     * 
+     * @param image Uma imagem.
+     * @param radius O raio da dilatação, em pixels.
+     * @return Uma nova imagem com o canal alfa dilatado.
+     */
+    public static Image imageDilate( Image image, int radius ) {
+        int[] pixels = readPixels( image.buffImage );
+        new ImageFilters().dilateAlpha( pixels, pixels, image.getWidth(), image.getHeight(), radius );
+        return createImage( image.getWidth(), image.getHeight(), pixels );
+    }
+    
+    /**
+     * Cria uma imagem com o canal alfa erodido.
+     * 
+     * @param image Uma imagem.
+     * @param radius O raio da erosão, em pixels.
+     * @return Uma nova imagem com o canal alfa erodido.
+     */
+    public static Image imageErode( Image image, int radius ) {
+        int[] pixels = readPixels( image.buffImage );
+        new ImageFilters().erodeAlpha( pixels, pixels, image.getWidth(), image.getHeight(), radius );
+        return createImage( image.getWidth(), image.getHeight(), pixels );
+    }
+    
+    /**
+     * Cria uma imagem com sombra projetada. A nova imagem é maior do que a
+     * original, com uma margem obtida por ImageFilters.shadowMargin em cada
+     * lado, para que a sombra não seja cortada.
+     * 
+     * @param image Uma imagem.
+     * @param offsetX O deslocamento x da sombra.
+     * @param offsetY O deslocamento y da sombra.
+     * @param sigma O desvio padrão do desfoque da sombra.
+     * @param color A cor da sombra.
+     * @return Uma nova imagem com a sombra.
+     */
+    public static Image imageDropShadow( Image image, int offsetX, int offsetY, double sigma, Color color ) {
+        
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int margin = ImageFilters.shadowMargin( sigma, offsetX, offsetY );
+        int[] newPixels = new int[( width + 2 * margin ) * ( height + 2 * margin )];
+        
+        new ImageFilters().dropShadow( readPixels( image.buffImage ), width, height, newPixels, margin, offsetX, offsetY, sigma, color.getRGB() );
+        return createImage( width + 2 * margin, height + 2 * margin, newPixels );
+        
+    }
+    
+    /**
+     * Cria uma imagem com brilho externo. A nova imagem é maior do que a
+     * original, com uma margem obtida por ImageFilters.glowMargin em cada
+     * lado, para que o brilho não seja cortado.
+     * 
+     * @param image Uma imagem.
+     * @param spread A expansão do contorno antes do desfoque, em pixels.
+     * @param sigma O desvio padrão do desfoque do brilho.
+     * @param color A cor do brilho.
+     * @return Uma nova imagem com o brilho.
+     */
+    public static Image imageGlow( Image image, int spread, double sigma, Color color ) {
+        
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int margin = ImageFilters.glowMargin( spread, sigma );
+        int[] newPixels = new int[( width + 2 * margin ) * ( height + 2 * margin )];
+        
+        new ImageFilters().glow( readPixels( image.buffImage ), width, height, newPixels, margin, spread, sigma, color.getRGB() );
+        return createImage( width + 2 * margin, height + 2 * margin, newPixels );
         
     }
     
@@ -402,6 +521,40 @@ public interface ImageUtils {
         return new Color( image.getRGB( x, y ), true );
     }
     
+    /**
+     * Obtém todos os pixels de uma imagem em um novo array, linha a linha,
+     * no formato ARGB não pré-multiplicado.
+     * 
+     * @param image Uma imagem.
+     * @return Um novo array com os pixels da imagem.
+     */
+    public static int[] getPixels( Image image ) {
+        return readPixels( image.buffImage );
+    }
+    
+    /**
+     * Configura todos os pixels de uma imagem a partir de um array, linha a
+     * linha, no formato ARGB não pré-multiplicado.
+     * 
+     * @param image Uma imagem.
+     * @param pixels Os pixels, com pelo menos largura * altura elementos.
+     */
+    public static void setPixels( Image image, int[] pixels ) {
+        
+        BufferedImage buffImage = image.buffImage;
+        int width = buffImage.getWidth();
+        int height = buffImage.getHeight();
+        
+        if ( buffImage.getType() == BufferedImage.TYPE_INT_ARGB ) {
+            buffImage.getRaster().setDataElements( 0, 0, width, height, pixels );
+        } else {
+            buffImage.setRGB( 0, 0, width, height, pixels, 0, width );
+        }
+        
+        image.markModified();
+        
+    }
+    
     /**
      * Cria uma imagem com texto.
      * 
@@ -453,12 +606,7 @@ public interface ImageUtils {
     public static BufferedImage copyBufferedImage( BufferedImage image ) {
         
         BufferedImage newImage = new BufferedImage( image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB );
-        
-        for ( int i = 0; i < image.getHeight(); i++ ) {
-            for ( int j = 0; j < image.getWidth(); j++ ) {
-                newImage.setRGB( j, i, image.getRGB( j, i ) );
-            }
-        }
+        newImage.getRaster().setDataElements( 0, 0, image.getWidth(), image.getHeight(), readPixels( image ) );
         
         return newImage;
         
@@ -518,4 +666,58 @@ public interface ImageUtils {
         
     }
     
+    
+    /**
+     * Lê todos os pixels de uma imagem em um array ARGB não pré-multiplicado,
+     * linha a linha. Imagens de inteiros são copiadas diretamente do raster,
+     * sem conversão por pixel; os demais tipos usam a leitura em lote do
+     * modelo de cores.
+     * 
+     * Os dados são lidos e escritos pelo raster em vez de se obter o array do
+     * DataBufferInt, o que manteria a imagem marcada como não gerenciável e
+     * impediria a aceleração do seu desenho.
+     */
+    private static int[] readPixels( BufferedImage image ) {
+        
+        int width = image.getWidth();
+        int height = image.getHeight();
+        
+        switch ( image.getType() ) {
+            case BufferedImage.TYPE_INT_ARGB:
+                return (int[]) image.getRaster().getDataElements( 0, 0, width, height, new int[width * height] );
+            case BufferedImage.TYPE_INT_RGB:
+                int[] pixels = (int[]) image.getRaster().getDataElements( 0, 0, width, height, new int[width * height] );
+                for ( int i = 0; i < pixels.length; i++ ) {
+                    pixels[i] |= 0xff000000;
+                }
+                return pixels;
+            default:
+                return image.getRGB( 0, 0, width, height, null, 0, width );
+        }
+        
+    }
+    
+    /**
+     * Cria uma imagem ARGB com os pixels informados.
+     */
+    private static Image createImage( int width, int height, int[] pixels ) {
+        Image newImage = new Image( width, height );
+        setPixels( newImage, pixels );
+        return newImage;
+    }
+    
+    /**
+     * Substitui os canais de cor de cada pixel pelos valores tabelados,
+     * mantendo o canal alfa. As tabelas já contêm os valores deslocados para
+     * a posição de cada canal.
+     */
+    private static void applyChannelTables( int[] pixels, int width, int height, int[] red, int[] green, int[] blue ) {
+        ImageFilterExecutor.forEachRowStrip( width, height, ( startRow, endRow ) -> {
+            for ( int i = startRow * width; i < endRow * width; i++ ) {
+                int pixel = pixels[i];
+                pixels[i] = ( pixel & 0xff000000 ) | red[( pixel >> 16 ) & 0xff] | green[( pixel >> 8 ) & 0xff] | blue[pixel & 0xff];
+            }
+        });
+    }
+    
 }
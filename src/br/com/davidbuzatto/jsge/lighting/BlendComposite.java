@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2025 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.lighting;
+
+import java.awt.Composite;
+import java.awt.CompositeContext;
+import java.awt.RenderingHints;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DirectColorModel;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+
+/**
+ * Composições por soma e por multiplicação, que o Java2D não oferece.
+ *
+ * A soma acumula as luzes no mapa de luz e a multiplicação aplica o mapa de
+ * luz sobre a cena. A opacidade da origem pondera o resultado, o que mantém
+ * suaves as bordas das imagens desenhadas com interpolação.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+final class BlendComposite implements Composite {
+
+    /**
+     * Soma saturada dos canais de cor.
+     */
+    static final BlendComposite ADD = new BlendComposite( true );
+
+    /**
+     * Multiplicação dos canais de cor.
+     */
+    static final BlendComposite MULTIPLY = new BlendComposite( false );
+
+    private final boolean add;
+
+    private BlendComposite( boolean add ) {
+        this.add = add;
+    }
+
+    @Override
+    public CompositeContext createContext( ColorModel srcColorModel, ColorModel dstColorModel, RenderingHints hints ) {
+        return new BlendContext( add, srcColorModel, dstColorModel );
+    }
+
+    private static final class BlendContext implements CompositeContext {
+
+        private final boolean add;
+        private final ColorModel srcColorModel;
+        private final ColorModel dstColorModel;
+        private final boolean direct;
+
+        BlendContext( boolean add, ColorModel srcColorModel, ColorModel dstColorModel ) {
+            this.add = add;
+            this.srcColorModel = srcColorModel;
+            this.dstColorModel = dstColorModel;
+            this.direct = isIntRGB( srcColorModel ) && isIntRGB( dstColorModel );
+        }
+
+        @Override
+        public void compose( Raster src, Raster dstIn, WritableRaster dstOut ) {
+
+            int width = Math.min( src.getWidth(), dstIn.getWidth() );
+            int height = Math.min( src.getHeight(), dstIn.getHeight() );
+
+            int[] srcRow = new int[width];
+            int[] dstRow = new int[width];
+            boolean srcAlpha = srcColorModel.hasAlpha();
+            boolean srcPre = srcColorModel.isAlphaPremultiplied();
+            boolean dstAlpha = dstColorModel.hasAlpha();
+            boolean dstPre = direct && dstAlpha && dstColorModel.isAlphaPremultiplied();
+
+            Object srcPixel = null;
+            Object dstPixel = null;
+
+            for ( int y = 0; y < height; y++ ) {
+
+                if ( direct ) {
+                    src.getDataElements( 0, y, width, 1, srcRow );
+                    dstIn.getDataElements( 0, y, width, 1, dstRow );
+                } else {
+                    for ( int x = 0; x < width; x++ ) {
+                        srcPixel = src.getDataElements( x, y, srcPixel );
+                        dstPixel = dstIn.getDataElements( x, y, dstPixel );
+                        srcRow[x] = srcColorModel.getRGB( srcPixel );
+                        dstRow[x] = dstColorModel.getRGB( dstPixel );
+                    }
+                }
+
+                for ( int x = 0; x < width; x++ ) {
+
+                    int s = srcRow[x];
+                    int d = dstRow[x];
+                    int sa = srcAlpha ? s >>> 24 : 255;
+
+                    if ( sa == 0 ) {
+                        continue;
+                    }
+
+                    int sr = ( s >> 16 ) & 0xff;
+                    int sg = ( s >> 8 ) & 0xff;
+                    int sb = s & 0xff;
+
+                    // cores não pré-multiplicadas pela opacidade
+                    if ( direct && srcAlpha && srcPre && sa < 255 ) {
+                        sr = sr * 255 / sa;
+                        sg = sg * 255 / sa;
+                        sb = sb * 255 / sa;
+                    }
+
+                    int da = dstAlpha ? d >>> 24 : 255;
+                    int dr = ( d >> 16 ) & 0xff;
+                    int dg = ( d >> 8 ) & 0xff;
+                    int db = d & 0xff;
+
+                    if ( dstPre && da < 255 && da > 0 ) {
+                        dr = Math.min( 255, dr * 255 / da );
+                        dg = Math.min( 255, dg * 255 / da );
+                        db = Math.min( 255, db * 255 / da );
+                    }
+
+                    int r;
+                    int g;
+                    int b;
+
+                    if ( add ) {
+                        r = Math.min( 255, dr + sr * sa / 255 );
+                        g = Math.min( 255, dg + sg * sa / 255 );
+                        b = Math.min( 255, db + sb * sa / 255 );
+                    } else {
+                        int f = 255 - sa;
+                        r = dr * ( sr * sa / 255 + f ) / 255;
+                        g = dg * ( sg * sa / 255 + f ) / 255;
+                        b = db * ( sb * sa / 255 + f ) / 255;
+                    }
+
+                    // o destino pré-multiplicado volta a ser pré-multiplicado
+                    if ( dstPre && da < 255 ) {
+                        r = r * da / 255;
+                        g = g * da / 255;
+                        b = b * da / 255;
+                    }
+
+                    dstRow[x] = ( da << 24 ) | ( r << 16 ) | ( g << 8 ) | b;
+
+                }
+
+                if ( direct ) {
+                    dstOut.setDataElements( 0, y, width, 1, dstRow );
+                } else {
+                    for ( int x = 0; x < width; x++ ) {
+                        dstPixel = dstColorModel.getDataElements( dstRow[x], dstPixel );
+                        dstOut.setDataElements( x, y, dstPixel );
+                    }
+                }
+
+            }
+
+        }
+
+        @Override
+        public void dispose() {
+        }
+
+        /**
+         * Verifica se os pixels do modelo de cores são inteiros no formato
+         * (A)RGB.
+         */
+        private static boolean isIntRGB( ColorModel cm ) {
+            return cm instanceof DirectColorModel d
+                    && d.getTransferType() == DataBuffer.TYPE_INT
+                    && d.getRedMask() == 0xff0000
+                    && d.getGreenMask() == 0xff00
+                    && d.getBlueMask() == 0xff
+                    && ( !d.hasAlpha() || d.getAlphaMask() == 0xff000000 );
+        }
+
+    }
+
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2025 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.lighting;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.MultipleGradientPaint;
+import java.awt.RadialGradientPaint;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Base das luzes do sistema de iluminação.
+ *
+ * Cada luz é desenhada no mapa de luz a partir de uma imagem da sua
+ * contribuição, com a atenuação até o raio e as sombras dos oclusores. A
+ * imagem sem sombras só é recriada quando o raio, a cor, a intensidade ou a
+ * resolução mudam. Luzes estáticas também mantêm a imagem com as sombras,
+ * recalculada apenas quando a luz muda ou quando algum oclusor dentro do seu
+ * raio se move.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public abstract class Light {
+
+    /**
+     * Posições da atenuação da luz.
+     */
+    private static final float[] FALLOFF_FRACTIONS = { 0.0f, 0.25f, 0.5f, 0.75f, 1.0f };
+
+    /**
+     * Coordenada x da luz.
+     */
+    public double x;
+
+    /**
+     * Coordenada y da luz.
+     */
+    public double y;
+
+    /**
+     * Raio de alcance da luz.
+     */
+    public double radius;
+
+    /**
+     * Cor da luz.
+     */
+    public Color color;
+
+    /**
+     * Intensidade da luz, multiplicada pela cor.
+     */
+    public double intensity = 1;
+
+    /**
+     * Se a luz projeta sombras dos oclusores.
+     */
+    public boolean castShadows = true;
+
+    /**
+     * Se a luz é estática. A contribuição de uma luz estática é mantida em
+     * cache entre os quadros.
+     */
+    public boolean staticLight;
+
+    /**
+     * Se a luz está ativa.
+     */
+    public boolean active = true;
+
+    /*
+     * Estado usado para criar as imagens em cache.
+     */
+    private double cachedX = Double.NaN;
+    private double cachedY;
+    private double cachedRadius;
+    private Color cachedColor;
+    private double cachedIntensity;
+    private boolean cachedCastShadows;
+    private double cachedScaleX;
+    private double cachedScaleY;
+
+    BufferedImage baseImage;
+    BufferedImage shadowImage;
+    boolean shadowImageValid;
+
+    /**
+     * Cria uma luz.
+     *
+     * @param x Coordenada x da luz.
+     * @param y Coordenada y da luz.
+     * @param radius Raio de alcance da luz.
+     * @param color Cor da luz.
+     */
+    protected Light( double x, double y, double radius, Color color ) {
+        this.x = x;
+        this.y = y;
+        this.radius = radius;
+        this.color = color;
+    }
+
+    /**
+     * Obtém a área iluminada, em coordenadas da imagem da luz, ou null caso
+     * a luz ilumine todas as direções.
+     *
+     * @param width Largura da imagem da luz.
+     * @param height Altura da imagem da luz.
+     * @return A área iluminada ou null.
+     */
+    protected abstract Shape getEmissionShape( double width, double height );
+
+    /**
+     * Verifica se a configuração própria de cada tipo de luz mudou desde a
+     * criação das imagens em cache, registrando a nova configuração.
+     *
+     * @return Verdadeiro caso a configuração tenha mudado.
+     */
+    protected abstract boolean checkShapeChanged();
+
+    /**
+     * Atualiza as imagens em cache de acordo com o estado atual da luz e a
+     * escala do mapa de luz.
+     *
+     * @return Verdadeiro caso a luz tenha mudado desde o último quadro.
+     */
+    boolean prepare( double scaleX, double scaleY ) {
+
+        boolean shapeChanged = checkShapeChanged();
+        boolean baseChanged = shapeChanged
+                || baseImage == null
+                || radius != cachedRadius
+                || !color.equals( cachedColor )
+                || intensity != cachedIntensity
+                || scaleX != cachedScaleX
+                || scaleY != cachedScaleY;
+        boolean changed = baseChanged
+                || x != cachedX
+                || y != cachedY
+                || castShadows != cachedCastShadows;
+
+        if ( baseChanged ) {
+            createBaseImage( scaleX, scaleY );
+        }
+
+        if ( changed ) {
+            shadowImageValid = false;
+        }
+
+        cachedX = x;
+        cachedY = y;
+        cachedRadius = radius;
+        cachedColor = color;
+        cachedIntensity = intensity;
+        cachedCastShadows = castShadows;
+        cachedScaleX = scaleX;
+        cachedScaleY = scaleY;
+
+        return changed;
+
+    }
+
+    /**
+     * Cria a imagem da contribuição da luz sem sombras.
+     */
+    private void createBaseImage( double scaleX, double scaleY ) {
+
+        int w = Math.max( 1, (int) Math.ceil( radius * 2 * scaleX ) );
+        int h = Math.max( 1, (int) Math.ceil( radius * 2 * scaleY ) );
+
+        if ( baseImage == null || baseImage.getWidth() != w || baseImage.getHeight() != h ) {
+            baseImage = new BufferedImage( w, h, BufferedImage.TYPE_INT_RGB );
+        }
+
+        double k = Math.max( 0, intensity );
+        Color[] colors = new Color[FALLOFF_FRACTIONS.length];
+        for ( int i = 0; i < colors.length; i++ ) {
+            double f = 1 - FALLOFF_FRACTIONS[i];
+            double a = k * f * f;
+            colors[i] = new Color(
+                    (int) Math.min( 255, color.getRed() * a ),
+                    (int) Math.min( 255, color.getGreen() * a ),
+                    (int) Math.min( 255, color.getBlue() * a ) );
+        }
+
+        Graphics2D g = baseImage.createGraphics();
+        g.setColor( Color.BLACK );
+        g.fillRect( 0, 0, w, h );
+        g.setRenderingHint( RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON );
+        g.setPaint( new RadialGradientPaint(
+                new Rectangle2D.Double( 0, 0, w, h ),
+                FALLOFF_FRACTIONS, colors, MultipleGradientPaint.CycleMethod.NO_CYCLE ) );
+        Shape emission = getEmissionShape( w, h );
+        g.fill( emission != null ? emission : new Rectangle2D.Double( 0, 0, w, h ) );
+        g.dispose();
+
+        shadowImageValid = false;
+
+    }
+
+}
@@ -0,0 +1,570 @@
+/*
+ * Copyright (C) 2025 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.lighting;
+
+import br.com.davidbuzatto.jsge.collision.aabb.AABB;
+import br.com.davidbuzatto.jsge.core.Camera2D;
+import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.TexturePaint;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sistema de iluminação 2D com luzes pontuais e direcionais, oclusores e
+ * sombras.
+ *
+ * As luzes são acumuladas em um mapa de luz com resolução reduzida, que
+ * parte da cor ambiente, e o mapa é aplicado sobre a cena por
+ * multiplicação, de modo que a cena desenhada até o momento seja escurecida
+ * fora das luzes. As sombras são obtidas pelo polígono de visibilidade de
+ * cada luz, calculado com os oclusores que estão dentro do seu raio.
+ *
+ * As luzes estáticas mantêm a sua contribuição em cache e só são
+ * recalculadas quando mudam ou quando algum oclusor dentro do seu raio se
+ * move, é adicionado ou é removido.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class LightingSystem {
+
+    /**
+     * Desvio angular dos raios lançados ao lado de cada vértice.
+     */
+    private static final double RAY_EPSILON = 0.00001;
+
+    private final List<Light> lights = new ArrayList<>();
+    private final List<Occluder> occluders = new ArrayList<>();
+    private final List<Occluder> nearbyOccluders = new ArrayList<>();
+
+    private Color ambientColor = new Color( 40, 40, 40 );
+    private double resolutionScale = 0.5;
+
+    private BufferedImage lightMap;
+
+    /*
+     * Regiões alteradas pelos oclusores no quadro corrente (x1, y1, x2, y2).
+     */
+    private double[] dirtyRegions = new double[64];
+    private int dirtyRegionCount;
+
+    /*
+     * Buffers do cálculo dos polígonos de visibilidade.
+     */
+    private double[] segments = new double[64];
+    private int segmentCount;
+    private double[] angles = new double[64];
+    private double[] visibility = new double[64];
+
+    private int recomputedLights;
+    private int cachedLights;
+
+    /**
+     * Adiciona uma luz.
+     *
+     * @param light A luz.
+     */
+    public void addLight( Light light ) {
+        lights.add( light );
+    }
+
+    /**
+     * Remove uma luz.
+     *
+     * @param light A luz.
+     */
+    public void removeLight( Light light ) {
+        lights.remove( light );
+    }
+
+    /**
+     * Obtém as luzes do sistema.
+     *
+     * @return Uma lista não modificável com as luzes.
+     */
+    public List<Light> getLights() {
+        return List.copyOf( lights );
+    }
+
+    /**
+     * Adiciona um oclusor.
+     *
+     * @param occluder O oclusor.
+     */
+    public void addOccluder( Occluder occluder ) {
+        occluder.reset();
+        occluders.add( occluder );
+    }
+
+    /**
+     * Remove um oclusor. As luzes estáticas dentro do seu raio são
+     * recalculadas no próximo quadro.
+     *
+     * @param occluder O oclusor.
+     */
+    public void removeOccluder( Occluder occluder ) {
+        if ( occluders.remove( occluder ) ) {
+            addDirtyRegion( occluder.minX, occluder.minY, occluder.maxX, occluder.maxY );
+        }
+    }
+
+    /**
+     * Obtém os oclusores do sistema.
+     *
+     * @return Uma lista não modificável com os oclusores.
+     */
+    public List<Occluder> getOccluders() {
+        return List.copyOf( occluders );
+    }
+
+    /**
+     * Remove todas as luzes e todos os oclusores.
+     */
+    public void clear() {
+        lights.clear();
+        occluders.clear();
+        dirtyRegionCount = 0;
+    }
+
+    /**
+     * Obtém a cor ambiente, usada onde não há luz.
+     *
+     * @return A cor ambiente.
+     */
+    public Color getAmbientColor() {
+        return ambientColor;
+    }
+
+    /**
+     * Configura a cor ambiente, usada onde não há luz.
+     *
+     * @param ambientColor A cor ambiente.
+     */
+    public void setAmbientColor( Color ambientColor ) {
+        this.ambientColor = ambientColor;
+    }
+
+    /**
+     * Obtém a escala da resolução do mapa de luz em relação à tela.
+     *
+     * @return A escala da resolução.
+     */
+    public double getResolutionScale() {
+        return resolutionScale;
+    }
+
+    /**
+     * Configura a escala da resolução do mapa de luz em relação à tela.
+     * Valores menores reduzem o custo das luzes e suavizam as sombras.
+     *
+     * @param resolutionScale A escala da resolução, entre 0 (exclusivo) e 1.
+     */
+    public void setResolutionScale( double resolutionScale ) {
+        if ( resolutionScale <= 0 || resolutionScale > 1 ) {
+            throw new IllegalArgumentException( "resolutionScale must be in (0, 1]!" );
+        }
+        this.resolutionScale = resolutionScale;
+    }
+
+    /**
+     * Obtém a quantidade de luzes recalculadas no último desenho.
+     *
+     * @return A quantidade de luzes recalculadas.
+     */
+    public int getRecomputedLightCount() {
+        return recomputedLights;
+    }
+
+    /**
+     * Obtém a quantidade de luzes reaproveitadas do cache no último desenho.
+     *
+     * @return A quantidade de luzes reaproveitadas.
+     */
+    public int getCachedLightCount() {
+        return cachedLights;
+    }
+
+    /**
+     * Aplica a iluminação sobre tudo o que foi desenhado na tela, com as
+     * luzes e oclusores em coordenadas da tela.
+     *
+     * @param engine A engine.
+     */
+    public void draw( EngineFrame engine ) {
+        draw( engine, 0, 0, engine.getScreenWidth(), engine.getScreenHeight() );
+    }
+
+    /**
+     * Aplica a iluminação sobre a área visível por uma câmera, com as luzes
+     * e oclusores em coordenadas do mundo. Deve ser usado entre
+     * beginMode2D e endMode2D.
+     *
+     * @param engine A engine.
+     * @param camera A câmera.
+     */
+    public void draw( EngineFrame engine, Camera2D camera ) {
+        AABB view = camera.getVisibleWorldAABB( engine.getScreenWidth(), engine.getScreenHeight() );
+        draw( engine, view.x1, view.y1, view.x2, view.y2 );
+    }
+
+    /**
+     * Aplica a iluminação sobre uma área, nas coordenadas correntes do
+     * contexto gráfico.
+     *
+     * @param engine A engine.
+     * @param x1 Coordenada x do canto superior esquerdo da área.
+     * @param y1 Coordenada y do canto superior esquerdo da área.
+     * @param x2 Coordenada x do canto inferior direito da área.
+     * @param y2 Coordenada y do canto inferior direito da área.
+     */
+    public void draw( EngineFrame engine, double x1, double y1, double x2, double y2 ) {
+
+        if ( x2 <= x1 || y2 <= y1 ) {
+            return;
+        }
+
+        int mapWidth = Math.max( 1, (int) Math.ceil( engine.getScreenWidth() * resolutionScale ) );
+        int mapHeight = Math.max( 1, (int) Math.ceil( engine.getScreenHeight() * resolutionScale ) );
+        double scaleX = mapWidth / ( x2 - x1 );
+        double scaleY = mapHeight / ( y2 - y1 );
+
+        renderLightMap( x1, y1, x2, y2, mapWidth, mapHeight, scaleX, scaleY );
+
+        Graphics2D g2d = engine.getGraphics2D();
+        Composite composite = g2d.getComposite();
+        Object interpolation = g2d.getRenderingHint( RenderingHints.KEY_INTERPOLATION );
+
+        AffineTransform t = AffineTransform.getTranslateInstance( x1, y1 );
+        t.scale( 1 / scaleX, 1 / scaleY );
+
+        g2d.setComposite( BlendComposite.MULTIPLY );
+        g2d.setRenderingHint( RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR );
+        g2d.drawImage( lightMap, t, null );
+
+        g2d.setComposite( composite );
+        g2d.setRenderingHint( RenderingHints.KEY_INTERPOLATION,
+                interpolation != null ? interpolation : RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR );
+
+    }
+
+    /**
+     * Acumula as luzes no mapa de luz.
+     */
+    private void renderLightMap( double x1, double y1, double x2, double y2, int mapWidth, int mapHeight, double scaleX, double scaleY ) {
+
+        if ( lightMap == null || lightMap.getWidth() != mapWidth || lightMap.getHeight() != mapHeight ) {
+            lightMap = new BufferedImage( mapWidth, mapHeight, BufferedImage.TYPE_INT_RGB );
+        }
+
+        for ( Occluder o : occluders ) {
+            if ( o.update() ) {
+                addDirtyRegion( o.previousMinX, o.previousMinY, o.previousMaxX, o.previousMaxY );
+                addDirtyRegion( o.minX, o.minY, o.maxX, o.maxY );
+            }
+        }
+
+        recomputedLights = 0;
+        cachedLights = 0;
+
+        Graphics2D g = lightMap.createGraphics();
+        g.setColor( ambientColor );
+        g.fillRect( 0, 0, mapWidth, mapHeight );
+        g.setComposite( BlendComposite.ADD );
+        g.setRenderingHint( RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR );
+
+        AffineTransform t = new AffineTransform();
+
+        for ( Light light : lights ) {
+
+            double r = light.radius;
+            if ( !light.active || r <= 0 || light.color == null ) {
+                continue;
+            }
+
+            double lx1 = light.x - r;
+            double ly1 = light.y - r;
+            double lx2 = light.x + r;
+            double ly2 = light.y + r;
+
+            // luzes fora da área mantêm o cache, mas precisam das invalidações
+            if ( light.shadowImageValid && intersectsDirtyRegion( lx1, ly1, lx2, ly2 ) ) {
+                light.shadowImageValid = false;
+            }
+
+            if ( lx2 < x1 || lx1 > x2 || ly2 < y1 || ly1 > y2 ) {
+                continue;
+            }
+
+            light.prepare( scaleX, scaleY );
+
+            nearbyOccluders.clear();
+            if ( light.castShadows ) {
+                for ( Occluder o : occluders ) {
+                    if ( o.maxX >= lx1 && o.minX <= lx2 && o.maxY >= ly1 && o.minY <= ly2 ) {
+                        nearbyOccluders.add( o );
+                    }
+                }
+            }
+
+            BufferedImage image;
+            if ( nearbyOccluders.isEmpty() ) {
+                image = light.baseImage;
+                cachedLights++;
+            } else if ( light.staticLight && light.shadowImageValid ) {
+                image = light.shadowImage;
+                cachedLights++;
+            } else {
+                renderShadowImage( light, scaleX, scaleY );
+                image = light.shadowImage;
+                recomputedLights++;
+            }
+
+            t.setToTranslation( ( lx1 - x1 ) * scaleX, ( ly1 - y1 ) * scaleY );
+            g.drawImage( image, t, null );
+
+        }
+
+        g.dispose();
+        dirtyRegionCount = 0;
+
+    }
+
+    /**
+     * Cria a imagem da contribuição da luz com as sombras dos oclusores
+     * próximos, preenchendo o polígono de visibilidade com a imagem sem
+     * sombras.
+     */
+    private void renderShadowImage( Light light, double scaleX, double scaleY ) {
+
+        BufferedImage base = light.baseImage;
+        int w = base.getWidth();
+        int h = base.getHeight();
+
+        if ( light.shadowImage == null || light.shadowImage.getWidth() != w || light.shadowImage.getHeight() != h ) {
+            light.shadowImage = new BufferedImage( w, h, BufferedImage.TYPE_INT_RGB );
+        }
+
+        int points = computeVisibilityPolygon( light.x, light.y, light.radius );
+        double ox = light.x - light.radius;
+        double oy = light.y - light.radius;
+
+        Path2D path = new Path2D.Double( Path2D.WIND_NON_ZERO, points );
+        for ( int i = 0; i < points; i++ ) {
+            double px = ( visibility[i*2] - ox ) * scaleX;
+            double py = ( visibility[i*2+1] - oy ) * scaleY;
+            if ( i == 0 ) {
+                path.moveTo( px, py );
+            } else {
+                path.lineTo( px, py );
+            }
+        }
+        path.closePath();
+
+        Graphics2D g = light.shadowImage.createGraphics();
+        g.setColor( Color.BLACK );
+        g.fillRect( 0, 0, w, h );
+        g.setRenderingHint( RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON );
+        g.setPaint( new TexturePaint( base, new Rectangle2D.Double( 0, 0, w, h ) ) );
+        g.fill( path );
+        g.dispose();
+
+        light.shadowImageValid = true;
+
+    }
+
+    /**
+     * Calcula o polígono de visibilidade de uma luz, lançando raios na
+     * direção de cada vértice dos segmentos próximos e ligeiramente ao lado
+     * deles.
+     *
+     * @return A quantidade de pontos do polígono, armazenados em visibility.
+     */
+    private int computeVisibilityPolygon( double lx, double ly, double r ) {
+
+        double x1 = lx - r;
+        double y1 = ly - r;
+        double x2 = lx + r;
+        double y2 = ly + r;
+
+        segmentCount = 0;
+        addSegment( x1, y1, x2, y1 );
+        addSegment( x2, y1, x2, y2 );
+        addSegment( x2, y2, x1, y2 );
+        addSegment( x1, y2, x1, y1 );
+
+        for ( Occluder o : nearbyOccluders ) {
+            double[] v = o.vertices;
+            int n = v.length / 2;
+            int edges = n == 2 ? 1 : n;
+            for ( int i = 0; i < edges; i++ ) {
+                int j = ( i + 1 ) % n;
+                addClippedSegment( v[i*2], v[i*2+1], v[j*2], v[j*2+1], x1, y1, x2, y2 );
+            }
+        }
+
+        int angleCount = segmentCount * 6;
+        if ( angles.length < angleCount ) {
+            angles = new double[angleCount * 2];
+        }
+
+        int k = 0;
+        for ( int s = 0; s < segmentCount; s++ ) {
+            for ( int e = 0; e < 2; e++ ) {
+                double px = segments[s*4+e*2];
+                double py = segments[s*4+e*2+1];
+                double a = Math.atan2( py - ly, px - lx );
+                angles[k++] = a - RAY_EPSILON;
+                angles[k++] = a;
+                angles[k++] = a + RAY_EPSILON;
+            }
+        }
+        Arrays.sort( angles, 0, angleCount );
+
+        if ( visibility.length < angleCount * 2 ) {
+            visibility = new double[angleCount * 4];
+        }
+
+        int points = 0;
+        double lastAngle = Double.NaN;
+
+        for ( int i = 0; i < angleCount; i++ ) {
+
+            double a = angles[i];
+            if ( a == lastAngle ) {
+                continue;
+            }
+            lastAngle = a;
+
+            double dx = Math.cos( a );
+            double dy = Math.sin( a );
+            double tMin = Double.POSITIVE_INFINITY;
+
+            for ( int s = 0; s < segmentCount; s++ ) {
+
+                double ax = segments[s*4];
+                double ay = segments[s*4+1];
+                double ex = segments[s*4+2] - ax;
+                double ey = segments[s*4+3] - ay;
+                double den = dx * ey - dy * ex;
+
+                if ( Math.abs( den ) < 1e-12 ) {
+                    continue;
+                }
+
+                double wx = ax - lx;
+                double wy = ay - ly;
+                double t = ( wx * ey - wy * ex ) / den;
+                double u = ( wx * dy - wy * dx ) / den;
+
+                if ( t >= 0 && u >= 0 && u <= 1 && t < tMin ) {
+                    tMin = t;
+                }
+
+            }
+
+            if ( tMin != Double.POSITIVE_INFINITY ) {
+                visibility[points*2] = lx + dx * tMin;
+                visibility[points*2+1] = ly + dy * tMin;
+                points++;
+            }
+
+        }
+
+        return points;
+
+    }
+
+    /**
+     * Adiciona um segmento recortado pelo retângulo de alcance da luz
+     * (Liang-Barsky), de modo que todos os vértices usados nos raios
+     * fiquem dentro do alcance.
+     */
+    private void addClippedSegment( double ax, double ay, double bx, double by, double x1, double y1, double x2, double y2 ) {
+
+        double dx = bx - ax;
+        double dy = by - ay;
+        double t0 = 0;
+        double t1 = 1;
+
+        double[] p = { -dx, dx, -dy, dy };
+        double[] q = { ax - x1, x2 - ax, ay - y1, y2 - ay };
+
+        for ( int i = 0; i < 4; i++ ) {
+            if ( p[i] == 0 ) {
+                if ( q[i] < 0 ) {
+                    return;
+                }
+            } else {
+                double t = q[i] / p[i];
+                if ( p[i] < 0 ) {
+                    t0 = Math.max( t0, t );
+                } else {
+                    t1 = Math.min( t1, t );
+                }
+            }
+        }
+
+        if ( t0 > t1 ) {
+            return;
+        }
+
+        addSegment( ax + dx * t0, ay + dy * t0, ax + dx * t1, ay + dy * t1 );
+
+    }
+
+    private void addSegment( double ax, double ay, double bx, double by ) {
+        if ( segments.length < ( segmentCount + 1 ) * 4 ) {
+            segments = Arrays.copyOf( segments, segments.length * 2 );
+        }
+        int i = segmentCount * 4;
+        segments[i] = ax;
+        segments[i+1] = ay;
+        segments[i+2] = bx;
+        segments[i+3] = by;
+        segmentCount++;
+    }
+
+    private void addDirtyRegion( double x1, double y1, double x2, double y2 ) {
+        if ( dirtyRegions.length < ( dirtyRegionCount + 1 ) * 4 ) {
+            dirtyRegions = Arrays.copyOf( dirtyRegions, dirtyRegions.length * 2 );
+        }
+        int i = dirtyRegionCount * 4;
+        dirtyRegions[i] = x1;
+        dirtyRegions[i+1] = y1;
+        dirtyRegions[i+2] = x2;
+        dirtyRegions[i+3] = y2;
+        dirtyRegionCount++;
+    }
+
+    private boolean intersectsDirtyRegion( double x1, double y1, double x2, double y2 ) {
+        for ( int i = 0; i < dirtyRegionCount * 4; i += 4 ) {
+            if ( dirtyRegions[i+2] >= x1 && dirtyRegions[i] <= x2 && dirtyRegions[i+3] >= y1 && dirtyRegions[i+1] <= y2 ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2025 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.lighting;
+
+import br.com.davidbuzatto.jsge.collision.aabb.AABB;
+import br.com.davidbuzatto.jsge.geom.ConvexShape;
+import java.util.Arrays;
+
+/**
+ * Oclusor: um polígono que bloqueia a luz e projeta sombras.
+ *
+ * O oclusor pode acompanhar uma AABB ou uma forma convexa, como um Polygon,
+ * lendo a geometria a cada quadro, ou ser definido diretamente pelos seus
+ * vértices. O movimento é detectado comparando a geometria com a do quadro
+ * anterior, o que permite recalcular apenas as luzes estáticas afetadas.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public final class Occluder {
+
+    private final AABB aabb;
+    private final ConvexShape shape;
+
+    double[] vertices = new double[0];
+    private double[] previousVertices = new double[0];
+    private boolean initialized;
+
+    /*
+     * Limites atuais e do quadro anterior.
+     */
+    double minX;
+    double minY;
+    double maxX;
+    double maxY;
+    double previousMinX;
+    double previousMinY;
+    double previousMaxX;
+    double previousMaxY;
+
+    /**
+     * Cria um oclusor que acompanha uma AABB.
+     *
+     * @param aabb A AABB.
+     */
+    public Occluder( AABB aabb ) {
+        this.aabb = aabb;
+        this.shape = null;
+    }
+
+    /**
+     * Cria um oclusor que acompanha uma forma convexa.
+     *
+     * @param shape A forma.
+     */
+    public Occluder( ConvexShape shape ) {
+        this.aabb = null;
+        this.shape = shape;
+    }
+
+    /**
+     * Cria um oclusor a partir dos vértices de um polígono.
+     *
+     * @param vertices Os vértices intercalados (x0, y0, x1, y1, ...).
+     */
+    public Occluder( double... vertices ) {
+        this.aabb = null;
+        this.shape = null;
+        setVertices( vertices );
+    }
+
+    /**
+     * Altera os vértices de um oclusor criado a partir de vértices.
+     *
+     * @param vertices Os vértices intercalados (x0, y0, x1, y1, ...).
+     */
+    public void setVertices( double... vertices ) {
+        if ( aabb != null || shape != null ) {
+            throw new IllegalStateException( "the occluder follows another geometry!" );
+        }
+        if ( vertices.length < 4 || vertices.length % 2 != 0 ) {
+            throw new IllegalArgumentException( "vertices must have at least two points!" );
+        }
+        this.vertices = vertices.clone();
+    }
+
+    /**
+     * Obtém uma cópia dos vértices atuais.
+     *
+     * @return Os vértices intercalados (x0, y0, x1, y1, ...).
+     */
+    public double[] getVertices() {
+        return vertices.clone();
+    }
+
+    /**
+     * Lê a geometria acompanhada e verifica se o oclusor se moveu desde o
+     * último quadro. Os limites anteriores ficam disponíveis para que a
+     * região abandonada também seja considerada.
+     *
+     * @return Verdadeiro caso o oclusor seja novo ou tenha se movido.
+     */
+    boolean update() {
+
+        if ( aabb != null ) {
+            if ( vertices.length != 8 ) {
+                vertices = new double[8];
+            }
+            vertices[0] = aabb.x1;
+            vertices[1] = aabb.y1;
+            vertices[2] = aabb.x2;
+            vertices[3] = aabb.y1;
+            vertices[4] = aabb.x2;
+            vertices[5] = aabb.y2;
+            vertices[6] = aabb.x1;
+            vertices[7] = aabb.y2;
+        } else if ( shape != null ) {
+            vertices = shape.getVertices();
+        }
+
+        previousMinX = minX;
+        previousMinY = minY;
+        previousMaxX = maxX;
+        previousMaxY = maxY;
+
+        minX = Double.POSITIVE_INFINITY;
+        minY = Double.POSITIVE_INFINITY;
+        maxX = Double.NEGATIVE_INFINITY;
+        maxY = Double.NEGATIVE_INFINITY;
+        for ( int i = 0; i < vertices.length; i += 2 ) {
+            minX = Math.min( minX, vertices[i] );
+            maxX = Math.max( maxX, vertices[i] );
+            minY = Math.min( minY, vertices[i+1] );
+            maxY = Math.max( maxY, vertices[i+1] );
+        }
+
+        boolean moved = !initialized || !Arrays.equals( vertices, previousVertices );
+
+        if ( !initialized ) {
+            previousMinX = minX;
+            previousMinY = minY;
+            previousMaxX = maxX;
+            previousMaxY = maxY;
+            initialized = true;
+        }
+
+        if ( moved ) {
+            if ( previousVertices.length != vertices.length ) {
+                previousVertices = new double[vertices.length];
+            }
+            System.arraycopy( vertices, 0, previousVertices, 0, vertices.length );
+        }
+
+        return moved;
+
+    }
+
+    /**
+     * Marca o oclusor como novo, de modo que a sua região seja considerada
+     * alterada no próximo quadro.
+     */
+    void reset() {
+        initialized = false;
+    }
+
+}
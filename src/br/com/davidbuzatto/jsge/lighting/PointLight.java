@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2025 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.lighting;
+
+import java.awt.Color;
+import java.awt.Shape;
+
+/**
+ * Luz pontual, que ilumina todas as direções até o seu raio.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class PointLight extends Light {
+
+    /**
+     * Cria uma luz pontual branca.
+     *
+     * @param x Coordenada x da luz.
+     * @param y Coordenada y da luz.
+     * @param radius Raio de alcance da luz.
+     */
+    public PointLight( double x, double y, double radius ) {
+        super( x, y, radius, Color.WHITE );
+    }
+
+    /**
+     * Cria uma luz pontual.
+     *
+     * @param x Coordenada x da luz.
+     * @param y Coordenada y da luz.
+     * @param radius Raio de alcance da luz.
+     * @param color Cor da luz.
+     */
+    public PointLight( double x, double y, double radius, Color color ) {
+        super( x, y, radius, color );
+    }
+
+    @Override
+    protected Shape getEmissionShape( double width, double height ) {
+        return null;
+    }
+
+    @Override
+    protected boolean checkShapeChanged() {
+        return false;
+    }
+
+}
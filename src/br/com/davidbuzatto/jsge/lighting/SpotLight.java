@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2025 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.lighting;
+
+import java.awt.Color;
+import java.awt.Shape;
+import java.awt.geom.Arc2D;
+
+/**
+ * Luz direcional, que ilumina um cone até o seu raio.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class SpotLight extends Light {
+
+    /**
+     * Direção do centro do cone em graus (sentido horário).
+     */
+    public double direction;
+
+    /**
+     * Abertura do cone em graus.
+     */
+    public double angle;
+
+    private double cachedDirection = Double.NaN;
+    private double cachedAngle;
+
+    /**
+     * Cria uma luz direcional branca.
+     *
+     * @param x Coordenada x da luz.
+     * @param y Coordenada y da luz.
+     * @param radius Raio de alcance da luz.
+     * @param direction Direção do centro do cone em graus (sentido horário).
+     * @param angle Abertura do cone em graus.
+     */
+    public SpotLight( double x, double y, double radius, double direction, double angle ) {
+        this( x, y, radius, direction, angle, Color.WHITE );
+    }
+
+    /**
+     * Cria uma luz direcional.
+     *
+     * @param x Coordenada x da luz.
+     * @param y Coordenada y da luz.
+     * @param radius Raio de alcance da luz.
+     * @param direction Direção do centro do cone em graus (sentido horário).
+     * @param angle Abertura do cone em graus.
+     * @param color Cor da luz.
+     */
+    public SpotLight( double x, double y, double radius, double direction, double angle, Color color ) {
+        super( x, y, radius, color );
+        this.direction = direction;
+        this.angle = angle;
+    }
+
+    @Override
+    protected Shape getEmissionShape( double width, double height ) {
+        // o Arc2D usa ângulos no sentido anti-horário
+        return new Arc2D.Double(
+                0, 0, width, height,
+                -direction - angle / 2, angle, Arc2D.PIE );
+    }
+
+    @Override
+    protected boolean checkShapeChanged() {
+        boolean changed = direction != cachedDirection || angle != cachedAngle;
+        cachedDirection = direction;
+        cachedAngle = angle;
+        return changed;
+    }
+
+}
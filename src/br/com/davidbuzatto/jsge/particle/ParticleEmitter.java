@@ -0,0 +1,407 @@
+/*
+ * Copyright (C) 2025 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.particle;
+
+import br.com.davidbuzatto.jsge.core.utils.ColorUtils;
+import br.com.davidbuzatto.jsge.image.Image;
+import br.com.davidbuzatto.jsge.image.ImageUtils;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.MultipleGradientPaint;
+import java.awt.RadialGradientPaint;
+import java.awt.RenderingHints;
+
+/**
+ * Emissor de partículas de um sistema de partículas.
+ *
+ * Define onde e com que frequência as partículas nascem, seu tempo de vida,
+ * velocidade inicial, gravidade e as curvas de cor e de tamanho ao longo da
+ * vida. Por padrão, as curvas vão da cor e do tamanho iniciais até os
+ * finais. Curvas com mais pontos são definidas por quadros-chave em
+ * setColorCurve e setSizeCurve.
+ *
+ * As partículas são desenhadas com um sprite, por padrão um círculo suave,
+ * pré-renderizado em uma tabela de cores ao longo da vida, de modo que o
+ * desenho de cada partícula seja apenas a cópia de uma imagem. A curva de
+ * tamanho também é amostrada em uma tabela.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class ParticleEmitter {
+
+    /**
+     * Quantidade de sprites pré-renderizados ao longo da vida.
+     */
+    public static final int SPRITE_STEPS = 16;
+
+    /**
+     * Quantidade de amostras da curva de tamanho ao longo da vida.
+     */
+    public static final int SIZE_STEPS = 64;
+
+    /**
+     * Tamanho, em pixels, do sprite padrão.
+     */
+    private static final int DEFAULT_SPRITE_SIZE = 32;
+
+    /**
+     * Coordenada x do emissor.
+     */
+    public double x;
+
+    /**
+     * Coordenada y do emissor.
+     */
+    public double y;
+
+    /**
+     * Quantidade de partículas emitidas por segundo.
+     */
+    public double emissionRate = 50;
+
+    /**
+     * Tempo de vida mínimo, em segundos.
+     */
+    public double minLife = 1;
+
+    /**
+     * Tempo de vida máximo, em segundos.
+     */
+    public double maxLife = 2;
+
+    /**
+     * Velocidade inicial mínima, em pixels por segundo.
+     */
+    public double minSpeed = 50;
+
+    /**
+     * Velocidade inicial máxima, em pixels por segundo.
+     */
+    public double maxSpeed = 100;
+
+    /**
+     * Direção da emissão, em graus.
+     */
+    public double direction = -90;
+
+    /**
+     * Abertura total da emissão em torno da direção, em graus.
+     */
+    public double spread = 360;
+
+    /**
+     * Aceleração horizontal, em pixels por segundo ao quadrado.
+     */
+    public double gravityX;
+
+    /**
+     * Aceleração vertical, em pixels por segundo ao quadrado.
+     */
+    public double gravityY;
+
+    /**
+     * Tamanho, em pixels, no nascimento. Ignorado enquanto houver uma curva
+     * de tamanho.
+     */
+    public double startSize = 16;
+
+    /**
+     * Tamanho, em pixels, ao fim da vida. Ignorado enquanto houver uma
+     * curva de tamanho.
+     */
+    public double endSize = 4;
+
+    /**
+     * Cor no nascimento. Ignorada enquanto houver uma curva de cor.
+     */
+    public Color startColor = Color.WHITE;
+
+    /**
+     * Cor ao fim da vida. Ignorada enquanto houver uma curva de cor.
+     */
+    public Color endColor = new Color( 255, 255, 255, 0 );
+
+    /**
+     * Sprite base, modulado pelas cores, ou null para o círculo suave.
+     */
+    public Image sprite;
+
+    /**
+     * Indica se o emissor está emitindo continuamente.
+     */
+    public boolean active = true;
+
+    /** Fração de partícula acumulada entre atualizações. */
+    double accumulator;
+
+    /*
+     * Quadros-chave das curvas, ou null para as curvas lineares.
+     */
+    private double[] colorTimes;
+    private Color[] colorKeys;
+    private double[] sizeTimes;
+    private double[] sizeKeys;
+
+    /*
+     * Sprites pré-renderizados, tamanhos amostrados e o estado usado para
+     * criá-los.
+     */
+    private Image[] sprites;
+    private Color spritesStartColor;
+    private Color spritesEndColor;
+    private Color[] spritesColorKeys;
+    private Image spritesBase;
+    private double[] sizes;
+    private double sizesStart;
+    private double sizesEnd;
+    private double[] sizesKeys;
+
+    private static Image defaultSprite;
+
+    /**
+     * Cria um emissor na origem.
+     */
+    public ParticleEmitter() {
+    }
+
+    /**
+     * Cria um emissor.
+     *
+     * @param x Coordenada x do emissor.
+     * @param y Coordenada y do emissor.
+     */
+    public ParticleEmitter( double x, double y ) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Configura a curva de cor ao longo da vida por quadros-chave. Entre os
+     * quadros, a cor é interpolada linearmente. Antes do primeiro e depois
+     * do último, a cor do quadro mais próximo é mantida.
+     *
+     * @param times Os instantes dos quadros, em frações da vida de 0 a 1,
+     * em ordem crescente.
+     * @param colors As cores de cada quadro.
+     */
+    public void setColorCurve( double[] times, Color[] colors ) {
+        checkCurve( times, colors.length );
+        colorTimes = times.clone();
+        colorKeys = colors.clone();
+    }
+
+    /**
+     * Configura a curva de tamanho ao longo da vida por quadros-chave. Entre
+     * os quadros, o tamanho é interpolado linearmente. Antes do primeiro e
+     * depois do último, o tamanho do quadro mais próximo é mantido.
+     *
+     * @param times Os instantes dos quadros, em frações da vida de 0 a 1,
+     * em ordem crescente.
+     * @param sizes Os tamanhos, em pixels, de cada quadro.
+     */
+    public void setSizeCurve( double[] times, double[] sizes ) {
+        checkCurve( times, sizes.length );
+        sizeTimes = times.clone();
+        sizeKeys = sizes.clone();
+    }
+
+    /**
+     * Remove as curvas por quadros-chave, voltando a interpolar das cores e
+     * tamanhos iniciais até os finais.
+     */
+    public void clearCurves() {
+        colorTimes = null;
+        colorKeys = null;
+        sizeTimes = null;
+        sizeKeys = null;
+    }
+
+    /**
+     * Obtém a cor da curva de cor em uma fração da vida.
+     *
+     * @param t A fração da vida, de 0 a 1.
+     * @return A cor.
+     */
+    public Color getColorAt( double t ) {
+        if ( colorKeys == null ) {
+            return ColorUtils.lerp( startColor, endColor, t );
+        }
+        int k = findKey( colorTimes, t );
+        if ( k < 0 ) {
+            return colorKeys[0];
+        }
+        if ( k == colorTimes.length - 1 ) {
+            return colorKeys[k];
+        }
+        return ColorUtils.lerp( colorKeys[k], colorKeys[k + 1], keyAmount( colorTimes, k, t ) );
+    }
+
+    /**
+     * Obtém o tamanho da curva de tamanho em uma fração da vida.
+     *
+     * @param t A fração da vida, de 0 a 1.
+     * @return O tamanho, em pixels.
+     */
+    public double getSizeAt( double t ) {
+        if ( sizeKeys == null ) {
+            return startSize + ( endSize - startSize ) * t;
+        }
+        int k = findKey( sizeTimes, t );
+        if ( k < 0 ) {
+            return sizeKeys[0];
+        }
+        if ( k == sizeTimes.length - 1 ) {
+            return sizeKeys[k];
+        }
+        return sizeKeys[k] + ( sizeKeys[k + 1] - sizeKeys[k] ) * keyAmount( sizeTimes, k, t );
+    }
+
+    /**
+     * Obtém os tamanhos amostrados ao longo da vida, com SIZE_STEPS + 1
+     * amostras, recriando-os caso a curva de tamanho tenha mudado.
+     */
+    double[] getSizes() {
+
+        if ( sizes == null || sizeKeys != sizesKeys ||
+             ( sizeKeys == null && ( startSize != sizesStart || endSize != sizesEnd ) ) ) {
+
+            if ( sizes == null ) {
+                sizes = new double[SIZE_STEPS + 1];
+            }
+            for ( int s = 0; s <= SIZE_STEPS; s++ ) {
+                sizes[s] = getSizeAt( s / (double) SIZE_STEPS );
+            }
+
+            sizesKeys = sizeKeys;
+            sizesStart = startSize;
+            sizesEnd = endSize;
+
+        }
+
+        return sizes;
+
+    }
+
+    /**
+     * Obtém a tabela de sprites ao longo da vida, recriando-a caso as cores
+     * ou o sprite base tenham mudado.
+     */
+    Image[] getSprites() {
+
+        Image base = sprite != null ? sprite : getDefaultSprite();
+
+        if ( sprites == null || base != spritesBase || colorKeys != spritesColorKeys ||
+             ( colorKeys == null && ( !startColor.equals( spritesStartColor ) || !endColor.equals( spritesEndColor ) ) ) ) {
+
+            int[] basePixels = ImageUtils.getPixels( base );
+            int[] pixels = new int[basePixels.length];
+            sprites = new Image[SPRITE_STEPS];
+
+            for ( int s = 0; s < SPRITE_STEPS; s++ ) {
+
+                Color c = getColorAt( s / (double) ( SPRITE_STEPS - 1 ) );
+                int cr = c.getRed();
+                int cg = c.getGreen();
+                int cb = c.getBlue();
+                int ca = c.getAlpha();
+
+                for ( int i = 0; i < basePixels.length; i++ ) {
+                    int p = basePixels[i];
+                    int a = ( p >>> 24 ) * ca / 255;
+                    int r = ( ( p >> 16 ) & 0xff ) * cr / 255;
+                    int g = ( ( p >> 8 ) & 0xff ) * cg / 255;
+                    int b = ( p & 0xff ) * cb / 255;
+                    pixels[i] = a << 24 | r << 16 | g << 8 | b;
+                }
+
+                sprites[s] = new Image( base.getWidth(), base.getHeight() );
+                ImageUtils.setPixels( sprites[s], pixels );
+
+            }
+
+            spritesBase = base;
+            spritesStartColor = startColor;
+            spritesEndColor = endColor;
+            spritesColorKeys = colorKeys;
+
+        }
+
+        return sprites;
+
+    }
+
+    /**
+     * Verifica os instantes dos quadros-chave de uma curva.
+     */
+    private static void checkCurve( double[] times, int keyCount ) {
+        if ( times.length == 0 || times.length != keyCount ) {
+            throw new IllegalArgumentException( "a curve needs one value per time and at least one key!" );
+        }
+        for ( int i = 0; i < times.length; i++ ) {
+            if ( !( times[i] >= 0 && times[i] <= 1 ) || ( i > 0 && times[i] < times[i - 1] ) ) {
+                throw new IllegalArgumentException( "curve times must be ascending values between 0 and 1!" );
+            }
+        }
+    }
+
+    /**
+     * Encontra o último quadro-chave com instante menor ou igual a t, ou -1
+     * caso t seja anterior ao primeiro.
+     */
+    private static int findKey( double[] times, double t ) {
+        int k = -1;
+        while ( k + 1 < times.length && times[k + 1] <= t ) {
+            k++;
+        }
+        return k;
+    }
+
+    /**
+     * Calcula a fração de t entre o quadro-chave k e o seguinte.
+     */
+    private static double keyAmount( double[] times, int k, double t ) {
+        double span = times[k + 1] - times[k];
+        return span > 0 ? ( t - times[k] ) / span : 1;
+    }
+
+    /**
+     * Obtém o sprite padrão: um círculo branco com a borda suave.
+     */
+    private static synchronized Image getDefaultSprite() {
+
+        if ( defaultSprite == null ) {
+
+            defaultSprite = new Image( DEFAULT_SPRITE_SIZE, DEFAULT_SPRITE_SIZE );
+            Graphics2D g = defaultSprite.buffImage.createGraphics();
+            g.setRenderingHint( RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON );
+
+            float r = DEFAULT_SPRITE_SIZE / 2f;
+            g.setPaint( new RadialGradientPaint(
+                    r, r, r,
+                    new float[]{ 0f, 0.5f, 1f },
+                    new Color[]{ Color.WHITE, new Color( 255, 255, 255, 160 ), new Color( 255, 255, 255, 0 ) },
+                    MultipleGradientPaint.CycleMethod.NO_CYCLE ) );
+            g.fillOval( 0, 0, DEFAULT_SPRITE_SIZE, DEFAULT_SPRITE_SIZE );
+            g.dispose();
+
+        }
+
+        return defaultSprite;
+
+    }
+
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright (C) 2025 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.particle;
+
+import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
+import br.com.davidbuzatto.jsge.image.Image;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Sistema de partículas com capacidade fixa.
+ *
+ * O estado das partículas é mantido em vetores de tipos primitivos, um por
+ * propriedade, alocados uma única vez. Uma partícula que morre é
+ * substituída pela última partícula viva, de modo que as partículas vivas
+ * ocupam sempre o início dos vetores e nascer ou morrer nunca aloca
+ * memória. Quando o sistema está cheio, novas partículas são descartadas.
+ *
+ * A simulação pode ser executada em paralelo para sistemas grandes e o
+ * desenho copia, para cada partícula, o sprite pré-renderizado da cor do
+ * seu momento de vida, sem mudanças de estado do contexto gráfico.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class ParticleSystem {
+
+    /**
+     * Quantidade mínima de partículas para a simulação paralela.
+     */
+    public static final int PARALLEL_THRESHOLD = 8192;
+
+    /**
+     * Quantidade de partículas simuladas por tarefa paralela.
+     */
+    private static final int PARALLEL_CHUNK = 2048;
+
+    private final int capacity;
+    private int count;
+
+    private final double[] x;
+    private final double[] y;
+    private final double[] vx;
+    private final double[] vy;
+    private final double[] ax;
+    private final double[] ay;
+    private final double[] age;
+    private final double[] life;
+    private final ParticleEmitter[] owner;
+
+    private final List<ParticleEmitter> emitters = new ArrayList<>();
+    private final Random random = new Random();
+
+    private boolean parallel;
+
+    /**
+     * Cria um sistema de partículas.
+     *
+     * @param capacity Quantidade máxima de partículas vivas.
+     */
+    public ParticleSystem( int capacity ) {
+
+        if ( capacity <= 0 ) {
+            throw new IllegalArgumentException( "capacity must be positive!" );
+        }
+
+        this.capacity = capacity;
+        x = new double[capacity];
+        y = new double[capacity];
+        vx = new double[capacity];
+        vy = new double[capacity];
+        ax = new double[capacity];
+        ay = new double[capacity];
+        age = new double[capacity];
+        life = new double[capacity];
+        owner = new ParticleEmitter[capacity];
+
+    }
+
+    /**
+     * Adiciona um emissor ao sistema.
+     *
+     * @param emitter O emissor.
+     * @return O próprio emissor.
+     */
+    public ParticleEmitter addEmitter( ParticleEmitter emitter ) {
+        emitters.add( emitter );
+        return emitter;
+    }
+
+    /**
+     * Remove um emissor do sistema. As partículas já emitidas por ele
+     * continuam vivas até o fim da vida.
+     *
+     * @param emitter O emissor.
+     */
+    public void removeEmitter( ParticleEmitter emitter ) {
+        emitters.remove( emitter );
+    }
+
+    /**
+     * Emite imediatamente uma rajada de partículas.
+     *
+     * @param emitter O emissor.
+     * @param amount A quantidade de partículas.
+     */
+    public void emit( ParticleEmitter emitter, int amount ) {
+
+        double lifeRange = emitter.maxLife - emitter.minLife;
+        double speedRange = emitter.maxSpeed - emitter.minSpeed;
+
+        for ( int n = 0; n < amount && count < capacity; n++ ) {
+
+            int i = count++;
+            double angle = Math.toRadians( emitter.direction + ( random.nextDouble() - 0.5 ) * emitter.spread );
+            double speed = emitter.minSpeed + random.nextDouble() * speedRange;
+
+            x[i] = emitter.x;
+            y[i] = emitter.y;
+            vx[i] = Math.cos( angle ) * speed;
+            vy[i] = Math.sin( angle ) * speed;
+            ax[i] = emitter.gravityX;
+            ay[i] = emitter.gravityY;
+            age[i] = 0;
+            life[i] = Math.max( emitter.minLife + random.nextDouble() * lifeRange, 1e-6 );
+            owner[i] = emitter;
+
+        }
+
+    }
+
+    /**
+     * Atualiza o sistema: emite as partículas dos emissores ativos, move
+     * as partículas vivas e remove as que morreram.
+     *
+     * @param delta A variação no tempo, em segundos.
+     */
+    public void update( double delta ) {
+
+        for ( ParticleEmitter emitter : emitters ) {
+            if ( emitter.active ) {
+                emitter.accumulator += emitter.emissionRate * delta;
+                int amount = (int) emitter.accumulator;
+                emitter.accumulator -= amount;
+                emit( emitter, amount );
+            }
+        }
+
+        int n = count;
+
+        if ( parallel && n >= PARALLEL_THRESHOLD ) {
+            int chunks = ( n + PARALLEL_CHUNK - 1 ) / PARALLEL_CHUNK;
+            IntStream.range( 0, chunks ).parallel().forEach( c -> {
+                simulate( c * PARALLEL_CHUNK, Math.min( n, ( c + 1 ) * PARALLEL_CHUNK ), delta );
+            });
+        } else {
+            simulate( 0, n, delta );
+        }
+
+        // remoção das mortas trocando-as pela última viva
+        int i = 0;
+        while ( i < count ) {
+            if ( age[i] >= life[i] ) {
+                int last = --count;
+                x[i] = x[last];
+                y[i] = y[last];
+                vx[i] = vx[last];
+                vy[i] = vy[last];
+                ax[i] = ax[last];
+                ay[i] = ay[last];
+                age[i] = age[last];
+                life[i] = life[last];
+                owner[i] = owner[last];
+                owner[last] = null;
+            } else {
+                i++;
+            }
+        }
+
+    }
+
+    /**
+     * Integra as partículas no intervalo [start, end).
+     */
+    private void simulate( int start, int end, double delta ) {
+        for ( int i = start; i < end; i++ ) {
+            vx[i] += ax[i] * delta;
+            vy[i] += ay[i] * delta;
+            x[i] += vx[i] * delta;
+            y[i] += vy[i] * delta;
+            age[i] += delta;
+        }
+    }
+
+    /**
+     * Desenha as partículas vivas.
+     *
+     * @param engine A engine.
+     */
+    public void draw( EngineFrame engine ) {
+
+        if ( count == 0 ) {
+            return;
+        }
+
+        Graphics2D g2d = engine.getGraphics2D();
+        Object interpolation = g2d.getRenderingHint( RenderingHints.KEY_INTERPOLATION );
+        g2d.setRenderingHint( RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR );
+
+        ParticleEmitter currentEmitter = null;
+        Image[] sprites = null;
+        double[] sizes = null;
+        int steps = ParticleEmitter.SPRITE_STEPS - 1;
+        int sizeSteps = ParticleEmitter.SIZE_STEPS;
+
+        for ( int i = 0; i < count; i++ ) {
+
+            ParticleEmitter e = owner[i];
+            if ( e != currentEmitter ) {
+                currentEmitter = e;
+                sprites = e.getSprites();
+                sizes = e.getSizes();
+            }
+
+            double t = Math.min( age[i] / life[i], 1.0 );
+
+            // interpolação entre as amostras vizinhas da curva de tamanho
+            double st = t * sizeSteps;
+            int k = Math.min( (int) st, sizeSteps - 1 );
+            double size = sizes[k] + ( sizes[k + 1] - sizes[k] ) * ( st - k );
+            if ( size <= 0 ) {
+                continue;
+            }
+
+            Image sprite = sprites[(int) ( t * steps + 0.5 )];
+            double half = size / 2;
+            int x1 = (int) Math.round( x[i] - half );
+            int y1 = (int) Math.round( y[i] - half );
+            int x2 = (int) Math.round( x[i] + half );
+            int y2 = (int) Math.round( y[i] + half );
+
+            g2d.drawImage( sprite.buffImage,
+                    x1, y1, x2, y2,
+                    0, 0, sprite.getWidth(), sprite.getHeight(), null );
+
+        }
+
+        g2d.setRenderingHint( RenderingHints.KEY_INTERPOLATION,
+                interpolation != null ? interpolation : RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR );
+
+    }
+
+    /**
+     * Remove todas as partículas vivas.
+     */
+    public void clear() {
+        Arrays.fill( owner, 0, count, null );
+        count = 0;
+    }
+
+    /**
+     * Obtém a quantidade de partículas vivas.
+     *
+     * @return A quantidade de partículas vivas.
+     */
+    public int getParticleCount() {
+        return count;
+    }
+
+    /**
+     * Obtém a quantidade máxima de partículas vivas.
+     *
+     * @return A capacidade.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Retorna se a simulação paralela está ativa.
+     *
+     * @return Verdadeiro caso a simulação paralela esteja ativa.
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Ativa ou desativa a simulação paralela, usada apenas quando há pelo
+     * menos PARALLEL_THRESHOLD partículas vivas.
+     *
+     * @param parallel Verdadeiro para ativar, falso para desativar.
+     */
+    public void setParallel( boolean parallel ) {
+        this.parallel = parallel;
+    }
+
+    @Override
+    public String toString() {
+        return String.format( "ParticleSystem[%d/%d, emitters=%d]", count, capacity, emitters.size() );
+    }
+
+}
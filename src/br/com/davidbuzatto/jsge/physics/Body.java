@@ -0,0 +1,729 @@
+/*
+ * Copyright (C) 2025 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.physics;
+
+import br.com.davidbuzatto.jsge.collision.aabb.AABB;
+import br.com.davidbuzatto.jsge.core.Drawable;
+import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
+import br.com.davidbuzatto.jsge.geom.ConvexShape;
+import java.awt.Paint;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Um corpo rígido 2D simulado pelo PhysicsWorld.
+ *
+ * Um corpo pode ser um círculo ou um polígono convexo (caixas são polígonos
+ * de quatro vértices). As unidades são pixels, segundos e radianos, com o
+ * eixo y apontando para baixo, como no restante da engine.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class Body implements Drawable {
+
+    /**
+     * Tipo do corpo.
+     */
+    public static enum Type {
+
+        /**
+         * Corpo estático, com massa infinita, que nunca se move.
+         */
+        STATIC,
+
+        /**
+         * Corpo dinâmico, afetado por forças e colisões.
+         */
+        DYNAMIC;
+
+    }
+
+    /**
+     * Formato do corpo.
+     */
+    public static enum Shape {
+        CIRCLE,
+        POLYGON;
+    }
+
+    /**
+     * Identificador atribuído pelo mundo.
+     */
+    int id = -1;
+
+    private Type type;
+    private final Shape shape;
+
+    private final double radius;
+    private final double[] localVertices;
+    private final double[] worldVertices;
+    private final double[] worldNormals;
+
+    // estado cinemático
+    double x;
+    double y;
+    double angle;
+    double vx;
+    double vy;
+    double angularVelocity;
+
+    // acumuladores de força
+    double forceX;
+    double forceY;
+    double torque;
+
+    // propriedades de massa
+    private double density;
+    double mass;
+    double invMass;
+    double inertia;
+    double invInertia;
+
+    // propriedades do material
+    double restitution;
+    double friction;
+    double linearDamping;
+    double angularDamping;
+
+    // sono
+    boolean awake;
+    boolean sleepingAllowed;
+    double sleepTime;
+
+    /**
+     * Índice no conjunto disjunto usado na detecção de ilhas.
+     */
+    int islandIndex;
+
+    /**
+     * Contatos persistentes do corpo, usados para acordar a ilha inteira.
+     */
+    final List<Contact> contacts = new ArrayList<>();
+
+    // broadphase
+    boolean resting;
+    boolean moved;
+    boolean wasAwake;
+    int queryStep = -1;
+
+    /**
+     * AABB usada pela broadphase.
+     */
+    private final AABB aabb;
+
+    /**
+     * Dados arbitrários do usuário.
+     */
+    public Object userData;
+
+    private Body( Shape shape, double x, double y, double radius, double[] localVertices, Type type, double density ) {
+
+        this.shape = shape;
+        this.x = x;
+        this.y = y;
+        this.radius = radius;
+        this.localVertices = localVertices;
+        this.worldVertices = localVertices == null ? null : new double[localVertices.length];
+        this.worldNormals = localVertices == null ? null : new double[localVertices.length];
+        this.type = type;
+        this.density = density;
+        this.restitution = 0.0;
+        this.friction = 0.4;
+        this.awake = true;
+        this.sleepingAllowed = true;
+        this.aabb = new AABB( 0, 0, 0, 0, type == Type.STATIC ? AABB.Type.STATIC : AABB.Type.DYNAMIC, this );
+
+        computeMass();
+        updateTransform();
+
+    }
+
+    /**
+     * Cria um corpo circular.
+     *
+     * @param x Coordenada x do centro.
+     * @param y Coordenada y do centro.
+     * @param radius Raio.
+     * @param type Tipo do corpo.
+     * @return O novo corpo.
+     */
+    public static Body createCircle( double x, double y, double radius, Type type ) {
+        return new Body( Shape.CIRCLE, x, y, radius, null, type, 1.0 );
+    }
+
+    /**
+     * Cria um corpo retangular (caixa).
+     *
+     * @param x Coordenada x do centro.
+     * @param y Coordenada y do centro.
+     * @param width Largura.
+     * @param height Altura.
+     * @param type Tipo do corpo.
+     * @return O novo corpo.
+     */
+    public static Body createBox( double x, double y, double width, double height, Type type ) {
+        double hw = width / 2;
+        double hh = height / 2;
+        return new Body( Shape.POLYGON, x, y, 0, new double[]{ -hw, -hh, hw, -hh, hw, hh, -hw, hh }, type, 1.0 );
+    }
+
+    /**
+     * Cria um corpo a partir de um polígono convexo. Os vértices são
+     * relativos à posição informada e são recentralizados no centroide,
+     * que passa a ser a posição do corpo.
+     *
+     * @param x Coordenada x da origem dos vértices.
+     * @param y Coordenada y da origem dos vértices.
+     * @param vertices Vértices empacotados (x, y) de um polígono convexo.
+     * @param type Tipo do corpo.
+     * @return O novo corpo.
+     */
+    public static Body createPolygon( double x, double y, double[] vertices, Type type ) {
+        if ( vertices.length < 6 || vertices.length % 2 != 0 ) {
+            throw new IllegalArgumentException( "a polygon body needs at least three vertices!" );
+        }
+        return new Body( Shape.POLYGON, x, y, 0, vertices.clone(), type, 1.0 );
+    }
+
+    /**
+     * Calcula massa, centroide e momento de inércia a partir da densidade.
+     */
+    private void computeMass() {
+
+        if ( shape == Shape.CIRCLE ) {
+            mass = density * Math.PI * radius * radius;
+            inertia = mass * radius * radius * 0.5;
+        } else {
+
+            int count = localVertices.length / 2;
+            double area = 0;
+            double cx = 0;
+            double cy = 0;
+            double i = 0;
+
+            // leque de triângulos a partir da origem local
+            for ( int k = 0; k < count; k++ ) {
+                int n = ( k + 1 ) % count;
+                double x1 = localVertices[k*2];
+                double y1 = localVertices[k*2+1];
+                double x2 = localVertices[n*2];
+                double y2 = localVertices[n*2+1];
+                double d = x1 * y2 - y1 * x2;
+                area += d * 0.5;
+                cx += d * ( x1 + x2 ) / 6.0;
+                cy += d * ( y1 + y2 ) / 6.0;
+                i += d * ( x1 * x1 + x2 * x1 + x2 * x2 + y1 * y1 + y2 * y1 + y2 * y2 ) / 12.0;
+            }
+
+            cx /= area;
+            cy /= area;
+
+            // recentraliza os vértices no centroide
+            for ( int k = 0; k < count; k++ ) {
+                localVertices[k*2] -= cx;
+                localVertices[k*2+1] -= cy;
+            }
+            x += cx;
+            y += cy;
+
+            mass = density * Math.abs( area );
+            inertia = density * Math.abs( i ) - mass * ( cx * cx + cy * cy );
+
+        }
+
+        updateInverseMass();
+
+    }
+
+    /**
+     * Atualiza os vértices no mundo e a AABB a partir da posição e do ângulo.
+     */
+    void updateTransform() {
+
+        if ( shape == Shape.CIRCLE ) {
+            aabb.x1 = x - radius;
+            aabb.y1 = y - radius;
+            aabb.x2 = x + radius;
+            aabb.y2 = y + radius;
+        } else {
+
+            double cos = Math.cos( angle );
+            double sin = Math.sin( angle );
+            double minX = Double.POSITIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY;
+            double maxY = Double.NEGATIVE_INFINITY;
+
+            for ( int k = 0; k < localVertices.length; k += 2 ) {
+                double lx = localVertices[k];
+                double ly = localVertices[k+1];
+                double wx = x + lx * cos - ly * sin;
+                double wy = y + lx * sin + ly * cos;
+                worldVertices[k] = wx;
+                worldVertices[k+1] = wy;
+                minX = Math.min( minX, wx );
+                minY = Math.min( minY, wy );
+                maxX = Math.max( maxX, wx );
+                maxY = Math.max( maxY, wy );
+            }
+
+            ConvexShape.computeEdgeNormals( worldVertices, worldNormals );
+
+            aabb.x1 = minX;
+            aabb.y1 = minY;
+            aabb.x2 = maxX;
+            aabb.y2 = maxY;
+
+        }
+
+        aabb.width = aabb.x2 - aabb.x1;
+        aabb.height = aabb.y2 - aabb.y1;
+
+    }
+
+    /**
+     * Aplica uma força no centro de massa, acordando o corpo.
+     *
+     * @param fx Componente x da força.
+     * @param fy Componente y da força.
+     */
+    public void applyForce( double fx, double fy ) {
+        if ( type == Type.DYNAMIC ) {
+            forceX += fx;
+            forceY += fy;
+            wakeUp();
+        }
+    }
+
+    /**
+     * Aplica uma força em um ponto do mundo, gerando torque.
+     *
+     * @param fx Componente x da força.
+     * @param fy Componente y da força.
+     * @param px Coordenada x do ponto.
+     * @param py Coordenada y do ponto.
+     */
+    public void applyForce( double fx, double fy, double px, double py ) {
+        if ( type == Type.DYNAMIC ) {
+            forceX += fx;
+            forceY += fy;
+            torque += ( px - x ) * fy - ( py - y ) * fx;
+            wakeUp();
+        }
+    }
+
+    /**
+     * Aplica um torque, acordando o corpo.
+     *
+     * @param torque O torque.
+     */
+    public void applyTorque( double torque ) {
+        if ( type == Type.DYNAMIC ) {
+            this.torque += torque;
+            wakeUp();
+        }
+    }
+
+    /**
+     * Aplica um impulso linear em um ponto do mundo.
+     *
+     * @param ix Componente x do impulso.
+     * @param iy Componente y do impulso.
+     * @param px Coordenada x do ponto.
+     * @param py Coordenada y do ponto.
+     */
+    public void applyImpulse( double ix, double iy, double px, double py ) {
+        if ( type == Type.DYNAMIC ) {
+            vx += ix * invMass;
+            vy += iy * invMass;
+            angularVelocity += invInertia * ( ( px - x ) * iy - ( py - y ) * ix );
+            wakeUp();
+        }
+    }
+
+    /**
+     * Acorda o corpo, zerando o tempo de inatividade. Os corpos da mesma
+     * ilha são acordados pelo mundo no próximo passo.
+     */
+    public void wakeUp() {
+        awake = true;
+        sleepTime = 0;
+    }
+
+    /**
+     * Coloca o corpo para dormir, zerando as velocidades.
+     */
+    void sleep() {
+        awake = false;
+        sleepTime = 0;
+        vx = 0;
+        vy = 0;
+        angularVelocity = 0;
+        forceX = 0;
+        forceY = 0;
+        torque = 0;
+    }
+
+    /**
+     * Reposiciona o corpo.
+     *
+     * @param x Coordenada x do centro de massa.
+     * @param y Coordenada y do centro de massa.
+     */
+    public void setPosition( double x, double y ) {
+        this.x = x;
+        this.y = y;
+        updateTransform();
+        moved = true;
+        wakeUp();
+    }
+
+    /**
+     * Configura a rotação do corpo.
+     *
+     * @param rotation Rotação em graus (sentido horário).
+     */
+    public void setRotation( double rotation ) {
+        this.angle = Math.toRadians( rotation );
+        updateTransform();
+        moved = true;
+        wakeUp();
+    }
+
+    /**
+     * Configura a velocidade linear.
+     *
+     * @param vx Componente x em pixels por segundo.
+     * @param vy Componente y em pixels por segundo.
+     */
+    public void setVelocity( double vx, double vy ) {
+        if ( type == Type.DYNAMIC ) {
+            this.vx = vx;
+            this.vy = vy;
+            wakeUp();
+        }
+    }
+
+    /**
+     * Configura a velocidade angular.
+     *
+     * @param angularVelocity Velocidade angular em radianos por segundo.
+     */
+    public void setAngularVelocity( double angularVelocity ) {
+        if ( type == Type.DYNAMIC ) {
+            this.angularVelocity = angularVelocity;
+            wakeUp();
+        }
+    }
+
+    /**
+     * Configura a densidade, recalculando a massa e a inércia.
+     *
+     * @param density A nova densidade.
+     */
+    public void setDensity( double density ) {
+        if ( density <= 0 ) {
+            throw new IllegalArgumentException( "density must be positive!" );
+        }
+        // massa e inércia são proporcionais à densidade
+        double ratio = density / this.density;
+        this.density = density;
+        mass *= ratio;
+        inertia *= ratio;
+        updateInverseMass();
+    }
+
+    /**
+     * Configura o tipo do corpo.
+     *
+     * @param type O novo tipo.
+     */
+    public void setType( Type type ) {
+        this.type = type;
+        aabb.type = type == Type.STATIC ? AABB.Type.STATIC : AABB.Type.DYNAMIC;
+        if ( type == Type.STATIC ) {
+            vx = 0;
+            vy = 0;
+            angularVelocity = 0;
+        }
+        updateInverseMass();
+        moved = true;
+        wakeUp();
+    }
+
+    /**
+     * Atualiza as inversas da massa e da inércia de acordo com o tipo.
+     */
+    private void updateInverseMass() {
+        if ( type == Type.STATIC || mass <= 0 ) {
+            invMass = 0;
+            invInertia = 0;
+        } else {
+            invMass = 1.0 / mass;
+            invInertia = inertia > 0 ? 1.0 / inertia : 0;
+        }
+    }
+
+    /**
+     * Configura o coeficiente de restituição (elasticidade).
+     *
+     * @param restitution Valor entre 0 e 1.
+     */
+    public void setRestitution( double restitution ) {
+        this.restitution = restitution;
+    }
+
+    /**
+     * Configura o coeficiente de atrito.
+     *
+     * @param friction Valor não negativo.
+     */
+    public void setFriction( double friction ) {
+        this.friction = friction;
+    }
+
+    /**
+     * Configura o amortecimento linear e angular.
+     *
+     * @param linearDamping Amortecimento linear.
+     * @param angularDamping Amortecimento angular.
+     */
+    public void setDamping( double linearDamping, double angularDamping ) {
+        this.linearDamping = linearDamping;
+        this.angularDamping = angularDamping;
+    }
+
+    /**
+     * Configura se o corpo pode dormir.
+     *
+     * @param sleepingAllowed Verdadeiro para permitir.
+     */
+    public void setSleepingAllowed( boolean sleepingAllowed ) {
+        this.sleepingAllowed = sleepingAllowed;
+        if ( !sleepingAllowed ) {
+            wakeUp();
+        }
+    }
+
+    /**
+     * Obtém o identificador atribuído pelo mundo.
+     *
+     * @return O identificador, ou -1 caso o corpo não pertença a um mundo.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Obtém o tipo do corpo.
+     *
+     * @return O tipo.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Obtém o formato do corpo.
+     *
+     * @return O formato.
+     */
+    public Shape getShape() {
+        return shape;
+    }
+
+    /**
+     * Obtém o raio de um corpo circular.
+     *
+     * @return O raio.
+     */
+    public double getRadius() {
+        return radius;
+    }
+
+    /**
+     * Obtém a coordenada x do centro de massa.
+     *
+     * @return A coordenada x.
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * Obtém a coordenada y do centro de massa.
+     *
+     * @return A coordenada y.
+     */
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * Obtém a rotação do corpo.
+     *
+     * @return A rotação em graus (sentido horário).
+     */
+    public double getRotation() {
+        return Math.toDegrees( angle );
+    }
+
+    /**
+     * Obtém a componente x da velocidade linear.
+     *
+     * @return A componente x em pixels por segundo.
+     */
+    public double getVelocityX() {
+        return vx;
+    }
+
+    /**
+     * Obtém a componente y da velocidade linear.
+     *
+     * @return A componente y em pixels por segundo.
+     */
+    public double getVelocityY() {
+        return vy;
+    }
+
+    /**
+     * Obtém a velocidade angular.
+     *
+     * @return A velocidade angular em radianos por segundo.
+     */
+    public double getAngularVelocity() {
+        return angularVelocity;
+    }
+
+    /**
+     * Obtém a massa.
+     *
+     * @return A massa.
+     */
+    public double getMass() {
+        return mass;
+    }
+
+    /**
+     * Obtém o momento de inércia em relação ao centro de massa.
+     *
+     * @return O momento de inércia.
+     */
+    public double getInertia() {
+        return inertia;
+    }
+
+    /**
+     * Obtém o coeficiente de restituição.
+     *
+     * @return O coeficiente de restituição.
+     */
+    public double getRestitution() {
+        return restitution;
+    }
+
+    /**
+     * Obtém o coeficiente de atrito.
+     *
+     * @return O coeficiente de atrito.
+     */
+    public double getFriction() {
+        return friction;
+    }
+
+    /**
+     * Verifica se o corpo está acordado.
+     *
+     * @return Verdadeiro caso esteja acordado, falso caso esteja dormindo.
+     */
+    public boolean isAwake() {
+        return awake;
+    }
+
+    /**
+     * Verifica se o corpo pode dormir.
+     *
+     * @return Verdadeiro caso possa dormir, falso caso contrário.
+     */
+    public boolean isSleepingAllowed() {
+        return sleepingAllowed;
+    }
+
+    /**
+     * Obtém os vértices do polígono no mundo. Nulo para círculos.
+     *
+     * @return Os vértices empacotados (x, y). Não devem ser modificados.
+     */
+    public double[] getVertices() {
+        return worldVertices;
+    }
+
+    /**
+     * Obtém as normais das arestas do polígono no mundo. Nulo para círculos.
+     *
+     * @return As normais empacotadas (x, y). Não devem ser modificadas.
+     */
+    public double[] getEdgeNormals() {
+        return worldNormals;
+    }
+
+    /**
+     * Obtém a AABB usada pela broadphase.
+     *
+     * @return A AABB.
+     */
+    public AABB getAABB() {
+        return aabb;
+    }
+
+    @Override
+    public void draw( EngineFrame engine, Paint paint ) {
+        if ( shape == Shape.CIRCLE ) {
+            engine.drawCircle( x, y, radius, paint );
+            engine.drawLine( x, y, x + Math.cos( angle ) * radius, y + Math.sin( angle ) * radius, paint );
+        } else {
+            int count = worldVertices.length / 2;
+            for ( int k = 0; k < count; k++ ) {
+                int n = ( k + 1 ) % count;
+                engine.drawLine( worldVertices[k*2], worldVertices[k*2+1], worldVertices[n*2], worldVertices[n*2+1], paint );
+            }
+        }
+    }
+
+    @Override
+    public void fill( EngineFrame engine, Paint paint ) {
+        if ( shape == Shape.CIRCLE ) {
+            engine.fillCircle( x, y, radius, paint );
+        } else {
+            // leque de triângulos, válido para polígonos convexos
+            for ( int k = 2; k < worldVertices.length - 2; k += 2 ) {
+                engine.fillTriangle(
+                    worldVertices[0], worldVertices[1],
+                    worldVertices[k], worldVertices[k+1],
+                    worldVertices[k+2], worldVertices[k+3],
+                    paint
+                );
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format( "Body[%d, %s, %s, %.2f, %.2f, %.2f]", id, type, shape, x, y, getRotation() );
+    }
+
+}
@@ -0,0 +1,363 @@
+/*
+ * Copyright (C) 2025 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.physics;
+
+import br.com.davidbuzatto.jsge.collision.CollisionManifold;
+
+/**
+ * Contato persistente entre dois corpos.
+ *
+ * O contato sobrevive entre passos enquanto os corpos continuarem se
+ * tocando, guardando os impulsos acumulados de cada ponto para o warm
+ * starting do solver de impulsos sequenciais.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class Contact {
+
+    /**
+     * Distância máxima, em pixels, para considerar que um ponto de contato
+     * novo é o mesmo ponto do passo anterior.
+     */
+    private static final double MATCH_DISTANCE_SQ = 4.0 * 4.0;
+
+    final Body a;
+    final Body b;
+
+    /**
+     * Último passo em que o contato foi confirmado pela narrowphase.
+     */
+    int stamp;
+
+    /**
+     * Último passo em que o contato foi revisado.
+     */
+    int listed;
+
+    int pointCount;
+    double normalX;
+    double normalY;
+    double depth;
+    double friction;
+    double restitution;
+
+    // dados por ponto de contato
+    final double[] pointX = new double[CollisionManifold.MAX_CONTACTS];
+    final double[] pointY = new double[CollisionManifold.MAX_CONTACTS];
+    final double[] pointDepth = new double[CollisionManifold.MAX_CONTACTS];
+    final double[] rAx = new double[CollisionManifold.MAX_CONTACTS];
+    final double[] rAy = new double[CollisionManifold.MAX_CONTACTS];
+    final double[] rBx = new double[CollisionManifold.MAX_CONTACTS];
+    final double[] rBy = new double[CollisionManifold.MAX_CONTACTS];
+    final double[] normalMass = new double[CollisionManifold.MAX_CONTACTS];
+    final double[] tangentMass = new double[CollisionManifold.MAX_CONTACTS];
+    final double[] velocityBias = new double[CollisionManifold.MAX_CONTACTS];
+    final double[] normalImpulse = new double[CollisionManifold.MAX_CONTACTS];
+    final double[] tangentImpulse = new double[CollisionManifold.MAX_CONTACTS];
+
+    // pontos do passo anterior, usados no pareamento do warm starting
+    private final double[] oldX = new double[CollisionManifold.MAX_CONTACTS];
+    private final double[] oldY = new double[CollisionManifold.MAX_CONTACTS];
+    private final double[] oldNormalImpulse = new double[CollisionManifold.MAX_CONTACTS];
+    private final double[] oldTangentImpulse = new double[CollisionManifold.MAX_CONTACTS];
+
+    /**
+     * Cria um novo contato entre dois corpos.
+     *
+     * @param a O corpo A.
+     * @param b O corpo B.
+     */
+    Contact( Body a, Body b ) {
+        this.a = a;
+        this.b = b;
+        this.friction = Math.sqrt( a.friction * b.friction );
+        this.restitution = Math.max( a.restitution, b.restitution );
+    }
+
+    /**
+     * Atualiza o contato com uma nova variedade, transferindo os impulsos
+     * acumulados dos pontos que persistiram. Cada ponto novo herda os
+     * impulsos de no máximo um ponto antigo, escolhendo sempre o par mais
+     * próximo entre os ainda livres.
+     *
+     * @param manifold A variedade com a normal de A para B.
+     */
+    void update( CollisionManifold manifold ) {
+
+        int oldCount = pointCount;
+        for ( int i = 0; i < oldCount; i++ ) {
+            oldX[i] = pointX[i];
+            oldY[i] = pointY[i];
+            oldNormalImpulse[i] = normalImpulse[i];
+            oldTangentImpulse[i] = tangentImpulse[i];
+        }
+
+        pointCount = manifold.contactCount;
+        normalX = manifold.normal.x;
+        normalY = manifold.normal.y;
+        depth = manifold.depth;
+        friction = Math.sqrt( a.friction * b.friction );
+        restitution = Math.max( a.restitution, b.restitution );
+
+        for ( int i = 0; i < pointCount; i++ ) {
+            pointX[i] = manifold.contacts[i].x;
+            pointY[i] = manifold.contacts[i].y;
+            pointDepth[i] = manifold.depths[i];
+            normalImpulse[i] = 0;
+            tangentImpulse[i] = 0;
+        }
+
+        // pareamento guloso um para um pelo par mais próximo
+        int newUsed = 0;
+        int oldUsed = 0;
+        int pairs = Math.min( pointCount, oldCount );
+
+        for ( int p = 0; p < pairs; p++ ) {
+
+            int bestNew = -1;
+            int bestOld = -1;
+            double bestDistance = MATCH_DISTANCE_SQ;
+
+            for ( int i = 0; i < pointCount; i++ ) {
+                if ( ( newUsed & ( 1 << i ) ) != 0 ) {
+                    continue;
+                }
+                for ( int j = 0; j < oldCount; j++ ) {
+                    if ( ( oldUsed & ( 1 << j ) ) != 0 ) {
+                        continue;
+                    }
+                    double d = distanceSQ( pointX[i], pointY[i], oldX[j], oldY[j] );
+                    if ( d < bestDistance ) {
+                        bestDistance = d;
+                        bestNew = i;
+                        bestOld = j;
+                    }
+                }
+            }
+
+            if ( bestNew == -1 ) {
+                break;
+            }
+
+            newUsed |= 1 << bestNew;
+            oldUsed |= 1 << bestOld;
+            normalImpulse[bestNew] = oldNormalImpulse[bestOld];
+            tangentImpulse[bestNew] = oldTangentImpulse[bestOld];
+
+        }
+
+    }
+
+    private static double distanceSQ( double x1, double y1, double x2, double y2 ) {
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Prepara as massas efetivas e os termos de bias, aplicando os impulsos
+     * do passo anterior (warm starting).
+     *
+     * @param invDt Inverso do passo de tempo.
+     * @param baumgarte Fator de correção de posição.
+     * @param slop Penetração permitida.
+     * @param restitutionThreshold Velocidade mínima para haver restituição.
+     * @param warmStarting Indica se os impulsos anteriores devem ser aplicados.
+     */
+    void prepare( double invDt, double baumgarte, double slop, double restitutionThreshold, boolean warmStarting ) {
+
+        double tx = normalY;
+        double ty = -normalX;
+
+        for ( int i = 0; i < pointCount; i++ ) {
+
+            double ax = pointX[i] - a.x;
+            double ay = pointY[i] - a.y;
+            double bx = pointX[i] - b.x;
+            double by = pointY[i] - b.y;
+            rAx[i] = ax;
+            rAy[i] = ay;
+            rBx[i] = bx;
+            rBy[i] = by;
+
+            double rnA = ax * normalY - ay * normalX;
+            double rnB = bx * normalY - by * normalX;
+            double kNormal = a.invMass + b.invMass + a.invInertia * rnA * rnA + b.invInertia * rnB * rnB;
+            normalMass[i] = kNormal > 0 ? 1.0 / kNormal : 0;
+
+            double rtA = ax * ty - ay * tx;
+            double rtB = bx * ty - by * tx;
+            double kTangent = a.invMass + b.invMass + a.invInertia * rtA * rtA + b.invInertia * rtB * rtB;
+            tangentMass[i] = kTangent > 0 ? 1.0 / kTangent : 0;
+
+            // velocidade relativa ao longo da normal
+            double dvx = b.vx - b.angularVelocity * by - a.vx + a.angularVelocity * ay;
+            double dvy = b.vy + b.angularVelocity * bx - a.vy - a.angularVelocity * ax;
+            double vn = dvx * normalX + dvy * normalY;
+
+            // cada ponto corrige a sua própria penetração, o que também
+            // desfaz inclinações; pontos especulativos permitem aproximação
+            if ( pointDepth[i] < 0 ) {
+                velocityBias[i] = pointDepth[i] * invDt;
+            } else {
+                velocityBias[i] = baumgarte * invDt * Math.max( 0, pointDepth[i] - slop );
+                if ( vn < -restitutionThreshold ) {
+                    velocityBias[i] = Math.max( velocityBias[i], -restitution * vn );
+                }
+            }
+
+            if ( warmStarting ) {
+                double px = normalImpulse[i] * normalX + tangentImpulse[i] * tx;
+                double py = normalImpulse[i] * normalY + tangentImpulse[i] * ty;
+                applyImpulse( i, px, py );
+            } else {
+                normalImpulse[i] = 0;
+                tangentImpulse[i] = 0;
+            }
+
+        }
+
+    }
+
+    /**
+     * Resolve as restrições de velocidade do contato uma vez.
+     */
+    void solve() {
+
+        double tx = normalY;
+        double ty = -normalX;
+
+        for ( int i = 0; i < pointCount; i++ ) {
+
+            // não penetração
+            double dvx = b.vx - b.angularVelocity * rBy[i] - a.vx + a.angularVelocity * rAy[i];
+            double dvy = b.vy + b.angularVelocity * rBx[i] - a.vy - a.angularVelocity * rAx[i];
+            double vn = dvx * normalX + dvy * normalY;
+            double lambda = normalMass[i] * ( -vn + velocityBias[i] );
+            double newImpulse = Math.max( normalImpulse[i] + lambda, 0 );
+            lambda = newImpulse - normalImpulse[i];
+            normalImpulse[i] = newImpulse;
+            applyImpulse( i, lambda * normalX, lambda * normalY );
+
+            // atrito, limitado pelo impulso normal acumulado
+            dvx = b.vx - b.angularVelocity * rBy[i] - a.vx + a.angularVelocity * rAy[i];
+            dvy = b.vy + b.angularVelocity * rBx[i] - a.vy - a.angularVelocity * rAx[i];
+            double vt = dvx * tx + dvy * ty;
+            lambda = -vt * tangentMass[i];
+            double maxFriction = friction * normalImpulse[i];
+            newImpulse = Math.max( -maxFriction, Math.min( tangentImpulse[i] + lambda, maxFriction ) );
+            lambda = newImpulse - tangentImpulse[i];
+            tangentImpulse[i] = newImpulse;
+            applyImpulse( i, lambda * tx, lambda * ty );
+
+        }
+
+    }
+
+    /**
+     * Aplica um impulso em B e o oposto em A no ponto de contato. Corpos
+     * com massa infinita não são escritos, o que permite resolver ilhas em
+     * paralelo compartilhando corpos estáticos.
+     */
+    private void applyImpulse( int i, double px, double py ) {
+        if ( a.invMass > 0 ) {
+            a.vx -= a.invMass * px;
+            a.vy -= a.invMass * py;
+            a.angularVelocity -= a.invInertia * ( rAx[i] * py - rAy[i] * px );
+        }
+        if ( b.invMass > 0 ) {
+            b.vx += b.invMass * px;
+            b.vy += b.invMass * py;
+            b.angularVelocity += b.invInertia * ( rBx[i] * py - rBy[i] * px );
+        }
+    }
+
+    /**
+     * Obtém o corpo A.
+     *
+     * @return O corpo A.
+     */
+    public Body getBodyA() {
+        return a;
+    }
+
+    /**
+     * Obtém o corpo B.
+     *
+     * @return O corpo B.
+     */
+    public Body getBodyB() {
+        return b;
+    }
+
+    /**
+     * Obtém a quantidade de pontos de contato.
+     *
+     * @return A quantidade de pontos.
+     */
+    public int getPointCount() {
+        return pointCount;
+    }
+
+    /**
+     * Obtém a coordenada x de um ponto de contato.
+     *
+     * @param i O índice do ponto.
+     * @return A coordenada x.
+     */
+    public double getPointX( int i ) {
+        return pointX[i];
+    }
+
+    /**
+     * Obtém a coordenada y de um ponto de contato.
+     *
+     * @param i O índice do ponto.
+     * @return A coordenada y.
+     */
+    public double getPointY( int i ) {
+        return pointY[i];
+    }
+
+    /**
+     * Obtém a componente x da normal, de A para B.
+     *
+     * @return A componente x da normal.
+     */
+    public double getNormalX() {
+        return normalX;
+    }
+
+    /**
+     * Obtém a componente y da normal, de A para B.
+     *
+     * @return A componente y da normal.
+     */
+    public double getNormalY() {
+        return normalY;
+    }
+
+    /**
+     * Obtém a profundidade de penetração.
+     *
+     * @return A profundidade.
+     */
+    public double getDepth() {
+        return depth;
+    }
+
+}
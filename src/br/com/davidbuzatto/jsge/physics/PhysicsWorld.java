@@ -0,0 +1,915 @@
+/*
+ * Copyright (C) 2025 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.physics;
+
+import br.com.davidbuzatto.jsge.collision.CollisionManifold;
+import br.com.davidbuzatto.jsge.collision.CollisionUtils;
+import br.com.davidbuzatto.jsge.collision.aabb.AABB;
+import br.com.davidbuzatto.jsge.collision.aabb.AABBQuadtree;
+import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mundo de simulação de corpos rígidos 2D com passo de tempo fixo.
+ *
+ * Usa duas AABBQuadtrees como broadphase, os testes de colisão do pacote
+ * collision como narrowphase e um solver de impulsos sequenciais com warm
+ * starting. Os corpos em contato são agrupados em ilhas; ilhas em repouso
+ * dormem e deixam de ser integradas e de gerar pares até que algo as
+ * acorde, e quando um corpo acorda, a sua ilha inteira acorda junto.
+ * Corpos estáticos e dormindo ficam em uma árvore reconstruída apenas
+ * quando esse conjunto muda, enquanto a árvore dos corpos acordados é
+ * reconstruída a cada passo. Opcionalmente, as ilhas podem ser resolvidas
+ * em paralelo.
+ *
+ * Para integrar com a engine, chame update( delta ) no método update da
+ * EngineFrame e desenhe os corpos no método draw.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class PhysicsWorld {
+
+    private static final Color AWAKE_COLOR = EngineFrame.BLUE;
+    private static final Color SLEEPING_COLOR = EngineFrame.GRAY;
+    private static final Color STATIC_COLOR = EngineFrame.DARKGREEN;
+    private static final Color CONTACT_COLOR = EngineFrame.RED;
+
+    /**
+     * Margem especulativa, em pixels, usada entre polígonos para manter os
+     * pontos de contato de corpos em repouso estáveis.
+     */
+    private static final double CONTACT_MARGIN = 1.0;
+
+    private final List<Body> bodies;
+
+    /**
+     * Broadphase dos corpos estáticos e dormindo.
+     */
+    private final List<AABB> restingAABBs;
+    private final AABBQuadtree restingBroadphase;
+    private boolean restingDirty;
+
+    /**
+     * Broadphase dos corpos acordados.
+     */
+    private final List<AABB> movingAABBs;
+    private final AABBQuadtree movingBroadphase;
+    private boolean movingBroadphaseUsed;
+
+    /**
+     * Contatos indexados pelo par de identificadores dos corpos.
+     */
+    private final Map<Long, Contact> contactMap;
+
+    /**
+     * Contatos confirmados no passo corrente.
+     */
+    private final List<Contact> contacts;
+
+    // estruturas reutilizadas a cada passo
+    private final List<AABB> candidates;
+    private final List<Body> queryQueue;
+    private final List<Body> wakeQueue;
+    private final List<Contact> staleContacts;
+    private final CollisionManifold manifold;
+    private final List<Body> awakeBodies;
+    private final List<Island> islands;
+    private int[] parents;
+    private int[] islandOfRoot;
+    private int islandCount;
+
+    private double gravityX;
+    private double gravityY;
+
+    private double timeStep;
+    private double accumulator;
+    private int maxSubSteps;
+    private int velocityIterations;
+
+    private boolean warmStarting;
+    private boolean sleepingEnabled;
+    private boolean parallel;
+    private double timeToSleep;
+    private double linearSleepTolerance;
+    private double angularSleepTolerance;
+
+    private double baumgarte;
+    private double slop;
+    private double restitutionThreshold;
+
+    private int nextId;
+    private int stepCount;
+
+    /**
+     * Cria um novo mundo.
+     *
+     * @param width Largura da região coberta pela broadphase.
+     * @param height Altura da região coberta pela broadphase.
+     * @param maxDepth Profundidade máxima da quadtree da broadphase.
+     */
+    public PhysicsWorld( int width, int height, int maxDepth ) {
+
+        bodies = new ArrayList<>();
+        restingAABBs = new ArrayList<>();
+        restingBroadphase = new AABBQuadtree( restingAABBs, width, height, maxDepth, AABBQuadtree.Shape.RECTANGULAR );
+        movingAABBs = new ArrayList<>();
+        movingBroadphase = new AABBQuadtree( movingAABBs, width, height, maxDepth, AABBQuadtree.Shape.RECTANGULAR );
+        contactMap = new HashMap<>();
+        contacts = new ArrayList<>();
+
+        candidates = new ArrayList<>();
+        queryQueue = new ArrayList<>();
+        wakeQueue = new ArrayList<>();
+        staleContacts = new ArrayList<>();
+        manifold = new CollisionManifold();
+        awakeBodies = new ArrayList<>();
+        islands = new ArrayList<>();
+        parents = new int[64];
+        islandOfRoot = new int[64];
+
+        gravityX = 0;
+        gravityY = 980;
+
+        timeStep = 1.0 / 120.0;
+        maxSubSteps = 8;
+        velocityIterations = 8;
+
+        warmStarting = true;
+        sleepingEnabled = true;
+        timeToSleep = 0.5;
+        linearSleepTolerance = 2.0;
+        angularSleepTolerance = Math.toRadians( 2.0 );
+
+        baumgarte = 0.2;
+        slop = 0.5;
+        restitutionThreshold = 30.0;
+
+    }
+
+    /**
+     * Cria um novo mundo com profundidade máxima da broadphase igual a 6.
+     *
+     * @param width Largura da região coberta pela broadphase.
+     * @param height Altura da região coberta pela broadphase.
+     */
+    public PhysicsWorld( int width, int height ) {
+        this( width, height, 6 );
+    }
+
+    /**
+     * Adiciona um corpo ao mundo.
+     *
+     * @param body O corpo.
+     * @return O próprio corpo.
+     */
+    public Body addBody( Body body ) {
+        if ( body.id != -1 ) {
+            throw new IllegalArgumentException( "body already belongs to a world!" );
+        }
+        body.id = nextId++;
+        body.resting = false;
+        body.wasAwake = false;
+        bodies.add( body );
+        return body;
+    }
+
+    /**
+     * Remove um corpo do mundo, junto com os seus contatos. Os corpos que
+     * o tocavam são acordados.
+     *
+     * @param body O corpo.
+     */
+    public void removeBody( Body body ) {
+
+        if ( bodies.remove( body ) ) {
+
+            if ( body.resting ) {
+                restingDirty = true;
+            }
+            body.resting = false;
+
+            staleContacts.clear();
+            staleContacts.addAll( body.contacts );
+            for ( Contact c : staleContacts ) {
+                c.a.wakeUp();
+                c.b.wakeUp();
+                removeContact( c );
+            }
+            contacts.removeIf( c -> c.a == body || c.b == body );
+
+            body.id = -1;
+
+        }
+
+    }
+
+    /**
+     * Avança a simulação usando o tempo do quadro, executando quantos passos
+     * fixos forem necessários (limitados a maxSubSteps para evitar a espiral
+     * da morte).
+     *
+     * @param delta Tempo do quadro em segundos.
+     */
+    public void update( double delta ) {
+
+        accumulator += delta;
+
+        int steps = 0;
+        while ( accumulator >= timeStep && steps < maxSubSteps ) {
+            step( timeStep );
+            accumulator -= timeStep;
+            steps++;
+        }
+
+        if ( steps == maxSubSteps ) {
+            accumulator = 0;
+        }
+
+    }
+
+    /**
+     * Executa um passo da simulação.
+     *
+     * @param dt Passo de tempo em segundos.
+     */
+    public void step( double dt ) {
+
+        stepCount++;
+
+        collide();
+        buildIslands();
+
+        if ( parallel && islandCount > 1 ) {
+            islands.subList( 0, islandCount ).parallelStream().forEach( island -> solveIsland( island, dt ) );
+        } else {
+            for ( int i = 0; i < islandCount; i++ ) {
+                solveIsland( islands.get( i ), dt );
+            }
+        }
+
+    }
+
+    /**
+     * Broadphase e narrowphase. Apenas corpos dinâmicos acordados geram
+     * consultas e apenas os seus contatos são revisados, então ilhas
+     * dormindo não custam nada aqui.
+     */
+    private void collide() {
+
+        updateBroadphase();
+
+        queryQueue.clear();
+        for ( Body body : bodies ) {
+            if ( isActive( body ) ) {
+                queryQueue.add( body );
+            }
+        }
+
+        // corpos acordados durante a narrowphase entram no fim da fila
+        for ( int q = 0; q < queryQueue.size(); q++ ) {
+
+            Body body = queryQueue.get( q );
+            body.queryStep = stepCount;
+
+            candidates.clear();
+            AABB box = body.getAABB();
+            movingBroadphase.query( box.x1, box.y1, box.x2, box.y2, candidates );
+            restingBroadphase.query( box.x1, box.y1, box.x2, box.y2, candidates );
+
+            for ( AABB candidate : candidates ) {
+
+                Body other = (Body) candidate.referencedObject;
+
+                // o par já foi tratado na consulta do outro corpo
+                if ( other == body || other.queryStep == stepCount ) {
+                    continue;
+                }
+
+                Body a = body.id < other.id ? body : other;
+                Body b = body.id < other.id ? other : body;
+
+                if ( collideBodies( a, b, manifold ) ) {
+
+                    long key = ( (long) a.id << 32 ) | ( b.id & 0xffffffffL );
+                    Contact contact = contactMap.get( key );
+                    if ( contact == null ) {
+                        contact = new Contact( a, b );
+                        contactMap.put( key, contact );
+                        a.contacts.add( contact );
+                        b.contacts.add( contact );
+                    }
+                    contact.update( manifold );
+                    contact.stamp = stepCount;
+
+                    if ( !other.awake && other.getType() == Body.Type.DYNAMIC ) {
+                        wakeIsland( other, queryQueue );
+                    }
+
+                }
+
+            }
+
+        }
+
+        // descarta contatos dos corpos acordados que deixaram de existir,
+        // preservando os das ilhas dormindo
+        contacts.clear();
+        staleContacts.clear();
+        for ( Body body : queryQueue ) {
+            for ( Contact c : body.contacts ) {
+                if ( c.listed != stepCount ) {
+                    c.listed = stepCount;
+                    if ( c.stamp == stepCount ) {
+                        contacts.add( c );
+                    } else {
+                        staleContacts.add( c );
+                    }
+                }
+            }
+        }
+        for ( Contact c : staleContacts ) {
+            removeContact( c );
+        }
+
+    }
+
+    /**
+     * Acorda as ilhas dos corpos acordados fora do mundo desde o último
+     * passo, e as dos corpos dinâmicos apoiados em corpos não dinâmicos
+     * reposicionados, e atualiza as broadphases. A árvore dos corpos estáticos e
+     * dormindo só é reconstruída quando algum corpo entra ou sai dela, ou
+     * quando um corpo dela é reposicionado.
+     */
+    private void updateBroadphase() {
+
+        wakeQueue.clear();
+        for ( Body body : bodies ) {
+            if ( isActive( body ) && !body.wasAwake ) {
+                wakeIsland( body, wakeQueue );
+            } else if ( body.moved && body.getType() != Body.Type.DYNAMIC ) {
+                // quem dorme sobre um corpo movido, girado ou que mudou de
+                // tipo não pode continuar flutuando
+                for ( Contact c : body.contacts ) {
+                    Body other = c.a == body ? c.b : c.a;
+                    if ( other.getType() == Body.Type.DYNAMIC && !other.awake ) {
+                        wakeIsland( other, wakeQueue );
+                    }
+                }
+            }
+        }
+
+        movingAABBs.clear();
+        for ( Body body : bodies ) {
+            boolean moving = isActive( body );
+            if ( moving == body.resting || ( body.resting && body.moved ) ) {
+                restingDirty = true;
+            }
+            body.resting = !moving;
+            body.moved = false;
+            if ( moving ) {
+                movingAABBs.add( body.getAABB() );
+            }
+        }
+
+        if ( restingDirty ) {
+            restingAABBs.clear();
+            for ( Body body : bodies ) {
+                if ( body.resting ) {
+                    restingAABBs.add( body.getAABB() );
+                }
+            }
+            restingBroadphase.update();
+            restingDirty = false;
+        }
+
+        // uma árvore vazia continua vazia sem ser percorrida
+        if ( !movingAABBs.isEmpty() || movingBroadphaseUsed ) {
+            movingBroadphase.update();
+            movingBroadphaseUsed = !movingAABBs.isEmpty();
+        }
+
+    }
+
+    /**
+     * Acorda um corpo e todos os corpos dinâmicos ligados a ele por
+     * contatos, adicionando os corpos acordados na lista.
+     */
+    private static void wakeIsland( Body body, List<Body> woken ) {
+
+        int start = woken.size();
+        body.wakeUp();
+        woken.add( body );
+
+        for ( int i = start; i < woken.size(); i++ ) {
+            Body current = woken.get( i );
+            for ( Contact c : current.contacts ) {
+                Body other = c.a == current ? c.b : c.a;
+                if ( other.getType() == Body.Type.DYNAMIC && !other.awake ) {
+                    other.wakeUp();
+                    woken.add( other );
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Remove um contato do mundo e dos seus corpos.
+     */
+    private void removeContact( Contact c ) {
+        contactMap.remove( ( (long) c.a.id << 32 ) | ( c.b.id & 0xffffffffL ) );
+        c.a.contacts.remove( c );
+        c.b.contacts.remove( c );
+    }
+
+    /**
+     * Verifica se um corpo é dinâmico e está acordado.
+     */
+    private static boolean isActive( Body body ) {
+        return body.getType() == Body.Type.DYNAMIC && body.awake;
+    }
+
+    /**
+     * Testa a colisão entre dois corpos, com a normal de A para B.
+     */
+    private static boolean collideBodies( Body a, Body b, CollisionManifold manifold ) {
+
+        boolean circleA = a.getShape() == Body.Shape.CIRCLE;
+        boolean circleB = b.getShape() == Body.Shape.CIRCLE;
+
+        if ( circleA && circleB ) {
+
+            manifold.reset();
+            double dx = b.x - a.x;
+            double dy = b.y - a.y;
+            double radiusSum = a.getRadius() + b.getRadius();
+            double distanceSQ = dx * dx + dy * dy;
+
+            if ( distanceSQ > radiusSum * radiusSum ) {
+                return false;
+            }
+
+            double distance = Math.sqrt( distanceSQ );
+            double nx = distance > CollisionUtils.FLT_EPSILON ? dx / distance : 0;
+            double ny = distance > CollisionUtils.FLT_EPSILON ? dy / distance : 1;
+            manifold.colliding = true;
+            manifold.depth = radiusSum - distance;
+            manifold.normal.x = nx;
+            manifold.normal.y = ny;
+            manifold.addContact( a.x + nx * a.getRadius(), a.y + ny * a.getRadius() );
+            return true;
+
+        } else if ( circleA ) {
+            if ( CollisionUtils.checkCollisionConvexPolygonCircle( b.getVertices(), b.getEdgeNormals(), a.x, a.y, a.getRadius(), manifold ) ) {
+                manifold.flip();
+                return true;
+            }
+            return false;
+        } else if ( circleB ) {
+            return CollisionUtils.checkCollisionConvexPolygonCircle( a.getVertices(), a.getEdgeNormals(), b.x, b.y, b.getRadius(), manifold );
+        }
+
+        return CollisionUtils.checkCollisionConvexPolygons( a.getVertices(), a.getEdgeNormals(), b.getVertices(), b.getEdgeNormals(), CONTACT_MARGIN, manifold );
+
+    }
+
+    /**
+     * Agrupa os corpos dinâmicos acordados em ilhas usando conjuntos
+     * disjuntos sobre os contatos. Corpos estáticos não unem ilhas.
+     */
+    private void buildIslands() {
+
+        awakeBodies.clear();
+        for ( Body body : bodies ) {
+            if ( isActive( body ) ) {
+                body.islandIndex = awakeBodies.size();
+                awakeBodies.add( body );
+            }
+        }
+
+        int count = awakeBodies.size();
+        if ( parents.length < count ) {
+            parents = new int[Math.max( count, parents.length * 2 )];
+            islandOfRoot = new int[parents.length];
+        }
+        for ( int i = 0; i < count; i++ ) {
+            parents[i] = i;
+        }
+
+        for ( Contact c : contacts ) {
+            if ( isActive( c.a ) && isActive( c.b ) ) {
+                int ra = find( c.a.islandIndex );
+                int rb = find( c.b.islandIndex );
+                if ( ra != rb ) {
+                    parents[ra] = rb;
+                }
+            }
+        }
+
+        // as ilhas são reaproveitadas entre passos
+        for ( int i = 0; i < islandCount; i++ ) {
+            islands.get( i ).clear();
+        }
+        islandCount = 0;
+
+        // achata os conjuntos para que parents[i] seja sempre a raiz
+        for ( int i = 0; i < count; i++ ) {
+            parents[i] = find( i );
+        }
+
+        for ( int i = 0; i < count; i++ ) {
+            if ( parents[i] == i ) {
+                if ( islandCount == islands.size() ) {
+                    islands.add( new Island() );
+                }
+                islandOfRoot[i] = islandCount++;
+            }
+        }
+
+        for ( int i = 0; i < count; i++ ) {
+            islands.get( islandOfRoot[parents[i]] ).bodies.add( awakeBodies.get( i ) );
+        }
+
+        for ( Contact c : contacts ) {
+            Body owner = isActive( c.a ) ? c.a : ( isActive( c.b ) ? c.b : null );
+            if ( owner != null ) {
+                islands.get( islandOfRoot[parents[owner.islandIndex]] ).contacts.add( c );
+            }
+        }
+
+    }
+
+    /**
+     * Encontra a raiz de um conjunto, comprimindo o caminho.
+     */
+    private int find( int i ) {
+        while ( parents[i] != i ) {
+            parents[i] = parents[parents[i]];
+            i = parents[i];
+        }
+        return i;
+    }
+
+    /**
+     * Integra e resolve uma ilha. Ilhas não compartilham corpos dinâmicos,
+     * então podem ser resolvidas em paralelo.
+     */
+    private void solveIsland( Island island, double dt ) {
+
+        List<Body> islandBodies = island.bodies;
+        List<Contact> islandContacts = island.contacts;
+
+        // integra as velocidades
+        for ( Body b : islandBodies ) {
+            b.vx += dt * ( gravityX + b.forceX * b.invMass );
+            b.vy += dt * ( gravityY + b.forceY * b.invMass );
+            b.angularVelocity += dt * b.torque * b.invInertia;
+            b.vx /= 1.0 + dt * b.linearDamping;
+            b.vy /= 1.0 + dt * b.linearDamping;
+            b.angularVelocity /= 1.0 + dt * b.angularDamping;
+            b.forceX = 0;
+            b.forceY = 0;
+            b.torque = 0;
+        }
+
+        double invDt = 1.0 / dt;
+        for ( Contact c : islandContacts ) {
+            c.prepare( invDt, baumgarte, slop, restitutionThreshold, warmStarting );
+        }
+
+        for ( int i = 0; i < velocityIterations; i++ ) {
+            for ( Contact c : islandContacts ) {
+                c.solve();
+            }
+        }
+
+        // integra as posições
+        double minSleepTime = Double.POSITIVE_INFINITY;
+        double linTolSQ = linearSleepTolerance * linearSleepTolerance;
+
+        for ( Body b : islandBodies ) {
+
+            b.x += dt * b.vx;
+            b.y += dt * b.vy;
+            b.angle += dt * b.angularVelocity;
+            b.updateTransform();
+
+            if ( !b.sleepingAllowed ||
+                 b.vx * b.vx + b.vy * b.vy > linTolSQ ||
+                 Math.abs( b.angularVelocity ) > angularSleepTolerance ) {
+                b.sleepTime = 0;
+            } else {
+                b.sleepTime += dt;
+            }
+            minSleepTime = Math.min( minSleepTime, b.sleepTime );
+
+        }
+
+        // a ilha inteira dorme quando todos os corpos estão em repouso
+        if ( sleepingEnabled && minSleepTime >= timeToSleep ) {
+            for ( Body b : islandBodies ) {
+                b.sleep();
+            }
+        }
+
+        for ( Body b : islandBodies ) {
+            b.wasAwake = b.awake;
+        }
+
+    }
+
+    /**
+     * Desenha os corpos do mundo, diferenciando corpos estáticos, acordados
+     * e dormindo, além dos pontos de contato.
+     *
+     * @param engine A engine.
+     * @param drawContacts Indica se os pontos de contato devem ser desenhados.
+     */
+    public void draw( EngineFrame engine, boolean drawContacts ) {
+
+        for ( Body body : bodies ) {
+            body.draw( engine, body.getType() == Body.Type.STATIC ?
+                STATIC_COLOR : ( body.awake ? AWAKE_COLOR : SLEEPING_COLOR ) );
+        }
+
+        if ( drawContacts ) {
+            for ( Contact c : contacts ) {
+                for ( int i = 0; i < c.pointCount; i++ ) {
+                    engine.fillCircle( c.pointX[i], c.pointY[i], 2, CONTACT_COLOR );
+                    engine.drawLine( c.pointX[i], c.pointY[i], c.pointX[i] + c.normalX * 10, c.pointY[i] + c.normalY * 10, CONTACT_COLOR );
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Acorda todos os corpos dinâmicos.
+     */
+    public void wakeUpAll() {
+        for ( Body body : bodies ) {
+            if ( body.getType() == Body.Type.DYNAMIC ) {
+                body.wakeUp();
+            }
+        }
+    }
+
+    /**
+     * Obtém os corpos do mundo.
+     *
+     * @return Os corpos. A lista não deve ser modificada diretamente.
+     */
+    public List<Body> getBodies() {
+        return bodies;
+    }
+
+    /**
+     * Obtém os contatos confirmados no último passo.
+     *
+     * @return Os contatos.
+     */
+    public List<Contact> getContacts() {
+        return contacts;
+    }
+
+    /**
+     * Obtém a quantidade de ilhas resolvidas no último passo.
+     *
+     * @return A quantidade de ilhas acordadas.
+     */
+    public int getIslandCount() {
+        return islandCount;
+    }
+
+    /**
+     * Obtém a quantidade de corpos acordados no último passo.
+     *
+     * @return A quantidade de corpos acordados.
+     */
+    public int getAwakeBodyCount() {
+        return awakeBodies.size();
+    }
+
+    /**
+     * Obtém a broadphase dos corpos acordados, reconstruída a cada passo.
+     *
+     * @return A quadtree dos corpos acordados.
+     */
+    public AABBQuadtree getBroadphase() {
+        return movingBroadphase;
+    }
+
+    /**
+     * Obtém a broadphase dos corpos estáticos e dormindo, reconstruída
+     * apenas quando esse conjunto muda.
+     *
+     * @return A quadtree dos corpos estáticos e dormindo.
+     */
+    public AABBQuadtree getRestingBroadphase() {
+        return restingBroadphase;
+    }
+
+    /**
+     * Configura a gravidade.
+     *
+     * @param gravityX Componente x em pixels por segundo ao quadrado.
+     * @param gravityY Componente y em pixels por segundo ao quadrado.
+     */
+    public void setGravity( double gravityX, double gravityY ) {
+        this.gravityX = gravityX;
+        this.gravityY = gravityY;
+        wakeUpAll();
+    }
+
+    /**
+     * Obtém a componente x da gravidade.
+     *
+     * @return A componente x.
+     */
+    public double getGravityX() {
+        return gravityX;
+    }
+
+    /**
+     * Obtém a componente y da gravidade.
+     *
+     * @return A componente y.
+     */
+    public double getGravityY() {
+        return gravityY;
+    }
+
+    /**
+     * Configura o passo de tempo fixo.
+     *
+     * @param timeStep O passo em segundos.
+     */
+    public void setTimeStep( double timeStep ) {
+        if ( timeStep <= 0 ) {
+            throw new IllegalArgumentException( "time step must be positive!" );
+        }
+        this.timeStep = timeStep;
+    }
+
+    /**
+     * Obtém o passo de tempo fixo.
+     *
+     * @return O passo em segundos.
+     */
+    public double getTimeStep() {
+        return timeStep;
+    }
+
+    /**
+     * Obtém a fração do passo que ainda não foi simulada, útil para
+     * interpolar o desenho entre dois passos.
+     *
+     * @return Um valor entre 0 e 1.
+     */
+    public double getInterpolationAlpha() {
+        return accumulator / timeStep;
+    }
+
+    /**
+     * Configura a quantidade máxima de passos por chamada de update.
+     *
+     * @param maxSubSteps A quantidade máxima de passos.
+     */
+    public void setMaxSubSteps( int maxSubSteps ) {
+        this.maxSubSteps = Math.max( 1, maxSubSteps );
+    }
+
+    /**
+     * Configura a quantidade de iterações do solver de velocidades.
+     *
+     * @param velocityIterations A quantidade de iterações.
+     */
+    public void setVelocityIterations( int velocityIterations ) {
+        this.velocityIterations = Math.max( 1, velocityIterations );
+    }
+
+    /**
+     * Obtém a quantidade de iterações do solver de velocidades.
+     *
+     * @return A quantidade de iterações.
+     */
+    public int getVelocityIterations() {
+        return velocityIterations;
+    }
+
+    /**
+     * Configura o uso de warm starting.
+     *
+     * @param warmStarting Verdadeiro para usar.
+     */
+    public void setWarmStarting( boolean warmStarting ) {
+        this.warmStarting = warmStarting;
+    }
+
+    /**
+     * Verifica se o warm starting está sendo usado.
+     *
+     * @return Verdadeiro caso esteja, falso caso contrário.
+     */
+    public boolean isWarmStarting() {
+        return warmStarting;
+    }
+
+    /**
+     * Configura se as ilhas em repouso podem dormir.
+     *
+     * @param sleepingEnabled Verdadeiro para permitir.
+     */
+    public void setSleepingEnabled( boolean sleepingEnabled ) {
+        this.sleepingEnabled = sleepingEnabled;
+        if ( !sleepingEnabled ) {
+            wakeUpAll();
+        }
+    }
+
+    /**
+     * Verifica se as ilhas em repouso podem dormir.
+     *
+     * @return Verdadeiro caso possam, falso caso contrário.
+     */
+    public boolean isSleepingEnabled() {
+        return sleepingEnabled;
+    }
+
+    /**
+     * Configura os critérios de repouso para o sono.
+     *
+     * @param timeToSleep Tempo em repouso, em segundos, para uma ilha dormir.
+     * @param linearTolerance Velocidade linear máxima, em pixels por segundo.
+     * @param angularTolerance Velocidade angular máxima, em graus por segundo.
+     */
+    public void setSleepTolerances( double timeToSleep, double linearTolerance, double angularTolerance ) {
+        this.timeToSleep = timeToSleep;
+        this.linearSleepTolerance = linearTolerance;
+        this.angularSleepTolerance = Math.toRadians( angularTolerance );
+    }
+
+    /**
+     * Configura a resolução das ilhas em paralelo. Vale a pena quando há
+     * muitas ilhas independentes acordadas.
+     *
+     * @param parallel Verdadeiro para resolver em paralelo.
+     */
+    public void setParallel( boolean parallel ) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Verifica se as ilhas são resolvidas em paralelo.
+     *
+     * @return Verdadeiro caso sejam, falso caso contrário.
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Configura a correção de posição.
+     *
+     * @param baumgarte Fração da penetração corrigida por passo.
+     * @param slop Penetração permitida, em pixels.
+     */
+    public void setPositionCorrection( double baumgarte, double slop ) {
+        this.baumgarte = baumgarte;
+        this.slop = slop;
+    }
+
+    /**
+     * Uma ilha: corpos dinâmicos acordados conectados por contatos.
+     */
+    private static class Island {
+
+        final List<Body> bodies = new ArrayList<>();
+        final List<Contact> contacts = new ArrayList<>();
+
+        void clear() {
+            bodies.clear();
+            contacts.clear();
+        }
+
+    }
+
+}
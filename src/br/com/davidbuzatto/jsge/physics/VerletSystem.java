@@ -0,0 +1,1123 @@
+/*
+ * Copyright (C) 2025 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.physics;
+
+import br.com.davidbuzatto.jsge.collision.aabb.AABB;
+import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
+import br.com.davidbuzatto.jsge.geom.Circle;
+import java.awt.Paint;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Solver de partículas e restrições baseado em integração de Verlet, para
+ * cordas, tecidos e corpos moles.
+ *
+ * Partículas e restrições são armazenadas em arrays primitivos (estrutura
+ * de arrays) e referenciadas por índices, então a simulação não cria
+ * objetos por quadro. As restrições suportadas são de distância, de pino
+ * (fixa uma partícula em um ponto, tornando-a imóvel) e de ângulo. As partículas colidem com
+ * AABBs e círculos estáticos e, opcionalmente, com os limites do mundo.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class VerletSystem {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    // partículas
+    private double[] x;
+    private double[] y;
+    private double[] oldX;
+    private double[] oldY;
+    private double[] invMass;
+    private int particleCount;
+
+    // restrições de distância
+    private int[] distanceA;
+    private int[] distanceB;
+    private double[] distanceRest;
+    private double[] distanceStiffness;
+    private int distanceCount;
+
+    // restrições de pino
+    private int[] pinParticle;
+    private double[] pinX;
+    private double[] pinY;
+    private double[] pinInvMass;
+    private int pinCount;
+
+    // restrições de ângulo (b é o vértice)
+    private int[] angleA;
+    private int[] angleB;
+    private int[] angleC;
+    private double[] angleRest;
+    private double[] angleStiffness;
+    private int angleCount;
+
+    private final List<AABB> aabbColliders;
+    private final List<Circle> circleColliders;
+    private AABB bounds;
+
+    private double gravityX;
+    private double gravityY;
+    private double damping;
+    private double friction;
+    private double particleRadius;
+    private int iterations;
+
+    private double timeStep;
+    private int maxSubSteps;
+    private double accumulator;
+
+    /**
+     * Buffer reutilizado pelo desenho das restrições em lote.
+     */
+    private double[] lineBuffer;
+
+    /**
+     * Cria um novo sistema vazio.
+     */
+    public VerletSystem() {
+
+        x = new double[INITIAL_CAPACITY];
+        y = new double[INITIAL_CAPACITY];
+        oldX = new double[INITIAL_CAPACITY];
+        oldY = new double[INITIAL_CAPACITY];
+        invMass = new double[INITIAL_CAPACITY];
+
+        distanceA = new int[INITIAL_CAPACITY];
+        distanceB = new int[INITIAL_CAPACITY];
+        distanceRest = new double[INITIAL_CAPACITY];
+        distanceStiffness = new double[INITIAL_CAPACITY];
+
+        pinParticle = new int[INITIAL_CAPACITY];
+        pinX = new double[INITIAL_CAPACITY];
+        pinY = new double[INITIAL_CAPACITY];
+        pinInvMass = new double[INITIAL_CAPACITY];
+
+        angleA = new int[INITIAL_CAPACITY];
+        angleB = new int[INITIAL_CAPACITY];
+        angleC = new int[INITIAL_CAPACITY];
+        angleRest = new double[INITIAL_CAPACITY];
+        angleStiffness = new double[INITIAL_CAPACITY];
+
+        aabbColliders = new ArrayList<>();
+        circleColliders = new ArrayList<>();
+
+        gravityX = 0;
+        gravityY = 980;
+        damping = 0.99;
+        friction = 0.5;
+        particleRadius = 2;
+        iterations = 8;
+
+        timeStep = 1.0 / 60.0;
+        maxSubSteps = 5;
+
+        lineBuffer = new double[0];
+
+    }
+
+    //**************************************************************************
+    // Partículas
+    //**************************************************************************
+
+    /**
+     * Adiciona uma partícula com massa unitária.
+     *
+     * @param x Coordenada x da partícula.
+     * @param y Coordenada y da partícula.
+     * @return O índice da partícula.
+     */
+    public int addParticle( double x, double y ) {
+        return addParticle( x, y, 1 );
+    }
+
+    /**
+     * Adiciona uma partícula.
+     *
+     * @param x Coordenada x da partícula.
+     * @param y Coordenada y da partícula.
+     * @param mass Massa da partícula. Massas menores ou iguais a zero tornam
+     * a partícula imóvel.
+     * @return O índice da partícula.
+     */
+    public int addParticle( double x, double y, double mass ) {
+
+        if ( particleCount == this.x.length ) {
+            int capacity = particleCount * 2;
+            this.x = Arrays.copyOf( this.x, capacity );
+            this.y = Arrays.copyOf( this.y, capacity );
+            oldX = Arrays.copyOf( oldX, capacity );
+            oldY = Arrays.copyOf( oldY, capacity );
+            invMass = Arrays.copyOf( invMass, capacity );
+        }
+
+        int i = particleCount++;
+        this.x[i] = x;
+        this.y[i] = y;
+        oldX[i] = x;
+        oldY[i] = y;
+        invMass[i] = mass > 0 ? 1.0 / mass : 0;
+
+        return i;
+
+    }
+
+    /**
+     * Move uma partícula para uma posição, zerando a sua velocidade.
+     *
+     * @param i O índice da partícula.
+     * @param x Coordenada x da nova posição.
+     * @param y Coordenada y da nova posição.
+     */
+    public void setParticlePosition( int i, double x, double y ) {
+        checkIndex( i, particleCount, "particle" );
+        this.x[i] = x;
+        this.y[i] = y;
+        oldX[i] = x;
+        oldY[i] = y;
+    }
+
+    /**
+     * Configura a velocidade de uma partícula, em pixels por segundo.
+     *
+     * @param i O índice da partícula.
+     * @param vx Componente x da velocidade.
+     * @param vy Componente y da velocidade.
+     */
+    public void setParticleVelocity( int i, double vx, double vy ) {
+        checkIndex( i, particleCount, "particle" );
+        oldX[i] = x[i] - vx * timeStep;
+        oldY[i] = y[i] - vy * timeStep;
+    }
+
+    /**
+     * Configura a massa de uma partícula.
+     *
+     * @param i O índice da partícula.
+     * @param mass A massa. Massas menores ou iguais a zero tornam a
+     * partícula imóvel. Em partículas fixadas por pinos, a massa passa a
+     * valer quando o último pino é removido.
+     */
+    public void setParticleMass( int i, double mass ) {
+        checkIndex( i, particleCount, "particle" );
+        double inverse = mass > 0 ? 1.0 / mass : 0;
+        boolean pinned = false;
+        for ( int k = 0; k < pinCount; k++ ) {
+            if ( pinParticle[k] == i ) {
+                pinInvMass[k] = inverse;
+                pinned = true;
+            }
+        }
+        if ( !pinned ) {
+            invMass[i] = inverse;
+        }
+    }
+
+    /**
+     * Obtém a coordenada x de uma partícula.
+     *
+     * @param i O índice da partícula.
+     * @return A coordenada x.
+     */
+    public double getParticleX( int i ) {
+        checkIndex( i, particleCount, "particle" );
+        return x[i];
+    }
+
+    /**
+     * Obtém a coordenada y de uma partícula.
+     *
+     * @param i O índice da partícula.
+     * @return A coordenada y.
+     */
+    public double getParticleY( int i ) {
+        checkIndex( i, particleCount, "particle" );
+        return y[i];
+    }
+
+    /**
+     * Obtém a quantidade de partículas.
+     *
+     * @return A quantidade de partículas.
+     */
+    public int getParticleCount() {
+        return particleCount;
+    }
+
+    /**
+     * Encontra a partícula mais próxima de um ponto dentro de um raio.
+     *
+     * @param x Coordenada x do ponto.
+     * @param y Coordenada y do ponto.
+     * @param radius O raio de busca.
+     * @return O índice da partícula ou -1 caso nenhuma esteja no raio.
+     */
+    public int findParticle( double x, double y, double radius ) {
+
+        int found = -1;
+        double best = radius * radius;
+
+        for ( int i = 0; i < particleCount; i++ ) {
+            double dx = this.x[i] - x;
+            double dy = this.y[i] - y;
+            double d = dx * dx + dy * dy;
+            if ( d <= best ) {
+                best = d;
+                found = i;
+            }
+        }
+
+        return found;
+
+    }
+
+    //**************************************************************************
+    // Restrições
+    //**************************************************************************
+
+    /**
+     * Adiciona uma restrição de distância rígida, usando a distância atual
+     * entre as partículas como comprimento de repouso.
+     *
+     * @param a O índice da primeira partícula.
+     * @param b O índice da segunda partícula.
+     * @return O índice da restrição.
+     */
+    public int addDistanceConstraint( int a, int b ) {
+        checkIndex( a, particleCount, "particle" );
+        checkIndex( b, particleCount, "particle" );
+        double dx = x[b] - x[a];
+        double dy = y[b] - y[a];
+        return addDistanceConstraint( a, b, Math.sqrt( dx * dx + dy * dy ), 1 );
+    }
+
+    /**
+     * Adiciona uma restrição de distância.
+     *
+     * @param a O índice da primeira partícula.
+     * @param b O índice da segunda partícula.
+     * @param restLength O comprimento de repouso.
+     * @param stiffness A rigidez, entre 0 e 1.
+     * @return O índice da restrição.
+     */
+    public int addDistanceConstraint( int a, int b, double restLength, double stiffness ) {
+
+        checkIndex( a, particleCount, "particle" );
+        checkIndex( b, particleCount, "particle" );
+
+        if ( distanceCount == distanceA.length ) {
+            int capacity = distanceCount * 2;
+            distanceA = Arrays.copyOf( distanceA, capacity );
+            distanceB = Arrays.copyOf( distanceB, capacity );
+            distanceRest = Arrays.copyOf( distanceRest, capacity );
+            distanceStiffness = Arrays.copyOf( distanceStiffness, capacity );
+        }
+
+        int i = distanceCount++;
+        distanceA[i] = a;
+        distanceB[i] = b;
+        distanceRest[i] = restLength;
+        distanceStiffness[i] = stiffness;
+
+        return i;
+
+    }
+
+    /**
+     * Remove uma restrição de distância. A última restrição passa a ocupar
+     * o índice removido.
+     *
+     * @param i O índice da restrição.
+     */
+    public void removeDistanceConstraint( int i ) {
+        checkIndex( i, distanceCount, "distance constraint" );
+        int last = --distanceCount;
+        distanceA[i] = distanceA[last];
+        distanceB[i] = distanceB[last];
+        distanceRest[i] = distanceRest[last];
+        distanceStiffness[i] = distanceStiffness[last];
+    }
+
+    /**
+     * Obtém a quantidade de restrições de distância.
+     *
+     * @return A quantidade de restrições.
+     */
+    public int getDistanceConstraintCount() {
+        return distanceCount;
+    }
+
+    /**
+     * Obtém a razão entre o comprimento atual e o de repouso de uma
+     * restrição de distância, útil para rasgar tecidos.
+     *
+     * @param i O índice da restrição.
+     * @return A razão de estiramento.
+     */
+    public double getDistanceConstraintStretch( int i ) {
+        checkIndex( i, distanceCount, "distance constraint" );
+        double dx = x[distanceB[i]] - x[distanceA[i]];
+        double dy = y[distanceB[i]] - y[distanceA[i]];
+        return distanceRest[i] > 0 ? Math.sqrt( dx * dx + dy * dy ) / distanceRest[i] : 1;
+    }
+
+    /**
+     * Fixa uma partícula na sua posição atual.
+     *
+     * @param particle O índice da partícula.
+     * @return O índice do pino.
+     */
+    public int addPinConstraint( int particle ) {
+        checkIndex( particle, particleCount, "particle" );
+        return addPinConstraint( particle, x[particle], y[particle] );
+    }
+
+    /**
+     * Fixa uma partícula em um ponto. A partícula fica imóvel, com massa
+     * infinita, enquanto estiver fixada.
+     *
+     * @param particle O índice da partícula.
+     * @param x Coordenada x do ponto.
+     * @param y Coordenada y do ponto.
+     * @return O índice do pino.
+     */
+    public int addPinConstraint( int particle, double x, double y ) {
+
+        checkIndex( particle, particleCount, "particle" );
+
+        if ( pinCount == pinParticle.length ) {
+            int capacity = pinCount * 2;
+            pinParticle = Arrays.copyOf( pinParticle, capacity );
+            pinX = Arrays.copyOf( pinX, capacity );
+            pinY = Arrays.copyOf( pinY, capacity );
+            pinInvMass = Arrays.copyOf( pinInvMass, capacity );
+        }
+
+        // uma partícula já fixada guarda a massa original no primeiro pino
+        int existing = findPin( particle, -1 );
+
+        int i = pinCount++;
+        pinParticle[i] = particle;
+        pinX[i] = x;
+        pinY[i] = y;
+        pinInvMass[i] = existing == -1 ? invMass[particle] : pinInvMass[existing];
+
+        invMass[particle] = 0;
+        this.x[particle] = x;
+        this.y[particle] = y;
+        oldX[particle] = x;
+        oldY[particle] = y;
+
+        return i;
+
+    }
+
+    /**
+     * Move o ponto de um pino, por exemplo para arrastar uma partícula com
+     * o mouse.
+     *
+     * @param i O índice do pino.
+     * @param x Coordenada x do ponto.
+     * @param y Coordenada y do ponto.
+     */
+    public void setPinPosition( int i, double x, double y ) {
+        checkIndex( i, pinCount, "pin" );
+        int p = pinParticle[i];
+        pinX[i] = x;
+        pinY[i] = y;
+        // a posição anterior preserva a velocidade do arraste quando o pino
+        // for removido
+        oldX[p] = this.x[p];
+        oldY[p] = this.y[p];
+        this.x[p] = x;
+        this.y[p] = y;
+    }
+
+    /**
+     * Remove um pino, devolvendo a massa da partícula caso ela não esteja
+     * fixada por outro pino. O último pino passa a ocupar o índice removido.
+     *
+     * @param i O índice do pino.
+     */
+    public void removePinConstraint( int i ) {
+
+        checkIndex( i, pinCount, "pin" );
+
+        int p = pinParticle[i];
+        if ( findPin( p, i ) == -1 ) {
+            invMass[p] = pinInvMass[i];
+        }
+
+        int last = --pinCount;
+        pinParticle[i] = pinParticle[last];
+        pinX[i] = pinX[last];
+        pinY[i] = pinY[last];
+        pinInvMass[i] = pinInvMass[last];
+
+    }
+
+    /**
+     * Procura um pino da partícula, ignorando o pino informado.
+     */
+    private int findPin( int particle, int ignored ) {
+        for ( int k = 0; k < pinCount; k++ ) {
+            if ( k != ignored && pinParticle[k] == particle ) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Verifica se o índice pertence a um elemento existente, e não à
+     * capacidade reservada dos vetores.
+     */
+    private static void checkIndex( int i, int count, String name ) {
+        if ( i < 0 || i >= count ) {
+            throw new IllegalArgumentException( name + " " + i + " does not exist!" );
+        }
+    }
+
+    /**
+     * Obtém a quantidade de pinos.
+     *
+     * @return A quantidade de pinos.
+     */
+    public int getPinConstraintCount() {
+        return pinCount;
+    }
+
+    /**
+     * Adiciona uma restrição de ângulo rígida no vértice b, usando o ângulo
+     * atual entre os segmentos ba e bc como ângulo de repouso.
+     *
+     * @param a O índice da primeira partícula.
+     * @param b O índice da partícula do vértice.
+     * @param c O índice da terceira partícula.
+     * @return O índice da restrição.
+     */
+    public int addAngleConstraint( int a, int b, int c ) {
+        checkIndex( a, particleCount, "particle" );
+        checkIndex( b, particleCount, "particle" );
+        checkIndex( c, particleCount, "particle" );
+        return addAngleConstraintRad( a, b, c, currentAngle( a, b, c ), 1 );
+    }
+
+    /**
+     * Adiciona uma restrição de ângulo no vértice b.
+     *
+     * @param a O índice da primeira partícula.
+     * @param b O índice da partícula do vértice.
+     * @param c O índice da terceira partícula.
+     * @param restAngle O ângulo de repouso em graus, medido de ba para bc
+     * no sentido horário.
+     * @param stiffness A rigidez, entre 0 e 1.
+     * @return O índice da restrição.
+     */
+    public int addAngleConstraint( int a, int b, int c, double restAngle, double stiffness ) {
+        return addAngleConstraintRad( a, b, c, Math.toRadians( restAngle ), stiffness );
+    }
+
+    private int addAngleConstraintRad( int a, int b, int c, double restAngle, double stiffness ) {
+
+        checkIndex( a, particleCount, "particle" );
+        checkIndex( b, particleCount, "particle" );
+        checkIndex( c, particleCount, "particle" );
+
+        if ( angleCount == angleA.length ) {
+            int capacity = angleCount * 2;
+            angleA = Arrays.copyOf( angleA, capacity );
+            angleB = Arrays.copyOf( angleB, capacity );
+            angleC = Arrays.copyOf( angleC, capacity );
+            angleRest = Arrays.copyOf( angleRest, capacity );
+            angleStiffness = Arrays.copyOf( angleStiffness, capacity );
+        }
+
+        int i = angleCount++;
+        angleA[i] = a;
+        angleB[i] = b;
+        angleC[i] = c;
+        angleRest[i] = restAngle;
+        angleStiffness[i] = stiffness;
+
+        return i;
+
+    }
+
+    /**
+     * Obtém a quantidade de restrições de ângulo.
+     *
+     * @return A quantidade de restrições.
+     */
+    public int getAngleConstraintCount() {
+        return angleCount;
+    }
+
+    /**
+     * Calcula o ângulo, em radianos, de ba para bc.
+     */
+    private double currentAngle( int a, int b, int c ) {
+        double ux = x[a] - x[b];
+        double uy = y[a] - y[b];
+        double vx = x[c] - x[b];
+        double vy = y[c] - y[b];
+        return Math.atan2( ux * vy - uy * vx, ux * vx + uy * vy );
+    }
+
+    //**************************************************************************
+    // Colisores
+    //**************************************************************************
+
+    /**
+     * Adiciona uma AABB estática como colisor.
+     *
+     * @param aabb A AABB.
+     */
+    public void addCollider( AABB aabb ) {
+        aabbColliders.add( aabb );
+    }
+
+    /**
+     * Adiciona um círculo estático como colisor.
+     *
+     * @param circle O círculo.
+     */
+    public void addCollider( Circle circle ) {
+        circleColliders.add( circle );
+    }
+
+    /**
+     * Remove uma AABB dos colisores.
+     *
+     * @param aabb A AABB.
+     */
+    public void removeCollider( AABB aabb ) {
+        aabbColliders.remove( aabb );
+    }
+
+    /**
+     * Remove um círculo dos colisores.
+     *
+     * @param circle O círculo.
+     */
+    public void removeCollider( Circle circle ) {
+        circleColliders.remove( circle );
+    }
+
+    /**
+     * Remove todos os colisores.
+     */
+    public void clearColliders() {
+        aabbColliders.clear();
+        circleColliders.clear();
+    }
+
+    /**
+     * Configura os limites do mundo. As partículas são mantidas dentro
+     * deles.
+     *
+     * @param bounds Os limites ou null para remover.
+     */
+    public void setBounds( AABB bounds ) {
+        this.bounds = bounds;
+    }
+
+    //**************************************************************************
+    // Construtores de estruturas
+    //**************************************************************************
+
+    /**
+     * Cria uma corda entre dois pontos.
+     *
+     * @param x1 Coordenada x do ponto inicial.
+     * @param y1 Coordenada y do ponto inicial.
+     * @param x2 Coordenada x do ponto final.
+     * @param y2 Coordenada y do ponto final.
+     * @param segments Quantidade de segmentos.
+     * @param pinStart Indica se a primeira partícula deve ser fixada.
+     * @return O índice da primeira partícula da corda.
+     */
+    public int createRope( double x1, double y1, double x2, double y2, int segments, boolean pinStart ) {
+
+        if ( segments <= 0 ) {
+            throw new IllegalArgumentException( "segments must be positive!" );
+        }
+
+        int first = particleCount;
+
+        for ( int i = 0; i <= segments; i++ ) {
+            double t = (double) i / segments;
+            addParticle( x1 + ( x2 - x1 ) * t, y1 + ( y2 - y1 ) * t );
+            if ( i > 0 ) {
+                addDistanceConstraint( first + i - 1, first + i );
+            }
+        }
+
+        if ( pinStart ) {
+            addPinConstraint( first );
+        }
+
+        return first;
+
+    }
+
+    /**
+     * Cria um tecido retangular de partículas em grade. As partículas são
+     * criadas linha a linha.
+     *
+     * @param x Coordenada x do canto superior esquerdo.
+     * @param y Coordenada y do canto superior esquerdo.
+     * @param columns Quantidade de colunas de partículas.
+     * @param rows Quantidade de linhas de partículas.
+     * @param spacing Distância entre partículas vizinhas.
+     * @param pinEvery Fixa uma a cada pinEvery partículas da linha superior,
+     * sempre incluindo a primeira e a última. Zero para não fixar.
+     * @return O índice da primeira partícula do tecido.
+     */
+    public int createCloth( double x, double y, int columns, int rows, double spacing, int pinEvery ) {
+
+        int first = particleCount;
+
+        for ( int r = 0; r < rows; r++ ) {
+            for ( int c = 0; c < columns; c++ ) {
+                int i = addParticle( x + c * spacing, y + r * spacing );
+                if ( c > 0 ) {
+                    addDistanceConstraint( i - 1, i, spacing, 1 );
+                }
+                if ( r > 0 ) {
+                    addDistanceConstraint( i - columns, i, spacing, 1 );
+                }
+            }
+        }
+
+        if ( pinEvery > 0 ) {
+            for ( int c = 0; c < columns; c++ ) {
+                if ( c % pinEvery == 0 || c == columns - 1 ) {
+                    addPinConstraint( first + c );
+                }
+            }
+        }
+
+        return first;
+
+    }
+
+    /**
+     * Cria um corpo mole circular: um anel de partículas ligado a uma
+     * partícula central, com restrições de ângulo ao longo do anel para
+     * preservar a forma.
+     *
+     * @param x Coordenada x do centro.
+     * @param y Coordenada y do centro.
+     * @param radius O raio.
+     * @param segments Quantidade de partículas do anel.
+     * @param stiffness Rigidez das restrições, entre 0 e 1.
+     * @return O índice da partícula central. As partículas do anel vêm em
+     * seguida.
+     */
+    public int createSoftBody( double x, double y, double radius, int segments, double stiffness ) {
+
+        int center = addParticle( x, y );
+
+        for ( int i = 0; i < segments; i++ ) {
+            double angle = 2 * Math.PI * i / segments;
+            addParticle( x + radius * Math.cos( angle ), y + radius * Math.sin( angle ) );
+        }
+
+        for ( int i = 0; i < segments; i++ ) {
+            int current = center + 1 + i;
+            int next = center + 1 + ( i + 1 ) % segments;
+            int following = center + 1 + ( i + 2 ) % segments;
+            double dx = this.x[next] - this.x[current];
+            double dy = this.y[next] - this.y[current];
+            addDistanceConstraint( current, next, Math.sqrt( dx * dx + dy * dy ), 1 );
+            addDistanceConstraint( center, current, radius, stiffness );
+            addAngleConstraintRad( current, next, following, currentAngle( current, next, following ), stiffness );
+        }
+
+        return center;
+
+    }
+
+    //**************************************************************************
+    // Simulação
+    //**************************************************************************
+
+    /**
+     * Avança a simulação usando o tempo do quadro, executando quantos passos
+     * fixos forem necessários (limitados a maxSubSteps).
+     *
+     * @param delta Tempo do quadro em segundos.
+     */
+    public void update( double delta ) {
+
+        accumulator += delta;
+
+        int steps = 0;
+        while ( accumulator >= timeStep && steps < maxSubSteps ) {
+            step( timeStep );
+            accumulator -= timeStep;
+            steps++;
+        }
+
+        if ( steps == maxSubSteps ) {
+            accumulator = 0;
+        }
+
+    }
+
+    /**
+     * Executa um passo da simulação: integra as partículas e depois
+     * satisfaz as restrições e as colisões iterativamente.
+     *
+     * @param dt Passo de tempo em segundos.
+     */
+    public void step( double dt ) {
+
+        double ax = gravityX * dt * dt;
+        double ay = gravityY * dt * dt;
+
+        for ( int i = 0; i < particleCount; i++ ) {
+            if ( invMass[i] == 0 ) {
+                continue;
+            }
+            double vx = ( x[i] - oldX[i] ) * damping;
+            double vy = ( y[i] - oldY[i] ) * damping;
+            oldX[i] = x[i];
+            oldY[i] = y[i];
+            x[i] += vx + ax;
+            y[i] += vy + ay;
+        }
+
+        for ( int k = 0; k < iterations; k++ ) {
+            solveDistanceConstraints();
+            solveAngleConstraints();
+            solveCollisions();
+        }
+
+    }
+
+    private void solveDistanceConstraints() {
+
+        for ( int i = 0; i < distanceCount; i++ ) {
+
+            int a = distanceA[i];
+            int b = distanceB[i];
+            double wA = invMass[a];
+            double wB = invMass[b];
+            double w = wA + wB;
+            if ( w == 0 ) {
+                continue;
+            }
+
+            double dx = x[b] - x[a];
+            double dy = y[b] - y[a];
+            double d = Math.sqrt( dx * dx + dy * dy );
+            if ( d == 0 ) {
+                continue;
+            }
+
+            double s = distanceStiffness[i] * ( d - distanceRest[i] ) / ( d * w );
+            x[a] += dx * s * wA;
+            y[a] += dy * s * wA;
+            x[b] -= dx * s * wB;
+            y[b] -= dy * s * wB;
+
+        }
+
+    }
+
+    /**
+     * Resolve cada restrição de ângulo girando as extremidades em torno do
+     * vértice, em sentidos opostos e na proporção das suas massas. O ângulo
+     * é medido com sinal (de ba para bc), então a restrição também impede
+     * que a estrutura se espelhe, e os comprimentos dos braços não mudam.
+     */
+    private void solveAngleConstraints() {
+
+        for ( int i = 0; i < angleCount; i++ ) {
+
+            int a = angleA[i];
+            int b = angleB[i];
+            int c = angleC[i];
+            double wA = invMass[a];
+            double wC = invMass[c];
+            double w = wA + wC;
+            if ( w == 0 ) {
+                continue;
+            }
+
+            double ux = x[a] - x[b];
+            double uy = y[a] - y[b];
+            double vx = x[c] - x[b];
+            double vy = y[c] - y[b];
+
+            double error = Math.atan2( ux * vy - uy * vx, ux * vx + uy * vy ) - angleRest[i];
+            if ( error > Math.PI ) {
+                error -= 2 * Math.PI;
+            } else if ( error < -Math.PI ) {
+                error += 2 * Math.PI;
+            }
+            error *= angleStiffness[i];
+
+            // girar ba no sentido positivo reduz o ângulo e girar bc o
+            // aumenta, então as rotações somadas desfazem o erro
+            double rotationA = error * wA / w;
+            double rotationC = -error * wC / w;
+
+            double cos = Math.cos( rotationA );
+            double sin = Math.sin( rotationA );
+            x[a] = x[b] + ux * cos - uy * sin;
+            y[a] = y[b] + ux * sin + uy * cos;
+
+            cos = Math.cos( rotationC );
+            sin = Math.sin( rotationC );
+            x[c] = x[b] + vx * cos - vy * sin;
+            y[c] = y[b] + vx * sin + vy * cos;
+
+        }
+
+    }
+
+    private void solveCollisions() {
+
+        double r = particleRadius;
+        int aabbCount = aabbColliders.size();
+        int circleCount = circleColliders.size();
+
+        for ( int i = 0; i < particleCount; i++ ) {
+
+            if ( invMass[i] == 0 ) {
+                continue;
+            }
+
+            for ( int k = 0; k < aabbCount; k++ ) {
+
+                AABB box = aabbColliders.get( k );
+                double px = x[i];
+                double py = y[i];
+
+                if ( px > box.x1 - r && px < box.x2 + r && py > box.y1 - r && py < box.y2 + r ) {
+
+                    // empurra pelo lado de menor penetração
+                    double left = px - ( box.x1 - r );
+                    double right = ( box.x2 + r ) - px;
+                    double top = py - ( box.y1 - r );
+                    double bottom = ( box.y2 + r ) - py;
+                    double min = Math.min( Math.min( left, right ), Math.min( top, bottom ) );
+
+                    if ( min == left ) {
+                        pushOut( i, box.x1 - r, py, -1, 0 );
+                    } else if ( min == right ) {
+                        pushOut( i, box.x2 + r, py, 1, 0 );
+                    } else if ( min == top ) {
+                        pushOut( i, px, box.y1 - r, 0, -1 );
+                    } else {
+                        pushOut( i, px, box.y2 + r, 0, 1 );
+                    }
+
+                }
+
+            }
+
+            for ( int k = 0; k < circleCount; k++ ) {
+
+                Circle circle = circleColliders.get( k );
+                double dx = x[i] - circle.x;
+                double dy = y[i] - circle.y;
+                double minDistance = circle.radius + r;
+                double d2 = dx * dx + dy * dy;
+
+                if ( d2 < minDistance * minDistance ) {
+                    double d = Math.sqrt( d2 );
+                    double nx = d > 0 ? dx / d : 0;
+                    double ny = d > 0 ? dy / d : -1;
+                    pushOut( i, circle.x + nx * minDistance, circle.y + ny * minDistance, nx, ny );
+                }
+
+            }
+
+            if ( bounds != null ) {
+                if ( x[i] < bounds.x1 + r ) {
+                    pushOut( i, bounds.x1 + r, y[i], 1, 0 );
+                } else if ( x[i] > bounds.x2 - r ) {
+                    pushOut( i, bounds.x2 - r, y[i], -1, 0 );
+                }
+                if ( y[i] < bounds.y1 + r ) {
+                    pushOut( i, x[i], bounds.y1 + r, 0, 1 );
+                } else if ( y[i] > bounds.y2 - r ) {
+                    pushOut( i, x[i], bounds.y2 - r, 0, -1 );
+                }
+            }
+
+        }
+
+    }
+
+    /**
+     * Move a partícula para a superfície e ajusta a posição anterior para
+     * remover a velocidade contra a normal e aplicar o atrito tangencial.
+     */
+    private void pushOut( int i, double px, double py, double nx, double ny ) {
+
+        x[i] = px;
+        y[i] = py;
+
+        double vx = px - oldX[i];
+        double vy = py - oldY[i];
+        double vn = vx * nx + vy * ny;
+
+        if ( vn < 0 ) {
+            double tx = ( vx - vn * nx ) * ( 1 - friction );
+            double ty = ( vy - vn * ny ) * ( 1 - friction );
+            oldX[i] = px - tx;
+            oldY[i] = py - ty;
+        }
+
+    }
+
+    //**************************************************************************
+    // Desenho
+    //**************************************************************************
+
+    /**
+     * Desenha todas as restrições de distância com uma única chamada de
+     * desenho.
+     *
+     * @param engine A engine.
+     * @param paint Paint para o desenho.
+     */
+    public void draw( EngineFrame engine, Paint paint ) {
+
+        if ( lineBuffer.length < distanceCount * 4 ) {
+            lineBuffer = new double[distanceCount * 4 * 2];
+        }
+
+        for ( int i = 0; i < distanceCount; i++ ) {
+            int k = i * 4;
+            int a = distanceA[i];
+            int b = distanceB[i];
+            lineBuffer[k] = x[a];
+            lineBuffer[k+1] = y[a];
+            lineBuffer[k+2] = x[b];
+            lineBuffer[k+3] = y[b];
+        }
+
+        engine.drawLines( lineBuffer, distanceCount, paint );
+
+    }
+
+    /**
+     * Desenha as partículas como círculos preenchidos.
+     *
+     * @param engine A engine.
+     * @param radius O raio de desenho.
+     * @param paint Paint para o desenho.
+     */
+    public void drawParticles( EngineFrame engine, double radius, Paint paint ) {
+        for ( int i = 0; i < particleCount; i++ ) {
+            engine.fillCircle( x[i], y[i], radius, paint );
+        }
+    }
+
+    //**************************************************************************
+    // Configurações
+    //**************************************************************************
+
+    /**
+     * Configura a gravidade.
+     *
+     * @param gravityX Componente x, em pixels por segundo ao quadrado.
+     * @param gravityY Componente y, em pixels por segundo ao quadrado.
+     */
+    public void setGravity( double gravityX, double gravityY ) {
+        this.gravityX = gravityX;
+        this.gravityY = gravityY;
+    }
+
+    /**
+     * Configura o amortecimento aplicado à velocidade a cada passo.
+     *
+     * @param damping Valor entre 0 (sem movimento) e 1 (sem amortecimento).
+     */
+    public void setDamping( double damping ) {
+        this.damping = damping;
+    }
+
+    /**
+     * Configura o atrito das colisões.
+     *
+     * @param friction Valor entre 0 (sem atrito) e 1.
+     */
+    public void setFriction( double friction ) {
+        this.friction = friction;
+    }
+
+    /**
+     * Configura o raio das partículas usado nas colisões.
+     *
+     * @param particleRadius O raio.
+     */
+    public void setParticleRadius( double particleRadius ) {
+        this.particleRadius = particleRadius;
+    }
+
+    /**
+     * Configura a quantidade de iterações de resolução das restrições por
+     * passo. Mais iterações deixam as restrições mais rígidas.
+     *
+     * @param iterations A quantidade de iterações.
+     */
+    public void setIterations( int iterations ) {
+        this.iterations = Math.max( 1, iterations );
+    }
+
+    /**
+     * Obtém a quantidade de iterações de resolução das restrições.
+     *
+     * @return A quantidade de iterações.
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Configura o passo de tempo fixo.
+     *
+     * @param timeStep O passo em segundos.
+     */
+    public void setTimeStep( double timeStep ) {
+        if ( timeStep <= 0 ) {
+            throw new IllegalArgumentException( "time step must be positive!" );
+        }
+        this.timeStep = timeStep;
+    }
+
+    /**
+     * Configura a quantidade máxima de passos por chamada de update.
+     *
+     * @param maxSubSteps A quantidade máxima de passos.
+     */
+    public void setMaxSubSteps( int maxSubSteps ) {
+        this.maxSubSteps = Math.max( 1, maxSubSteps );
+    }
+
+}
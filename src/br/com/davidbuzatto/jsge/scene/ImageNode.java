@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2025 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.scene;
+
+import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
+import br.com.davidbuzatto.jsge.image.Image;
+
+/**
+ * Nó de um grafo de cena que desenha uma imagem com o canto superior
+ * esquerdo na origem das coordenadas locais.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class ImageNode extends SceneNode {
+
+    private Image image;
+
+    /**
+     * Cria um novo nó de imagem.
+     *
+     * @param image A imagem.
+     */
+    public ImageNode( Image image ) {
+        this.image = image;
+    }
+
+    /**
+     * Cria um novo nó de imagem.
+     *
+     * @param image A imagem.
+     * @param x Coordenada x relativa ao nó pai.
+     * @param y Coordenada y relativa ao nó pai.
+     */
+    public ImageNode( Image image, double x, double y ) {
+        super( x, y );
+        this.image = image;
+    }
+
+    @Override
+    protected void drawContent( EngineFrame engine ) {
+        engine.drawImage( image, 0, 0 );
+    }
+
+    @Override
+    protected boolean computeLocalBounds( EngineFrame engine, double[] bounds ) {
+        bounds[0] = 0;
+        bounds[1] = 0;
+        bounds[2] = image.getWidth();
+        bounds[3] = image.getHeight();
+        return true;
+    }
+
+    /**
+     * Obtém a imagem.
+     *
+     * @return A imagem.
+     */
+    public Image getImage() {
+        return image;
+    }
+
+    /**
+     * Configura a imagem.
+     *
+     * @param image A imagem.
+     */
+    public void setImage( Image image ) {
+        this.image = image;
+        invalidateBounds();
+    }
+
+}
@@ -0,0 +1,777 @@
+/*
+ * Copyright (C) 2025 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.scene;
+
+import br.com.davidbuzatto.jsge.collision.aabb.AABB;
+import br.com.davidbuzatto.jsge.core.Camera2D;
+import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Nó de um grafo de cena.
+ *
+ * Cada nó possui uma transformação local (posição, pivô, rotação e escala)
+ * relativa ao nó pai, uma lista de filhos desenhados em ordem crescente de
+ * ordem z e, nas subclasses, um conteúdo desenhável. Um nó sem conteúdo
+ * serve para agrupar outros nós.
+ *
+ * A transformação e os limites de cada nó no mundo ficam em cache. Alterar
+ * um nó marca apenas ele como sujo e avisa os seus ancestrais, de modo que
+ * a atualização percorre somente os caminhos até os nós alterados e
+ * recalcula apenas as subárvores que se moveram. No desenho, subárvores
+ * inteiras cujos limites estão fora da área visível da câmera são
+ * descartadas sem serem percorridas.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class SceneNode {
+
+    private static final Comparator<SceneNode> Z_ORDER_COMPARATOR = Comparator.comparingInt( n -> n.zOrder );
+
+    private SceneNode parent;
+    private final List<SceneNode> children = new ArrayList<>();
+    private boolean childrenSorted = true;
+
+    private double x;
+    private double y;
+    private double originX;
+    private double originY;
+    private double rotation;
+    private double scaleX = 1;
+    private double scaleY = 1;
+    private int zOrder;
+    private boolean visible = true;
+
+    private final AffineTransform localTransform = new AffineTransform();
+    private final AffineTransform worldTransform = new AffineTransform();
+
+    /*
+     * Limites locais definidos pela aplicação, usados no lugar dos limites
+     * calculados pelo conteúdo.
+     */
+    private boolean customBounds;
+    private double customX1;
+    private double customY1;
+    private double customX2;
+    private double customY2;
+
+    // limites do conteúdo do nó e da subárvore no mundo
+    private double boundsX1;
+    private double boundsY1;
+    private double boundsX2;
+    private double boundsY2;
+    private double subtreeX1;
+    private double subtreeY1;
+    private double subtreeX2;
+    private double subtreeY2;
+
+    // flags de sujeira
+    private boolean transformDirty = true;
+    private boolean contentDirty = true;
+    private boolean descendantDirty = true;
+
+    // estatísticas do último desenho a partir deste nó
+    private int drawnCount;
+    private int culledCount;
+
+    // vetor auxiliar para o cálculo dos limites
+    private final double[] localBounds = new double[4];
+
+    /**
+     * Cria um novo nó na origem.
+     */
+    public SceneNode() {
+        setEmpty();
+    }
+
+    /**
+     * Cria um novo nó.
+     *
+     * @param x Coordenada x relativa ao nó pai.
+     * @param y Coordenada y relativa ao nó pai.
+     */
+    public SceneNode( double x, double y ) {
+        this();
+        this.x = x;
+        this.y = y;
+    }
+
+    //**************************************************************************
+    // Hierarquia.
+    //**************************************************************************
+
+    /**
+     * Adiciona um filho. Caso o nó já possua um pai, é removido dele.
+     *
+     * @param child O filho.
+     * @return O próprio filho.
+     */
+    public <T extends SceneNode> T addChild( T child ) {
+
+        if ( child == this ) {
+            throw new IllegalArgumentException( "a node can't be its own child!" );
+        }
+
+        for ( SceneNode n = parent; n != null; n = n.parent ) {
+            if ( n == child ) {
+                throw new IllegalArgumentException( "a node can't be a child of its descendant!" );
+            }
+        }
+
+        SceneNode node = child;
+
+        if ( node.parent != null ) {
+            node.parent.removeChild( node );
+        }
+
+        node.parent = this;
+        children.add( node );
+        childrenSorted = false;
+        node.markTransformDirty();
+
+        return child;
+
+    }
+
+    /**
+     * Remove um filho.
+     *
+     * @param child O filho.
+     * @return Verdadeiro caso o filho tenha sido removido.
+     */
+    public boolean removeChild( SceneNode child ) {
+
+        if ( child.parent != this ) {
+            return false;
+        }
+
+        children.remove( child );
+        child.parent = null;
+        child.markTransformDirty();
+        markDescendantDirty();
+
+        return true;
+
+    }
+
+    /**
+     * Remove todos os filhos.
+     */
+    public void clearChildren() {
+        for ( SceneNode child : children ) {
+            child.parent = null;
+            child.markTransformDirty();
+        }
+        children.clear();
+        markDescendantDirty();
+    }
+
+    /**
+     * Obtém o nó pai.
+     *
+     * @return O pai ou null caso o nó seja uma raiz.
+     */
+    public SceneNode getParent() {
+        return parent;
+    }
+
+    /**
+     * Obtém uma lista não modificável dos filhos, em ordem de inserção ou,
+     * após um desenho, em ordem z.
+     *
+     * @return Os filhos.
+     */
+    public List<SceneNode> getChildren() {
+        return Collections.unmodifiableList( children );
+    }
+
+    //**************************************************************************
+    // Atualização e desenho.
+    //**************************************************************************
+
+    /**
+     * Atualiza as transformações e os limites no mundo da subárvore com
+     * raiz neste nó. É chamado automaticamente pelo desenho e deve partir
+     * da raiz do grafo, pois a transformação do nó pai é usada como está.
+     *
+     * @param engine A engine, usada para medir conteúdos como textos.
+     */
+    public void update( EngineFrame engine ) {
+        update( engine, false );
+    }
+
+    /**
+     * Atualiza recursivamente um nó, recalculando a transformação apenas
+     * quando ele ou um ancestral se moveu.
+     */
+    private void update( EngineFrame engine, boolean parentChanged ) {
+
+        boolean worldChanged = parentChanged || transformDirty;
+
+        if ( !worldChanged && !contentDirty && !descendantDirty ) {
+            return;
+        }
+
+        if ( worldChanged ) {
+            computeLocalTransform();
+            if ( parent == null ) {
+                worldTransform.setTransform( localTransform );
+            } else {
+                worldTransform.setTransform( parent.worldTransform );
+                worldTransform.concatenate( localTransform );
+            }
+            transformDirty = false;
+        }
+
+        if ( worldChanged || contentDirty ) {
+            computeWorldBounds( engine );
+            contentDirty = false;
+        }
+
+        if ( !childrenSorted ) {
+            children.sort( Z_ORDER_COMPARATOR );
+            childrenSorted = true;
+        }
+
+        subtreeX1 = boundsX1;
+        subtreeY1 = boundsY1;
+        subtreeX2 = boundsX2;
+        subtreeY2 = boundsY2;
+
+        for ( int i = 0; i < children.size(); i++ ) {
+            SceneNode child = children.get( i );
+            child.update( engine, worldChanged );
+            if ( child.visible ) {
+                subtreeX1 = Math.min( subtreeX1, child.subtreeX1 );
+                subtreeY1 = Math.min( subtreeY1, child.subtreeY1 );
+                subtreeX2 = Math.max( subtreeX2, child.subtreeX2 );
+                subtreeY2 = Math.max( subtreeY2, child.subtreeY2 );
+            }
+        }
+
+        descendantDirty = false;
+
+    }
+
+    /**
+     * Desenha a subárvore com raiz neste nó no espaço da tela, descartando
+     * os nós fora da tela. Assim como a atualização, deve partir da raiz do
+     * grafo.
+     *
+     * @param engine A engine.
+     */
+    public void draw( EngineFrame engine ) {
+        draw( engine, 0, 0, engine.getScreenWidth(), engine.getScreenHeight() );
+    }
+
+    /**
+     * Desenha a subárvore com raiz neste nó, descartando as subárvores
+     * fora da área visível da câmera. Deve ser chamado dentro do modo 2D
+     * iniciado com a mesma câmera.
+     *
+     * @param engine A engine.
+     * @param camera A câmera.
+     */
+    public void draw( EngineFrame engine, Camera2D camera ) {
+        AABB view = camera.getVisibleWorldAABB( engine.getScreenWidth(), engine.getScreenHeight() );
+        draw( engine, view.x1, view.y1, view.x2, view.y2 );
+    }
+
+    /**
+     * Desenha a subárvore com raiz neste nó, descartando as subárvores
+     * fora da área informada.
+     *
+     * @param engine A engine.
+     * @param x1 Coordenada x do canto superior esquerdo da área visível.
+     * @param y1 Coordenada y do canto superior esquerdo da área visível.
+     * @param x2 Coordenada x do canto inferior direito da área visível.
+     * @param y2 Coordenada y do canto inferior direito da área visível.
+     */
+    public void draw( EngineFrame engine, double x1, double y1, double x2, double y2 ) {
+
+        update( engine );
+
+        drawnCount = 0;
+        culledCount = 0;
+
+        Graphics2D g2d = engine.getGraphics2D();
+        AffineTransform base = g2d.getTransform();
+
+        try {
+            drawNode( engine, g2d, base, this, x1, y1, x2, y2 );
+        } finally {
+            g2d.setTransform( base );
+        }
+
+    }
+
+    /**
+     * Desenha recursivamente um nó, contabilizando as estatísticas na raiz
+     * do desenho.
+     */
+    private void drawNode( EngineFrame engine, Graphics2D g2d, AffineTransform base, SceneNode root,
+                           double x1, double y1, double x2, double y2 ) {
+
+        if ( !visible ) {
+            return;
+        }
+
+        if ( subtreeX1 > x2 || subtreeX2 < x1 || subtreeY1 > y2 || subtreeY2 < y1 ) {
+            if ( subtreeX1 <= subtreeX2 ) {
+                root.culledCount++;
+            }
+            return;
+        }
+
+        if ( boundsX1 <= x2 && boundsX2 >= x1 && boundsY1 <= y2 && boundsY2 >= y1 ) {
+            g2d.setTransform( base );
+            g2d.transform( worldTransform );
+            drawContent( engine );
+            root.drawnCount++;
+        }
+
+        for ( int i = 0; i < children.size(); i++ ) {
+            children.get( i ).drawNode( engine, g2d, base, root, x1, y1, x2, y2 );
+        }
+
+    }
+
+    /**
+     * Desenha o conteúdo do nó nas coordenadas locais. A transformação do
+     * nó no mundo já está aplicada ao contexto gráfico.
+     *
+     * @param engine A engine.
+     */
+    protected void drawContent( EngineFrame engine ) {
+    }
+
+    /**
+     * Calcula os limites do conteúdo do nó nas coordenadas locais.
+     *
+     * @param engine A engine.
+     * @param bounds Vetor que receberá x1, y1, x2 e y2.
+     * @return Verdadeiro caso o nó tenha conteúdo. Conteúdos sem limites
+     * conhecidos devem usar infinitos para nunca serem descartados.
+     */
+    protected boolean computeLocalBounds( EngineFrame engine, double[] bounds ) {
+        return false;
+    }
+
+    /**
+     * Marca o conteúdo do nó como alterado, fazendo com que os seus limites
+     * sejam recalculados. As subclasses chamam este método quando o seu
+     * conteúdo muda e a aplicação deve chamá-lo ao alterar diretamente
+     * objetos referenciados pelo nó, como as formas.
+     */
+    public void invalidateBounds() {
+        contentDirty = true;
+        markDescendantDirty();
+    }
+
+    /**
+     * Define limites locais fixos para o conteúdo, usados no lugar dos
+     * limites calculados.
+     *
+     * @param x1 Coordenada x do canto superior esquerdo.
+     * @param y1 Coordenada y do canto superior esquerdo.
+     * @param x2 Coordenada x do canto inferior direito.
+     * @param y2 Coordenada y do canto inferior direito.
+     */
+    public void setLocalBounds( double x1, double y1, double x2, double y2 ) {
+        customBounds = true;
+        customX1 = x1;
+        customY1 = y1;
+        customX2 = x2;
+        customY2 = y2;
+        invalidateBounds();
+    }
+
+    /**
+     * Volta a usar os limites locais calculados pelo conteúdo.
+     */
+    public void clearLocalBounds() {
+        customBounds = false;
+        invalidateBounds();
+    }
+
+    /**
+     * Obtém os limites no mundo do conteúdo deste nó, válidos após a última
+     * atualização.
+     *
+     * @return Os limites ou null caso o nó não possua conteúdo.
+     */
+    public AABB getWorldBounds() {
+        if ( boundsX1 > boundsX2 ) {
+            return null;
+        }
+        return new AABB( boundsX1, boundsY1, boundsX2, boundsY2, this );
+    }
+
+    /**
+     * Obtém os limites no mundo da subárvore com raiz neste nó, válidos
+     * após a última atualização.
+     *
+     * @return Os limites ou null caso a subárvore não possua conteúdo.
+     */
+    public AABB getSubtreeWorldBounds() {
+        if ( subtreeX1 > subtreeX2 ) {
+            return null;
+        }
+        return new AABB( subtreeX1, subtreeY1, subtreeX2, subtreeY2, this );
+    }
+
+    /**
+     * Obtém uma cópia da transformação do nó no mundo, válida após a última
+     * atualização.
+     *
+     * @return A transformação.
+     */
+    public AffineTransform getWorldTransform() {
+        return new AffineTransform( worldTransform );
+    }
+
+    /**
+     * Obtém a quantidade de nós desenhados no último desenho a partir deste
+     * nó.
+     *
+     * @return A quantidade de nós desenhados.
+     */
+    public int getDrawnCount() {
+        return drawnCount;
+    }
+
+    /**
+     * Obtém a quantidade de subárvores descartadas no último desenho a
+     * partir deste nó.
+     *
+     * @return A quantidade de subárvores descartadas.
+     */
+    public int getCulledCount() {
+        return culledCount;
+    }
+
+    /**
+     * Calcula a transformação local: translação, rotação e escala em torno
+     * do pivô.
+     */
+    private void computeLocalTransform() {
+        localTransform.setToTranslation( x, y );
+        if ( rotation != 0 ) {
+            localTransform.rotate( Math.toRadians( rotation ) );
+        }
+        if ( scaleX != 1 || scaleY != 1 ) {
+            localTransform.scale( scaleX, scaleY );
+        }
+        if ( originX != 0 || originY != 0 ) {
+            localTransform.translate( -originX, -originY );
+        }
+    }
+
+    /**
+     * Calcula os limites do conteúdo no mundo transformando os cantos dos
+     * limites locais.
+     */
+    private void computeWorldBounds( EngineFrame engine ) {
+
+        boolean hasContent;
+
+        if ( customBounds ) {
+            localBounds[0] = customX1;
+            localBounds[1] = customY1;
+            localBounds[2] = customX2;
+            localBounds[3] = customY2;
+            hasContent = true;
+        } else {
+            hasContent = computeLocalBounds( engine, localBounds );
+        }
+
+        if ( !hasContent ) {
+            setEmpty();
+            return;
+        }
+
+        if ( Double.isInfinite( localBounds[0] ) || Double.isInfinite( localBounds[1] ) ||
+             Double.isInfinite( localBounds[2] ) || Double.isInfinite( localBounds[3] ) ) {
+            boundsX1 = Double.NEGATIVE_INFINITY;
+            boundsY1 = Double.NEGATIVE_INFINITY;
+            boundsX2 = Double.POSITIVE_INFINITY;
+            boundsY2 = Double.POSITIVE_INFINITY;
+            return;
+        }
+
+        double m00 = worldTransform.getScaleX();
+        double m01 = worldTransform.getShearX();
+        double m02 = worldTransform.getTranslateX();
+        double m10 = worldTransform.getShearY();
+        double m11 = worldTransform.getScaleY();
+        double m12 = worldTransform.getTranslateY();
+
+        // extremos de uma transformação afim de um retângulo
+        double ax1 = m00 * localBounds[0];
+        double ax2 = m00 * localBounds[2];
+        double bx1 = m01 * localBounds[1];
+        double bx2 = m01 * localBounds[3];
+        double ay1 = m10 * localBounds[0];
+        double ay2 = m10 * localBounds[2];
+        double by1 = m11 * localBounds[1];
+        double by2 = m11 * localBounds[3];
+
+        boundsX1 = Math.min( ax1, ax2 ) + Math.min( bx1, bx2 ) + m02;
+        boundsX2 = Math.max( ax1, ax2 ) + Math.max( bx1, bx2 ) + m02;
+        boundsY1 = Math.min( ay1, ay2 ) + Math.min( by1, by2 ) + m12;
+        boundsY2 = Math.max( ay1, ay2 ) + Math.max( by1, by2 ) + m12;
+
+    }
+
+    /**
+     * Configura os limites do conteúdo como vazios.
+     */
+    private void setEmpty() {
+        boundsX1 = Double.POSITIVE_INFINITY;
+        boundsY1 = Double.POSITIVE_INFINITY;
+        boundsX2 = Double.NEGATIVE_INFINITY;
+        boundsY2 = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Marca a transformação do nó como alterada.
+     */
+    private void markTransformDirty() {
+        transformDirty = true;
+        if ( parent != null ) {
+            parent.markDescendantDirty();
+        }
+    }
+
+    /**
+     * Avisa o nó e os seus ancestrais de que algo na subárvore mudou.
+     */
+    private void markDescendantDirty() {
+        for ( SceneNode n = this; n != null && !n.descendantDirty; n = n.parent ) {
+            n.descendantDirty = true;
+        }
+    }
+
+    //**************************************************************************
+    // Transformação local e propriedades.
+    //**************************************************************************
+
+    /**
+     * Obtém a coordenada x relativa ao nó pai.
+     *
+     * @return A coordenada x.
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * Configura a coordenada x relativa ao nó pai.
+     *
+     * @param x A coordenada x.
+     */
+    public void setX( double x ) {
+        this.x = x;
+        markTransformDirty();
+    }
+
+    /**
+     * Obtém a coordenada y relativa ao nó pai.
+     *
+     * @return A coordenada y.
+     */
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * Configura a coordenada y relativa ao nó pai.
+     *
+     * @param y A coordenada y.
+     */
+    public void setY( double y ) {
+        this.y = y;
+        markTransformDirty();
+    }
+
+    /**
+     * Configura a posição relativa ao nó pai.
+     *
+     * @param x A coordenada x.
+     * @param y A coordenada y.
+     */
+    public void setPosition( double x, double y ) {
+        this.x = x;
+        this.y = y;
+        markTransformDirty();
+    }
+
+    /**
+     * Desloca o nó.
+     *
+     * @param dx Deslocamento em x.
+     * @param dy Deslocamento em y.
+     */
+    public void move( double dx, double dy ) {
+        setPosition( x + dx, y + dy );
+    }
+
+    /**
+     * Obtém a coordenada x do pivô, em coordenadas locais.
+     *
+     * @return A coordenada x do pivô.
+     */
+    public double getOriginX() {
+        return originX;
+    }
+
+    /**
+     * Obtém a coordenada y do pivô, em coordenadas locais.
+     *
+     * @return A coordenada y do pivô.
+     */
+    public double getOriginY() {
+        return originY;
+    }
+
+    /**
+     * Configura o pivô da rotação e da escala, em coordenadas locais. O
+     * pivô é posicionado na posição do nó.
+     *
+     * @param originX A coordenada x do pivô.
+     * @param originY A coordenada y do pivô.
+     */
+    public void setOrigin( double originX, double originY ) {
+        this.originX = originX;
+        this.originY = originY;
+        markTransformDirty();
+    }
+
+    /**
+     * Obtém a rotação em graus (sentido horário).
+     *
+     * @return A rotação.
+     */
+    public double getRotation() {
+        return rotation;
+    }
+
+    /**
+     * Configura a rotação em graus (sentido horário).
+     *
+     * @param rotation A rotação.
+     */
+    public void setRotation( double rotation ) {
+        this.rotation = rotation;
+        markTransformDirty();
+    }
+
+    /**
+     * Obtém a escala horizontal.
+     *
+     * @return A escala horizontal.
+     */
+    public double getScaleX() {
+        return scaleX;
+    }
+
+    /**
+     * Obtém a escala vertical.
+     *
+     * @return A escala vertical.
+     */
+    public double getScaleY() {
+        return scaleY;
+    }
+
+    /**
+     * Configura a escala.
+     *
+     * @param scaleX A escala horizontal.
+     * @param scaleY A escala vertical.
+     */
+    public void setScale( double scaleX, double scaleY ) {
+        this.scaleX = scaleX;
+        this.scaleY = scaleY;
+        markTransformDirty();
+    }
+
+    /**
+     * Configura a mesma escala nos dois eixos.
+     *
+     * @param scale A escala.
+     */
+    public void setScale( double scale ) {
+        setScale( scale, scale );
+    }
+
+    /**
+     * Obtém a ordem z relativa aos irmãos.
+     *
+     * @return A ordem z.
+     */
+    public int getZOrder() {
+        return zOrder;
+    }
+
+    /**
+     * Configura a ordem z relativa aos irmãos. Irmãos com a mesma ordem z
+     * são desenhados na ordem de inserção.
+     *
+     * @param zOrder A ordem z.
+     */
+    public void setZOrder( int zOrder ) {
+        this.zOrder = zOrder;
+        if ( parent != null ) {
+            parent.childrenSorted = false;
+            parent.markDescendantDirty();
+        }
+    }
+
+    /**
+     * Retorna se o nó e a sua subárvore estão visíveis.
+     *
+     * @return Verdadeiro caso o nó esteja visível.
+     */
+    public boolean isVisible() {
+        return visible;
+    }
+
+    /**
+     * Configura a visibilidade do nó e da sua subárvore.
+     *
+     * @param visible A visibilidade.
+     */
+    public void setVisible( boolean visible ) {
+        this.visible = visible;
+        if ( parent != null ) {
+            parent.markDescendantDirty();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format( "%s[x=%.2f, y=%.2f, rotation=%.2f, children=%d]",
+                getClass().getSimpleName(), x, y, rotation, children.size() );
+    }
+
+}
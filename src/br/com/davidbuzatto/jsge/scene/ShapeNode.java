@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2025 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.scene;
+
+import br.com.davidbuzatto.jsge.core.Drawable;
+import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
+import br.com.davidbuzatto.jsge.geom.Arc;
+import br.com.davidbuzatto.jsge.geom.Circle;
+import br.com.davidbuzatto.jsge.geom.CircleSector;
+import br.com.davidbuzatto.jsge.geom.CubicCurve;
+import br.com.davidbuzatto.jsge.geom.Ellipse;
+import br.com.davidbuzatto.jsge.geom.EllipseSector;
+import br.com.davidbuzatto.jsge.geom.Line;
+import br.com.davidbuzatto.jsge.geom.Polygon;
+import br.com.davidbuzatto.jsge.geom.QuadCurve;
+import br.com.davidbuzatto.jsge.geom.Rectangle;
+import br.com.davidbuzatto.jsge.geom.Ring;
+import br.com.davidbuzatto.jsge.geom.RoundRectangle;
+import br.com.davidbuzatto.jsge.geom.Star;
+import br.com.davidbuzatto.jsge.geom.Triangle;
+import java.awt.BasicStroke;
+import java.awt.Paint;
+import java.awt.Stroke;
+
+/**
+ * Nó de um grafo de cena que desenha um elemento desenhável, normalmente
+ * uma forma geométrica, em coordenadas locais.
+ *
+ * Os limites das formas geométricas da engine são calculados a partir dos
+ * seus atributos. Elementos de outros tipos não são descartados, a não ser
+ * que os seus limites sejam definidos com setLocalBounds. Ao alterar os
+ * atributos da forma diretamente, invalidateBounds deve ser chamado.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class ShapeNode extends SceneNode {
+
+    private Drawable shape;
+    private Paint paint;
+    private boolean filled;
+
+    /**
+     * Cria um novo nó de forma.
+     *
+     * @param shape O elemento desenhável.
+     * @param paint Paint para o desenho.
+     * @param filled Verdadeiro para pintar, falso para desenhar o contorno.
+     */
+    public ShapeNode( Drawable shape, Paint paint, boolean filled ) {
+        this.shape = shape;
+        this.paint = paint;
+        this.filled = filled;
+    }
+
+    @Override
+    protected void drawContent( EngineFrame engine ) {
+        if ( filled ) {
+            shape.fill( engine, paint );
+        } else {
+            shape.draw( engine, paint );
+        }
+    }
+
+    @Override
+    protected boolean computeLocalBounds( EngineFrame engine, double[] bounds ) {
+
+        if ( shape instanceof Rectangle r ) {
+            set( bounds, r.x, r.y, r.x + r.width, r.y + r.height );
+        } else if ( shape instanceof RoundRectangle r ) {
+            set( bounds, r.x, r.y, r.x + r.width, r.y + r.height );
+        } else if ( shape instanceof Circle c ) {
+            set( bounds, c.x - c.radius, c.y - c.radius, c.x + c.radius, c.y + c.radius );
+        } else if ( shape instanceof CircleSector c ) {
+            set( bounds, c.x - c.radius, c.y - c.radius, c.x + c.radius, c.y + c.radius );
+        } else if ( shape instanceof Ellipse e ) {
+            set( bounds, e.x - e.radiusH, e.y - e.radiusV, e.x + e.radiusH, e.y + e.radiusV );
+        } else if ( shape instanceof EllipseSector e ) {
+            set( bounds, e.x - e.radiusH, e.y - e.radiusV, e.x + e.radiusH, e.y + e.radiusV );
+        } else if ( shape instanceof Arc a ) {
+            set( bounds, a.x - a.radiusH, a.y - a.radiusV, a.x + a.radiusH, a.y + a.radiusV );
+        } else if ( shape instanceof Ring r ) {
+            set( bounds, r.x - r.outerRadius, r.y - r.outerRadius, r.x + r.outerRadius, r.y + r.outerRadius );
+        } else if ( shape instanceof Polygon p ) {
+            set( bounds, p.x - p.radius, p.y - p.radius, p.x + p.radius, p.y + p.radius );
+        } else if ( shape instanceof Star s ) {
+            set( bounds, s.x - s.radius, s.y - s.radius, s.x + s.radius, s.y + s.radius );
+        } else if ( shape instanceof Line l ) {
+            set( bounds, l.x1, l.y1, l.x2, l.y2 );
+        } else if ( shape instanceof Triangle t ) {
+            set( bounds, t.x1, t.y1, t.x2, t.y2 );
+            include( bounds, t.x3, t.y3 );
+        } else if ( shape instanceof QuadCurve q ) {
+            // a curva está contida no fecho convexo dos pontos de controle
+            set( bounds, q.x1, q.y1, q.x2, q.y2 );
+            include( bounds, q.cx, q.cy );
+        } else if ( shape instanceof CubicCurve c ) {
+            set( bounds, c.x1, c.y1, c.x2, c.y2 );
+            include( bounds, c.c1x, c.c1y );
+            include( bounds, c.c2x, c.c2y );
+        } else {
+            set( bounds, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                         Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY );
+            return true;
+        }
+
+        if ( !filled ) {
+            // metade da largura do contorno fica fora da forma
+            Stroke stroke = engine.getGraphics2D().getStroke();
+            if ( stroke instanceof BasicStroke bs ) {
+                double half = bs.getLineWidth() / 2;
+                bounds[0] -= half;
+                bounds[1] -= half;
+                bounds[2] += half;
+                bounds[3] += half;
+            }
+        }
+
+        return true;
+
+    }
+
+    /**
+     * Configura os limites a partir de dois pontos quaisquer.
+     */
+    private static void set( double[] bounds, double x1, double y1, double x2, double y2 ) {
+        bounds[0] = Math.min( x1, x2 );
+        bounds[1] = Math.min( y1, y2 );
+        bounds[2] = Math.max( x1, x2 );
+        bounds[3] = Math.max( y1, y2 );
+    }
+
+    /**
+     * Expande os limites para conter um ponto.
+     */
+    private static void include( double[] bounds, double x, double y ) {
+        bounds[0] = Math.min( bounds[0], x );
+        bounds[1] = Math.min( bounds[1], y );
+        bounds[2] = Math.max( bounds[2], x );
+        bounds[3] = Math.max( bounds[3], y );
+    }
+
+    /**
+     * Obtém o elemento desenhável.
+     *
+     * @return O elemento desenhável.
+     */
+    public Drawable getShape() {
+        return shape;
+    }
+
+    /**
+     * Configura o elemento desenhável.
+     *
+     * @param shape O elemento desenhável.
+     */
+    public void setShape( Drawable shape ) {
+        this.shape = shape;
+        invalidateBounds();
+    }
+
+    /**
+     * Obtém o Paint do desenho.
+     *
+     * @return O Paint.
+     */
+    public Paint getPaint() {
+        return paint;
+    }
+
+    /**
+     * Configura o Paint do desenho.
+     *
+     * @param paint O Paint.
+     */
+    public void setPaint( Paint paint ) {
+        this.paint = paint;
+    }
+
+    /**
+     * Retorna se a forma é pintada ou apenas contornada.
+     *
+     * @return Verdadeiro caso a forma seja pintada.
+     */
+    public boolean isFilled() {
+        return filled;
+    }
+
+    /**
+     * Configura se a forma é pintada ou apenas contornada.
+     *
+     * @param filled Verdadeiro para pintar, falso para contornar.
+     */
+    public void setFilled( boolean filled ) {
+        this.filled = filled;
+        invalidateBounds();
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2025 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.scene;
+
+import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
+import br.com.davidbuzatto.jsge.geom.Rectangle;
+import java.awt.Paint;
+
+/**
+ * Nó de um grafo de cena que desenha um texto, possivelmente com várias
+ * linhas, a partir da origem das coordenadas locais.
+ *
+ * Os limites são medidos com a fonte corrente da engine quando o texto ou
+ * o tamanho da fonte mudam. Ao trocar a fonte da engine, invalidateBounds
+ * deve ser chamado.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class TextNode extends SceneNode {
+
+    private String text;
+    private int fontSize;
+    private Paint paint;
+
+    /**
+     * Cria um novo nó de texto.
+     *
+     * @param text O texto.
+     * @param fontSize O tamanho da fonte.
+     * @param paint Paint para o desenho.
+     */
+    public TextNode( String text, int fontSize, Paint paint ) {
+        this.text = text;
+        this.fontSize = fontSize;
+        this.paint = paint;
+    }
+
+    @Override
+    protected void drawContent( EngineFrame engine ) {
+        engine.drawText( text, 0, 0, fontSize, paint );
+    }
+
+    @Override
+    protected boolean computeLocalBounds( EngineFrame engine, double[] bounds ) {
+
+        double width = 0;
+        double height = 0;
+        int lines = 0;
+
+        for ( String line : text.split( "\n" ) ) {
+            Rectangle r = engine.measureTextBounds( line, fontSize );
+            width = Math.max( width, r.width );
+            height = Math.max( height, r.height );
+            lines++;
+        }
+
+        // a primeira linha de base fica meia altura abaixo da origem
+        bounds[0] = 0;
+        bounds[1] = -height / 2;
+        bounds[2] = width;
+        bounds[3] = height * ( 1 + 0.8 * ( lines - 1 ) );
+
+        return true;
+
+    }
+
+    /**
+     * Obtém o texto.
+     *
+     * @return O texto.
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Configura o texto.
+     *
+     * @param text O texto.
+     */
+    public void setText( String text ) {
+        this.text = text;
+        invalidateBounds();
+    }
+
+    /**
+     * Obtém o tamanho da fonte.
+     *
+     * @return O tamanho da fonte.
+     */
+    public int getFontSize() {
+        return fontSize;
+    }
+
+    /**
+     * Configura o tamanho da fonte.
+     *
+     * @param fontSize O tamanho da fonte.
+     */
+    public void setFontSize( int fontSize ) {
+        this.fontSize = fontSize;
+        invalidateBounds();
+    }
+
+    /**
+     * Obtém o Paint do desenho.
+     *
+     * @return O Paint.
+     */
+    public Paint getPaint() {
+        return paint;
+    }
+
+    /**
+     * Configura o Paint do desenho.
+     *
+     * @param paint O Paint.
+     */
+    public void setPaint( Paint paint ) {
+        this.paint = paint;
+    }
+
+}
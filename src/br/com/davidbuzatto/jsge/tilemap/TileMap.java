@@ -0,0 +1,713 @@
+/*
+ * Copyright (C) 2025 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.tilemap;
+
+import br.com.davidbuzatto.jsge.collision.aabb.AABB;
+import br.com.davidbuzatto.jsge.core.Camera2D;
+import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
+import br.com.davidbuzatto.jsge.core.utils.CoreUtils;
+import br.com.davidbuzatto.jsge.core.utils.TraceLogUtils;
+import br.com.davidbuzatto.jsge.image.Image;
+import java.awt.Graphics2D;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mapa de blocos (tiles) com várias camadas sobre a mesma folha de blocos.
+ *
+ * Cada camada guarda os índices dos blocos em um vetor de shorts, em que o
+ * índice -1 representa uma posição vazia e os demais índices contam os
+ * blocos da folha da esquerda para a direita e de cima para baixo.
+ *
+ * O mapa é dividido em pedaços (chunks) de blocos que são desenhados uma
+ * única vez em imagens mantidas em cache, limitado aos pedaços usados mais
+ * recentemente. Apenas os pedaços visíveis pela câmera são desenhados, com
+ * uma cópia de imagem por pedaço, e a alteração de um bloco invalida apenas
+ * o pedaço que o contém.
+ *
+ * O formato de arquivo é textual:
+ * <pre>
+ * # comentário
+ * tilemap largura altura larguraBloco alturaBloco
+ * layer nome
+ * 0 1 1 -1 ...   (uma linha por linha de blocos)
+ * </pre>
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class TileMap {
+
+    /**
+     * Índice de uma posição vazia.
+     */
+    public static final short EMPTY = -1;
+
+    /**
+     * Tamanho padrão, em blocos, do lado de um pedaço.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 32;
+
+    /**
+     * Quantidade máxima padrão de pedaços mantidos em cache.
+     */
+    public static final int DEFAULT_MAX_CACHED_CHUNKS = 64;
+
+    /**
+     * Marcador dos pedaços sem blocos, que não possuem imagem.
+     */
+    private static final Image EMPTY_CHUNK = new Image( 1, 1 );
+
+    private final int width;
+    private final int height;
+    private final int tileWidth;
+    private final int tileHeight;
+    private final int chunkSize;
+    private final int chunksX;
+    private final int chunksY;
+
+    private Image tileset;
+    private int tilesetColumns;
+    private int tilesetCount;
+
+    private final List<short[]> layers = new ArrayList<>();
+    private final List<String> layerNames = new ArrayList<>();
+    private final List<Boolean> layerVisibility = new ArrayList<>();
+
+    private int maxCachedChunks = DEFAULT_MAX_CACHED_CHUNKS;
+
+    /**
+     * Cache dos pedaços, em ordem de acesso, indexado pela camada e pela
+     * posição do pedaço.
+     */
+    private final LinkedHashMap<Long, Image> chunkCache = new LinkedHashMap<>( 64, 0.75f, true ) {
+        @Override
+        protected boolean removeEldestEntry( Map.Entry<Long, Image> eldest ) {
+            return size() > maxCachedChunks;
+        }
+    };
+
+    /**
+     * Cria um mapa de blocos sem camadas, com pedaços de tamanho padrão.
+     *
+     * @param width Largura do mapa, em blocos.
+     * @param height Altura do mapa, em blocos.
+     * @param tileWidth Largura de um bloco, em pixels.
+     * @param tileHeight Altura de um bloco, em pixels.
+     * @param tileset A folha de blocos.
+     */
+    public TileMap( int width, int height, int tileWidth, int tileHeight, Image tileset ) {
+        this( width, height, tileWidth, tileHeight, tileset, DEFAULT_CHUNK_SIZE );
+    }
+
+    /**
+     * Cria um mapa de blocos sem camadas.
+     *
+     * @param width Largura do mapa, em blocos.
+     * @param height Altura do mapa, em blocos.
+     * @param tileWidth Largura de um bloco, em pixels.
+     * @param tileHeight Altura de um bloco, em pixels.
+     * @param tileset A folha de blocos.
+     * @param chunkSize Tamanho, em blocos, do lado de um pedaço.
+     */
+    public TileMap( int width, int height, int tileWidth, int tileHeight, Image tileset, int chunkSize ) {
+
+        if ( width <= 0 || height <= 0 ) {
+            throw new IllegalArgumentException( "map dimensions must be positive!" );
+        }
+
+        if ( tileWidth <= 0 || tileHeight <= 0 ) {
+            throw new IllegalArgumentException( "tile dimensions must be positive!" );
+        }
+
+        if ( chunkSize <= 0 ) {
+            throw new IllegalArgumentException( "chunk size must be positive!" );
+        }
+
+        this.width = width;
+        this.height = height;
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.chunkSize = chunkSize;
+        this.chunksX = ( width + chunkSize - 1 ) / chunkSize;
+        this.chunksY = ( height + chunkSize - 1 ) / chunkSize;
+
+        // sem pedaços em cache, não há o que invalidar
+        applyTileset( tileset );
+
+    }
+
+    /**
+     * Adiciona uma camada vazia acima das existentes.
+     *
+     * @param name O nome da camada.
+     * @return O índice da camada.
+     */
+    public int addLayer( String name ) {
+        short[] tiles = new short[width * height];
+        Arrays.fill( tiles, EMPTY );
+        layers.add( tiles );
+        layerNames.add( name );
+        layerVisibility.add( true );
+        return layers.size() - 1;
+    }
+
+    /**
+     * Obtém o índice do bloco de uma posição. Posições fora do mapa são
+     * vazias.
+     *
+     * @param layer A camada.
+     * @param x A coluna.
+     * @param y A linha.
+     * @return O índice do bloco ou EMPTY.
+     */
+    public short getTile( int layer, int x, int y ) {
+        if ( x < 0 || y < 0 || x >= width || y >= height ) {
+            return EMPTY;
+        }
+        return layers.get( layer )[y * width + x];
+    }
+
+    /**
+     * Obtém o índice do bloco que contém um ponto do mundo.
+     *
+     * @param layer A camada.
+     * @param worldX Coordenada x do ponto.
+     * @param worldY Coordenada y do ponto.
+     * @return O índice do bloco ou EMPTY.
+     */
+    public short getTileAtWorld( int layer, double worldX, double worldY ) {
+        return getTile( layer, (int) Math.floor( worldX / tileWidth ), (int) Math.floor( worldY / tileHeight ) );
+    }
+
+    /**
+     * Altera o índice do bloco de uma posição, invalidando o pedaço que a
+     * contém. Posições fora do mapa são ignoradas.
+     *
+     * @param layer A camada.
+     * @param x A coluna.
+     * @param y A linha.
+     * @param tile O índice do bloco ou EMPTY.
+     * @throws IllegalArgumentException Caso o índice não exista na folha de
+     * blocos.
+     */
+    public void setTile( int layer, int x, int y, int tile ) {
+
+        checkTile( tile );
+
+        if ( x < 0 || y < 0 || x >= width || y >= height ) {
+            return;
+        }
+
+        short[] tiles = layers.get( layer );
+        int index = y * width + x;
+
+        if ( tiles[index] != tile ) {
+            tiles[index] = (short) tile;
+            chunkCache.remove( chunkKey( layer, x / chunkSize, y / chunkSize ) );
+        }
+
+    }
+
+    /**
+     * Preenche uma região retangular de uma camada com o mesmo bloco.
+     *
+     * @param layer A camada.
+     * @param x A coluna inicial.
+     * @param y A linha inicial.
+     * @param regionWidth A largura da região, em blocos.
+     * @param regionHeight A altura da região, em blocos.
+     * @param tile O índice do bloco ou EMPTY.
+     * @throws IllegalArgumentException Caso o índice não exista na folha de
+     * blocos.
+     */
+    public void fillTiles( int layer, int x, int y, int regionWidth, int regionHeight, int tile ) {
+
+        checkTile( tile );
+
+        int x1 = Math.max( 0, x );
+        int y1 = Math.max( 0, y );
+        int x2 = Math.min( width, x + regionWidth );
+        int y2 = Math.min( height, y + regionHeight );
+
+        if ( x1 >= x2 || y1 >= y2 ) {
+            return;
+        }
+
+        short[] tiles = layers.get( layer );
+        for ( int j = y1; j < y2; j++ ) {
+            Arrays.fill( tiles, j * width + x1, j * width + x2, (short) tile );
+        }
+
+        for ( int cy = y1 / chunkSize; cy <= ( y2 - 1 ) / chunkSize; cy++ ) {
+            for ( int cx = x1 / chunkSize; cx <= ( x2 - 1 ) / chunkSize; cx++ ) {
+                chunkCache.remove( chunkKey( layer, cx, cy ) );
+            }
+        }
+
+    }
+
+    /**
+     * Invalida todos os pedaços em cache, por exemplo depois de alterar o
+     * conteúdo da folha de blocos.
+     */
+    public void invalidate() {
+        chunkCache.clear();
+    }
+
+    /**
+     * Desenha todas as camadas visíveis, de baixo para cima, limitando o
+     * desenho aos pedaços visíveis pela câmera. Deve ser chamado dentro do
+     * modo 2D iniciado com a mesma câmera.
+     *
+     * @param engine A engine.
+     * @param camera A câmera.
+     */
+    public void draw( EngineFrame engine, Camera2D camera ) {
+        for ( int i = 0; i < layers.size(); i++ ) {
+            if ( layerVisibility.get( i ) ) {
+                drawLayer( engine, camera, i );
+            }
+        }
+    }
+
+    /**
+     * Desenha uma camada, limitando o desenho aos pedaços visíveis pela
+     * câmera. Deve ser chamado dentro do modo 2D iniciado com a mesma
+     * câmera.
+     *
+     * @param engine A engine.
+     * @param camera A câmera.
+     * @param layer A camada.
+     */
+    public void drawLayer( EngineFrame engine, Camera2D camera, int layer ) {
+
+        AABB visible = camera.getVisibleWorldAABB( engine.getScreenWidth(), engine.getScreenHeight() );
+
+        int chunkPixelWidth = chunkSize * tileWidth;
+        int chunkPixelHeight = chunkSize * tileHeight;
+
+        int cx1 = Math.max( 0, (int) Math.floor( visible.x1 / chunkPixelWidth ) );
+        int cy1 = Math.max( 0, (int) Math.floor( visible.y1 / chunkPixelHeight ) );
+        int cx2 = Math.min( chunksX - 1, (int) Math.floor( visible.x2 / chunkPixelWidth ) );
+        int cy2 = Math.min( chunksY - 1, (int) Math.floor( visible.y2 / chunkPixelHeight ) );
+
+        for ( int cy = cy1; cy <= cy2; cy++ ) {
+            for ( int cx = cx1; cx <= cx2; cx++ ) {
+                Image chunk = getChunk( layer, cx, cy );
+                if ( chunk != EMPTY_CHUNK ) {
+                    engine.drawImage( chunk, cx * chunkPixelWidth, cy * chunkPixelHeight );
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Obtém a imagem de um pedaço do cache, desenhando-a se necessário.
+     */
+    private Image getChunk( int layer, int cx, int cy ) {
+
+        long key = chunkKey( layer, cx, cy );
+        Image chunk = chunkCache.get( key );
+
+        if ( chunk == null ) {
+            chunk = renderChunk( layers.get( layer ), cx, cy );
+            chunkCache.put( key, chunk );
+        }
+
+        return chunk;
+
+    }
+
+    /**
+     * Desenha os blocos de um pedaço em uma nova imagem.
+     */
+    private Image renderChunk( short[] tiles, int cx, int cy ) {
+
+        int x1 = cx * chunkSize;
+        int y1 = cy * chunkSize;
+        int x2 = Math.min( width, x1 + chunkSize );
+        int y2 = Math.min( height, y1 + chunkSize );
+
+        Image chunk = null;
+        Graphics2D g = null;
+
+        for ( int y = y1; y < y2; y++ ) {
+            for ( int x = x1; x < x2; x++ ) {
+
+                int tile = tiles[y * width + x];
+                if ( tile < 0 ) {
+                    continue;
+                }
+
+                if ( chunk == null ) {
+                    chunk = new Image( ( x2 - x1 ) * tileWidth, ( y2 - y1 ) * tileHeight );
+                    g = chunk.buffImage.createGraphics();
+                }
+
+                int sx = ( tile % tilesetColumns ) * tileWidth;
+                int sy = ( tile / tilesetColumns ) * tileHeight;
+                int dx = ( x - x1 ) * tileWidth;
+                int dy = ( y - y1 ) * tileHeight;
+
+                g.drawImage( tileset.buffImage,
+                        dx, dy, dx + tileWidth, dy + tileHeight,
+                        sx, sy, sx + tileWidth, sy + tileHeight, null );
+
+            }
+        }
+
+        if ( g != null ) {
+            g.dispose();
+        }
+
+        return chunk == null ? EMPTY_CHUNK : chunk;
+
+    }
+
+    private long chunkKey( int layer, int cx, int cy ) {
+        return (long) layer * chunksX * chunksY + (long) cy * chunksX + cx;
+    }
+
+    /**
+     * Carrega um mapa de blocos de um arquivo.
+     *
+     * @param filePath Caminho do arquivo.
+     * @param tileset A folha de blocos.
+     * @return O mapa de blocos ou null caso o arquivo não possa ser lido.
+     */
+    public static TileMap load( String filePath, Image tileset ) {
+
+        try ( InputStream input = new FileInputStream( filePath ) ) {
+            return load( input, tileset );
+        } catch ( IOException exc ) {
+            TraceLogUtils.traceLogError( CoreUtils.stackTraceToString( exc ) );
+        }
+
+        return null;
+
+    }
+
+    /**
+     * Carrega um mapa de blocos.
+     *
+     * @param input Um input stream para o mapa de blocos.
+     * @param tileset A folha de blocos.
+     * @return O mapa de blocos ou null caso o conteúdo não possa ser lido.
+     * @throws IllegalArgumentException Caso o conteúdo não esteja no formato
+     * esperado.
+     */
+    public static TileMap load( InputStream input, Image tileset ) {
+
+        try {
+
+            BufferedReader reader = new BufferedReader( new InputStreamReader( input, StandardCharsets.UTF_8 ) );
+            Iterator<String> lines = reader.lines()
+                    .map( String::trim )
+                    .filter( l -> !l.isEmpty() && !l.startsWith( "#" ) )
+                    .iterator();
+
+            if ( !lines.hasNext() ) {
+                throw new IllegalArgumentException( "empty tile map!" );
+            }
+
+            String[] header = lines.next().split( "\\s+" );
+            if ( header.length != 5 || !header[0].equals( "tilemap" ) ) {
+                throw new IllegalArgumentException( "invalid tile map header!" );
+            }
+
+            int width = Integer.parseInt( header[1] );
+            int height = Integer.parseInt( header[2] );
+            TileMap map = new TileMap( width, height, Integer.parseInt( header[3] ), Integer.parseInt( header[4] ), tileset );
+
+            while ( lines.hasNext() ) {
+
+                String layerLine = lines.next();
+                if ( !layerLine.startsWith( "layer" ) ) {
+                    throw new IllegalArgumentException( "layer declaration expected: " + layerLine );
+                }
+
+                int layer = map.addLayer( layerLine.substring( 5 ).trim() );
+                short[] tiles = map.layers.get( layer );
+
+                for ( int y = 0; y < height; y++ ) {
+                    if ( !lines.hasNext() ) {
+                        throw new IllegalArgumentException( "missing rows in layer " + layer + "!" );
+                    }
+                    String[] row = lines.next().split( "[\\s,]+" );
+                    if ( row.length != width ) {
+                        throw new IllegalArgumentException( "row " + y + " of layer " + layer + " must have " + width + " tiles!" );
+                    }
+                    for ( int x = 0; x < width; x++ ) {
+                        short tile = Short.parseShort( row[x] );
+                        map.checkTile( tile );
+                        tiles[y * width + x] = tile;
+                    }
+                }
+
+            }
+
+            return map;
+
+        } catch ( UncheckedIOException exc ) {
+            TraceLogUtils.traceLogError( CoreUtils.stackTraceToString( exc ) );
+        }
+
+        return null;
+
+    }
+
+    /**
+     * Salva o mapa de blocos em um arquivo.
+     *
+     * @param filePath Caminho do arquivo.
+     */
+    public void save( String filePath ) {
+
+        try ( OutputStream output = new FileOutputStream( filePath ) ) {
+            save( output );
+        } catch ( IOException exc ) {
+            TraceLogUtils.traceLogError( CoreUtils.stackTraceToString( exc ) );
+        }
+
+    }
+
+    /**
+     * Salva o mapa de blocos.
+     *
+     * @param output Um output stream para o mapa de blocos.
+     * @throws IOException Caso ocorra um erro de escrita.
+     */
+    public void save( OutputStream output ) throws IOException {
+
+        BufferedWriter writer = new BufferedWriter( new OutputStreamWriter( output, StandardCharsets.UTF_8 ) );
+        writer.write( String.format( "tilemap %d %d %d %d%n", width, height, tileWidth, tileHeight ) );
+
+        StringBuilder sb = new StringBuilder();
+        for ( int i = 0; i < layers.size(); i++ ) {
+            writer.write( "layer " + layerNames.get( i ) + System.lineSeparator() );
+            short[] tiles = layers.get( i );
+            for ( int y = 0; y < height; y++ ) {
+                sb.setLength( 0 );
+                for ( int x = 0; x < width; x++ ) {
+                    if ( x > 0 ) {
+                        sb.append( ' ' );
+                    }
+                    sb.append( tiles[y * width + x] );
+                }
+                sb.append( System.lineSeparator() );
+                writer.write( sb.toString() );
+            }
+        }
+
+        writer.flush();
+
+    }
+
+    /**
+     * Obtém a largura do mapa, em blocos.
+     *
+     * @return A largura.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Obtém a altura do mapa, em blocos.
+     *
+     * @return A altura.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Obtém a largura de um bloco, em pixels.
+     *
+     * @return A largura do bloco.
+     */
+    public int getTileWidth() {
+        return tileWidth;
+    }
+
+    /**
+     * Obtém a altura de um bloco, em pixels.
+     *
+     * @return A altura do bloco.
+     */
+    public int getTileHeight() {
+        return tileHeight;
+    }
+
+    /**
+     * Obtém o tamanho, em blocos, do lado de um pedaço.
+     *
+     * @return O tamanho do pedaço.
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Obtém a folha de blocos.
+     *
+     * @return A folha de blocos.
+     */
+    public Image getTileset() {
+        return tileset;
+    }
+
+    /**
+     * Altera a folha de blocos, invalidando todos os pedaços. Os blocos já
+     * posicionados com índices que não existam na nova folha não são
+     * desenhados.
+     *
+     * @param tileset A folha de blocos.
+     */
+    public void setTileset( Image tileset ) {
+        applyTileset( tileset );
+        invalidate();
+    }
+
+    /**
+     * Obtém a quantidade de blocos da folha de blocos.
+     *
+     * @return A quantidade de blocos.
+     */
+    public int getTilesetCount() {
+        return tilesetCount;
+    }
+
+    private void applyTileset( Image tileset ) {
+
+        if ( tileset.getWidth() < tileWidth ) {
+            throw new IllegalArgumentException( "tileset must be at least one tile wide!" );
+        }
+
+        if ( tileset.getHeight() < tileHeight ) {
+            throw new IllegalArgumentException( "tileset must be at least one tile high!" );
+        }
+
+        this.tileset = tileset;
+        this.tilesetColumns = tileset.getWidth() / tileWidth;
+        this.tilesetCount = tilesetColumns * ( tileset.getHeight() / tileHeight );
+
+    }
+
+    /**
+     * Verifica se um índice é EMPTY ou um bloco da folha de blocos que cabe
+     * nas camadas.
+     */
+    private void checkTile( int tile ) {
+        if ( tile != EMPTY && ( tile < 0 || tile >= tilesetCount || tile > Short.MAX_VALUE ) ) {
+            throw new IllegalArgumentException( "tile " + tile + " is not in the tileset!" );
+        }
+    }
+
+    /**
+     * Obtém a quantidade de camadas.
+     *
+     * @return A quantidade de camadas.
+     */
+    public int getLayerCount() {
+        return layers.size();
+    }
+
+    /**
+     * Obtém o nome de uma camada.
+     *
+     * @param layer A camada.
+     * @return O nome da camada.
+     */
+    public String getLayerName( int layer ) {
+        return layerNames.get( layer );
+    }
+
+    /**
+     * Retorna se uma camada está visível.
+     *
+     * @param layer A camada.
+     * @return Verdadeiro caso a camada esteja visível.
+     */
+    public boolean isLayerVisible( int layer ) {
+        return layerVisibility.get( layer );
+    }
+
+    /**
+     * Configura a visibilidade de uma camada.
+     *
+     * @param layer A camada.
+     * @param visible A visibilidade.
+     */
+    public void setLayerVisible( int layer, boolean visible ) {
+        layerVisibility.set( layer, visible );
+    }
+
+    /**
+     * Obtém a quantidade máxima de pedaços mantidos em cache.
+     *
+     * @return A quantidade máxima de pedaços.
+     */
+    public int getMaxCachedChunks() {
+        return maxCachedChunks;
+    }
+
+    /**
+     * Configura a quantidade máxima de pedaços mantidos em cache. Deve ser
+     * maior que a quantidade de pedaços visíveis em todas as camadas ao
+     * mesmo tempo, senão os pedaços serão redesenhados a cada quadro.
+     *
+     * @param maxCachedChunks A quantidade máxima de pedaços.
+     */
+    public void setMaxCachedChunks( int maxCachedChunks ) {
+
+        if ( maxCachedChunks <= 0 ) {
+            throw new IllegalArgumentException( "maxCachedChunks must be positive!" );
+        }
+
+        this.maxCachedChunks = maxCachedChunks;
+
+        Iterator<Long> it = chunkCache.keySet().iterator();
+        while ( chunkCache.size() > maxCachedChunks && it.hasNext() ) {
+            it.next();
+            it.remove();
+        }
+
+    }
+
+    @Override
+    public String toString() {
+        return String.format( "TileMap[%dx%d, tile=%dx%d, layers=%d]", width, height, tileWidth, tileHeight, layers.size() );
+    }
+
+}